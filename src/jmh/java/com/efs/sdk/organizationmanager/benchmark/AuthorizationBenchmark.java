@@ -0,0 +1,138 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.benchmark;
+
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
+import com.efs.sdk.organizationmanager.helper.AuthHelper;
+import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import com.efs.sdk.organizationmanager.helper.RoleHelper;
+import com.efs.sdk.organizationmanager.security.CustomJwtGrantedAuthoritiesConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Benchmarks of the per-request authorization path (token to AuthenticationModel to permission checks).
+ * <p>
+ * Uses synthetic JWTs with realistic role distributions: the default realm-roles, public access, a handful of
+ * organization-roles and {@code spaces} space-roles spread over user/supplier/trustee. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec} - the gc-profiler reports the allocation rate next to the throughput.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    private static final int ORGANIZATIONS = 10;
+    private static final String[] SPACE_SCOPES = {"user", "supplier", "trustee"};
+
+    // number of space-roles in the token
+    @Param({"10", "200", "1000"})
+    private int spaces;
+
+    // token carries the superuser-role
+    @Param({"false", "true"})
+    private boolean superuser;
+
+    private final CustomJwtGrantedAuthoritiesConverter converter = new CustomJwtGrantedAuthoritiesConverter();
+    private final AuthHelper authHelper = new AuthHelper();
+    private final RoleHelper roleHelper = new RoleHelper();
+
+    private Jwt jwt;
+    private JwtAuthenticationToken token;
+    private AuthenticationModel authModel;
+    private Organization organization;
+    private Space space;
+
+    @Setup
+    public void setup() {
+        List<String> roles = new ArrayList<>(List.of("offline_access", "uma_authorization", "default-roles-sdk", "org_all_public", "spc_all_public"));
+        for (int o = 0; o < ORGANIZATIONS; o++) {
+            roles.add(format("org_orga%d_%s", o, o == 0 ? "admin" : "access"));
+        }
+        for (int s = 0; s < spaces; s++) {
+            roles.add(format("orga%d_space%d_%s", s % ORGANIZATIONS, s, SPACE_SCOPES[s % SPACE_SCOPES.length]));
+        }
+        if (superuser) {
+            roles.add(AuthHelper.SUPERUSER_ROLE);
+        }
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject("benchmark-user")
+                .claim("realm_access", Map.of(CustomJwtGrantedAuthoritiesConverter.CLAIM_ROLES, roles))
+                .build();
+        Collection<GrantedAuthority> authorities = converter.convert(jwt);
+        token = new JwtAuthenticationToken(jwt, authorities);
+        authModel = authHelper.getAuthenticationModel(token);
+
+        organization = new Organization();
+        organization.setName("orga1");
+        space = new Space();
+        // a space in the middle of the role-list
+        space.setName(format("space%d", spaces / 2));
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convertAuthorities() {
+        return converter.convert(jwt);
+    }
+
+    @Benchmark
+    public AuthenticationModel getAuthenticationModel() {
+        return authHelper.getAuthenticationModel(token);
+    }
+
+    @Benchmark
+    public String[] getSpacesByPermission() {
+        return authModel.getSpacesByPermission(AuthConfiguration.READ);
+    }
+
+    @Benchmark
+    public String[] getOrganizationsByPermission() {
+        return authModel.getOrganizationsByPermission(AuthConfiguration.WRITE);
+    }
+
+    @Benchmark
+    public boolean hasPermission() {
+        return authModel.hasPermission(space, AuthConfiguration.WRITE);
+    }
+
+    @Benchmark
+    public boolean hasSpaceAccess() {
+        return authModel.hasSpaceAccess(space.getName(), AuthConfiguration.READ);
+    }
+
+    @Benchmark
+    public String buildSpaceRole() {
+        return roleHelper.buildSpaceRole(organization, space, RoleHelper.SpaceScopeRole.USER);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.benchmark;
+
+import com.efs.sdk.organizationmanager.helper.AuthEntityOrganization;
+import com.efs.sdk.organizationmanager.helper.AuthEntitySpace;
+import com.efs.sdk.organizationmanager.helper.AuthHelper;
+import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import com.efs.sdk.organizationmanager.security.CustomJwtGrantedAuthoritiesConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.efs.sdk.organizationmanager.helper.AuthEntityOrganization.ORGA_REGEX;
+import static com.efs.sdk.organizationmanager.helper.AuthEntitySpace.SPACE_REGEX;
+import static java.lang.String.format;
+
+/**
+ * Benchmark of the superuser fast-lane of {@link AuthHelper#getAuthenticationModel(JwtAuthenticationToken)} - the
+ * model of a superuser token built with the fast-lane against the baseline, which parses the organization- and
+ * space-roles of the token like before the fast-lane.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="SuperuserFastLaneBenchmark -prof gc"}.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuperuserFastLaneBenchmark {
+
+    private static final int ORGANIZATIONS = 10;
+    private static final String[] SPACE_SCOPES = {"user", "supplier", "trustee"};
+
+    // number of space-roles in the token
+    @Param({"10", "200", "1000"})
+    private int spaces;
+
+    private final CustomJwtGrantedAuthoritiesConverter converter = new CustomJwtGrantedAuthoritiesConverter();
+    private final AuthHelper authHelper = new AuthHelper();
+
+    private JwtAuthenticationToken token;
+
+    @Setup
+    public void setup() {
+        List<String> roles = new ArrayList<>(List.of("offline_access", "uma_authorization", "default-roles-sdk", "org_all_public", "spc_all_public",
+                AuthHelper.SUPERUSER_ROLE));
+        for (int o = 0; o < ORGANIZATIONS; o++) {
+            roles.add(format("org_orga%d_%s", o, o == 0 ? "admin" : "access"));
+        }
+        for (int s = 0; s < spaces; s++) {
+            roles.add(format("orga%d_space%d_%s", s % ORGANIZATIONS, s, SPACE_SCOPES[s % SPACE_SCOPES.length]));
+        }
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject("benchmark-user")
+                .claim("realm_access", Map.of(CustomJwtGrantedAuthoritiesConverter.CLAIM_ROLES, roles))
+                .build();
+        token = new JwtAuthenticationToken(jwt, converter.convert(jwt));
+    }
+
+    /**
+     * The model of the superuser as built before the fast-lane - all roles parsed
+     */
+    @Benchmark
+    public AuthenticationModel baseline() {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setOrganizations(token.getAuthorities().stream().map(GrantedAuthority::getAuthority).filter(a -> a.matches(ORGA_REGEX))
+                .map(AuthEntityOrganization::new).toArray(AuthEntityOrganization[]::new));
+        authModel.setSuperuser(authHelper.isSuperuser(token));
+        authModel.setSpaces(token.getAuthorities().stream().map(GrantedAuthority::getAuthority).filter(a -> a.matches(SPACE_REGEX))
+                .map(AuthEntitySpace::new).toArray(AuthEntitySpace[]::new));
+        authModel.setOrgaPublicAccess(token.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch("org_all_public"::equals));
+        authModel.setSpacePublicAccess(token.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch("spc_all_public"::equals));
+        authModel.setSubject(token.getToken().getSubject());
+        authModel.setToken(token);
+        return authModel;
+    }
+
+    @Benchmark
+    public AuthenticationModel fastLane() {
+        return authHelper.getAuthenticationModel(token);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.benchmark;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.clients.AbstractServiceRestClient;
+import com.efs.sdk.organizationmanager.core.clients.ClientFanOut;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Load-test of the {@link ClientFanOut} on virtual threads against the platform-pool (default size and queue) - many
+ * concurrent requests (benchmark-threads) fan out blocking calls to the services, simulated by sleeping for the
+ * {@code latency} of a call. The platform-pool bounds the calls in flight, further ones are queued or made by the
+ * requesting thread; virtual threads block without holding a platform thread.
+ * <p>
+ * Virtual threads need Java 21 at runtime (on older runtimes both modes use the platform-pool). Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="VirtualThreadFanOutBenchmark -prof gc"} using a Java 21
+ * {@code java} on the path.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class VirtualThreadFanOutBenchmark {
+
+    private static final int CLIENTS = 4;
+
+    // run the calls on virtual threads
+    @Param({"false", "true"})
+    private boolean virtual;
+
+    // duration of one call to a service in milliseconds
+    @Param({"5", "50"})
+    private int latency;
+
+    private ClientFanOut fanOut;
+    private List<AbstractServiceRestClient> clients;
+
+    @Setup
+    public void setup() {
+        fanOut = new ClientFanOut(new SimpleMeterRegistry(), 16, 100, virtual, Duration.ofMinutes(1), Map.of());
+        clients = IntStream.range(0, CLIENTS).mapToObj(i -> Mockito.mock(AbstractServiceRestClient.class)).toList();
+    }
+
+    @Benchmark
+    public void invokeAll() throws OrganizationmanagerException {
+        fanOut.invokeAll("benchmark", clients, client -> Thread.sleep(latency));
+    }
+}
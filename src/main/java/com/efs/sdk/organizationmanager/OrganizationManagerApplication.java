@@ -15,14 +15,24 @@ limitations under the License.
  */
 package com.efs.sdk.organizationmanager;
 
+import com.efs.sdk.organizationmanager.core.clients.Deadline;
+import com.efs.sdk.organizationmanager.core.clients.DeadlineAwareRequestFactory;
+import com.efs.sdk.organizationmanager.helper.VirtualThreads;
 import com.efs.sdk.organizationmanager.security.oauth.OAuth2Properties;
+import org.apache.coyote.ProtocolHandler;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * Base class for the organizationmanager backend application.
  *
@@ -30,6 +40,7 @@ import org.springframework.web.client.RestTemplate;
  */
 @SpringBootApplication
 @EnableConfigurationProperties(OAuth2Properties.class)
+@EnableScheduling
 public class OrganizationManagerApplication {
 
     /**
@@ -51,8 +62,29 @@ public class OrganizationManagerApplication {
         return new ModelMapper();
     }
 
+    /**
+     * Creates the RestTemplate for the calls to the services. Its timeouts are capped by the remaining time of the
+     * calling task (see {@link Deadline}).
+     *
+     * @param connectTimeout timeout for establishing a connection ({@code 0} for infinite)
+     * @param readTimeout    timeout for reading the response ({@code 0} for infinite)
+     * @return The created {@link RestTemplate}
+     */
+    @Bean
+    public RestTemplate restTemplate(@Value("${organizationmanager.http.connect-timeout:10s}") Duration connectTimeout,
+            @Value("${organizationmanager.http.read-timeout:60s}") Duration readTimeout) {
+        return new RestTemplate(new DeadlineAwareRequestFactory(connectTimeout, readTimeout));
+    }
+
+    /**
+     * Handles requests on virtual threads (if enabled and supported by the runtime - otherwise the default
+     * platform-thread pool of tomcat is kept).
+     *
+     * @return The customizer for the tomcat protocol handler
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @ConditionalOnProperty(name = "organizationmanager.virtual-threads.enabled", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> VirtualThreads.newThreadPerTaskExecutor("http-virtual-").ifPresent(protocolHandler::setExecutor);
     }
 }
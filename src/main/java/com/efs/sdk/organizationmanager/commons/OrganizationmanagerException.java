@@ -62,6 +62,7 @@ public class OrganizationmanagerException extends Exception {
         NO_ACCESS_TO_SPACE(10026, HttpStatus.FORBIDDEN, "You do not have access to get space"),
         RENAMING_OBJECT_FORBIDDEN(10027, HttpStatus.FORBIDDEN, "renaming the object is forbidden"),
         FORBIDDEN(10028, HttpStatus.FORBIDDEN, "The requested action is forbidden"),
+        OPERATION_NOT_FOUND(10029, HttpStatus.NOT_FOUND, "operation does not exist."),
         UNKNOWN_RIGHT(10031, HttpStatus.BAD_REQUEST, "unknown right."),
 
         UNABLE_CREATE_ROLE(20001, HttpStatus.BAD_REQUEST, "unable to create role"),
@@ -81,7 +82,8 @@ public class OrganizationmanagerException extends Exception {
         UNKNOWN_ERROR(50000, HttpStatus.INTERNAL_SERVER_ERROR, "something unexpected happened."),
         DOWNSTREAM_ERROR(50200, HttpStatus.BAD_GATEWAY, "downstream error: "),
         METADATA_SERVICE_ERROR(50201, HttpStatus.BAD_GATEWAY, "connection error [metadataservice]"),
-        STORAGEMANAGER_SERVICE_ERROR(50202, HttpStatus.BAD_GATEWAY, "connection error [storagemanager]");
+        STORAGEMANAGER_SERVICE_ERROR(50202, HttpStatus.BAD_GATEWAY, "connection error [storagemanager]"),
+        TOO_MANY_OPERATIONS(50300, HttpStatus.SERVICE_UNAVAILABLE, "too many pending operations, try again later.");
 
         private final int code;
         private final HttpStatus status;
@@ -23,12 +23,21 @@ import com.efs.sdk.organizationmanager.core.auth.RoleService;
 import com.efs.sdk.organizationmanager.core.auth.UserService;
 import com.efs.sdk.organizationmanager.core.auth.model.OrganizationUserDTO;
 import com.efs.sdk.organizationmanager.core.auth.model.RoleDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.RoleMapping;
 import com.efs.sdk.organizationmanager.core.auth.model.SpaceUserDTO;
 import com.efs.sdk.organizationmanager.core.auth.model.UserDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.UserReference;
+import com.efs.sdk.organizationmanager.core.auth.model.UserRoleResultDTO;
 import com.efs.sdk.organizationmanager.core.clients.AbstractServiceRestClient;
-import com.efs.sdk.organizationmanager.core.events.EventPublisher;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor.ProgressListener;
+import com.efs.sdk.organizationmanager.core.clients.ClientFanOut;
+import com.efs.sdk.organizationmanager.core.operation.OperationService;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
 import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.provisioning.ProvisioningService;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningStep;
 import com.efs.sdk.organizationmanager.core.space.SpaceService;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
 import com.efs.sdk.organizationmanager.core.userrequest.UserRequestService;
@@ -38,21 +47,16 @@ import com.efs.sdk.organizationmanager.core.userrequest.model.UserRequestState;
 import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
 import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
 import com.efs.sdk.organizationmanager.helper.EntityConverter;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
 import com.efs.sdk.organizationmanager.helper.RoleHelper;
-import com.efs.sdk.storage.SpaceBase;
-import com.efs.sdk.storage.SpaceDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 
-import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.*;
@@ -73,14 +77,20 @@ public class OrganizationManagerService {
     private final RoleHelper roleHelper;
     private final List<AbstractServiceRestClient> serviceRestClients;
     private final EntityConverter converter;
-    private final EventPublisher eventPublisher;
-    @Value("${organizationmanager.kafka.topic.space-deleted:space-deleted}")
-    private String deletedTopic;
-    private boolean kafkaEnabled;
+    private final ClientFanOut fanOut;
+    private final SpaceDeletionEngine deletionEngine;
+    private final OperationService operationService;
+    private final ProvisioningService provisioning;
+    private final BulkExecutor bulkExecutor;
+    private final int creationParallelism;
+    private final int rolesParallelism;
 
     public OrganizationManagerService(OrganizationService orgaService, SpaceService spaceService, RoleService roleService, AuthService authService,
             UserService userService, UserRequestService userRequestService, RoleHelper roleHelper, List<AbstractServiceRestClient> serviceRestClients,
-            EntityConverter converter, EventPublisher eventPublisher) {
+            EntityConverter converter, ClientFanOut fanOut, SpaceDeletionEngine deletionEngine,
+            OperationService operationService, ProvisioningService provisioning, BulkExecutor bulkExecutor,
+            @Value("${organizationmanager.creation.parallelism:4}") int creationParallelism,
+            @Value("${organizationmanager.roles.parallelism:8}") int rolesParallelism) {
         this.orgaService = orgaService;
         this.spaceService = spaceService;
         this.roleService = roleService;
@@ -90,12 +100,13 @@ public class OrganizationManagerService {
         this.roleHelper = roleHelper;
         this.serviceRestClients = serviceRestClients;
         this.converter = converter;
-        this.eventPublisher = eventPublisher;
-    }
-
-    @Autowired
-    public void setKafkaEnabled(@Value("${organizationmanager.kafka.enabled:true}") boolean kafkaEnabled) {
-        this.kafkaEnabled = kafkaEnabled;
+        this.fanOut = fanOut;
+        this.deletionEngine = deletionEngine;
+        this.operationService = operationService;
+        this.provisioning = provisioning;
+        this.bulkExecutor = bulkExecutor;
+        this.creationParallelism = creationParallelism;
+        this.rolesParallelism = rolesParallelism;
     }
 
     // ******************************************************
@@ -106,9 +117,11 @@ public class OrganizationManagerService {
      * Creates a new organization by
      * - storing the organization in the database
      * - creating keycloak roles for the organization
-     * - creating organization contexts for every service client in parallel.
+     * - creating organization contexts for every service client in parallel (as durable provisioning steps, see
+     * {@link ProvisioningService}).
      * <p>
-     * If any of the tasks fail, the operation is rolled back by deleting the organization contexts and the persisted object.
+     * If any of the tasks fail, the operation is rolled back by deleting the organization contexts and the persisted
+     * object. Deletions of contexts that fail are retried in the background.
      * <p>
      * If all tasks complete successfully, the method returns the persisted Organization object.
      *
@@ -126,41 +139,38 @@ public class OrganizationManagerService {
         Organization orgPersisted = orgaService.createOrganizationEntity(org);
 
         // 3. create organization contexts
+        // the steps are persisted first, so they are resumed if this instance dies in the meantime
         // for every service client a task is scheduled and run in parallel
-        // if any of the tasks fail, the operation is rolled back (best effort)
-        ExecutorService executorService = Executors.newFixedThreadPool(serviceRestClients.size());
-        CompletionService<Void> completionService = new ExecutorCompletionService<>(executorService);
-        List<Callable<Void>> tasks = new ArrayList<>();
-
-        var securityContext = SecurityContextHolder.getContext();
+        // if any of the tasks fail, the operation is rolled back (failed deletions are retried in the background)
+        // if the steps cannot be planned, only the persisted object is rolled back
+        ProvisioningService.Plan plan = null;
         try {
-            for (var client : serviceRestClients) {
-                Callable<Void> task = () -> {
-                    SecurityContextHolder.setContext(securityContext); // need to set this for the token to be available in new thread
-                    client.createOrganizationContext(orgPersisted);
-                    return null;
-                };
-                tasks.add(task);
-                completionService.submit(task);
-            }
-            for (var ignored : tasks) {
-                completionService.take().get();
-            }
-        } catch (InterruptedException e) {
-            LOG.error("completion service interrupted.");
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
+            plan = provisioning.plan(ProvisioningStep.Action.CREATE, orgPersisted, null);
+            provisioning.execute("create organization context", plan);
+        } catch (OrganizationmanagerException | RuntimeException e) {
             // rollback: delete context and persisted object
-            deleteOrganizationContextsBestEffort(orgPersisted);
+            if (plan != null) {
+                provisioning.compensate("delete organization context", plan);
+            }
             orgaService.deleteOrganizationEntity(orgPersisted);
-            throw new OrganizationmanagerException(DOWNSTREAM_ERROR, e.getMessage());
-        } finally {
-            executorService.shutdown();
+            throw e;
         }
 
         return orgPersisted;
     }
 
+    /**
+     * Creates a new organization asynchronously (see {@link #createOrganization(OrganizationCreateDTO)})
+     *
+     * @param authModel the authentication model of the caller
+     * @param orgDTO    the DTO representing the organization to be created
+     * @return the operation - its resource-id is the id of the created organization
+     * @throws OrganizationmanagerException TOO_MANY_OPERATIONS if the operation could not be submitted
+     */
+    public AsyncOperation createOrganizationAsync(AuthenticationModel authModel, OrganizationCreateDTO orgDTO) throws OrganizationmanagerException {
+        return operationService.submit(AsyncOperation.Type.CREATE_ORGANIZATION, orgDTO.getName(), authModel, operation -> createOrganization(orgDTO).getId());
+    }
+
 
     /**
      * Updates an organization by updating the organization entity in the database and updating organization contexts
@@ -183,33 +193,7 @@ public class OrganizationManagerService {
         // 2. create organization contexts
         // for every service client a task is scheduled and run in parallel
         // the update operation is considered best effort. If any fail, the state will can be in an inconsistent state
-        ExecutorService executorService = Executors.newFixedThreadPool(serviceRestClients.size());
-        CompletionService<Void> completionService = new ExecutorCompletionService<>(executorService);
-        List<Callable<Void>> tasks = new ArrayList<>();
-
-        var securityContext = SecurityContextHolder.getContext();
-        try {
-            for (var client : serviceRestClients) {
-                Callable<Void> task = () -> {
-                    SecurityContextHolder.setContext(securityContext);
-                    client.updateOrganizationContext(update);
-                    return null;
-                };
-                tasks.add(task);
-                completionService.submit(task);
-            }
-            for (var ignored : tasks) {
-                completionService.take().get();
-            }
-        } catch (InterruptedException e) {
-            LOG.error("completion service interrupted.");
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            // simply return the error
-            throw new OrganizationmanagerException(DOWNSTREAM_ERROR, e.getMessage());
-        } finally {
-            executorService.shutdown();
-        }
+        fanOut.invokeAll("update organization context", serviceRestClients, client -> client.updateOrganizationContext(update));
 
         // update entity AFTER all requests were successful
         return orgaService.updateOrganizationEntity(update, authModel);
@@ -218,21 +202,49 @@ public class OrganizationManagerService {
 
     /**
      * Deletes an organization by deleting the organization contexts and the organization entity from the database.
+     * The spaces of the organization are deleted beforehand (in parallel, see {@link SpaceDeletionEngine}) - if any of
+     * them could not be deleted, the organization is kept.
      *
      * @param orgaName  the name of the organization to be deleted
      * @param authModel the authentication model used for authorization
      * @throws OrganizationmanagerException if there is a downstream error
      */
     public void deleteOrganization(String orgaName, AuthenticationModel authModel) throws OrganizationmanagerException {
+        deleteOrganization(getOrganizationToDelete(orgaName, authModel), authModel, null);
+    }
+
+    /**
+     * Deletes an organization asynchronously (see {@link #deleteOrganization(String, AuthenticationModel)}). The
+     * permissions are checked before submitting, the progress of the space deletion is recorded in the operation.
+     *
+     * @param orgaName  the name of the organization to be deleted
+     * @param authModel the authentication model used for authorization
+     * @return the operation
+     * @throws OrganizationmanagerException if the organization does not exist or the user lacks permissions
+     */
+    public AsyncOperation deleteOrganizationAsync(String orgaName, AuthenticationModel authModel) throws OrganizationmanagerException {
+        Organization org = getOrganizationToDelete(orgaName, authModel);
+        return operationService.submit(AsyncOperation.Type.DELETE_ORGANIZATION, orgaName, authModel, operation -> {
+            deleteOrganization(org, authModel, (outcome, done, total) -> operation.progress(done, total));
+            return org.getId();
+        });
+    }
+
+    private Organization getOrganizationToDelete(String orgaName, AuthenticationModel authModel) throws OrganizationmanagerException {
         if (!authModel.isSuperuser()) {
             AuditLogger.error(LOG, "missing permission to delete organization {}", authModel.getToken(), orgaName);
             throw new OrganizationmanagerException(FORBIDDEN, "can only be deleted by superuser");
         }
-        Organization org = orgaService.getOrganizationByName(orgaName, authModel);
+        return orgaService.getOrganizationByName(orgaName, authModel);
+    }
 
+    private void deleteOrganization(Organization org, AuthenticationModel authModel, ProgressListener<Space> listener) throws OrganizationmanagerException {
+        // organization and spaces are already loaded (and permissions checked) - no need to fetch them again
         List<Space> spaces = spaceService.getSpaces(authModel, org.getId(), AuthConfiguration.GET);
-        for (var space : spaces) {
-            deleteSpace(authModel, org.getId(), space.getId());
+        long failed = deletionEngine.deleteSpaces(authModel, org, spaces, listener).stream().filter(outcome -> !outcome.isSuccess()).count();
+        if (failed > 0) {
+            AuditLogger.error(LOG, "{} of {} spaces of organization {} could not be deleted", authModel.getToken(), failed, spaces.size(), org.getId());
+            throw new OrganizationmanagerException(DOWNSTREAM_ERROR, format("%d of %d spaces could not be deleted", failed, spaces.size()));
         }
 
         deleteOrganizationContextsBestEffort(org);
@@ -244,40 +256,14 @@ public class OrganizationManagerService {
 
     /**
      * Deletes the organization context for the specified organization on all registered service REST clients,
-     * making a best effort to complete the deletion on all clients. The method creates a new thread pool with a
-     * fixed number of threads equal to the number of service REST clients, and submits a deletion task to each
-     * thread. The security context of the current thread is set on each task to ensure that the appropriate
-     * security token is available for the deletion request. The method waits for all tasks to complete before
-     * shutting down the thread pool.
+     * making a best effort to complete the deletion on all clients. A deletion task per client is run in parallel on
+     * the shared fan-out pool (with the security context of the current thread, so the appropriate security token is
+     * available for the deletion request). The method waits for all tasks to complete, failures are ignored.
      *
      * @param org The organization for which to delete the context on all service REST clients.
      */
     private void deleteOrganizationContextsBestEffort(Organization org) {
-        ExecutorService executorService = Executors.newFixedThreadPool(serviceRestClients.size());
-        CompletionService<Void> completionService = new ExecutorCompletionService<>(executorService);
-        List<Callable<Void>> tasks = new ArrayList<>();
-        var securityContext = SecurityContextHolder.getContext();
-        try {
-            for (var client : serviceRestClients) {
-                Callable<Void> task = () -> {
-                    SecurityContextHolder.setContext(securityContext);
-                    client.deleteOrganizationContextImpl(org);
-                    return null;
-                };
-                tasks.add(task);
-                completionService.submit(task);
-            }
-            for (var ignored : tasks) {
-                completionService.take().get();
-            }
-        } catch (InterruptedException e) {
-            LOG.error("completion service interrupted.");
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            // do nothing
-        } finally {
-            executorService.shutdown();
-        }
+        fanOut.invokeAllBestEffort("delete organization context", serviceRestClients, client -> client.deleteOrganizationContextImpl(org));
     }
 
     // ******************************************************
@@ -298,47 +284,92 @@ public class OrganizationManagerService {
         Organization orgaAdmin = getOrgaAdminOrOwner(authModel, orgaId);
 
         // 2. set current owner
-        space.setOwners(List.of(getSubject()));
+        space.setOwners(List.of(getSubject(authModel)));
 
         // 3. create space entity
         Space spaceCreated = spaceService.createSpaceEntity(orgaAdmin, space);
 
-        // 4. create organization contexts
-        // for every service client a task is scheduled and run in parallel
-        // if any of the tasks fail, the operation is rolled back (best effort)
-        ExecutorService executorService = Executors.newFixedThreadPool(serviceRestClients.size());
-        CompletionService<Void> completionService = new ExecutorCompletionService<>(executorService);
-        List<Callable<Void>> tasks = new ArrayList<>();
+        // 4. create space contexts and assign all space-roles to owner
+        provisionSpace(authModel, orgaAdmin, spaceCreated);
+        return spaceCreated;
+    }
+
+    /**
+     * Creates many spaces at once (see {@link #createSpace(AuthenticationModel, long, Space)}). The rights of the caller
+     * are checked once, the names of all spaces are validated in one query and the valid spaces are stored together.
+     * Their contexts and roles are created with a bounded parallelism; a space that cannot be provisioned is rolled
+     * back without affecting the others.
+     *
+     * @param authModel the authenticationmodel
+     * @param orgaId    the organization-id
+     * @param spaces    the spaces
+     * @return the outcome per space (in the order of the spaces)
+     * @throws OrganizationmanagerException thrown on errors, that affect all spaces
+     */
+    public List<BulkExecutor.Outcome<Space>> createSpaces(AuthenticationModel authModel, long orgaId, List<Space> spaces) throws OrganizationmanagerException {
+        // 1. check rights of caller to create spaces
+        Organization orgaAdmin = getOrgaAdminOrOwner(authModel, orgaId);
+
+        // 2. set current owner
+        spaces.forEach(space -> space.setOwners(List.of(getSubject(authModel))));
+
+        // 3. create space entities
+        List<BulkExecutor.Outcome<Space>> stored = spaceService.createSpaceEntities(orgaAdmin, spaces);
 
-        var securityContext = SecurityContextHolder.getContext();
+        // 4. create space contexts and assign all space-roles to owner
+        List<Space> created = stored.stream().filter(BulkExecutor.Outcome::isSuccess).map(BulkExecutor.Outcome::item).toList();
+        Map<Space, BulkExecutor.Outcome<Space>> provisioned = new IdentityHashMap<>();
         try {
-            for (var client : serviceRestClients) {
-                Callable<Void> task = () -> {
-                    SecurityContextHolder.setContext(securityContext);
-                    client.createSpaceContext(orgaAdmin, spaceCreated);
-                    return null;
-                };
-                tasks.add(task);
-                completionService.submit(task);
-            }
-            for (var ignored : tasks) {
-                completionService.take().get();
-            }
-        } catch (Exception e) {
+            bulkExecutor.process("create spaces", created, creationParallelism, space -> provisionSpace(authModel, orgaAdmin, space), null)
+                    .forEach(outcome -> provisioned.put(outcome.item(), outcome));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrganizationmanagerException(DOWNSTREAM_ERROR, "creation of spaces interrupted");
+        }
+        return stored.stream().map(outcome -> provisioned.getOrDefault(outcome.item(), outcome)).toList();
+    }
+
+    /**
+     * Creates the contexts of a stored space and assigns all space-roles to the owner. If any context cannot be created,
+     * the space is rolled back.
+     */
+    private void provisionSpace(AuthenticationModel authModel, Organization orgaAdmin, Space spaceCreated) throws OrganizationmanagerException {
+        // the steps are persisted first, so they are resumed if this instance dies in the meantime
+        // for every service client a task is scheduled and run in parallel
+        // if any of the tasks fail, the operation is rolled back (failed deletions are retried in the background)
+        // the assignment of the owner-roles is planned with them, so it is resumed as well
+        // if the steps cannot be planned, only the persisted object is rolled back
+        ProvisioningService.Plan plan = null;
+        try {
+            plan = provisioning.planSpaceCreation(orgaAdmin, spaceCreated, getSubject(authModel));
+            provisioning.execute("create space context", plan);
+        } catch (OrganizationmanagerException | RuntimeException e) {
             // rollback: delete context and persisted object
-            deleteSpaceContextsBestEffort(orgaAdmin, spaceCreated);
+            if (plan != null) {
+                provisioning.compensate("delete space context", plan);
+            }
             spaceService.deleteSpaceEntity(spaceCreated);
-            throw new OrganizationmanagerException(DOWNSTREAM_ERROR, e.getMessage());
-        } finally {
-            executorService.shutdown();
+            throw e;
         }
 
-        // 5. assign all space-roles to owner
-        String ownerId = getSubject();
-        userService.setUserRoles(orgaAdmin, spaceCreated, Arrays.stream(RoleHelper.SpaceScopeRole.values()).toList(), ownerId);
+        provisioning.assignOwnerRoles(plan);
         AuditLogger.info(LOG, "successfullly created space {} in organization {}", authModel.getToken(),
-                spaceCreated.getId(), orgaId);
-        return spaceCreated;
+                spaceCreated.getId(), orgaAdmin.getId());
+    }
+
+    /**
+     * Create space asynchronously (see {@link #createSpace(AuthenticationModel, long, Space)}). The permissions are
+     * checked before submitting.
+     *
+     * @param authModel the authenticationmodel
+     * @param orgaId    the organization-id
+     * @param space     the space
+     * @return the operation - its resource-id is the id of the created space
+     * @throws OrganizationmanagerException thrown on errors
+     */
+    public AsyncOperation createSpaceAsync(AuthenticationModel authModel, long orgaId, Space space) throws OrganizationmanagerException {
+        getOrgaAdminOrOwner(authModel, orgaId);
+        return operationService.submit(AsyncOperation.Type.CREATE_SPACE, space.getName(), authModel, operation -> createSpace(authModel, orgaId, space).getId());
     }
 
     /**
@@ -371,33 +402,7 @@ public class OrganizationManagerService {
         // 2. create organization contexts
         // for every service client a task is scheduled and run in parallel
         // if any of the tasks fail, the operation is rolled back (best effort)
-        ExecutorService executorService = Executors.newFixedThreadPool(serviceRestClients.size());
-        CompletionService<Void> completionService = new ExecutorCompletionService<>(executorService);
-        List<Callable<Void>> tasks = new ArrayList<>();
-
-        var securityContext = SecurityContextHolder.getContext();
-        try {
-            for (var client : serviceRestClients) {
-                Callable<Void> task = () -> {
-                    SecurityContextHolder.setContext(securityContext);
-                    client.updateSpaceContext(organization, original, update);
-                    return null;
-                };
-                tasks.add(task);
-                completionService.submit(task);
-            }
-            for (var ignored : tasks) {
-                completionService.take().get();
-            }
-        } catch (InterruptedException e) {
-            LOG.error("completion service interrupted.");
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            // simply return the error
-            throw new OrganizationmanagerException(DOWNSTREAM_ERROR, e.getMessage());
-        } finally {
-            executorService.shutdown();
-        }
+        fanOut.invokeAll("update space context", serviceRestClients, client -> client.updateSpaceContext(organization, original, update));
 
         // 3. update space entity
         Space updated = spaceService.updateSpaceEntity(authModel, organization, update);
@@ -410,9 +415,9 @@ public class OrganizationManagerService {
     }
 
     private boolean canUpdateSpace(Space spc, AuthenticationModel authModel) {
-        return authModel.hasPermission(spc, AuthConfiguration.WRITE)
-                || isOwner(spc)
-                || authModel.isSuperuser();
+        return authModel.isSuperuser()
+                || authModel.hasPermission(spc, AuthConfiguration.WRITE)
+                || isOwner(authModel, spc);
     }
 
     /**
@@ -434,62 +439,10 @@ public class OrganizationManagerService {
         Organization orga = orgaService.getOrganization(orgaId, authModel);
         Space space = spaceService.getSpaceById(authModel, orgaId, spaceId);
 
-        deleteSpaceContextsBestEffort(orga, space);
-
-        if (kafkaEnabled && orga != null) {
-            try {
-                // atm only workflowmanager is listening
-                sendEvent(orga, space, deletedTopic);
-            } catch (IOException e) {
-                LOG.debug(e.getMessage());
-            }
-        }
-
-        spaceService.deleteSpaceEntity(space);
-        AuditLogger.info(LOG, "successfully deleted space {} in organization {}",
-                authModel.getToken(), spaceId, orgaId);
+        deletionEngine.deleteSpace(authModel, orga, space);
         return true;
     }
 
-    /**
-     * Deletes the space context for the specified space and organization on all registered service REST clients,
-     * making a best effort to complete the deletion on all clients. The method creates a new thread pool with a
-     * fixed number of threads equal to the number of service REST clients, and submits a deletion task to each
-     * thread. The security context of the current thread is set on each task to ensure that the appropriate
-     * security token is available for the deletion request. The method waits for all tasks to complete before
-     * shutting down the thread pool.
-     *
-     * @param org The organization to which the space belongs.
-     * @param spc The space for which to delete the context on all service REST clients.
-     */
-    private void deleteSpaceContextsBestEffort(Organization org, Space spc) {
-        ExecutorService executorService = Executors.newFixedThreadPool(serviceRestClients.size());
-        CompletionService<Void> completionService = new ExecutorCompletionService<>(executorService);
-        List<Callable<Void>> tasks = new ArrayList<>();
-        var securityContext = SecurityContextHolder.getContext();
-        try {
-            for (var client : serviceRestClients) {
-                Callable<Void> task = () -> {
-                    SecurityContextHolder.setContext(securityContext);
-                    client.deleteSpaceContext(org, spc);
-                    return null;
-                };
-                tasks.add(task);
-                completionService.submit(task);
-            }
-            for (var ignored : tasks) {
-                completionService.take().get();
-            }
-        } catch (InterruptedException e) {
-            LOG.error("completion service interrupted.");
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            // do nothing
-        } finally {
-            executorService.shutdown();
-        }
-    }
-
     // ******************************************************
     //                 USER-MANAGEMENT
     // ******************************************************
@@ -628,17 +581,96 @@ public class OrganizationManagerService {
 
     private UserDTO setRoles(AuthenticationModel authModel, long orgaId, long spaceId, UserDTO user, List<RoleHelper.SpaceScopeRole> roleScopes) throws OrganizationmanagerException {
         Organization orga = orgaService.getOrganization(orgaId, authModel);
-        Space space = spaceService.getSpaceById(authModel, orgaId, spaceId);
+        Space space = getSpaceForRoleManagement(authModel, orga, spaceId);
+        userService.setUserRoles(orga, space, roleScopes, user.getId());
+        AuditLogger.info(LOG, "set roles for user {} in organization {} for space {} - roleScopes {}",
+                authModel.getToken(), user.getId(), orgaId, spaceId, roleScopes);
+        return user;
+    }
+
+    /**
+     * Assignes the given organization-scoped roles to many users at once. The rights of the caller are checked and the
+     * roles are looked up once; the users are resolved and their roles set with a bounded parallelism.
+     *
+     * @param authenticationModel The AuthenticationModel
+     * @param orgaId              the organization-id
+     * @param users               the users
+     * @param roleScopes          the OrganizationScopeRoles
+     * @return the result per user (in the order of the users)
+     * @throws OrganizationmanagerException thrown on errors, that affect all users
+     */
+    public List<UserRoleResultDTO> setRoles(AuthenticationModel authenticationModel, long orgaId, List<UserReference> users,
+            List<RoleHelper.OrganizationScopeRole> roleScopes) throws OrganizationmanagerException {
+        Organization orga = getOrgaAdminOrOwner(authenticationModel, orgaId);
+        RoleMapping mapping = userService.getRoleMapping(orga, roleScopes);
+        List<UserRoleResultDTO> results = applyRoleMapping(users, mapping);
+        AuditLogger.info(LOG, "set roles for {} users in organization {} - roleScopes {}", authenticationModel.getToken(),
+                users.size(), orgaId, roleScopes);
+        return results;
+    }
+
+    /**
+     * Assignes the given space-scoped roles to many users at once. The rights of the caller are checked and the roles
+     * are looked up once; the users are resolved and their roles set with a bounded parallelism.
+     *
+     * @param authenticationModel The AuthenticationModel
+     * @param orgaId              the organization-id
+     * @param spaceId             the space-id
+     * @param users               the users
+     * @param roleScopes          the SpaceScopeRoles
+     * @return the result per user (in the order of the users)
+     * @throws OrganizationmanagerException thrown on errors, that affect all users
+     */
+    public List<UserRoleResultDTO> setRoles(AuthenticationModel authenticationModel, long orgaId, long spaceId, List<UserReference> users,
+            List<RoleHelper.SpaceScopeRole> roleScopes) throws OrganizationmanagerException {
+        Organization orga = orgaService.getOrganization(orgaId, authenticationModel);
+        Space space = getSpaceForRoleManagement(authenticationModel, orga, spaceId);
+        RoleMapping mapping = userService.getRoleMapping(orga, space, roleScopes);
+        List<UserRoleResultDTO> results = applyRoleMapping(users, mapping);
+        AuditLogger.info(LOG, "set roles for {} users in organization {} for space {} - roleScopes {}", authenticationModel.getToken(),
+                users.size(), orgaId, spaceId, roleScopes);
+        return results;
+    }
+
+    private List<UserRoleResultDTO> applyRoleMapping(List<UserReference> users, RoleMapping mapping) throws OrganizationmanagerException {
+        Map<UserReference, UserDTO> resolved = new ConcurrentHashMap<>();
+        List<BulkExecutor.Outcome<UserReference>> outcomes;
+        try {
+            outcomes = bulkExecutor.process("set roles", users, rolesParallelism, reference -> {
+                UserDTO user = userService.getUser(reference);
+                resolved.put(reference, user);
+                userService.applyRoleMapping(user, mapping);
+            }, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrganizationmanagerException(DOWNSTREAM_ERROR, "setting roles interrupted");
+        }
+        List<UserRoleResultDTO> results = new ArrayList<>();
+        for (BulkExecutor.Outcome<UserReference> outcome : outcomes) {
+            UserDTO user = resolved.get(outcome.item());
+            if (outcome.isSuccess()) {
+                results.add(new UserRoleResultDTO(outcome.item(), true, user, null, null));
+            } else if (outcome.error() instanceof OrganizationmanagerException e) {
+                results.add(new UserRoleResultDTO(outcome.item(), false, user, e.getErrorCode(), e.getMessage()));
+            } else {
+                results.add(new UserRoleResultDTO(outcome.item(), false, user, null, outcome.error().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Gets the space, if the user may edit the user-permissions in it
+     */
+    private Space getSpaceForRoleManagement(AuthenticationModel authModel, Organization orga, long spaceId) throws OrganizationmanagerException {
+        Space space = spaceService.getSpaceById(authModel, orga.getId(), spaceId);
         // orga-admins, orga-owner and space-owner may edit user-permissions in space
         if (!isAdminOrOwner(authModel, orga, space)) {
             AuditLogger.error(LOG, "insufficient permission to set roles in organization {} and space {}!",
-                    authModel.getToken(), orgaId, spaceId);
+                    authModel.getToken(), orga.getId(), spaceId);
             throw new OrganizationmanagerException(FORBIDDEN);
         }
-        userService.setUserRoles(orga, space, roleScopes, user.getId());
-        AuditLogger.info(LOG, "set roles for user {} in organization {} for space {} - roleScopes {}",
-                authModel.getToken(), user.getId(), orgaId, spaceId, roleScopes);
-        return user;
+        return space;
     }
 
     /**
@@ -656,7 +688,7 @@ public class OrganizationManagerService {
         userService.assignUserToRole(orga, roleScope, user);
         AuditLogger.info(LOG, "successfully assigned roleScope {} to user {} in organization {}",
                 authModel.getToken(), roleScope, userId, orgaId);
-        LOG.info("{} assigned {}-permission for orga {} to user {}", getSubject(), roleScope.name(), orgaId, userId);
+        LOG.info("{} assigned {}-permission for orga {} to user {}", getSubject(authModel), roleScope.name(), orgaId, userId);
     }
 
 
@@ -677,7 +709,7 @@ public class OrganizationManagerService {
         userService.assignUserToRole(orga, space, roleScope, user);
         AuditLogger.info(LOG, "successfully assigned role {} to user {} for organization {} and space {}",
                 authModel.getToken(), roleScope, userId, orgaId, spaceId);
-        LOG.info("{} assigned {}-permission for space {} in orga {} to user {}", getSubject(), roleScope.name(), spaceId, orgaId, userId);
+        LOG.info("{} assigned {}-permission for space {} in orga {} to user {}", getSubject(authModel), roleScope.name(), spaceId, orgaId, userId);
     }
 
     // ******************************************************
@@ -711,6 +743,23 @@ public class OrganizationManagerService {
         return userRequestService.listUserRequests(orga, state);
     }
 
+    /**
+     * List a page of the userrequests to the given organization ordered by creation
+     *
+     * @param authModel the AuthenticationModel
+     * @param orgaId    the organization-id
+     * @param state     the UserRequestState ({@code null} for all)
+     * @param after     the last userrequest of the previous page
+     * @param limit     the maximum number of userrequests
+     * @return the userrequests for organization
+     * @throws OrganizationmanagerException thrown on errors
+     */
+    public List<OrganizationUserRequest> listOrganizationRequests(AuthenticationModel authModel, long orgaId, UserRequestState state, Cursor after,
+            int limit) throws OrganizationmanagerException {
+        Organization orga = getOrgaAdmin(authModel, orgaId);
+        return userRequestService.listUserRequests(orga, state, after, limit);
+    }
+
     /**
      * Create an userrequest to the given organization
      *
@@ -804,6 +853,29 @@ public class OrganizationManagerService {
         return userRequestService.listUserRequests(orga, space, state);
     }
 
+    /**
+     * List a page of the userrequests to the given space ordered by creation - with the same permissions as listing
+     * all of them (with or without state)
+     *
+     * @param authModel the AuthenticationModel
+     * @param orgaId    the organization-id
+     * @param spaceId   the space-id
+     * @param state     the UserRequestState ({@code null} for all)
+     * @param after     the last userrequest of the previous page
+     * @param limit     the maximum number of userrequests
+     * @return the userrequests for space
+     * @throws OrganizationmanagerException thrown on errors
+     */
+    public List<SpaceUserRequest> listSpaceRequests(AuthenticationModel authModel, long orgaId, long spaceId, UserRequestState state, Cursor after,
+            int limit) throws OrganizationmanagerException {
+        Organization orga = state == null ? orgaService.getOrganization(orgaId, authModel) : getOrgaAdmin(authModel, orgaId);
+        Space space = spaceService.getSpaceById(authModel, orgaId, spaceId);
+        if (state == null && !isAdminOrOwner(authModel, orga, space)) {
+            throw new OrganizationmanagerException(FORBIDDEN);
+        }
+        return userRequestService.listUserRequests(orga, space, state, after, limit);
+    }
+
     /**
      * Create an userrequest to the given space
      *
@@ -916,25 +988,8 @@ public class OrganizationManagerService {
         return format("%s %s", user.getFirstName(), user.getLastName());
     }
 
-    private void sendEvent(Organization organization, Space space, String topic) throws IOException {
-        SpaceBase serial = converter.convertToSerializable(space);
-        serial.setOrganizationName(organization.getName());
-        SpaceDTO dto = SpaceDTO.newBuilder().setSpace(serial).build();
-        ByteBuffer buffer = dto.toByteBuffer();
-        eventPublisher.sendMessage(buffer, topic);
-    }
-
     public List<String> getSpaceNamesWithOrganizationPrefix(AuthenticationModel authenticationModel, AuthConfiguration authConfiguration) throws RestClientException, OrganizationmanagerException {
         String[] allowedOrganizations = authenticationModel.getOrganizationsByPermission(authConfiguration);
-        List<Organization> orgas = orgaService.getAllOrganizations(authenticationModel, allowedOrganizations, authConfiguration);
-        List<String> spaceNames = new ArrayList<>();
-        for (Organization orga : orgas) {
-            Long orgId = orga.getId();
-            String organizationName = orga.getName();
-            List<Space> spaces = spaceService.getSpaces(authenticationModel, orgId, authConfiguration);
-            spaceNames.addAll(spaces.stream().map(
-                    space -> organizationName + "_" + space.getName()).toList());
-        }
-        return spaceNames;
+        return spaceService.getSpaceNames(authenticationModel, allowedOrganizations, authConfiguration);
     }
 }
@@ -0,0 +1,220 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core;
+
+import com.efs.sdk.logging.AuditLogger;
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor.Outcome;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor.ProgressListener;
+import com.efs.sdk.organizationmanager.core.clients.AbstractServiceRestClient;
+import com.efs.sdk.organizationmanager.core.clients.ClientFanOut;
+import com.efs.sdk.organizationmanager.core.clients.RateLimiter;
+import com.efs.sdk.organizationmanager.core.events.EventPublisher;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import com.efs.sdk.organizationmanager.helper.EntityConverter;
+import com.efs.sdk.storage.SpaceBase;
+import com.efs.sdk.storage.SpaceDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.DOWNSTREAM_ERROR;
+
+/**
+ * Deletes spaces - i.e. their contexts in all services, sends the space-deleted event and deletes the entities.
+ * <p>
+ * Many spaces (e.g. all spaces of an organization) are processed with a configurable parallelism, the calls to every
+ * service are rate-limited (per service) and the entities are deleted set-based at the end.
+ * <br>
+ * <b>CAUTION:</b> The functions should only be called from flows, that check the permissions beforehand!!
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Component
+public class SpaceDeletionEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpaceDeletionEngine.class);
+
+    private final SpaceService spaceService;
+    private final List<AbstractServiceRestClient> serviceRestClients;
+    private final ClientFanOut fanOut;
+    private final BulkExecutor bulkExecutor;
+    private final EntityConverter converter;
+    private final EventPublisher eventPublisher;
+    private final int parallelism;
+    private final Map<AbstractServiceRestClient, RateLimiter> rateLimiters = new IdentityHashMap<>();
+    @Value("${organizationmanager.kafka.topic.space-deleted:space-deleted}")
+    private String deletedTopic;
+    private boolean kafkaEnabled;
+
+    public SpaceDeletionEngine(SpaceService spaceService, List<AbstractServiceRestClient> serviceRestClients, ClientFanOut fanOut, BulkExecutor bulkExecutor,
+            EntityConverter converter, EventPublisher eventPublisher, @Value("${organizationmanager.deletion.parallelism:4}") int parallelism,
+            @Value("${organizationmanager.deletion.rate-limit:10}") double rateLimit,
+            @Value("#{${organizationmanager.deletion.rate-limits:{:}}}") Map<String, Double> rateLimits) {
+        this.spaceService = spaceService;
+        this.serviceRestClients = serviceRestClients;
+        this.fanOut = fanOut;
+        this.bulkExecutor = bulkExecutor;
+        this.converter = converter;
+        this.eventPublisher = eventPublisher;
+        this.parallelism = parallelism;
+        for (AbstractServiceRestClient client : serviceRestClients) {
+            rateLimiters.put(client, new RateLimiter(rateLimits.getOrDefault(client.getClass().getSimpleName(), rateLimit)));
+        }
+    }
+
+    @Autowired
+    public void setKafkaEnabled(@Value("${organizationmanager.kafka.enabled:true}") boolean kafkaEnabled) {
+        this.kafkaEnabled = kafkaEnabled;
+    }
+
+    /**
+     * Deletes the given (already loaded) space including contexts and sends the space-deleted event
+     *
+     * @param authModel the authenticationmodel
+     * @param orga      the organization of the space
+     * @param space     the space
+     */
+    public void deleteSpace(AuthenticationModel authModel, Organization orga, Space space) {
+        deleteSpaceContextsBestEffort(orga, space);
+        sendDeletedEvent(orga, space);
+
+        spaceService.deleteSpaceEntity(space);
+        AuditLogger.info(LOG, "successfully deleted space {} in organization {}",
+                authModel.getToken(), space.getId(), space.getOrganizationId());
+    }
+
+    /**
+     * Deletes the given (already loaded) spaces of an organization. The contexts are deleted and the events are sent
+     * with the configured parallelism, the entities of all spaces processed successfully are deleted set-based
+     * afterwards.
+     *
+     * @param authModel the authenticationmodel
+     * @param orga      the organization of the spaces
+     * @param spaces    the spaces
+     * @param listener  notified after every processed space (may be null)
+     * @return the outcome per space
+     * @throws OrganizationmanagerException if interrupted
+     */
+    public List<Outcome<Space>> deleteSpaces(AuthenticationModel authModel, Organization orga, List<Space> spaces, ProgressListener<Space> listener) throws OrganizationmanagerException {
+        return deleteSpaces(authModel, orga, spaces, parallelism, listener);
+    }
+
+    /**
+     * Deletes the given (already loaded) spaces of an organization with the given parallelism (see
+     * {@link #deleteSpaces(AuthenticationModel, Organization, List, ProgressListener)}).
+     *
+     * @param authModel   the authenticationmodel
+     * @param orga        the organization of the spaces
+     * @param spaces      the spaces
+     * @param parallelism maximum number of spaces deleted at the same time
+     * @param listener    notified after every processed space (may be null)
+     * @return the outcome per space
+     * @throws OrganizationmanagerException if interrupted
+     */
+    public List<Outcome<Space>> deleteSpaces(AuthenticationModel authModel, Organization orga, List<Space> spaces, int parallelism,
+            ProgressListener<Space> listener) throws OrganizationmanagerException {
+        LOG.info("deleting {} spaces of organization {} (parallelism {})", spaces.size(), orga.getName(), parallelism);
+        List<Outcome<Space>> outcomes;
+        try {
+            outcomes = bulkExecutor.process("deleting spaces of organization " + orga.getName(), spaces, parallelism, space -> {
+                deleteSpaceContexts(orga, space);
+                sendDeletedEvent(orga, space);
+            }, (outcome, done, total) -> {
+                logProgress(orga, outcome, done, total);
+                if (listener != null) {
+                    listener.processed(outcome, done, total);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrganizationmanagerException(DOWNSTREAM_ERROR, "deletion of spaces interrupted");
+        }
+
+        List<Space> processed = outcomes.stream().filter(Outcome::isSuccess).map(Outcome::item).toList();
+        spaceService.deleteSpaceEntities(processed.stream().map(Space::getId).toList());
+        for (Space space : processed) {
+            AuditLogger.info(LOG, "successfully deleted space {} in organization {}",
+                    authModel.getToken(), space.getId(), space.getOrganizationId());
+        }
+        return outcomes;
+    }
+
+    /**
+     * Deletes the space context for the specified space and organization on all registered service REST clients,
+     * making a best effort to complete the deletion on all clients.
+     *
+     * @param orga The organization to which the space belongs.
+     * @param spc  The space for which to delete the context on all service REST clients.
+     */
+    private void deleteSpaceContextsBestEffort(Organization orga, Space spc) {
+        fanOut.invokeAllBestEffort("delete space context", serviceRestClients, client -> client.deleteSpaceContext(orga, spc));
+    }
+
+    /**
+     * Deletes the space context on all registered service REST clients - the space fails (and is kept) if one of them
+     * fails. The calls are throttled per service before they are submitted, so no thread of the fan-out waits for a
+     * slot.
+     *
+     * @param orga The organization to which the space belongs.
+     * @param spc  The space for which to delete the context on all service REST clients.
+     * @throws OrganizationmanagerException if a service failed
+     * @throws InterruptedException         if interrupted while waiting for a slot
+     */
+    private void deleteSpaceContexts(Organization orga, Space spc) throws OrganizationmanagerException, InterruptedException {
+        for (AbstractServiceRestClient client : serviceRestClients) {
+            rateLimiters.get(client).acquire();
+        }
+        fanOut.invokeAll("delete space context", serviceRestClients, client -> client.deleteSpaceContext(orga, spc));
+    }
+
+    private void sendDeletedEvent(Organization orga, Space space) {
+        if (kafkaEnabled && orga != null) {
+            try {
+                // atm only workflowmanager is listening
+                SpaceBase serial = converter.convertToSerializable(space);
+                serial.setOrganizationName(orga.getName());
+                SpaceDTO dto = SpaceDTO.newBuilder().setSpace(serial).build();
+                ByteBuffer buffer = dto.toByteBuffer();
+                eventPublisher.sendMessage(buffer, deletedTopic);
+            } catch (IOException e) {
+                LOG.debug(e.getMessage());
+            }
+        }
+    }
+
+    private static void logProgress(Organization orga, Outcome<Space> outcome, int done, int total) {
+        if (!outcome.isSuccess()) {
+            LOG.warn("deleting space {} of organization {} failed: {}", outcome.item().getName(), orga.getName(), outcome.error().getMessage());
+        }
+        // roughly every 10%
+        if (done == total || done % Math.max(1, total / 10) == 0) {
+            LOG.info("deleting spaces of organization {}: {}/{} done", orga.getName(), done, total);
+        }
+    }
+}
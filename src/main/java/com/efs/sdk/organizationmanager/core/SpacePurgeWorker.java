@@ -0,0 +1,161 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor.Outcome;
+import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Purges the spaces marked for deletion (state {@code DELETION}) in the background - i.e. deletes their contexts in all
+ * services (including the roles), sends the space-deleted event and deletes the entities (see
+ * {@link SpaceDeletionEngine}).
+ * <p>
+ * The worker runs on a schedule (off-peak by default) and processes the spaces in batches, oldest first. Spaces are
+ * only purged after a grace period, so marking a space can still be reverted. If a space cannot be deleted, the run
+ * stops and the space is retried in the next run. Spaces whose organization is missing are skipped and logged on every
+ * run - their contexts cannot be deleted without it, so they are kept for an operator to remove.
+ * <br>
+ * Disabled by default - it should be enabled on a single instance only.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Component
+public class SpacePurgeWorker {
+
+    static final String METRIC_PREFIX = "organizationmanager.purge";
+    private static final Logger LOG = LoggerFactory.getLogger(SpacePurgeWorker.class);
+
+    private final SpaceService spaceService;
+    private final OrganizationService orgaService;
+    private final SpaceDeletionEngine deletionEngine;
+    private final boolean enabled;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final int parallelism;
+    private final Counter purged;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Timer runs;
+
+    public SpacePurgeWorker(SpaceService spaceService, OrganizationService orgaService, SpaceDeletionEngine deletionEngine, MeterRegistry meterRegistry,
+            @Value("${organizationmanager.purge.enabled:false}") boolean enabled,
+            @Value("${organizationmanager.purge.grace-period:24h}") Duration gracePeriod,
+            @Value("${organizationmanager.purge.batch-size:50}") int batchSize,
+            @Value("${organizationmanager.purge.parallelism:2}") int parallelism) {
+        this.spaceService = spaceService;
+        this.orgaService = orgaService;
+        this.deletionEngine = deletionEngine;
+        this.enabled = enabled;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.purged = Counter.builder(METRIC_PREFIX + ".spaces").description("spaces purged by the worker").tag("outcome", "success").register(meterRegistry);
+        this.failed = Counter.builder(METRIC_PREFIX + ".spaces").description("spaces purged by the worker").tag("outcome", "error").register(meterRegistry);
+        this.skipped = Counter.builder(METRIC_PREFIX + ".spaces").description("spaces purged by the worker").tag("outcome", "skipped").register(meterRegistry);
+        this.runs = Timer.builder(METRIC_PREFIX + ".run").description("duration of the runs of the purge worker").register(meterRegistry);
+    }
+
+    /**
+     * Purges the spaces marked for deletion before the grace period, batch by batch, until none is left or a space
+     * could not be deleted.
+     */
+    @Scheduled(cron = "${organizationmanager.purge.cron:0 0 2 * * *}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        runs.record(() -> {
+            ZonedDateTime markedBefore = ZonedDateTime.now().minus(gracePeriod);
+            int total = 0;
+            Space last = null;
+            List<Space> batch;
+            while (!(batch = spaceService.getSpacesMarkedForDeletion(markedBefore, last, batchSize)).isEmpty()) {
+                Result result = purge(batch);
+                total += result.purged();
+                if (result.failed() > 0) {
+                    LOG.warn("purged {} of {} spaces in batch, retrying the rest in the next run", result.purged(), batch.size());
+                    break;
+                }
+                // skipped spaces stay marked - continue after the batch instead of reading them again
+                last = batch.get(batch.size() - 1);
+            }
+            if (total > 0) {
+                LOG.info("purged {} spaces marked for deletion", total);
+            }
+        });
+    }
+
+    private Result purge(List<Space> spaces) {
+        Map<Long, List<Space>> spacesByOrga = spaces.stream().collect(Collectors.groupingBy(Space::getOrganizationId));
+        Map<Long, Organization> orgas = orgaService.getOrganizationEntities(spacesByOrga.keySet()).stream()
+                .collect(Collectors.toMap(Organization::getId, Function.identity()));
+        // the worker is no user, the deletions are audited without token
+        AuthenticationModel authModel = new AuthenticationModel();
+        int succeeded = 0;
+        int failures = 0;
+        for (Map.Entry<Long, List<Space>> entry : spacesByOrga.entrySet()) {
+            Organization orga = orgas.get(entry.getKey());
+            List<Space> orgaSpaces = entry.getValue();
+            if (orga == null) {
+                // the contexts of the spaces cannot be deleted without their organization - the entities are kept, so
+                // the contexts are not orphaned silently
+                LOG.warn("skipping spaces {} marked for deletion: organization {} is missing, their contexts cannot be deleted - they have to be " +
+                        "removed manually", orgaSpaces.stream().map(Space::getId).toList(), entry.getKey());
+                skipped.increment(orgaSpaces.size());
+                continue;
+            }
+            try {
+                List<Outcome<Space>> outcomes = deletionEngine.deleteSpaces(authModel, orga, orgaSpaces, parallelism, null);
+                long ok = outcomes.stream().filter(Outcome::isSuccess).count();
+                succeeded += (int) ok;
+                failures += outcomes.size() - (int) ok;
+                purged.increment(ok);
+                failed.increment(outcomes.size() - ok);
+            } catch (OrganizationmanagerException e) {
+                LOG.warn("purging spaces of organization {} failed: {}", orga.getName(), e.getMessage());
+                failures += orgaSpaces.size();
+                failed.increment(orgaSpaces.size());
+            }
+        }
+        return new Result(succeeded, failures);
+    }
+
+    /**
+     * The number of spaces of a batch purged and failed (skipped spaces are neither)
+     */
+    private record Result(int purged, int failed) {
+    }
+}
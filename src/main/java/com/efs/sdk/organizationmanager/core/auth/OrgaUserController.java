@@ -19,6 +19,8 @@ import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.OrganizationManagerService;
 import com.efs.sdk.organizationmanager.core.auth.model.OrganizationUserDTO;
 import com.efs.sdk.organizationmanager.core.auth.model.UserDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.UserReferencesDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.UserRoleResultDTO;
 import com.efs.sdk.organizationmanager.helper.AuthHelper;
 import com.efs.sdk.organizationmanager.helper.RoleHelper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -124,4 +126,24 @@ public class OrgaUserController {
     ) throws OrganizationmanagerException {
         return ResponseEntity.ok(orgaManagerService.setRolesByEmail(authHelper.getAuthenticationModel(token), orgaId, email, roleScopes));
     }
+
+    @Operation(summary = "Set roles of many users", description = """
+            Set the same roles to many `User`s at once, referenced by id, username or email. Setting a role includes assigning as well as withdrawing roles.
+            A `User` that cannot be found or updated does not affect the others, the result is reported per `User`.
+                        
+            **NOTE:** if a `User`'s "ACCESS"-role is revoked, he loses his access to all `Space`s to which he is currently entitled. However, these `Space` roles are not removed by the system (so that it would be easy to restore them).
+            """)
+    @PutMapping(path = "/bulk", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", description = "Processed all `User`s, see the result per `User`.")
+    @ApiResponse(responseCode = "400", description = "Role could not be retrieved.", content = @Content(schema = @Schema(hidden = true)))
+    @ApiResponse(responseCode = "404", description = "`Organization` was not found.", content = @Content(schema = @Schema(hidden = true)))
+    public ResponseEntity<List<UserRoleResultDTO>> setRolesOfUsers(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "The id of the `Organization`.") long orgaId,
+            @RequestBody UserReferencesDTO users,
+            @Parameter(description = "The scopes of the role", schema = @Schema(type = "string", allowableValues = {"ACCESS", "ADMIN", "TRUSTEE"}),
+                    in = ParameterIn.QUERY) @RequestParam(value = "roleScopes") List<RoleHelper.OrganizationScopeRole> roleScopes
+    ) throws OrganizationmanagerException {
+        return ResponseEntity.ok(orgaManagerService.setRoles(authHelper.getAuthenticationModel(token), orgaId, users.toReferences(), roleScopes));
+    }
 }
@@ -327,11 +327,11 @@ public class OwnerService {
 
 
     private boolean isAuthorizedToSetOrganizationOwners(AuthenticationModel authModel, Organization organization) {
-        return authModel.isSuperuser() || isOwner(organization);
+        return authModel.isSuperuser() || isOwner(authModel, organization);
     }
 
     private boolean isAuthorizedToSetSpaceOwners(AuthenticationModel authModel, Space space) {
-        return authModel.isSuperuser() || isOwner(space);
+        return authModel.isSuperuser() || isOwner(authModel, space);
     }
 
     private List<UserDTO> getUserDTOs(List<String> userIds) throws OrganizationmanagerException {
@@ -19,6 +19,8 @@ import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.OrganizationManagerService;
 import com.efs.sdk.organizationmanager.core.auth.model.SpaceUserDTO;
 import com.efs.sdk.organizationmanager.core.auth.model.UserDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.UserReferencesDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.UserRoleResultDTO;
 import com.efs.sdk.organizationmanager.helper.AuthHelper;
 import com.efs.sdk.organizationmanager.helper.RoleHelper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -131,4 +133,25 @@ public class SpaceUserController {
         UserDTO user = orgaManagerService.setRolesByEmail(authHelper.getAuthenticationModel(token), orgaId, spaceId, email, roleScopes);
         return ResponseEntity.ok(user);
     }
+
+    @Operation(summary = "Set roles of many users", description = """
+            Set the same roles to many `User`s at once, referenced by id, username or email. Setting a role includes assigning as well as withdrawing roles.
+            A `User` that cannot be found or updated does not affect the others, the result is reported per `User`.
+                        
+            **NOTE:** `Space`-permissions are only valid, if a `User` also has "ACCESS"-role on its `Organization`.
+            """)
+    @PutMapping(path = "/bulk", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", description = "Processed all `User`s, see the result per `User`.")
+    @ApiResponse(responseCode = "400", description = "Role could not be retrieved.", content = @Content(schema = @Schema(hidden = true)))
+    @ApiResponse(responseCode = "404", description = "`Organization` or `Space` was not found.", content = @Content(schema = @Schema(hidden = true)))
+    public ResponseEntity<List<UserRoleResultDTO>> setRolesOfUsers(
+            @Parameter(hidden = true) JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "The id of the `Organization` the required `Space` is within.") long orgaId,
+            @PathVariable @Parameter(description = "The id of the `Space`.") long spaceId,
+            @RequestBody UserReferencesDTO users,
+            @Parameter(description = "The scopes of the role", schema = @Schema(type = "string", allowableValues = {"USER", "SUPPLIER", "TRUSTEE"}), in =
+                    ParameterIn.QUERY) @RequestParam(value = "roleScopes") List<RoleHelper.SpaceScopeRole> roleScopes
+    ) throws OrganizationmanagerException {
+        return ResponseEntity.ok(orgaManagerService.setRoles(authHelper.getAuthenticationModel(token), orgaId, spaceId, users.toReferences(), roleScopes));
+    }
 }
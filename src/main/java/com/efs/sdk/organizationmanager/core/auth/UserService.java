@@ -18,8 +18,10 @@ package com.efs.sdk.organizationmanager.core.auth;
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.auth.model.OrganizationUserDTO;
 import com.efs.sdk.organizationmanager.core.auth.model.RoleDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.RoleMapping;
 import com.efs.sdk.organizationmanager.core.auth.model.SpaceUserDTO;
 import com.efs.sdk.organizationmanager.core.auth.model.UserDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.UserReference;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
 import com.efs.sdk.organizationmanager.helper.RoleHelper;
@@ -402,6 +404,99 @@ public class UserService {
         }
     }
 
+    /**
+     * Gets the user by the given reference
+     *
+     * @param reference the reference (id, username or email)
+     * @return the UserDTO
+     * @throws OrganizationmanagerException thrown on errors
+     */
+    public UserDTO getUser(UserReference reference) throws OrganizationmanagerException {
+        return switch (reference.type()) {
+            case ID -> getUser(reference.value());
+            case NAME -> getUserByName(reference.value());
+            case EMAIL -> getUserByEmail(reference.value());
+        };
+    }
+
+    /**
+     * Looks up the realm-roles for setting the given organization-scoped roles (all roles of the organization are
+     * withdrawn, the given ones are assigned)
+     *
+     * @param orga        the organization
+     * @param assignRoles the roles to assign
+     * @return the role-mapping
+     * @throws OrganizationmanagerException thrown on errors
+     */
+    public RoleMapping getRoleMapping(Organization orga, List<RoleHelper.OrganizationScopeRole> assignRoles) throws OrganizationmanagerException {
+        return getRoleMapping(Stream.of(RoleHelper.OrganizationScopeRole.values()).map(role -> roleHelper.buildOrganizationRole(orga, role)).toList(),
+                assignRoles.stream().map(role -> roleHelper.buildOrganizationRole(orga, role)).toList());
+    }
+
+    /**
+     * Looks up the realm-roles for setting the given space-scoped roles (all roles of the space are withdrawn, the
+     * given ones are assigned)
+     *
+     * @param orga        the organization
+     * @param space       the space
+     * @param assignRoles the roles to assign
+     * @return the role-mapping
+     * @throws OrganizationmanagerException thrown on errors
+     */
+    public RoleMapping getRoleMapping(Organization orga, Space space, List<RoleHelper.SpaceScopeRole> assignRoles) throws OrganizationmanagerException {
+        return getRoleMapping(Stream.of(RoleHelper.SpaceScopeRole.values()).map(role -> roleHelper.buildSpaceRole(orga, space, role)).toList(),
+                assignRoles.stream().map(role -> roleHelper.buildSpaceRole(orga, space, role)).toList());
+    }
+
+    private RoleMapping getRoleMapping(List<String> withdrawRoleNames, List<String> assignRoleNames) throws OrganizationmanagerException {
+        String accessToken = authService.getSAaccessToken();
+        Map<String, RoleDTO> roles = new HashMap<>();
+        for (RoleDTO role : roleService.getRoles(accessToken)) {
+            roles.putIfAbsent(role.getName().toLowerCase(Locale.getDefault()), role);
+        }
+        return new RoleMapping(lookupRoles(roles, withdrawRoleNames), lookupRoles(roles, assignRoleNames));
+    }
+
+    private static List<RoleDTO> lookupRoles(Map<String, RoleDTO> roles, List<String> roleNames) throws OrganizationmanagerException {
+        List<RoleDTO> found = new ArrayList<>();
+        for (String roleName : roleNames) {
+            RoleDTO role = roles.get(roleName.toLowerCase(Locale.getDefault()));
+            if (role == null) {
+                throw new OrganizationmanagerException(UNABLE_GET_ROLE, roleName);
+            }
+            found.add(role);
+        }
+        return found;
+    }
+
+    /**
+     * Applies the role-mapping to the user - the roles are withdrawn and assigned with one request each
+     *
+     * @param user    the user
+     * @param mapping the role-mapping
+     * @throws OrganizationmanagerException thrown on errors
+     */
+    public void applyRoleMapping(UserDTO user, RoleMapping mapping) throws OrganizationmanagerException {
+        String accessToken = authService.getSAaccessToken();
+        HttpHeaders headers = getHttpHeaders(accessToken);
+        String url = getUserAssignRoleEndpoint(user.getId());
+        try {
+            restTemplate.exchange(url, HttpMethod.DELETE, new HttpEntity<>(mapping.withdraw(), headers), UserDTO.class);
+        } catch (RestClientException e) {
+            LOG.error(e.getMessage(), e);
+            throw new OrganizationmanagerException(UNABLE_WITHDRAW_ROLE, user.getId());
+        }
+        if (mapping.assign().isEmpty()) {
+            return;
+        }
+        try {
+            restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(mapping.assign(), headers), UserDTO.class);
+        } catch (RestClientException e) {
+            LOG.error(e.getMessage(), e);
+            throw new OrganizationmanagerException(UNABLE_ASSIGN_ROLE, user.getId());
+        }
+    }
+
     private String getUserAssignRoleEndpoint(String userId) {
         return format("%s/users/%s/role-mappings/realm", realmEndpoint, userId);
     }
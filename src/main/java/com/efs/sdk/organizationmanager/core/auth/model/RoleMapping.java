@@ -0,0 +1,28 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.auth.model;
+
+import java.util.List;
+
+/**
+ * Realm-roles to withdraw from and assign to users - looked up once and applied to many users
+ *
+ * @param withdraw the roles to withdraw (all roles of the scope)
+ * @param assign   the roles to assign
+ * @author e:fs TechHub GmbH
+ */
+public record RoleMapping(List<RoleDTO> withdraw, List<RoleDTO> assign) {
+}
@@ -0,0 +1,34 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.auth.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Reference to a user - by id, username or email
+ *
+ * @param type  how the user is referenced
+ * @param value the id, username or email
+ * @author e:fs TechHub GmbH
+ */
+public record UserReference(
+        @Schema(description = "How the `User` is referenced") Type type,
+        @Schema(description = "The id, username or email of the `User`") String value) {
+
+    public enum Type {
+        ID, NAME, EMAIL
+    }
+}
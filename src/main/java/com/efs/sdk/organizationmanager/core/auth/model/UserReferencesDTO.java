@@ -0,0 +1,51 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.auth.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Users to set roles for - referenced by id, username or email
+ *
+ * @author e:fs TechHub GmbH
+ */
+public record UserReferencesDTO(
+        @Schema(description = "Ids of the `User`s as provided by the OAuth-Provider") List<String> userIds,
+        @Schema(description = "Usernames of the `User`s") List<String> usernames,
+        @Schema(description = "Emails of the `User`s") List<String> emails) {
+
+    /**
+     * @return the references to all users (without duplicates)
+     */
+    public List<UserReference> toReferences() {
+        Set<UserReference> references = new LinkedHashSet<>();
+        add(references, UserReference.Type.ID, userIds);
+        add(references, UserReference.Type.NAME, usernames);
+        add(references, UserReference.Type.EMAIL, emails);
+        return new ArrayList<>(references);
+    }
+
+    private static void add(Set<UserReference> references, UserReference.Type type, List<String> values) {
+        if (values != null) {
+            values.forEach(value -> references.add(new UserReference(type, value)));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.auth.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Result of setting the roles of a single user within a bulk-assignment
+ *
+ * @author e:fs TechHub GmbH
+ */
+public record UserRoleResultDTO(
+        @Schema(description = "The reference to the `User` as requested") UserReference reference,
+        @Schema(description = "Whether the roles were set") boolean success,
+        @Schema(description = "The `User` (if found)") UserDTO user,
+        @Schema(description = "Error code (if failed)") Integer errorCode,
+        @Schema(description = "Error message (if failed)") String error) {
+}
@@ -0,0 +1,167 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.bulk;
+
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
+import com.efs.sdk.organizationmanager.helper.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes many items (e.g. all spaces of an organization) with a bounded parallelism.
+ * <p>
+ * Uses a pool of its own - the items are typically processed by calling the services via the
+ * {@link com.efs.sdk.organizationmanager.core.clients.ClientFanOut}, sharing one pool would let the outer tasks wait
+ * for inner tasks that cannot be scheduled. The security context and the asynchronous {@link AsyncOperation} of the caller
+ * are propagated to the tasks.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Component
+public class BulkExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkExecutor.class);
+
+    private final ExecutorService executor;
+
+    public BulkExecutor(MeterRegistry meterRegistry, @Value("${organizationmanager.bulk.pool-size:8}") int poolSize,
+            @Value("${organizationmanager.virtual-threads.enabled:false}") boolean virtualThreads) {
+        Optional<ExecutorService> virtual = virtualThreads ? VirtualThreads.newThreadPerTaskExecutor("bulk-") : Optional.empty();
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, virtual.orElseGet(() -> newPlatformPool(poolSize)), "bulk");
+    }
+
+    private static ExecutorService newPlatformPool(int poolSize) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("bulk-"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Processes the items with at most the given parallelism and waits until all of them are processed. A failing
+     * item does not stop the processing of the others.
+     *
+     * @param operation   name of the operation (used for logging)
+     * @param items       the items
+     * @param parallelism maximum number of items processed at the same time
+     * @param task        processes a single item
+     * @param listener    notified after every processed item (may be null)
+     * @param <T>         type of the items
+     * @return the outcome per item (in the order of the items)
+     * @throws InterruptedException if interrupted while waiting - items not started yet are skipped
+     */
+    public <T> List<Outcome<T>> process(String operation, List<T> items, int parallelism, ItemTask<T> task, ProgressListener<T> listener) throws InterruptedException {
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        AtomicInteger done = new AtomicInteger();
+        List<CompletableFuture<Outcome<T>>> futures = new ArrayList<>();
+        try {
+            for (T item : items) {
+                permits.acquire();
+                CompletableFuture<Outcome<T>> future = new CompletableFuture<>();
+                futures.add(future);
+                executor.execute(new DelegatingSecurityContextRunnable(AsyncOperation.propagate(() -> {
+                    Outcome<T> outcome = execute(task, item);
+                    try {
+                        int count = done.incrementAndGet();
+                        if (listener != null) {
+                            listener.processed(outcome, count, items.size());
+                        }
+                    } catch (RuntimeException e) {
+                        LOG.warn("{} progress listener failed: {}", operation, e.getMessage());
+                    } finally {
+                        // complete only after notifying, so that all progress is reported before process() returns
+                        permits.release();
+                        future.complete(outcome);
+                    }
+                })));
+            }
+            List<Outcome<T>> outcomes = new ArrayList<>();
+            for (CompletableFuture<Outcome<T>> future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } catch (ExecutionException e) {
+            // outcomes are always completed normally
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            LOG.error("{} interrupted after {} of {} items.", operation, done.get(), items.size());
+            throw e;
+        }
+    }
+
+    private static <T> Outcome<T> execute(ItemTask<T> task, T item) {
+        long started = System.nanoTime();
+        try {
+            task.process(item);
+            return new Outcome<>(item, null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            return new Outcome<>(item, e, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Processes a single item
+     *
+     * @param <T> type of the item
+     */
+    @FunctionalInterface
+    public interface ItemTask<T> {
+        void process(T item) throws Exception;
+    }
+
+    /**
+     * Notified after every processed item (called by the processing thread)
+     *
+     * @param <T> type of the items
+     */
+    @FunctionalInterface
+    public interface ProgressListener<T> {
+        void processed(Outcome<T> outcome, int done, int total);
+    }
+
+    /**
+     * The outcome of processing a single item
+     *
+     * @param item           the item
+     * @param error          the error, null if successful
+     * @param durationMillis processing time in milliseconds
+     * @param <T>            type of the item
+     */
+    public record Outcome<T>(T item, Exception error, long durationMillis) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
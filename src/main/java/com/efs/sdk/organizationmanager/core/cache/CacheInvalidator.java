@@ -0,0 +1,186 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.cache;
+
+import com.efs.sdk.organizationmanager.core.events.EventPublisher;
+import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the caches of all instances consistent.
+ * <p>
+ * Every change of an organization or space (announced by the {@link OrganizationService} and {@link SpaceService}) is
+ * published on the cache-invalidation topic once the transaction is committed. Every instance consumes the topic in its
+ * own consumer-group and evicts the changed organizations or spaces from the second-level cache (see
+ * {@link EntityCacheConfig}), the cached lookups and the cached listings (see {@link ListingCache}). Messages of the
+ * instance itself are skipped, as its caches are already up-to-date.
+ * <p>
+ * Active unless 'organizationmanager.kafka.enabled' is set to 'false'.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Component
+@ConditionalOnProperty(value = "organizationmanager.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidator implements PropertyChangeListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    private final ListingCache listingCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EventPublisher eventPublisher;
+    private final String topic;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // identifies the messages of this instance
+    private final String origin = UUID.randomUUID().toString();
+
+    public CacheInvalidator(OrganizationService orgaService, SpaceService spaceService, ListingCache listingCache,
+            EntityManagerFactory entityManagerFactory, EventPublisher eventPublisher,
+            @Value("${organizationmanager.kafka.topic.cache-invalidation:cache-invalidation}") String topic) {
+        this.listingCache = listingCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.topic = topic;
+        orgaService.addPropertyChangeListener(this);
+        spaceService.addPropertyChangeListener(this);
+    }
+
+    /**
+     * Publishes the changed organizations or spaces (after the commit of the current transaction)
+     *
+     * @param evt emitted from the OrganizationService or SpaceService
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        Invalidation invalidation = switch (evt.getPropertyName()) {
+            case OrganizationService.PROP_ORG_CREATED, OrganizationService.PROP_ORG_UPDATED, OrganizationService.PROP_ORG_DELETED ->
+                    new Invalidation(origin, Type.ORGANIZATION, ids(evt));
+            case SpaceService.PROP_SPACE_CREATED, SpaceService.PROP_SPACE_UPDATED, SpaceService.PROP_SPACE_DELETED ->
+                    new Invalidation(origin, Type.SPACE, ids(evt));
+            default -> null;
+        };
+        if (invalidation == null || invalidation.ids().isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // other instances must not reload the state before the commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(invalidation);
+                }
+            });
+        } else {
+            publish(invalidation);
+        }
+    }
+
+    /**
+     * Evicts the organizations or spaces changed by another instance
+     *
+     * @param message the invalidation-message
+     */
+    @KafkaListener(topics = "${organizationmanager.kafka.topic.cache-invalidation:cache-invalidation}",
+            groupId = "${organizationmanager.kafka.cache-invalidation.group-id:organizationmanager-${random.uuid}}",
+            properties = "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer")
+    public void onInvalidation(byte[] message) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(message, Invalidation.class);
+        } catch (IOException e) {
+            LOG.warn("skipping invalid cache-invalidation: {}", e.getMessage());
+            return;
+        }
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        LOG.debug("evicting {} {} changed by instance {}", invalidation.type(), invalidation.ids(), invalidation.origin());
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        for (long id : invalidation.ids()) {
+            if (invalidation.type() == Type.ORGANIZATION) {
+                cache.evictEntityData(Organization.class, id);
+            } else {
+                cache.evictEntityData(Space.class, id);
+            }
+        }
+        // the lookups by name are not invalidated by changes of other instances
+        cache.evictDefaultQueryRegion();
+        listingCache.invalidateAll();
+    }
+
+    private void publish(Invalidation invalidation) {
+        try {
+            eventPublisher.sendMessage(ByteBuffer.wrap(objectMapper.writeValueAsBytes(invalidation)), topic);
+        } catch (IOException e) {
+            LOG.warn("publishing cache-invalidation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the ids of the changed organizations or spaces - events carry the entity (old or new value) or, for
+     * set-based deletions, the ids
+     */
+    private static List<Long> ids(PropertyChangeEvent evt) {
+        Object value = evt.getNewValue() != null ? evt.getNewValue() : evt.getOldValue();
+        if (value instanceof Organization orga) {
+            return List.of(orga.getId());
+        }
+        if (value instanceof Space space) {
+            return List.of(space.getId());
+        }
+        if (value instanceof Collection<?> ids) {
+            return ids.stream().map(Long.class::cast).toList();
+        }
+        return List.of();
+    }
+
+    /**
+     * Kind of the changed entities
+     */
+    enum Type {
+        ORGANIZATION, SPACE
+    }
+
+    /**
+     * Message on the cache-invalidation topic
+     *
+     * @param origin the publishing instance
+     * @param type   kind of the changed entities
+     * @param ids    ids of the changed entities
+     */
+    record Invalidation(String origin, Type type, List<Long> ids) {
+    }
+}
@@ -0,0 +1,118 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.cache;
+
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.hibernate.cache.spi.RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+import static org.hibernate.cache.spi.RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+import static org.hibernate.cfg.AvailableSettings.*;
+
+/**
+ * Second-level cache of hibernate for organizations and spaces (including their owners and capabilities) and the
+ * query-cache for their lookups by name.
+ * <p>
+ * The regions are held in Caffeine (via JCache) and bounded by size and age. Every change made through hibernate updates
+ * or evicts the affected entries and invalidates the cached queries of the changed tables. The cache is local to the
+ * instance, so changes made by other instances become visible after the time-to-live at the latest.
+ * <p>
+ * Active unless 'organizationmanager.cache.entity.enabled' is set to 'false'.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Configuration
+@ConditionalOnProperty(value = "organizationmanager.cache.entity.enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheConfig {
+
+    /**
+     * Regions of cached entities, collections and queries
+     */
+    static final List<String> REGIONS = List.of(Organization.CACHE_REGION, Space.CACHE_REGION, DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    /**
+     * Creates the cache-manager holding all regions of the second-level cache.
+     *
+     * @param ttl     maximum age of a cached entry
+     * @param maxSize maximum number of entries per region
+     * @return the cache-manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${organizationmanager.cache.entity.ttl:60s}") Duration ttl,
+            @Value("${organizationmanager.cache.entity.max-size:10000}") long maxSize) {
+        // the provider shares one manager per uri - every application-context gets its own
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("organizationmanager-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            cacheManager.createCache(region, new CaffeineConfiguration<>().setStoreByValue(false)
+                    .setExpireAfterWrite(OptionalLong.of(ttl.toNanos())).setMaximumSize(OptionalLong.of(maxSize)));
+        }
+        // holds one entry per table and must outlive the cached queries
+        cacheManager.createCache(DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    /**
+     * Enables the second-level cache and query-cache on the given cache-manager.
+     *
+     * @param entityCacheManager the cache-manager
+     * @return the customizer of the hibernate-properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernatePropertiesCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(USE_SECOND_LEVEL_CACHE, true);
+            properties.put(USE_QUERY_CACHE, true);
+            properties.put(CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            // regions without configured bounds are a mistake
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            // the statistics feed the metrics of the regions - without logging the metrics of every session
+            properties.put(GENERATE_STATISTICS, true);
+            properties.put(LOG_SESSION_METRICS, false);
+        };
+    }
+
+    /**
+     * Exports the statistics of the regions (see {@link EntityCacheMetrics}).
+     *
+     * @param entityManagerFactory EntityManagerFactory
+     * @return the binder of the metrics
+     */
+    @Bean
+    public EntityCacheMetrics entityCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return new EntityCacheMetrics(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Exports the statistics of the regions of the second-level cache with the common cache-metrics ({@code cache.gets},
+ * {@code cache.puts}, {@code cache.size}), tagged with the name of the region.
+ *
+ * @author e:fs TechHub GmbH
+ */
+public class EntityCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public EntityCacheMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            // e.g. the update-timestamps have no statistics
+            if (regionStatistics != null) {
+                new RegionMetrics(regionStatistics, region).bindTo(registry);
+            }
+        }
+    }
+
+    private static class RegionMetrics extends CacheMeterBinder<CacheRegionStatistics> {
+
+        private final CacheRegionStatistics statistics;
+
+        RegionMetrics(CacheRegionStatistics statistics, String region) {
+            super(statistics, region, Tags.empty());
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected Long size() {
+            long count = statistics.getElementCountInMemory();
+            // negative, if not supported by the provider
+            return count < 0 ? null : count;
+        }
+
+        @Override
+        protected long hitCount() {
+            return statistics.getHitCount();
+        }
+
+        @Override
+        protected Long missCount() {
+            return statistics.getMissCount();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            return null;
+        }
+
+        @Override
+        protected long putCount() {
+            return statistics.getPutCount();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            // only the common metrics
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.cache;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.datasource.ReplicaRoutingDataSource;
+import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
+import com.efs.sdk.organizationmanager.helper.AuthEntityOrganization;
+import com.efs.sdk.organizationmanager.helper.AuthEntitySpace;
+import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache for the authority-dependent part of the listing-endpoints (organizations).
+ * <p>
+ * Listings only depend on the authorities of the user (and the requested permission) - apart from ownership, which is
+ * resolved per user on top of the cached result. Entries are therefore keyed by a stable hash of the normalised
+ * authority-set, so all users with the same roles share one entry.
+ * <p>
+ * Every mutation of an organization or space (announced by the {@link OrganizationService} and {@link SpaceService})
+ * invalidates the whole cache, the time-to-live only bounds the staleness of data not managed by this service (e.g.
+ * user-names of owners). Listings read from a read-replica are not cached, as they may lag behind an invalidation.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Component
+public class ListingCache implements PropertyChangeListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ListingCache.class);
+    private static final String CACHE_NAME = "listing";
+
+    private final Cache<Key, Object> cache;
+    private final boolean enabled;
+    // incremented on every invalidation - results loaded before an invalidation must not be cached afterwards
+    private final AtomicLong generation = new AtomicLong();
+
+    public ListingCache(OrganizationService orgaService, SpaceService spaceService, MeterRegistry meterRegistry,
+            @Value("${organizationmanager.cache.listing.enabled:true}") boolean enabled,
+            @Value("${organizationmanager.cache.listing.ttl:60s}") Duration ttl,
+            @Value("${organizationmanager.cache.listing.max-size:1000}") long maxSize) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        orgaService.addPropertyChangeListener(this);
+        spaceService.addPropertyChangeListener(this);
+    }
+
+    /**
+     * Gets the listing for the authorities of the given user from the cache - or loads (and caches) it.
+     * <p>
+     * The loader must only compute the authority-dependent part of the listing (no ownership), and the returned value
+     * must not be modified afterwards, as it is shared between requests.
+     *
+     * @param listing    the listing
+     * @param authModel  AuthenticationModel
+     * @param authConfig the requested permission
+     * @param loader     computes the listing on a cache-miss
+     * @param <T>        type of the listing
+     * @return the (cached) listing
+     * @throws OrganizationmanagerException thrown by the loader
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Listing listing, AuthenticationModel authModel, AuthConfiguration authConfig, Loader<T> loader) throws OrganizationmanagerException {
+        if (!enabled) {
+            return loader.load();
+        }
+        Key key = new Key(listing, fingerprint(authModel, authConfig));
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long loadedIn = generation.get();
+        T value = loader.load();
+        // skip caching, if the data changed while loading or may be stale (read from a replica)
+        if (value != null && generation.get() == loadedIn && !ReplicaRoutingDataSource.hasReadFromReplica()) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Discards all cached listings
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Invalidates the cache on every change of an organization or space
+     *
+     * @param evt emitted from the OrganizationService or SpaceService
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        LOG.debug("invalidating listing-cache on '{}'", evt.getPropertyName());
+        invalidateAll();
+    }
+
+    /**
+     * Computes a stable hash of the normalised authorities (i.e. the parsed roles and public-access flags - other
+     * authorities do not influence a listing) and the requested permission. All superusers share one fingerprint.
+     *
+     * @param authModel  AuthenticationModel
+     * @param authConfig the requested permission
+     * @return the fingerprint
+     */
+    static String fingerprint(AuthenticationModel authModel, AuthConfiguration authConfig) {
+        StringBuilder sb = new StringBuilder(String.valueOf(authConfig)).append('|');
+        if (authModel.isSuperuser()) {
+            sb.append("superuser");
+        } else {
+            sb.append(authModel.isOrgaPublicAccess()).append('|').append(authModel.isSpacePublicAccess());
+            TreeSet<String> roles = new TreeSet<>();
+            if (authModel.getOrganizations() != null) {
+                for (AuthEntityOrganization orgaRole : authModel.getOrganizations()) {
+                    roles.add("org_" + orgaRole.getOrganization() + "_" + orgaRole.getRole());
+                }
+            }
+            if (authModel.getSpaces() != null) {
+                for (AuthEntitySpace spaceRole : authModel.getSpaces()) {
+                    roles.add(spaceRole.getOrganization() + "_" + spaceRole.getSpace() + "_" + spaceRole.getRole());
+                }
+            }
+            roles.forEach(role -> sb.append('|').append(role.toLowerCase(Locale.ROOT)));
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory for every java-platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The cached listing-endpoints
+     */
+    public enum Listing {
+        ORGANIZATIONS
+    }
+
+    /**
+     * Computes a listing on a cache-miss
+     *
+     * @param <T> type of the listing
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws OrganizationmanagerException;
+    }
+
+    private record Key(Listing listing, String fingerprint) {
+    }
+}
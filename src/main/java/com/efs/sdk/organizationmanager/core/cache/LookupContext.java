@@ -0,0 +1,160 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.cache;
+
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes the loads of organizations and spaces (by id and by name) for the lifetime of the current request, so the
+ * services share one load of each entity - regardless of how often the flow looks it up.
+ * <p>
+ * Only the loaded entities are memoized, permissions are still checked on every lookup. Outside of requests (e.g.
+ * asynchronous operations, scheduled workers) every lookup is passed to the loader. Every change of an organization or
+ * space (announced by the services, which register this context) discards the memoized entities of the request.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Component
+public class LookupContext implements PropertyChangeListener {
+
+    private static final String ATTRIBUTE = LookupContext.class.getName();
+
+    /**
+     * Gets an organization by id
+     *
+     * @param id     the id of the organization
+     * @param loader loads the organization, if not loaded within the request yet
+     * @return the organization
+     */
+    public Optional<Organization> organization(long id, Supplier<Optional<Organization>> loader) {
+        return lookup(new OrganizationId(id), loader, LookupContext::keys);
+    }
+
+    /**
+     * Gets an organization by name
+     *
+     * @param name   the name of the organization
+     * @param loader loads the organization, if not loaded within the request yet
+     * @return the organization
+     */
+    public Optional<Organization> organization(String name, Supplier<Optional<Organization>> loader) {
+        return lookup(new OrganizationName(name), loader, LookupContext::keys);
+    }
+
+    /**
+     * Gets a space of an organization by id
+     *
+     * @param orgaId  the id of the organization
+     * @param spaceId the id of the space
+     * @param loader  loads the space, if not loaded within the request yet
+     * @return the space
+     */
+    public Optional<Space> space(long orgaId, long spaceId, Supplier<Optional<Space>> loader) {
+        return lookup(new SpaceId(orgaId, spaceId), loader, LookupContext::keys);
+    }
+
+    /**
+     * Gets a space of an organization by name
+     *
+     * @param orgaId the id of the organization
+     * @param name   the name of the space
+     * @param loader loads the space, if not loaded within the request yet
+     * @return the space
+     */
+    public Optional<Space> space(long orgaId, String name, Supplier<Optional<Space>> loader) {
+        return lookup(new SpaceName(orgaId, name), loader, LookupContext::keys);
+    }
+
+    /**
+     * Discards the memoized entities of the current request on every change of an organization or space
+     *
+     * @param evt emitted from the OrganizationService or SpaceService
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> lookup(Object key, Supplier<Optional<T>> loader, Function<T, List<Object>> keysOf) {
+        Map<Object, Optional<?>> loaded = loaded();
+        if (loaded == null) {
+            return loader.get();
+        }
+        Optional<?> memoized = loaded.get(key);
+        if (memoized != null) {
+            return (Optional<T>) memoized;
+        }
+        Optional<T> entity = loader.get();
+        loaded.put(key, entity);
+        // found entities are memoized for all their keys (by id and by name)
+        entity.ifPresent(value -> keysOf.apply(value).forEach(other -> loaded.put(other, entity)));
+        return entity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Optional<?>> loaded() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object loaded = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loaded == null) {
+            loaded = new ConcurrentHashMap<>();
+            attributes.setAttribute(ATTRIBUTE, loaded, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<Object, Optional<?>>) loaded;
+    }
+
+    private static List<Object> keys(Organization orga) {
+        return List.of(new OrganizationId(orga.getId()), new OrganizationName(orga.getName()));
+    }
+
+    private static List<Object> keys(Space space) {
+        if (space.getOrganizationId() == null) {
+            return List.of();
+        }
+        return List.of(new SpaceId(space.getOrganizationId(), space.getId()), new SpaceName(space.getOrganizationId(), space.getName()));
+    }
+
+    private record OrganizationId(long id) {
+    }
+
+    private record OrganizationName(String name) {
+    }
+
+    private record SpaceId(long orgaId, long id) {
+    }
+
+    private record SpaceName(long orgaId, String name) {
+    }
+}
@@ -0,0 +1,343 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.clients;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
+import com.efs.sdk.organizationmanager.helper.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.DOWNSTREAM_ERROR;
+
+/**
+ * Runs a task for every service client in parallel on one shared, bounded thread-pool.
+ * <p>
+ * The security context of the calling thread is propagated to the tasks (the clients need the token of the caller).
+ * If the pool and its queue are exhausted, the task is executed by the calling thread - which waits for the result
+ * anyway - so the number of threads stays bounded without rejecting requests.
+ * <p>
+ * Per client, the number of queued and active tasks as well as the queue-wait and execution time are recorded. If the
+ * calling thread executes an asynchronous {@link AsyncOperation}, the result of every task is recorded as its step.
+ * <p>
+ * Every task has a deadline (overall or per client, capped by the deadline of the calling thread). Tasks still running
+ * at their deadline are cancelled and count as failed; the remaining time is bound to the task as {@link Deadline}, so
+ * the HTTP timeouts of its calls never exceed it.
+ * <p>
+ * Optionally, the tasks are run on virtual threads (one per task, if supported by the runtime) - the calls to the
+ * services are blocking I/O, so there is no need to bound the number of threads then.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Component
+public class ClientFanOut {
+
+    static final String METRIC_PREFIX = "organizationmanager.fanout";
+    private static final Logger LOG = LoggerFactory.getLogger(ClientFanOut.class);
+
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ClientStats> stats = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Map<String, Double> timeouts;
+
+    public ClientFanOut(MeterRegistry meterRegistry, @Value("${organizationmanager.fanout.pool-size:16}") int poolSize,
+            @Value("${organizationmanager.fanout.queue-capacity:100}") int queueCapacity,
+            @Value("${organizationmanager.virtual-threads.enabled:false}") boolean virtualThreads,
+            @Value("${organizationmanager.fanout.timeout:60s}") Duration timeout,
+            @Value("#{${organizationmanager.fanout.timeouts:{:}}}") Map<String, Double> timeouts) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.timeouts = Map.copyOf(timeouts);
+        Optional<ExecutorService> virtual = virtualThreads ? VirtualThreads.newThreadPerTaskExecutor("fanout-") : Optional.empty();
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, virtual.orElseGet(() -> newPlatformPool(poolSize, queueCapacity)), "fanout");
+    }
+
+    private static ExecutorService newPlatformPool(int poolSize, int queueCapacity) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("fanout-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Executes the task for every client in parallel and waits for all of them to complete. The results are taken in the
+     * order of completion - as soon as one task fails (or exceeds its deadline), the queued tasks are cancelled. The
+     * running ones are awaited up to their deadline, so no call is still running when this method returns (e.g. while
+     * the caller compensates the failure).
+     *
+     * @param operation name of the operation (used for logging and metrics)
+     * @param clients   the clients
+     * @param task      the task
+     * @throws OrganizationmanagerException DOWNSTREAM_ERROR if any of the tasks failed or exceeded its deadline
+     */
+    public void invokeAll(String operation, Collection<AbstractServiceRestClient> clients, ClientTask task) throws OrganizationmanagerException {
+        List<Throwable> failures = execute(operation, clients, task, true);
+        if (!failures.isEmpty()) {
+            throw new OrganizationmanagerException(DOWNSTREAM_ERROR, failures.get(0).getMessage());
+        }
+    }
+
+    /**
+     * Executes the task for every client in parallel and waits for all of them to complete - failures are only logged.
+     *
+     * @param operation name of the operation (used for logging and metrics)
+     * @param clients   the clients
+     * @param task      the task
+     */
+    public void invokeAllBestEffort(String operation, Collection<AbstractServiceRestClient> clients, ClientTask task) {
+        for (Throwable failure : execute(operation, clients, task, false)) {
+            LOG.warn("{} failed (ignored): {}", operation, failure.getMessage());
+        }
+    }
+
+    private List<Throwable> execute(String operation, Collection<AbstractServiceRestClient> clients, ClientTask task, boolean failFast) {
+        long now = System.nanoTime();
+        // the results are taken in the order of completion, so a failure is noticed as soon as it occurs
+        CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<Void>, Pending> outstanding = new IdentityHashMap<>();
+        for (AbstractServiceRestClient client : clients) {
+            Pending call = submit(operation, client, task, deadline(client, now), completion);
+            outstanding.put(call.future, call);
+        }
+        List<Throwable> failures = new ArrayList<>();
+        boolean interrupted = false;
+        while (!outstanding.isEmpty()) {
+            Future<Void> done;
+            try {
+                done = completion.poll(untilNextDeadline(outstanding), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                LOG.error("{} interrupted.", operation);
+                interrupted = true;
+                failures.add(e);
+                break;
+            }
+            complete(operation, done, outstanding, failures);
+            if (failFast && !failures.isEmpty()) {
+                break;
+            }
+        }
+        if (!outstanding.isEmpty()) {
+            // the queued calls are not started, the running ones are awaited (up to their deadline) - they cannot be
+            // stopped reliably, so returning earlier would let the caller compensate while they are still running
+            outstanding.values().removeIf(Pending::cancelIfQueued);
+            interrupted |= awaitRunning(operation, completion, outstanding, failures);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return failures;
+    }
+
+    /**
+     * Waits for the running calls to complete - calls still running at their deadline are cancelled
+     *
+     * @return whether the calling thread was interrupted while waiting
+     */
+    private boolean awaitRunning(String operation, CompletionService<Void> completion, Map<Future<Void>, Pending> outstanding, List<Throwable> failures) {
+        boolean interrupted = false;
+        while (!outstanding.isEmpty()) {
+            try {
+                complete(operation, completion.poll(untilNextDeadline(outstanding), TimeUnit.NANOSECONDS), outstanding, failures);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        return interrupted;
+    }
+
+    private static long untilNextDeadline(Map<Future<Void>, Pending> outstanding) {
+        long nextDeadline = outstanding.values().stream().mapToLong(call -> call.deadline).reduce((a, b) -> a - b < 0 ? a : b).orElseThrow();
+        return Math.max(0L, nextDeadline - System.nanoTime());
+    }
+
+    /**
+     * Takes the result of a completed call - or cancels the calls that reached their deadline, if none completed
+     */
+    private void complete(String operation, Future<Void> done, Map<Future<Void>, Pending> outstanding, List<Throwable> failures) {
+        if (done == null) {
+            expire(operation, outstanding, failures);
+            return;
+        }
+        Pending call = outstanding.remove(done);
+        if (call == null) {
+            // cancelled while queued or at its deadline - already handled
+            return;
+        }
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            // completed, so get() does not block
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            failures.add(e.getCause());
+        } catch (CancellationException e) {
+            LOG.debug("{} of {} cancelled.", operation, call.clientName);
+        }
+    }
+
+    /**
+     * Cancels the calls that reached their deadline
+     */
+    private void expire(String operation, Map<Future<Void>, Pending> outstanding, List<Throwable> failures) {
+        long now = System.nanoTime();
+        for (Iterator<Pending> it = outstanding.values().iterator(); it.hasNext(); ) {
+            Pending call = it.next();
+            if (call.deadline - now > 0) {
+                continue;
+            }
+            it.remove();
+            LOG.warn("{} of {} exceeded its deadline, cancelled.", operation, call.clientName);
+            call.cancel(true);
+            Counter.builder(METRIC_PREFIX + ".deadline.exceeded").description("fan-out tasks cancelled at their deadline")
+                    .tags(Tags.of("client", call.clientName, "operation", operation)).register(meterRegistry).increment();
+            failures.add(new TimeoutException(String.format("%s of %s exceeded its deadline", operation, call.clientName)));
+        }
+    }
+
+    /**
+     * @return the deadline of the call to the client - the earliest of the overall and the client's timeout and the
+     * deadline of the calling thread
+     */
+    private long deadline(AbstractServiceRestClient client, long now) {
+        Duration clientTimeout = Optional.ofNullable(timeouts.get(client.getClass().getSimpleName()))
+                .map(seconds -> Duration.ofMillis((long) (seconds * 1000))).filter(t -> t.compareTo(timeout) < 0).orElse(timeout);
+        long deadline = now + clientTimeout.toNanos();
+        return Deadline.current().filter(outer -> outer - deadline < 0).orElse(deadline);
+    }
+
+    private Pending submit(String operation, AbstractServiceRestClient client, ClientTask task, long deadline, CompletionService<Void> completion) {
+        String clientName = client.getClass().getSimpleName();
+        ClientStats clientStats = stats.computeIfAbsent(clientName, this::register);
+        long submitted = System.nanoTime();
+        clientStats.queued.incrementAndGet();
+        AtomicBoolean started = new AtomicBoolean();
+        // asynchronous operations record the result of every call as step
+        AsyncOperation asyncOperation = AsyncOperation.current();
+        Callable<Void> callable = () -> {
+            if (!started.compareAndSet(false, true)) {
+                // cancelled while queued
+                return null;
+            }
+            clientStats.queued.decrementAndGet();
+            clientStats.active.incrementAndGet();
+            long startedAt = System.nanoTime();
+            clientStats.queueWait.record(startedAt - submitted, TimeUnit.NANOSECONDS);
+            String outcome = "error";
+            String message = null;
+            try {
+                Deadline.call(deadline, () -> {
+                    task.execute(client);
+                    return null;
+                });
+                outcome = "success";
+                return null;
+            } catch (Exception e) {
+                message = e.getMessage();
+                throw e;
+            } finally {
+                long duration = System.nanoTime() - startedAt;
+                clientStats.active.decrementAndGet();
+                Timer.builder(METRIC_PREFIX + ".task").description("execution time of fan-out tasks")
+                        .tags(Tags.of("client", clientName, "operation", operation, "outcome", outcome)).register(meterRegistry)
+                        .record(duration, TimeUnit.NANOSECONDS);
+                if (asyncOperation != null) {
+                    asyncOperation.addStep(operation, clientName, "success".equals(outcome), message,
+                            TimeUnit.NANOSECONDS.toMillis(duration));
+                }
+            }
+        };
+        Pending call = new Pending(clientName, deadline, started, clientStats);
+        call.future = completion.submit(DelegatingSecurityContextCallable.create(callable, null));
+        return call;
+    }
+
+    private ClientStats register(String clientName) {
+        Tags tags = Tags.of("client", clientName);
+        ClientStats clientStats = new ClientStats(new AtomicInteger(), new AtomicInteger(),
+                Timer.builder(METRIC_PREFIX + ".queue.wait").description("time fan-out tasks wait for a thread").tags(tags).register(meterRegistry));
+        meterRegistry.gauge(METRIC_PREFIX + ".queued", tags, clientStats.queued);
+        meterRegistry.gauge(METRIC_PREFIX + ".active", tags, clientStats.active);
+        return clientStats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Task executed for every service client
+     */
+    @FunctionalInterface
+    public interface ClientTask {
+        void execute(AbstractServiceRestClient client) throws Exception;
+    }
+
+    /**
+     * Call to one client, submitted to the pool
+     */
+    private static final class Pending {
+        private final String clientName;
+        private final long deadline;
+        private final AtomicBoolean started;
+        private final ClientStats clientStats;
+        private Future<Void> future;
+
+        private Pending(String clientName, long deadline, AtomicBoolean started, ClientStats clientStats) {
+            this.clientName = clientName;
+            this.deadline = deadline;
+            this.started = started;
+            this.clientStats = clientStats;
+        }
+
+        /**
+         * @return whether the call was still queued (and is cancelled now)
+         */
+        private boolean cancelIfQueued() {
+            if (started.compareAndSet(false, true)) {
+                clientStats.queued.decrementAndGet();
+                future.cancel(false);
+                return true;
+            }
+            return false;
+        }
+
+        private void cancel(boolean interrupt) {
+            cancelIfQueued();
+            future.cancel(interrupt);
+        }
+    }
+
+    private record ClientStats(AtomicInteger queued, AtomicInteger active, Timer queueWait) {
+    }
+}
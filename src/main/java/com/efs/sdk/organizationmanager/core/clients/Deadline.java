@@ -0,0 +1,72 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.clients;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Time budget of the calls to the services made by the current thread.
+ * <p>
+ * The {@link ClientFanOut} binds the deadline of every task to the thread executing it, the
+ * {@link DeadlineAwareRequestFactory} caps the HTTP timeouts by the remaining time, so a call never outlives its task.
+ *
+ * @author e:fs TechHub GmbH
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private Deadline() {
+    }
+
+    /**
+     * @return the time left until the deadline of the current thread (negative, if passed), empty if there is none
+     */
+    public static Optional<Duration> remaining() {
+        Long deadline = CURRENT.get();
+        return deadline == null ? Optional.empty() : Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+    }
+
+    /**
+     * @return the deadline of the current thread in {@link System#nanoTime()}, empty if there is none
+     */
+    static Optional<Long> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Executes the callable with the given deadline bound to the current thread.
+     *
+     * @param deadline the deadline in {@link System#nanoTime()}
+     * @param callable the callable
+     * @return the result of the callable
+     */
+    static <V> V call(long deadline, Callable<V> callable) throws Exception {
+        Long previous = CURRENT.get();
+        CURRENT.set(deadline);
+        try {
+            return callable.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.clients;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Request factory with connect- and read-timeouts, capped by the remaining time of the {@link Deadline} of the
+ * calling thread. Calls made after the deadline passed are not started at all.
+ *
+ * @author e:fs TechHub GmbH
+ */
+public class DeadlineAwareRequestFactory extends SimpleClientHttpRequestFactory {
+
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+
+    public DeadlineAwareRequestFactory(Duration connectTimeout, Duration readTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+        Optional<Duration> remaining = Deadline.remaining();
+        if (remaining.isPresent() && (remaining.get().isNegative() || remaining.get().isZero())) {
+            throw new IOException("deadline exceeded");
+        }
+        connection.setConnectTimeout(timeout(connectTimeout, remaining));
+        connection.setReadTimeout(timeout(readTimeout, remaining));
+    }
+
+    private static int timeout(Duration configured, Optional<Duration> remaining) {
+        if (remaining.isEmpty()) {
+            return (int) configured.toMillis();
+        }
+        // 0 means infinite, so the remaining time always applies then
+        Duration timeout = configured.isZero() || remaining.get().compareTo(configured) < 0 ? remaining.get() : configured;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, timeout.toMillis()));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hibernate.cfg.AvailableSettings.CONNECTION_HANDLING;
+
+/**
+ * Sends read-only transactions to read-replicas of the database (see {@link ReplicaRoutingDataSource}).
+ * <p>
+ * The replicas share username and password of the primary ('spring.datasource'). Every mutating request (anything but
+ * GET, HEAD and OPTIONS) lets its client read from the primary for the stickiness-window after the request.
+ * <p>
+ * Active if 'organizationmanager.datasource.replica.urls' is set.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Configuration
+@ConditionalOnProperty("organizationmanager.datasource.replica.urls")
+public class ReplicaRoutingConfig {
+
+    /**
+     * The pool of the primary - configured like the one of spring boot, which backs off because of the routing.
+     *
+     * @param properties DataSourceProperties
+     * @return the pool of the primary
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * Creates a read-only pool per replica and routes between them and the primary.
+     *
+     * @param primaryDataSource the pool of the primary
+     * @param properties        DataSourceProperties
+     * @param urls              jdbc-urls of the replicas
+     * @param maxPoolSize       maximum size of the pool of each replica
+     * @param maxLag            maximum replication-lag of a replica to be used
+     * @param stickiness        time a client reads from the primary after a mutating request
+     * @param meterRegistry     MeterRegistry
+     * @return the routing data-source
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+            @Value("${organizationmanager.datasource.replica.urls}") List<String> urls,
+            @Value("${organizationmanager.datasource.replica.max-pool-size:10}") int maxPoolSize,
+            @Value("${organizationmanager.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${organizationmanager.datasource.replica.stickiness:5s}") Duration stickiness, MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(urls.get(i)).build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(maxPoolSize);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, stickiness, meterRegistry);
+    }
+
+    /**
+     * The data-source used by the application - obtains the connection of the routing data-source at the first
+     * statement, i.e. when the transaction is known to be read-only or not.
+     *
+     * @param replicaRoutingDataSource the routing data-source
+     * @return the data-source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Releases the connection of the entity-manager after every transaction. By default, the entity-manager of a
+     * request (open-in-view) holds its first connection - a replica-connection would serve later writes, too.
+     *
+     * @return the customizer of the hibernate-properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaRoutingHibernatePropertiesCustomizer() {
+        return properties -> properties.put(CONNECTION_HANDLING, PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Hands the time of every mutating request to its client - set when the response is committed, i.e. after the
+     * transaction of the request. The client sends it back, so its next reads use the primary.
+     *
+     * @param replicaRoutingDataSource the routing data-source
+     * @return the filter
+     */
+    @Bean
+    public OncePerRequestFilter readYourWritesFilter(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return ReplicaRoutingDataSource.SAFE_METHODS.contains(request.getMethod());
+            }
+
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+                WriteMarkingResponse wrapper = new WriteMarkingResponse(response, replicaRoutingDataSource);
+                filterChain.doFilter(request, wrapper);
+                // e.g. empty responses are committed after the filter
+                wrapper.markIfNotCommitted();
+            }
+        };
+    }
+
+    private static class WriteMarkingResponse extends OnCommittedResponseWrapper {
+
+        private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+        WriteMarkingResponse(HttpServletResponse response, ReplicaRoutingDataSource replicaRoutingDataSource) {
+            super(response);
+            this.replicaRoutingDataSource = replicaRoutingDataSource;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            replicaRoutingDataSource.markWrite((HttpServletResponse) getResponse());
+        }
+
+        void markIfNotCommitted() {
+            if (!isDisableOnResponseCommitted() && !isCommitted()) {
+                onResponseCommitted();
+                disableOnResponseCommitted();
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes the connections of read-only transactions in safe requests (GET, HEAD and OPTIONS) to the replicas - all other
+ * connections to the primary. Mutating requests and background-work (without request) never read from a replica, as they
+ * might act on what they read.
+ * <p>
+ * A replica is only used while its replication-lag (checked periodically) is within the tolerance. Clients that recently
+ * changed something read from the primary for a short window, so they see their own changes: the time of the write is
+ * handed to the client (see {@link #markWrite(HttpServletResponse)}) and sent back with its next requests - so the
+ * window holds regardless of the instance serving them. The routing is decided when a connection is obtained, so this
+ * data-source must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which
+ * obtains the connection at the first statement - after the transaction has been marked read-only.
+ * <p>
+ * What is read from a replica may be stale, so it must not be cached for everyone: transactions routed to a replica do
+ * not put entities into the second-level cache, and the request is marked (see {@link #hasReadFromReplica()}), so
+ * application-caches can skip it.
+ *
+ * @author e:fs TechHub GmbH
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String METRIC_PREFIX = "organizationmanager.datasource";
+    static final String PRIMARY = "primary";
+    static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    /**
+     * Time of the last write of the client (epoch-millis) - set as cookie, sent back as cookie or header
+     */
+    static final String LAST_WRITE = "X-Last-Write";
+    private static final String LAST_WRITE_COOKIE = "organizationmanager-last-write";
+    /**
+     * Request-attribute set when the request read from a replica
+     */
+    public static final String REPLICA_READ = ReplicaRoutingDataSource.class.getName() + ".replicaRead";
+    /**
+     * Replication-lag of a replica in seconds - 0 if it replayed everything received from the primary
+     */
+    static final String LAG_QUERY = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END""";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final Duration stickiness;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter laggingReads;
+
+    /**
+     * @param primary       the primary (read-write)
+     * @param replicas      the replicas by name
+     * @param maxLag        maximum replication-lag of a replica to be used
+     * @param stickiness    time a client reads from the primary after a change
+     * @param meterRegistry MeterRegistry
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, Duration stickiness,
+            MeterRegistry meterRegistry) {
+        this.maxLag = maxLag;
+        this.stickiness = stickiness;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // unknown targets must never fall back to the primary silently
+        setLenientFallback(false);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            Gauge.builder(METRIC_PREFIX + ".replica.lag", replica, r -> r.lag).description("replication-lag of the replica in seconds")
+                    .tag("replica", name).register(meterRegistry);
+        });
+
+        this.writes = routed(meterRegistry, PRIMARY, "read-write");
+        this.replicaReads = routed(meterRegistry, "replica", "read-only");
+        this.stickyReads = routed(meterRegistry, PRIMARY, "recent-write");
+        this.laggingReads = routed(meterRegistry, PRIMARY, "replica-lag");
+        afterPropertiesSet();
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder(METRIC_PREFIX + ".routed").description("connections obtained by target")
+                .tag("target", target).tag("reason", reason).register(meterRegistry);
+    }
+
+    /**
+     * Lets the client of the given response read from the primary for the configured window - the time of the write is
+     * set as cookie and header, the client sends it back with its next requests (restarted by every write).
+     *
+     * @param response the response of a mutating request
+     */
+    public void markWrite(HttpServletResponse response) {
+        String now = String.valueOf(System.currentTimeMillis());
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, now);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickiness.toSeconds()));
+        response.addCookie(cookie);
+        response.setHeader(LAST_WRITE, now);
+    }
+
+    /**
+     * @return whether the current request read from a replica (i.e. may have read stale data)
+     */
+    public static boolean hasReadFromReplica() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(REPLICA_READ, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        HttpServletRequest request = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes ?
+                attributes.getRequest() : null;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || request == null || !SAFE_METHODS.contains(request.getMethod())) {
+            writes.increment();
+            return PRIMARY;
+        }
+        if (isRecentWrite(request)) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+        Replica replica = nextReplica();
+        if (replica == null) {
+            laggingReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        readFromReplica(request);
+        return replica.name;
+    }
+
+    /**
+     * @return whether the client changed something within the stickiness-window (according to the time it sent back)
+     */
+    private boolean isRecentWrite(HttpServletRequest request) {
+        String lastWrite = request.getHeader(LAST_WRITE);
+        if (lastWrite == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                    lastWrite = cookie.getValue();
+                }
+            }
+        }
+        if (lastWrite == null) {
+            return false;
+        }
+        try {
+            // the time is set by any instance, so it may be slightly ahead of this one - far ahead is ignored
+            return Math.abs(System.currentTimeMillis() - Long.parseLong(lastWrite.trim())) < stickiness.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Marks the request and keeps the transaction from putting what it reads into the second-level cache
+     */
+    private static void readFromReplica(HttpServletRequest request) {
+        request.setAttribute(REPLICA_READ, Boolean.TRUE);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                // the entity-manager outlives the transaction (open-in-view) - later transactions may use the primary
+                Session session = holder.getEntityManager().unwrap(Session.class);
+                CacheMode cacheMode = session.getCacheMode();
+                session.setCacheMode(CacheMode.GET);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        session.setCacheMode(cacheMode);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * @return the next replica (round-robin) within the lag-tolerance, {@code null} if there is none
+     */
+    private Replica nextReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.lag <= maxLag.toMillis() / 1000d) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the replication-lag of all replicas. Replicas that cannot be reached are not used until the next check
+     * succeeds.
+     */
+    @Scheduled(fixedDelayString = "${organizationmanager.datasource.replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try {
+                Double lag = new JdbcTemplate(replica.dataSource).queryForObject(LAG_QUERY, Double.class);
+                replica.lag = lag == null ? 0 : lag;
+            } catch (Exception e) {
+                LOG.warn("Replication-lag of replica {} could not be checked - not using it", replica.name, e);
+                replica.lag = Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    /**
+     * Closes the pools of the replicas (the primary is a bean on its own).
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // unknown until the first check
+        private volatile double lag = Double.POSITIVE_INFINITY;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
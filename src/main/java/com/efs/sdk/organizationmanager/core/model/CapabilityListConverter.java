@@ -0,0 +1,47 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.model;
+
+import com.efs.sdk.common.domain.model.Capability;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores the capabilities of a space by name as array-column in the row of the space - like the former
+ * element-collection ({@code @Enumerated(EnumType.STRING)}).
+ * <p>
+ * Hibernate treats the converted list as immutable and detects changes by value - the space replaces the list instead of
+ * changing it in place.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Converter
+public class CapabilityListConverter implements AttributeConverter<List<Capability>, String[]> {
+
+    @Override
+    public String[] convertToDatabaseColumn(List<Capability> attribute) {
+        return attribute == null ? new String[0] : attribute.stream().map(Capability::name).toArray(String[]::new);
+    }
+
+    @Override
+    public List<Capability> convertToEntityAttribute(String[] dbData) {
+        return dbData == null ? new ArrayList<>() : new ArrayList<>(Arrays.stream(dbData).map(Capability::valueOf).toList());
+    }
+}
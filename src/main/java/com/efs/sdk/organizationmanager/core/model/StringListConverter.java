@@ -0,0 +1,45 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores a list of strings (e.g. the owners of an organization or space) as array-column in the row of its entity.
+ * <p>
+ * Hibernate treats the converted list as immutable and detects changes by value - the entities replace the list instead of
+ * changing it in place.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Converter
+public class StringListConverter implements AttributeConverter<List<String>, String[]> {
+
+    @Override
+    public String[] convertToDatabaseColumn(List<String> attribute) {
+        return attribute == null ? new String[0] : attribute.toArray(String[]::new);
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String[] dbData) {
+        return dbData == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(dbData));
+    }
+}
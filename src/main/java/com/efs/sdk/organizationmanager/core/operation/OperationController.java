@@ -0,0 +1,85 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.operation;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperationDTO;
+import com.efs.sdk.organizationmanager.helper.AuthHelper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RequestMapping(value = OperationController.ENDPOINT)
+@RestController
+@Tag(name = OperationController.ENDPOINT)
+public class OperationController {
+    /**
+     * constant containing the operation-endpoint
+     */
+    static final String ENDPOINT = "/api/v2.0/operations";
+    /**
+     * header value requesting the asynchronous execution of an operation (see RFC 7240)
+     */
+    public static final String PREFER_ASYNC = "Prefer=respond-async";
+    private static final Logger LOG = LoggerFactory.getLogger(OperationController.class);
+
+    private final AuthHelper authHelper;
+    private final OperationService service;
+
+    public OperationController(AuthHelper authHelper, OperationService service) {
+        this.authHelper = authHelper;
+        this.service = service;
+    }
+
+    /**
+     * Builds the response for a submitted operation: 202 (Accepted) with the location of the operation
+     *
+     * @param operation the submitted operation
+     * @return the response
+     */
+    public static ResponseEntity<AsyncOperationDTO> accepted(AsyncOperation operation) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath().path(ENDPOINT + "/{id}").buildAndExpand(operation.getId()).toUri())
+                .body(operation.toDTO());
+    }
+
+    @Operation(summary = "Gets an Operation", description = """
+            Gets the state, the results of the calls to the services and the timings of an asynchronous operation.
+                        
+            Operations are started by sending the header `Prefer: respond-async` when creating or deleting an `Organization` or creating a `Space`. They are kept for a limited time after they finished and are only visible to the user who started them (and superusers).
+            """)
+    @GetMapping(path = "/{id}", produces = "application/json")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the operation.")
+    @ApiResponse(responseCode = "404", description = "Operation was not found.", content = @Content(schema = @Schema(hidden = true)))
+    public ResponseEntity<AsyncOperationDTO> getOperation(@Parameter(hidden = true) JwtAuthenticationToken token,
+            @PathVariable @Parameter(description = "The id of the operation.") String id) throws OrganizationmanagerException {
+        LOG.debug("get operation {}", id);
+        return ResponseEntity.ok(service.getOperation(id, authHelper.getAuthenticationModel(token)));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.operation;
+
+import com.efs.sdk.organizationmanager.core.operation.model.StoredOperation;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface OperationRepository extends JpaRepository<StoredOperation, String> {
+
+    // read from the primary - the operation is polled right after it was submitted, possibly on another instance
+    @Transactional
+    @EntityGraph(attributePaths = "steps")
+    Optional<StoredOperation> findWithStepsById(String id);
+
+    // the executing instance writes the operations without reading them first. The statements only touch the operation
+    // tables - otherwise every write would evict all regions of the second-level cache
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "operation"))
+    @Query(value = "INSERT INTO operation (id, type, target, owner, state, done, total, created, modified) " +
+            "VALUES (:id, :type, :target, :owner, :state, 0, 0, :now, :now)", nativeQuery = true)
+    void insert(@Param("id") String id, @Param("type") int type, @Param("target") String target, @Param("owner") String owner,
+            @Param("state") int state, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "operation"))
+    @Query(value = "UPDATE operation SET state = :state, started = :started, done = :done, total = :total, modified = :now WHERE id = :id",
+            nativeQuery = true)
+    void update(@Param("id") String id, @Param("state") int state, @Param("started") Instant started, @Param("done") int done,
+            @Param("total") int total, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "operation"))
+    @Query(value = "UPDATE operation SET state = :state, resource_id = CAST(:resourceId AS bigint), error = CAST(:error AS text), done = :done, " +
+            "total = :total, finished = :now, modified = :now WHERE id = :id", nativeQuery = true)
+    void finish(@Param("id") String id, @Param("state") int state, @Param("resourceId") Long resourceId, @Param("error") String error,
+            @Param("done") int done, @Param("total") int total, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "operation_step"))
+    @Query(value = "INSERT INTO operation_step (operation_id, step_index, name, client, success, message, duration_millis) " +
+            "VALUES (:operationId, :stepIndex, :name, :client, :success, CAST(:message AS text), :durationMillis)", nativeQuery = true)
+    void insertStep(@Param("operationId") String operationId, @Param("stepIndex") int stepIndex, @Param("name") String name,
+            @Param("client") String client, @Param("success") boolean success, @Param("message") String message,
+            @Param("durationMillis") long durationMillis);
+
+    /**
+     * Refreshes the operations executed by this instance, so they are not considered interrupted
+     *
+     * @param operationIds ids of the operations
+     * @param now the current time
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "operation"))
+    @Query(value = "UPDATE operation SET modified = :now WHERE id IN (:operationIds)", nativeQuery = true)
+    void touch(@Param("operationIds") Collection<String> operationIds, @Param("now") Instant now);
+
+    /**
+     * Deletes the operations (and their steps) not modified since the given time
+     *
+     * @param before the time
+     * @return number of deleted operations
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "operation"))
+    @Query(value = "DELETE FROM operation WHERE modified < :before", nativeQuery = true)
+    int deleteModifiedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,270 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.operation;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperationDTO;
+import com.efs.sdk.organizationmanager.core.operation.model.StoredOperation;
+import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import com.efs.sdk.organizationmanager.helper.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.OPERATION_NOT_FOUND;
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.TOO_MANY_OPERATIONS;
+import static com.efs.sdk.organizationmanager.helper.Utils.getSubject;
+
+/**
+ * Executes long-running operations asynchronously on a pool of its own and persists them for polling.
+ * <p>
+ * The security context of the caller is propagated to the operation. The operation is stored when it is submitted,
+ * when it starts and when it finishes - in between, its progress and the results of the calls to the services are
+ * written periodically. So every instance can answer the polls, and the operations survive a restart. Operations whose
+ * instance died (i.e. no longer refreshed) are reported as failed. Operations are deleted once they were not modified
+ * for the configured retention.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Service
+public class OperationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OperationService.class);
+
+    private final OperationRepository repo;
+    private final ExecutorService executor;
+    // the operations submitted to this instance and not finished yet
+    private final Map<String, Tracked> executing = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration retention;
+    private final Duration staleAfter;
+
+    public OperationService(OperationRepository repo, MeterRegistry meterRegistry, @Value("${organizationmanager.operations.pool-size:4}") int poolSize,
+            @Value("${organizationmanager.operations.queue-capacity:100}") int queueCapacity,
+            @Value("${organizationmanager.operations.retention:1h}") Duration retention,
+            @Value("${organizationmanager.operations.stale-after:1m}") Duration staleAfter,
+            @Value("${organizationmanager.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.repo = repo;
+        this.meterRegistry = meterRegistry;
+        this.retention = retention;
+        this.staleAfter = staleAfter;
+        Optional<ExecutorService> virtual = virtualThreads ? VirtualThreads.newThreadPerTaskExecutor("operation-") : Optional.empty();
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, virtual.orElseGet(() -> newPlatformPool(poolSize, queueCapacity)), "operations");
+    }
+
+    private static ExecutorService newPlatformPool(int poolSize, int queueCapacity) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("operation-"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Submits the operation for asynchronous execution
+     *
+     * @param type      type of the operation
+     * @param target    name of the organization or space the operation is executed on
+     * @param authModel the authentication model of the caller (owner of the operation)
+     * @param work      the work to execute
+     * @return the submitted operation
+     * @throws OrganizationmanagerException TOO_MANY_OPERATIONS if the queue is full
+     */
+    public AsyncOperation submit(AsyncOperation.Type type, String target, AuthenticationModel authModel, Work work) throws OrganizationmanagerException {
+        AsyncOperation operation = new AsyncOperation(type, target, getSubject(authModel));
+        Tracked tracked = new Tracked(operation);
+        repo.insert(operation.getId(), type.ordinal(), target, operation.getOwner(), operation.getState().ordinal(), tracked.persisted.createdAt());
+        executing.put(operation.getId(), tracked);
+        try {
+            executor.execute(new DelegatingSecurityContextRunnable(() -> execute(tracked, work)));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("rejected operation {} on {}: {}", type, target, e.getMessage());
+            OrganizationmanagerException rejected = new OrganizationmanagerException(TOO_MANY_OPERATIONS);
+            operation.fail(rejected.getMessage());
+            write(tracked);
+            executing.remove(operation.getId());
+            throw rejected;
+        }
+        LOG.debug("submitted operation {} ({} on {})", operation.getId(), type, target);
+        return operation;
+    }
+
+    private void execute(Tracked tracked, Work work) {
+        AsyncOperation operation = tracked.operation;
+        operation.start();
+        write(tracked);
+        long started = System.nanoTime();
+        try {
+            Long resourceId = operation.call(() -> work.execute(operation));
+            operation.succeed(resourceId);
+        } catch (OrganizationmanagerException e) {
+            operation.fail(e.getMessage());
+        } catch (Exception e) {
+            LOG.error("operation {} failed", operation.getId(), e);
+            operation.fail(e.getMessage());
+        } finally {
+            // written before it is no longer answered from memory
+            write(tracked);
+            executing.remove(operation.getId());
+            Timer.builder("organizationmanager.operations").description("execution time of asynchronous operations")
+                    .tags(Tags.of("type", operation.getType().name(), "state", operation.getState().name())).register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Writes the progress and the new steps of the operations executed by this instance, and refreshes the other ones
+     * (so they are not considered interrupted).
+     */
+    @Scheduled(fixedDelayString = "${organizationmanager.operations.flush-interval:PT5S}")
+    public void flush() {
+        List<String> unchanged = new ArrayList<>();
+        for (Tracked tracked : executing.values()) {
+            if (!write(tracked)) {
+                unchanged.add(tracked.operation.getId());
+            }
+        }
+        if (!unchanged.isEmpty()) {
+            try {
+                repo.touch(unchanged, Instant.now());
+            } catch (DataAccessException e) {
+                LOG.warn("could not refresh {} operations: {}", unchanged.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Deletes the operations not modified within the retention (on every instance - deleting them twice does no harm)
+     */
+    @Scheduled(fixedDelayString = "${organizationmanager.operations.cleanup-interval:PT10M}")
+    public void cleanup() {
+        int deleted = repo.deleteModifiedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            LOG.debug("deleted {} operations", deleted);
+        }
+    }
+
+    /**
+     * Writes the changes of the operation since it was written last - a failure is only logged, the operation goes on
+     * and is written again with the next change.
+     *
+     * @return whether the operation was changed
+     */
+    private boolean write(Tracked tracked) {
+        synchronized (tracked) {
+            AsyncOperationDTO current = tracked.operation.toDTO();
+            AsyncOperationDTO persisted = tracked.persisted;
+            if (current.state() == persisted.state() && current.done() == persisted.done() && current.total() == persisted.total()
+                    && current.steps().size() == tracked.persistedSteps) {
+                return false;
+            }
+            String id = current.id();
+            Instant now = Instant.now();
+            try {
+                // the steps first, so a finished operation is never read without them
+                for (List<AsyncOperation.Step> steps = current.steps(); tracked.persistedSteps < steps.size(); tracked.persistedSteps++) {
+                    AsyncOperation.Step step = steps.get(tracked.persistedSteps);
+                    repo.insertStep(id, tracked.persistedSteps, step.name(), step.client(), step.success(), step.message(), step.durationMillis());
+                }
+                if (current.state().isFinished()) {
+                    repo.finish(id, current.state().ordinal(), current.resourceId(), current.error(), current.done(), current.total(), now);
+                } else {
+                    repo.update(id, current.state().ordinal(), current.startedAt(), current.done(), current.total(), now);
+                }
+                tracked.persisted = current;
+            } catch (DataAccessException e) {
+                LOG.warn("could not write operation {}: {}", id, e.getMessage());
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Get an operation - only the owner of the operation and superusers can see it
+     *
+     * @param id        id of the operation
+     * @param authModel the authentication model of the caller
+     * @return the snapshot of the operation
+     * @throws OrganizationmanagerException OPERATION_NOT_FOUND if unknown (or not visible to the caller)
+     */
+    public AsyncOperationDTO getOperation(String id, AuthenticationModel authModel) throws OrganizationmanagerException {
+        Tracked tracked = executing.get(id);
+        if (tracked != null) {
+            if (!isVisible(tracked.operation.getOwner(), authModel)) {
+                throw new OrganizationmanagerException(OPERATION_NOT_FOUND);
+            }
+            return tracked.operation.toDTO();
+        }
+        StoredOperation stored = repo.findWithStepsById(id).filter(operation -> isVisible(operation.getOwner(), authModel))
+                .orElseThrow(() -> new OrganizationmanagerException(OPERATION_NOT_FOUND));
+        boolean interrupted = !stored.getState().isFinished() && stored.getModified().isBefore(Instant.now().minus(staleAfter));
+        return stored.toDTO(interrupted);
+    }
+
+    private static boolean isVisible(String owner, AuthenticationModel authModel) {
+        return authModel.isSuperuser() || owner.equals(getSubject(authModel));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * An operation executed by this instance and what of it was written
+     */
+    private static final class Tracked {
+        private final AsyncOperation operation;
+        private AsyncOperationDTO persisted;
+        private int persistedSteps;
+
+        private Tracked(AsyncOperation operation) {
+            this.operation = operation;
+            this.persisted = operation.toDTO();
+        }
+    }
+
+    /**
+     * Work executed by an operation
+     */
+    @FunctionalInterface
+    public interface Work {
+        /**
+         * @param operation the executing operation (e.g. to record progress)
+         * @return id of the created resource (may be null)
+         * @throws Exception thrown on errors
+         */
+        Long execute(AsyncOperation operation) throws Exception;
+    }
+}
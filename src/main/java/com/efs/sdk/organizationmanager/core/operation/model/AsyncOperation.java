@@ -0,0 +1,204 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.operation.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * A long-running operation (e.g. creating or deleting an organization), executed asynchronously.
+ * <p>
+ * While the operation is executed, it is bound to the executing thread, so the calls to the services can record their
+ * results as steps (see {@link #current()}). The operation is updated concurrently, use {@link #toDTO()} to get a
+ * consistent snapshot.
+ *
+ * @author e:fs TechHub GmbH
+ */
+public class AsyncOperation {
+
+    private static final ThreadLocal<AsyncOperation> CURRENT = new ThreadLocal<>();
+
+    private final String id = UUID.randomUUID().toString();
+    private final Type type;
+    private final String target;
+    private final String owner;
+    private final Instant createdAt = Instant.now();
+    private final List<Step> steps = new ArrayList<>();
+    private State state = State.PENDING;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long resourceId;
+    private String error;
+    private int done;
+    private int total;
+
+    public AsyncOperation(Type type, String target, String owner) {
+        this.type = type;
+        this.target = target;
+        this.owner = owner;
+    }
+
+    /**
+     * Get the operation bound to the current thread
+     *
+     * @return the operation, null if the current thread does not execute an operation
+     */
+    public static AsyncOperation current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Wraps the runnable, so it is executed with the operation bound to the current thread (if any)
+     *
+     * @param runnable the runnable
+     * @return the wrapped runnable
+     */
+    public static Runnable propagate(Runnable runnable) {
+        AsyncOperation operation = current();
+        return operation == null ? runnable : () -> {
+            AsyncOperation previous = operation.bind();
+            try {
+                runnable.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Executes the callable with this operation bound to the current thread
+     *
+     * @param callable the callable
+     * @param <V>      the result type
+     * @return the result of the callable
+     * @throws Exception thrown by the callable
+     */
+    public <V> V call(Callable<V> callable) throws Exception {
+        AsyncOperation previous = bind();
+        try {
+            return callable.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private AsyncOperation bind() {
+        AsyncOperation previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    private static void restore(AsyncOperation previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized void start() {
+        state = State.RUNNING;
+        startedAt = Instant.now();
+    }
+
+    public synchronized void succeed(Long resourceId) {
+        this.resourceId = resourceId;
+        finish(State.SUCCEEDED);
+    }
+
+    public synchronized void fail(String error) {
+        this.error = error;
+        finish(State.FAILED);
+    }
+
+    private void finish(State finalState) {
+        state = finalState;
+        finishedAt = Instant.now();
+    }
+
+    /**
+     * Records the progress of operations processing many items (e.g. the spaces of an organization)
+     *
+     * @param done  number of processed items
+     * @param total total number of items
+     */
+    public synchronized void progress(int done, int total) {
+        this.done = Math.max(this.done, done);
+        this.total = total;
+    }
+
+    /**
+     * Records the result of a call to a service
+     *
+     * @param name           name of the step
+     * @param client         the service client
+     * @param success        whether the call was successful
+     * @param message        error message (if not successful)
+     * @param durationMillis duration of the call
+     */
+    public synchronized void addStep(String name, String client, boolean success, String message, long durationMillis) {
+        steps.add(new Step(name, client, success, message, durationMillis));
+    }
+
+    public synchronized AsyncOperationDTO toDTO() {
+        Long durationMillis = startedAt == null ? null : Duration.between(startedAt, finishedAt == null ? Instant.now() : finishedAt).toMillis();
+        return new AsyncOperationDTO(id, type, target, state, resourceId, error, createdAt, startedAt, finishedAt, durationMillis, done, total, List.copyOf(steps));
+    }
+
+    public enum Type {
+        CREATE_ORGANIZATION, DELETE_ORGANIZATION, CREATE_SPACE
+    }
+
+    public enum State {
+        PENDING, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    /**
+     * Result of a call to a service
+     *
+     * @param name           name of the step
+     * @param client         the service client
+     * @param success        whether the call was successful
+     * @param message        error message (if not successful)
+     * @param durationMillis duration of the call
+     */
+    public record Step(String name, String client, boolean success, String message, long durationMillis) {
+    }
+}
@@ -0,0 +1,42 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.operation.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of an {@link AsyncOperation}
+ *
+ * @author e:fs TechHub GmbH
+ */
+public record AsyncOperationDTO(
+        @Schema(description = "Id of the operation") String id,
+        @Schema(description = "Type of the operation") AsyncOperation.Type type,
+        @Schema(description = "Name of the `Organization` or `Space` the operation is executed on") String target,
+        @Schema(description = "State of the operation") AsyncOperation.State state,
+        @Schema(description = "Id of the created `Organization` or `Space` (if successful)") Long resourceId,
+        @Schema(description = "Error message (if failed)") String error,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt,
+        @Schema(description = "Duration of the operation (so far) in milliseconds") Long durationMillis,
+        @Schema(description = "Number of processed items (e.g. deleted `Space`s)") int done,
+        @Schema(description = "Total number of items (e.g. `Space`s to delete)") int total,
+        @Schema(description = "Results of the calls to the services") List<AsyncOperation.Step> steps) {
+}
@@ -0,0 +1,137 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.operation.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The persisted state of an {@link AsyncOperation}, so the operation can be polled on every instance and survives a
+ * restart.
+ * <p>
+ * Only read via JPA - the executing instance writes the rows with the native statements of the
+ * {@link com.efs.sdk.organizationmanager.core.operation.OperationRepository}.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Entity
+@Immutable
+@Table(name = "operation")
+public class StoredOperation {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private AsyncOperation.Type type;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String target;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String owner;
+
+    @Column(nullable = false)
+    private AsyncOperation.State state;
+
+    @Column
+    private Long resourceId;
+
+    @Column(columnDefinition = "text")
+    private String error;
+
+    @Column(nullable = false)
+    private int done;
+
+    @Column(nullable = false)
+    private int total;
+
+    @Column(nullable = false)
+    private Instant created;
+
+    @Column
+    private Instant started;
+
+    @Column
+    private Instant finished;
+
+    @Column(nullable = false)
+    private Instant modified;
+
+    @ElementCollection
+    @CollectionTable(name = "operation_step", joinColumns = @JoinColumn(name = "operation_id"))
+    @OrderColumn(name = "step_index")
+    private List<StoredStep> steps = new ArrayList<>();
+
+    public String getId() {
+        return id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public AsyncOperation.State getState() {
+        return state;
+    }
+
+    public Instant getModified() {
+        return modified;
+    }
+
+    /**
+     * @param interrupted whether the instance executing the operation died - the operation is reported as failed
+     * @return the snapshot of the operation
+     */
+    public AsyncOperationDTO toDTO(boolean interrupted) {
+        AsyncOperation.State reportedState = interrupted ? AsyncOperation.State.FAILED : state;
+        String reportedError = interrupted ? "operation was interrupted" : error;
+        Instant end = interrupted ? modified : finished;
+        Long durationMillis = started == null ? null : Duration.between(started, end == null ? Instant.now() : end).toMillis();
+        List<AsyncOperation.Step> dtoSteps = steps.stream()
+                .map(step -> new AsyncOperation.Step(step.name, step.client, step.success, step.message, step.durationMillis)).toList();
+        return new AsyncOperationDTO(id, type, target, reportedState, resourceId, reportedError, created, started, end, durationMillis, done, total,
+                dtoSteps);
+    }
+
+    /**
+     * Result of a call to a service
+     */
+    @Embeddable
+    public static class StoredStep {
+
+        @Column(nullable = false, columnDefinition = "text")
+        private String name;
+
+        @Column(nullable = false, columnDefinition = "text")
+        private String client;
+
+        @Column(nullable = false)
+        private boolean success;
+
+        @Column(columnDefinition = "text")
+        private String message;
+
+        @Column(nullable = false)
+        private long durationMillis;
+    }
+}
@@ -21,11 +21,18 @@ import com.efs.sdk.common.domain.dto.OrganizationUpdateDTO;
 import com.efs.sdk.logging.AuditLogger;
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.OrganizationManagerService;
+import com.efs.sdk.organizationmanager.core.cache.ListingCache;
+import com.efs.sdk.organizationmanager.core.operation.OperationController;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperationDTO;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.organization.model.OrganizationView;
 import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
 import com.efs.sdk.organizationmanager.helper.AuthHelper;
 import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
 import com.efs.sdk.organizationmanager.helper.EntityConverter;
+import com.efs.sdk.organizationmanager.helper.Keyset;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -45,6 +52,8 @@ import org.springframework.web.bind.annotation.*;
 import java.beans.PropertyEditorSupport;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.GET;
 
@@ -62,13 +71,15 @@ public class OrganizationController {
     private final OrganizationService service;
     private final OrganizationManagerService orgaManagerService;
     private final EntityConverter converter;
+    private final ListingCache listingCache;
 
     public OrganizationController(AuthHelper authHelper, OrganizationService service, EntityConverter converter,
-            OrganizationManagerService orgaManagerService) {
+            OrganizationManagerService orgaManagerService, ListingCache listingCache) {
         this.authHelper = authHelper;
         this.service = service;
         this.converter = converter;
         this.orgaManagerService = orgaManagerService;
+        this.listingCache = listingCache;
     }
 
     @Operation(summary = "Create a new Organization", description = "Create a new `Organization`, also calls dedicated services in order to create " +
@@ -89,32 +100,69 @@ public class OrganizationController {
         return ResponseEntity.ok(returnDTO);
     }
 
+    @Operation(summary = "Create a new Organization asynchronously", description = "Like creating an `Organization`, " +
+            "but returns immediately with an operation to poll (requested by the header `Prefer: respond-async`).")
+    @PostMapping(produces = "application/json", headers = OperationController.PREFER_ASYNC)
+    @PreAuthorize("hasRole('" + AuthHelper.ORG_CREATE_PERMISSION_ROLE + "')")
+    @ApiResponse(responseCode = "202", description = "Accepted, the `Location` refers to the operation.", useReturnTypeSchema = true)
+    @ApiResponse(responseCode = "403", description = "User does not have the required permissions.", content = @Content(schema = @Schema(hidden =
+            true)))
+    public ResponseEntity<AsyncOperationDTO> createOrganizationAsync(@Parameter(hidden = true) JwtAuthenticationToken token,
+            @RequestBody OrganizationCreateDTO organization) throws OrganizationmanagerException {
+        LOG.debug("creating organization '{}' asynchronously", organization.getName());
+        AsyncOperation operation = orgaManagerService.createOrganizationAsync(authHelper.getAuthenticationModel(token), organization);
+        AuditLogger.info(LOG, "creating organization {} (operation {})", token, organization.getName(), operation.getId());
+        return OperationController.accepted(operation);
+    }
+
     @Operation(summary = "Lists all Organizations", description = """
             Lists all `Organization`s the user has access to. 
                         
             You can also specify `permissions`, then only those `Organization`s are listed that contain a `Space` to which the user has the appropriate permission. This feature can be used, for example, to generate a list of `Organization`s to which the user is allowed to upload data.
+
+            If `limit` or `after` is given, the `Organization`s are listed in pages (ordered by name). The header `X-Next-Cursor` holds the cursor of the next page (`after`) and is missing on the last page.
             """)
     @GetMapping(produces = "application/json")
     @ApiResponse(responseCode = "200", description = "Successfully listed all `Organization`s the user has access to.")
+    @ApiResponse(responseCode = "400", description = "Invalid `limit` or `after`.", content = @Content(schema = @Schema(hidden = true)))
     public ResponseEntity<List<OrganizationReadDTO>> getAllOrganizations(
             @Parameter(hidden = true) JwtAuthenticationToken token,
             @Parameter(description = "Name of the permissions.", schema = @Schema(type = "string", allowableValues = {"READ", "WRITE", "DELETE"}), in =
-                    ParameterIn.QUERY) @RequestParam(required = false) AuthConfiguration permissions) throws OrganizationmanagerException {
+                    ParameterIn.QUERY) @RequestParam(required = false) AuthConfiguration permissions,
+            @Parameter(description = "Maximum number of `Organization`s per page (1-1000, default 100) - optional") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor of the page (header `X-Next-Cursor` of the previous page) - optional") @RequestParam(required = false) String after) throws OrganizationmanagerException {
         LOG.debug("getting all organizations");
         // persisted in database
         AuthenticationModel authModel = authHelper.getAuthenticationModel(token);
         AuthConfiguration authConfig = permissions == null ? GET : permissions;
         String[] allowedOrganizations = authModel.getOrganizationsByPermission(authConfig);
-        List<Organization> items = service.getAllOrganizations(authModel, allowedOrganizations, authConfig);
-        for (Organization org : items) {
-            updateOwners(org);
+        if (limit != null || after != null) {
+            int pageSize = Keyset.limit(limit);
+            List<OrganizationView> page = service.getOrganizationPage(authModel, allowedOrganizations, Cursor.decode(after), pageSize + 1);
+            return Keyset.page(convertToDTOs(page), pageSize, dto -> new Cursor(dto.getName(), dto.getId()));
+        }
+        // the part accessible by authorities is shared between all users with the same authorities
+        List<OrganizationReadDTO> orgaDTOs = listingCache.get(ListingCache.Listing.ORGANIZATIONS, authModel, authConfig,
+                () -> convertToDTOs(service.getOrganizationsByAuthorities(authModel, allowedOrganizations)));
+
+        // ownership is resolved per user - if it adds organizations, the database lists the union, so the order (name and
+        // id in the collation of the database) is the same as the one of the pages
+        Set<Long> listed = orgaDTOs.stream().map(OrganizationReadDTO::getId).collect(Collectors.toSet());
+        boolean ownsOthers = service.getOwnedOrganizations(authModel, allowedOrganizations).stream().anyMatch(org -> !listed.contains(org.id()));
+        if (!ownsOthers) {
+            return ResponseEntity.ok(orgaDTOs);
         }
+        return ResponseEntity.ok(convertToDTOs(service.getOrganizationPage(authModel, allowedOrganizations, Cursor.FIRST, Integer.MAX_VALUE)));
+    }
+
+    private List<OrganizationReadDTO> convertToDTOs(List<OrganizationView> items) throws OrganizationmanagerException {
         List<OrganizationReadDTO> orgaDTOs = new ArrayList<>();
-        for (Organization item : items) {
-            OrganizationReadDTO dto = converter.convertToDTO(item, OrganizationReadDTO.class);
+        for (OrganizationView item : items) {
+            OrganizationReadDTO dto = converter.convertToDTO(item);
+            dto.setOwners(getUserNames(item.owners()));
             orgaDTOs.add(dto);
         }
-        return ResponseEntity.ok(orgaDTOs);
+        return List.copyOf(orgaDTOs);
     }
 
     @Operation(summary = "Gets Organization by id", description = "Gets the given `Organization` if the user has access to.")
@@ -192,13 +240,32 @@ public class OrganizationController {
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
+    @Operation(summary = "Deletes an Organization asynchronously", description = "Like deleting an `Organization`, " +
+            "but returns immediately with an operation to poll (requested by the header `Prefer: respond-async`).")
+    @DeleteMapping(path = "/{orgaName}", headers = OperationController.PREFER_ASYNC)
+    @PreAuthorize("hasRole('" + AuthHelper.SUPERUSER_ROLE + "')")
+    @ApiResponse(responseCode = "202", description = "Accepted, the `Location` refers to the operation.", useReturnTypeSchema = true)
+    @ApiResponse(responseCode = "403",
+            description = "User does not have permissions to delete the `Organization`.", content = @Content(schema = @Schema(hidden = true)))
+    @ApiResponse(responseCode = "404", description = "`Organization` was not found.", content = @Content(schema = @Schema(hidden = true)))
+    public ResponseEntity<AsyncOperationDTO> deleteOrganizationAsync(
+            @PathVariable @Parameter(description = "The name of the `Organization`.") String orgaName,
+            @Parameter(hidden = true) JwtAuthenticationToken token
+    ) throws OrganizationmanagerException {
+        LOG.debug("deleting organization '{}' asynchronously", orgaName);
+        return OperationController.accepted(orgaManagerService.deleteOrganizationAsync(orgaName, authHelper.getAuthenticationModel(token)));
+    }
+
     private void updateOwners(Organization org) throws OrganizationmanagerException {
-        List<String> userIds = org.getOwners();
+        org.setOwners(getUserNames(org.getOwners()));
+    }
+
+    private List<String> getUserNames(List<String> userIds) throws OrganizationmanagerException {
         List<String> userNames = new ArrayList<>();
         for (String userId : userIds) {
             userNames.add(orgaManagerService.getUserName(userId));
         }
-        org.setOwners(userNames);
+        return userNames;
     }
 
     @InitBinder
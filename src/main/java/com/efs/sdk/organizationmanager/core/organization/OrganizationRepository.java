@@ -17,22 +17,118 @@ package com.efs.sdk.organizationmanager.core.organization;
 
 import com.efs.sdk.common.domain.model.Confidentiality;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.organization.model.OrganizationView;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface OrganizationRepository extends JpaRepository<Organization, Long> {
     List<Organization> findByConfidentiality(Confidentiality confidentiality);
 
+    // resolved from the query-cache (invalidated on every change of the table)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Organization> findByName(String name);
 
     // usage for role-checks
 
     List<Organization> findByNameIn(Collection<String> names);
 
-    List<Organization> findByOwners(String owner);
+    // the owners are an array-column - containment is answered by its GIN-index
+    @Query(value = "SELECT o.* FROM organization o WHERE o.owners @> ARRAY[CAST(:owner AS text)]", nativeQuery = true)
+    List<Organization> findByOwners(@Param("owner") String owner);
+
+    /**
+     * Gets the organizations the user has access to - by explicit role (organization-names), ownership or public
+     * access - optionally restricted to the given allowed organizations (case-insensitive).
+     * <p>
+     * The names are passed as one parameter each, so the statement (and its plan) is the same regardless of how many
+     * roles the user holds. Every condition can use an index (the ownership the GIN-index on the owners).
+     *
+     * @param names        the names of the organizations the user has an explicit role for
+     * @param subject      the subject of the user (owner-check)
+     * @param publicAccess whether public organizations should be included
+     * @param allowed      the organizations the result is restricted to (no restriction if empty)
+     * @return the accessible organizations
+     */
+    default List<Organization> findAccessible(Collection<String> names, String subject, boolean publicAccess, Collection<String> allowed) {
+        return findAccessible(String.join(",", names), subject, publicAccess, Confidentiality.PUBLIC.ordinal(), String.join(",", allowed));
+    }
+
+    @Query(value = """
+            SELECT o.* FROM organization o
+            WHERE (o.name = ANY (string_to_array(:names, ','))
+                   OR o.owners @> ARRAY[CAST(:subject AS text)]
+                   OR (:publicAccess AND o.confidentiality = :publicConfidentiality))
+              AND (:allowed = '' OR lower(o.name) = ANY (string_to_array(lower(:allowed), ',')))
+            ORDER BY o.name
+            """, nativeQuery = true)
+    List<Organization> findAccessible(@Param("names") String names, @Param("subject") String subject, @Param("publicAccess") boolean publicAccess,
+            @Param("publicConfidentiality") int publicConfidentiality, @Param("allowed") String allowed);
+
+    /**
+     * Gets the organizations the user has access to - with the same rules as
+     * {@link #findAccessible(Collection, String, boolean, Collection)} - as read-only views for listings. Only the
+     * columns of the view are read (the owners joined from their array-column), so neither entities nor their
+     * collections are loaded.
+     *
+     * @param superuser    whether the user has access to every organization
+     * @param names        the names of the organizations the user has an explicit role for
+     * @param subject      the subject of the user (owner-check, {@code null} to ignore ownership)
+     * @param publicAccess whether public organizations should be included
+     * @param allowed      the organizations the result is restricted to (no restriction if empty)
+     * @return the accessible organizations ordered by name
+     */
+    default List<OrganizationView> findAccessibleViews(boolean superuser, Collection<String> names, String subject, boolean publicAccess,
+            Collection<String> allowed) {
+        return findAccessibleViews(superuser, names, subject, publicAccess, allowed, Cursor.FIRST, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets a page of {@link #findAccessibleViews(boolean, Collection, String, boolean, Collection)} - the organizations
+     * after the given cursor (name and id), seeking by index.
+     *
+     * @param superuser    whether the user has access to every organization
+     * @param names        the names of the organizations the user has an explicit role for
+     * @param subject      the subject of the user (owner-check, {@code null} to ignore ownership)
+     * @param publicAccess whether public organizations should be included
+     * @param allowed      the organizations the result is restricted to (no restriction if empty)
+     * @param after        the name and id of the last organization of the previous page
+     * @param limit        the maximum number of organizations
+     * @return the accessible organizations ordered by name
+     */
+    default List<OrganizationView> findAccessibleViews(boolean superuser, Collection<String> names, String subject, boolean publicAccess,
+            Collection<String> allowed, Cursor after, int limit) {
+        return findAccessibleViews(superuser, String.join(",", names), subject, publicAccess, Confidentiality.PUBLIC.ordinal(),
+                String.join(",", allowed), after.key(), after.id(), limit).stream().map(OrganizationView::of).toList();
+    }
+
+    @Query(value = """
+            SELECT o.id AS "id", o.name AS "name", o.description AS "description", o.confidentiality AS "confidentiality",
+                   o.company AS "company", o.display_name AS "displayName", o.state AS "state",
+                   array_to_string(o.owners, ',') AS "owners",
+                   o.created AS "created", o.modified AS "modified"
+            FROM organization o
+            WHERE (:superuser
+                   OR ((o.name = ANY (string_to_array(:names, ','))
+                        OR o.owners @> ARRAY[CAST(:subject AS text)]
+                        OR (:publicAccess AND o.confidentiality = :publicConfidentiality))
+                       AND (:allowed = '' OR lower(o.name) = ANY (string_to_array(lower(:allowed), ',')))))
+              AND (o.name, o.id) > (:afterName, :afterId)
+            ORDER BY o.name, o.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<OrganizationView.Row> findAccessibleViews(@Param("superuser") boolean superuser, @Param("names") String names, @Param("subject") String subject,
+            @Param("publicAccess") boolean publicAccess, @Param("publicConfidentiality") int publicConfidentiality, @Param("allowed") String allowed,
+            @Param("afterName") String afterName, @Param("afterId") long afterId, @Param("limit") int limit);
 }
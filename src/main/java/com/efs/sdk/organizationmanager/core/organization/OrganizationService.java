@@ -16,13 +16,16 @@ limitations under the License.
 package com.efs.sdk.organizationmanager.core.organization;
 
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.cache.LookupContext;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
-import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
+import com.efs.sdk.organizationmanager.core.organization.model.OrganizationView;
 import com.efs.sdk.organizationmanager.helper.AuthEntityOrganization;
 import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
@@ -33,7 +36,6 @@ import java.util.stream.Stream;
 import static com.efs.sdk.common.domain.model.Confidentiality.PUBLIC;
 import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.*;
 import static com.efs.sdk.organizationmanager.core.organization.model.Organization.REGEX_NAME;
-import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.GET;
 import static com.efs.sdk.organizationmanager.helper.Utils.getSubject;
 import static com.efs.sdk.organizationmanager.helper.Utils.isAdminOrOwner;
 
@@ -47,13 +49,18 @@ public class OrganizationService {
 
     public static final String PROP_ORG_DELETED = "orgaDeleted";
     public static final String PROP_ORG_CREATED = "orgaCreated";
+    public static final String PROP_ORG_UPDATED = "orgaUpdated";
     private static final Logger LOG = LoggerFactory.getLogger(OrganizationService.class);
     private final PropertyChangeSupport pcs;
     private final OrganizationRepository repo;
+    private final LookupContext lookups;
 
-    public OrganizationService(OrganizationRepository repo) {
+    public OrganizationService(OrganizationRepository repo, LookupContext lookups) {
         this.repo = repo;
+        this.lookups = lookups;
         this.pcs = new PropertyChangeSupport(this);
+        // memoized organizations are discarded on every change
+        this.pcs.addPropertyChangeListener(lookups);
     }
 
     /**
@@ -91,6 +98,26 @@ public class OrganizationService {
         return true;
     }
 
+    /**
+     * Checks whether the organization (still) exists - without checking permissions
+     *
+     * @param id the id of the organization
+     * @return whether the organization exists
+     */
+    public boolean existsOrganizationEntity(long id) {
+        return repo.existsById(id);
+    }
+
+    /**
+     * Gets the organizations with the given ids - without checking permissions
+     *
+     * @param ids the ids of the organizations
+     * @return the organizations found
+     */
+    public List<Organization> getOrganizationEntities(Collection<Long> ids) {
+        return repo.findAllById(ids);
+    }
+
     /**
      * Validates the name - not empty, non-existent, matches Pattern
      *
@@ -108,7 +135,7 @@ public class OrganizationService {
             throw new OrganizationmanagerException(INVALID_NAME, REGEX_NAME);
         }
         // name must not be available yet
-        Optional<Organization> orgaOpt = repo.findByName(item.getName());
+        Optional<Organization> orgaOpt = lookups.organization(item.getName(), () -> repo.findByName(item.getName()));
         if (orgaOpt.isPresent() && orgaOpt.get().getId() != item.getId()) {
             throw new OrganizationmanagerException(SAVE_ORGANIZATION_NAME_FOUND);
         }
@@ -140,8 +167,11 @@ public class OrganizationService {
         item.setCreated(persisted.getCreated());
         item.setModified(ZonedDateTime.now());
 
+        Organization updated = repo.saveAndFlush(item);
+        pcs.firePropertyChange(PROP_ORG_UPDATED, persisted, updated);
+
         LOG.info("Updating organization '{}'...successful", item.getName());
-        return repo.saveAndFlush(item);
+        return updated;
     }
 
     /**
@@ -149,40 +179,102 @@ public class OrganizationService {
      *
      * @param authModel            AuthenticationModel
      * @param allowedOrganizations Organizations the user has access to
-     * @param authConfig           the permissions, the user should have
      * @return all organizations with access
      */
-    public List<Organization> getAllOrganizations(AuthenticationModel authModel, String[] allowedOrganizations, AuthConfiguration authConfig) {
+    public List<Organization> getAllOrganizations(AuthenticationModel authModel, String[] allowedOrganizations) {
         LOG.info("Retrieve all organizations the user has access to");
+        return findOrganizations(authModel, allowedOrganizations);
+    }
 
-        Set<Organization> orgas = new HashSet<>();
-        // if user is superuser -> has access to all organizations
-        if (GET.equals(authConfig) && authModel.isSuperuser()) {
-            return repo.findAll();
+    /**
+     * Gets all organizations the user has access to by its authorities only (explicit role or public access) - i.e.
+     * regardless of ownership. The result is the same for all users with the same authorities.
+     *
+     * @param authModel            AuthenticationModel
+     * @param allowedOrganizations Organizations the user has access to
+     * @return all organizations with access by authorities (read-only views)
+     * @see #getOwnedOrganizations(AuthenticationModel, String[])
+     */
+    @Transactional(readOnly = true)
+    public List<OrganizationView> getOrganizationsByAuthorities(AuthenticationModel authModel, String[] allowedOrganizations) {
+        LOG.info("Retrieve all organizations the user has access to by authorities");
+        if (authModel.isSuperuser()) {
+            return repo.findAccessibleViews(true, List.of(), null, false, List.of());
         }
+        AuthEntityOrganization[] orgaRoles = authModel.getOrganizations();
+        // user without organization-rights - only public organizations, if the user has org_all_public
+        if (orgaRoles == null || orgaRoles.length < 1) {
+            return authModel.isOrgaPublicAccess() ? repo.findAccessibleViews(false, List.of(), null, true, List.of()) : List.of();
+        }
+        List<String> orgaNames = Arrays.stream(orgaRoles).map(AuthEntityOrganization::getOrganization).distinct().toList();
+        List<String> allowed = allowedOrganizations == null ? List.of() : List.of(allowedOrganizations);
+        return repo.findAccessibleViews(false, orgaNames, null, authModel.isOrgaPublicAccess(), allowed);
+    }
 
+    /**
+     * Gets the organizations the user has access to as owner, that would not be returned by
+     * {@link #getOrganizationsByAuthorities(AuthenticationModel, String[])} - together both return
+     * the same organizations as {@link #getAllOrganizations(AuthenticationModel, String[])}.
+     *
+     * @param authModel            AuthenticationModel
+     * @param allowedOrganizations Organizations the user has access to
+     * @return the owned organizations (read-only views, may overlap with the ones accessible by authorities)
+     */
+    @Transactional(readOnly = true)
+    public List<OrganizationView> getOwnedOrganizations(AuthenticationModel authModel, String[] allowedOrganizations) {
         AuthEntityOrganization[] orgaRoles = authModel.getOrganizations();
+        // superusers see all organizations anyway, users without organization-rights only see public organizations
+        if (authModel.isSuperuser() || orgaRoles == null || orgaRoles.length < 1) {
+            return List.of();
+        }
+        List<String> allowed = allowedOrganizations == null ? List.of() : List.of(allowedOrganizations);
+        return repo.findAccessibleViews(false, List.of(), getSubject(authModel), false, allowed);
+    }
 
-        // only add public organizations, if the user has org_all_public
-        if (authModel.isOrgaPublicAccess()) {
-            orgas.addAll(repo.findByConfidentiality(PUBLIC));
+    /**
+     * Gets a page of all organizations the user has access to - by authorities and ownership in one query (i.e. not
+     * shared between users like {@link #getOrganizationsByAuthorities(AuthenticationModel, String[])}).
+     *
+     * @param authModel            AuthenticationModel
+     * @param allowedOrganizations Organizations the user has access to
+     * @param after                the name and id of the last organization of the previous page
+     * @param limit                the maximum number of organizations
+     * @return the organizations ordered by name (read-only views)
+     */
+    @Transactional(readOnly = true)
+    public List<OrganizationView> getOrganizationPage(AuthenticationModel authModel, String[] allowedOrganizations, Cursor after, int limit) {
+        LOG.info("Retrieve a page of the organizations the user has access to");
+        if (authModel.isSuperuser()) {
+            return repo.findAccessibleViews(true, List.of(), null, false, List.of(), after, limit);
         }
-        // user without organization-rights
+        AuthEntityOrganization[] orgaRoles = authModel.getOrganizations();
         if (orgaRoles == null || orgaRoles.length < 1) {
-            return orgas.stream().toList();
+            return authModel.isOrgaPublicAccess() ? repo.findAccessibleViews(false, List.of(), null, true, List.of(), after, limit) : List.of();
         }
-        // find all organizations, the user has direct access to (ignore whether access or admin!)
-        orgas.addAll(repo.findByNameIn(Arrays.stream(orgaRoles).map(AuthEntityOrganization::getOrganization).toList()));
-        // find all organizations, the user is owner of
-        orgas.addAll(repo.findByOwners(getSubject()));
+        List<String> orgaNames = Arrays.stream(orgaRoles).map(AuthEntityOrganization::getOrganization).distinct().toList();
+        List<String> allowed = allowedOrganizations == null ? List.of() : List.of(allowedOrganizations);
+        return repo.findAccessibleViews(false, orgaNames, getSubject(authModel), authModel.isOrgaPublicAccess(), allowed, after, limit);
+    }
 
-        // if allowedOrganizations is null or empty, no permission-query-param was set and all
-        // accessible organizations will be returned
-        if (allowedOrganizations != null && allowedOrganizations.length > 0) {
-            return orgas.stream().filter(o -> Stream.of(allowedOrganizations).anyMatch(allowedOrga -> allowedOrga.equalsIgnoreCase(o.getName()))).toList();
+    private List<Organization> findOrganizations(AuthenticationModel authModel, String[] allowedOrganizations) {
+        // if user is superuser -> has access to all organizations (regardless of the requested permission)
+        if (authModel.isSuperuser()) {
+            return repo.findAll();
         }
 
-        return orgas.stream().toList();
+        AuthEntityOrganization[] orgaRoles = authModel.getOrganizations();
+
+        // user without organization-rights - only public organizations, if the user has org_all_public
+        if (orgaRoles == null || orgaRoles.length < 1) {
+            return authModel.isOrgaPublicAccess() ? repo.findByConfidentiality(PUBLIC) : List.of();
+        }
+
+        // organizations the user has direct access to (ignore whether access or admin!), is owner of or public
+        // ones - if allowedOrganizations is null or empty, no permission-query-param was set and all
+        // accessible organizations will be returned
+        List<String> orgaNames = Arrays.stream(orgaRoles).map(AuthEntityOrganization::getOrganization).distinct().toList();
+        List<String> allowed = allowedOrganizations == null ? List.of() : List.of(allowedOrganizations);
+        return repo.findAccessible(orgaNames, getSubject(authModel), authModel.isOrgaPublicAccess(), allowed);
     }
 
     /**
@@ -203,7 +295,7 @@ public class OrganizationService {
     public Organization getOrganization(long id, AuthenticationModel authModel) throws OrganizationmanagerException {
         LOG.info("Retrieve an organization by id");
 
-        Optional<Organization> orgaOpt = repo.findById(id);
+        Optional<Organization> orgaOpt = lookups.organization(id, () -> repo.findById(id));
         if (orgaOpt.isEmpty()) {
             throw new OrganizationmanagerException(GET_SINGLE_NOT_FOUND);
         }
@@ -226,7 +318,7 @@ public class OrganizationService {
     public Organization getOrganizationByName(String name, AuthenticationModel authModel) throws OrganizationmanagerException {
         LOG.info("Retrieve an organization by name");
 
-        Optional<Organization> orgaOpt = repo.findByName(name);
+        Optional<Organization> orgaOpt = lookups.organization(name, () -> repo.findByName(name));
         if (orgaOpt.isEmpty()) {
             throw new OrganizationmanagerException(GET_SINGLE_NOT_FOUND);
         }
@@ -247,6 +339,10 @@ public class OrganizationService {
      * @return access
      */
     private boolean canAccessOrganization(Organization orga, AuthenticationModel authModel) {
+        // fast-lane for superuser
+        if (authModel.isSuperuser()) {
+            return true;
+        }
         boolean publicAccess = PUBLIC.equals(orga.getConfidentiality()) && authModel.isOrgaPublicAccess();
         return publicAccess || organizationAccess(orga, authModel);
     }
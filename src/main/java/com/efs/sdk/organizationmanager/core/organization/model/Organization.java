@@ -18,9 +18,13 @@ package com.efs.sdk.organizationmanager.core.organization.model;
 import com.efs.sdk.common.domain.model.Confidentiality;
 import com.efs.sdk.common.domain.model.State;
 import com.efs.sdk.organizationmanager.core.model.AppConfiguration;
+import com.efs.sdk.organizationmanager.core.model.StringListConverter;
 import com.efs.sdk.organizationmanager.core.model.Tag;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -33,8 +37,15 @@ import static com.efs.sdk.common.domain.model.State.OPEN;
 
 @Entity
 @Table(name = "organization")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Organization.CACHE_REGION)
 public class Organization {
 
+    /**
+     * Regions of the second-level cache
+     */
+    public static final String CACHE_REGION = "organization";
+
     /**
      * <a href="https://docs.microsoft.com/en-us/azure/azure-resource-manager/management/resource-name-rules#microsoftstorage">...</a>
      */
@@ -62,7 +73,9 @@ public class Organization {
     @Column
     private ZonedDateTime created;
 
+    // the tags are loaded for up to 100 organizations of the persistence-context at once (listings)
     @OneToMany(cascade = {CascadeType.ALL})
+    @BatchSize(size = 100)
     private List<Tag> tags = new ArrayList<>();
 
     @Column
@@ -71,7 +84,10 @@ public class Organization {
     @Column
     private String company;
 
-    @ElementCollection
+    // array-column of the organization - read with the row. The list is replaced instead of changed in place, the
+    // dirty-check compares it by value
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "owners", columnDefinition = "text array")
     private List<String> owners = new ArrayList<>();
 
     @Column
@@ -81,6 +97,7 @@ public class Organization {
     private ZonedDateTime modified;
 
     @OneToMany(cascade = {CascadeType.ALL})
+    @BatchSize(size = 100)
     private List<AppConfiguration> appConfigs = new ArrayList<>();
 
     public void addAppConfig(AppConfiguration appConfig) {
@@ -88,7 +105,9 @@ public class Organization {
     }
 
     public void addOwner(String owner) {
-        this.owners.add(owner);
+        List<String> changed = new ArrayList<>(this.owners);
+        changed.add(owner);
+        this.owners = changed;
     }
 
     public void addTag(Tag tag) {
@@ -173,8 +192,7 @@ public class Organization {
     }
 
     public void setOwners(List<String> owners) {
-        this.owners.clear();
-        this.owners.addAll(owners);
+        this.owners = new ArrayList<>(owners);
     }
 
     public State getState() {
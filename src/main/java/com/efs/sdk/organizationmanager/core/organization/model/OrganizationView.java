@@ -0,0 +1,78 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.organization.model;
+
+import com.efs.sdk.common.domain.model.Confidentiality;
+import com.efs.sdk.common.domain.model.State;
+
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.efs.sdk.organizationmanager.helper.Projections.ordinal;
+import static com.efs.sdk.organizationmanager.helper.Projections.split;
+import static com.efs.sdk.organizationmanager.helper.Projections.zoned;
+
+/**
+ * Read-only view of an {@link Organization} for listings - only the columns of an
+ * {@link com.efs.sdk.common.domain.dto.OrganizationReadDTO}, read without loading (and managing) the entity.
+ *
+ * @author e:fs TechHub GmbH
+ */
+public record OrganizationView(
+        long id,
+        String name,
+        String description,
+        Confidentiality confidentiality,
+        String company,
+        String displayName,
+        State state,
+        List<String> owners,
+        ZonedDateTime created,
+        ZonedDateTime modified) {
+
+    public static OrganizationView of(Row row) {
+        return new OrganizationView(row.getId(), row.getName(), row.getDescription(), ordinal(Confidentiality.values(), row.getConfidentiality()),
+                row.getCompany(), row.getDisplayName(), ordinal(State.values(), row.getState()), split(row.getOwners(), Function.identity()),
+                zoned(row.getCreated()), zoned(row.getModified()));
+    }
+
+    /**
+     * Raw columns of the native projection (owners comma-joined)
+     */
+    public interface Row {
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+
+        Integer getConfidentiality();
+
+        String getCompany();
+
+        String getDisplayName();
+
+        Integer getState();
+
+        String getOwners();
+
+        Timestamp getCreated();
+
+        Timestamp getModified();
+    }
+}
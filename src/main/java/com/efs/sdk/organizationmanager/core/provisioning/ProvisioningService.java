@@ -0,0 +1,436 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.provisioning;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.auth.UserService;
+import com.efs.sdk.organizationmanager.core.clients.AbstractServiceRestClient;
+import com.efs.sdk.organizationmanager.core.clients.ClientFanOut;
+import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningPayload;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningStep;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningStep.Action;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningStep.EntityType;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningStep.State;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.helper.RoleHelper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.UNKNOWN_ERROR;
+
+/**
+ * Durable provisioning of organization and space contexts in the services.
+ * <p>
+ * Before the contexts are created, a {@link ProvisioningStep} per service is persisted. The steps are executed right
+ * away by the request (in parallel, see {@link ClientFanOut}) and leased for a while - if the instance dies in the
+ * meantime, a worker (of any instance) resumes them after the lease expired. Failed steps are retried with
+ * exponential backoff, creations that fail permanently are compensated by deleting the contexts and the entity.
+ * <p>
+ * The assignment of the space-roles to the owner of a new space is a step as well - it is planned together with the
+ * contexts and only executed (or resumed) once all contexts of the space are created.
+ * <p>
+ * The workers claim due steps with {@code FOR UPDATE SKIP LOCKED}, so several instances can work concurrently.
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Service
+public class ProvisioningService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProvisioningService.class);
+    // 'client' of the steps assigning the owner-roles
+    static final String OWNER_ROLES_CLIENT = UserService.class.getSimpleName();
+
+    private final ProvisioningStepRepository repo;
+    private final OrganizationService orgaService;
+    private final SpaceService spaceService;
+    private final UserService userService;
+    private final List<AbstractServiceRestClient> serviceRestClients;
+    private final Map<String, AbstractServiceRestClient> clientsByName = new HashMap<>();
+    private final ClientFanOut fanOut;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean workerEnabled;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final int batchSize;
+
+    public ProvisioningService(ProvisioningStepRepository repo, OrganizationService orgaService, SpaceService spaceService, UserService userService,
+            List<AbstractServiceRestClient> serviceRestClients, ClientFanOut fanOut, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${organizationmanager.provisioning.worker.enabled:true}") boolean workerEnabled,
+            @Value("${organizationmanager.provisioning.lease:5m}") Duration lease,
+            @Value("${organizationmanager.provisioning.max-attempts:8}") int maxAttempts,
+            @Value("${organizationmanager.provisioning.backoff:30s}") Duration backoff,
+            @Value("${organizationmanager.provisioning.max-backoff:1h}") Duration maxBackoff,
+            @Value("${organizationmanager.provisioning.batch-size:20}") int batchSize) {
+        this.repo = repo;
+        this.orgaService = orgaService;
+        this.spaceService = spaceService;
+        this.userService = userService;
+        this.serviceRestClients = serviceRestClients;
+        this.fanOut = fanOut;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.workerEnabled = workerEnabled;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.batchSize = batchSize;
+        for (AbstractServiceRestClient client : serviceRestClients) {
+            clientsByName.put(clientName(client), client);
+        }
+    }
+
+    /**
+     * Persists a step per service for the given organization (or space) - the steps are leased to the caller, who is
+     * expected to execute them right away.
+     *
+     * @param action the action
+     * @param org    the organization
+     * @param space  the space (null if the organization is provisioned)
+     * @return the plan
+     * @throws OrganizationmanagerException if the payload could not be serialized
+     */
+    public Plan plan(Action action, Organization org, Space space) throws OrganizationmanagerException {
+        return plan(action, org, space, null, ZonedDateTime.now().plus(lease));
+    }
+
+    /**
+     * Persists the steps creating the contexts of a new space and the step assigning all space-roles to its owner - the
+     * steps are leased to the caller, who is expected to execute them right away (the assignment with
+     * {@link #assignOwnerRoles(Plan)} once the contexts are created).
+     *
+     * @param org   the organization
+     * @param space the space
+     * @param owner the id of the owner
+     * @return the plan
+     * @throws OrganizationmanagerException if the payload could not be serialized
+     */
+    public Plan planSpaceCreation(Organization org, Space space, String owner) throws OrganizationmanagerException {
+        return plan(Action.CREATE, org, space, owner, ZonedDateTime.now().plus(lease));
+    }
+
+    private Plan plan(Action action, Organization org, Space space, String owner, ZonedDateTime nextAttemptAt) throws OrganizationmanagerException {
+        String payload = toPayload(org, space, owner);
+        ZonedDateTime now = ZonedDateTime.now();
+        Map<AbstractServiceRestClient, ProvisioningStep> steps = new LinkedHashMap<>();
+        for (AbstractServiceRestClient client : serviceRestClients) {
+            steps.put(client, newStep(org, space, clientName(client), action, nextAttemptAt, payload, now));
+        }
+        List<ProvisioningStep> all = new ArrayList<>(steps.values());
+        ProvisioningStep ownerRoles = null;
+        if (owner != null) {
+            ownerRoles = newStep(org, space, OWNER_ROLES_CLIENT, Action.ASSIGN_OWNER_ROLES, nextAttemptAt, payload, now);
+            all.add(ownerRoles);
+        }
+        repo.saveAll(all);
+        return new Plan(org, space, steps, ownerRoles, owner);
+    }
+
+    private static ProvisioningStep newStep(Organization org, Space space, String client, Action action, ZonedDateTime nextAttemptAt, String payload,
+            ZonedDateTime now) {
+        ProvisioningStep step = new ProvisioningStep();
+        step.setEntityType(space == null ? EntityType.ORGANIZATION : EntityType.SPACE);
+        step.setOrganizationId(org.getId());
+        step.setSpaceId(space == null ? null : space.getId());
+        step.setClient(client);
+        step.setAction(action);
+        step.setNextAttemptAt(nextAttemptAt);
+        step.setPayload(payload);
+        step.setCreated(now);
+        step.setModified(now);
+        return step;
+    }
+
+    /**
+     * Executes the steps in parallel and waits for all of them. Failed steps are kept for retries (until compensated).
+     *
+     * @param operation name of the operation (used for logging and metrics)
+     * @param plan      the plan
+     * @throws OrganizationmanagerException DOWNSTREAM_ERROR if any of the steps failed
+     */
+    public void execute(String operation, Plan plan) throws OrganizationmanagerException {
+        fanOut.invokeAll(operation, plan.steps().keySet(), client -> run(client, plan.steps().get(client), plan.organization(), plan.space()));
+    }
+
+    /**
+     * Executes the steps in parallel and waits for all of them - failures are only logged (and retried later).
+     *
+     * @param operation name of the operation (used for logging and metrics)
+     * @param plan      the plan
+     */
+    public void executeBestEffort(String operation, Plan plan) {
+        fanOut.invokeAllBestEffort(operation, plan.steps().keySet(), client -> run(client, plan.steps().get(client), plan.organization(), plan.space()));
+    }
+
+    /**
+     * Assigns all space-roles to the owner of the space (the contexts of the space must be created). If it fails, the
+     * step is retried later.
+     *
+     * @param plan the plan of the space creation (see {@link #planSpaceCreation(Organization, Space, String)})
+     * @throws OrganizationmanagerException if the roles could not be assigned
+     */
+    public void assignOwnerRoles(Plan plan) throws OrganizationmanagerException {
+        ProvisioningStep step = plan.ownerRoles();
+        run(step, () -> setOwnerRoles(plan.organization(), plan.space(), plan.owner()));
+    }
+
+    /**
+     * Compensates a (failed) creation: pending creation steps are cancelled and the contexts are deleted in all
+     * services. Failed deletions are retried later.
+     *
+     * @param operation name of the operation (used for logging and metrics)
+     * @param plan      the plan of the creation
+     * @throws OrganizationmanagerException if the payload could not be serialized
+     */
+    public void compensate(String operation, Plan plan) throws OrganizationmanagerException {
+        cancelPending(plan.steps().values());
+        if (plan.ownerRoles() != null) {
+            cancelPending(List.of(plan.ownerRoles()));
+        }
+        executeBestEffort(operation, plan(Action.DELETE, plan.organization(), plan.space()));
+    }
+
+    /**
+     * Resumes the steps that are due - i.e. interrupted steps whose lease expired and failed steps whose backoff
+     * elapsed.
+     */
+    @Scheduled(fixedDelayString = "${organizationmanager.provisioning.interval:PT30S}", initialDelayString = "${organizationmanager.provisioning.interval:PT30S}")
+    public void resume() {
+        if (!workerEnabled) {
+            return;
+        }
+        String claim = UUID.randomUUID().toString();
+        ZonedDateTime now = ZonedDateTime.now();
+        if (repo.claimDue(claim, now, now.plus(lease), batchSize) == 0) {
+            return;
+        }
+        List<ProvisioningStep> steps = repo.findByClaimedBy(claim);
+        LOG.info("resuming {} provisioning steps", steps.size());
+        for (ProvisioningStep step : steps) {
+            resume(step);
+        }
+    }
+
+    private void resume(ProvisioningStep step) {
+        AbstractServiceRestClient client = clientsByName.get(step.getClient());
+        ProvisioningPayload payload;
+        try {
+            payload = objectMapper.readValue(step.getPayload(), ProvisioningPayload.class);
+        } catch (JsonProcessingException e) {
+            LOG.error("provisioning step {} has an invalid payload: {}", step.getId(), e.getMessage());
+            finish(step, State.FAILED, "invalid payload");
+            return;
+        }
+        if (step.getAction() == Action.ASSIGN_OWNER_ROLES) {
+            resumeOwnerRoles(step, payload);
+            return;
+        }
+        if (client == null) {
+            LOG.error("provisioning step {} refers to unknown client {}", step.getId(), step.getClient());
+            finish(step, State.FAILED, "unknown client");
+            return;
+        }
+        if (step.getAction() == Action.CREATE && !exists(step)) {
+            // entity was deleted in the meantime (e.g. by the rollback of the request)
+            finish(step, State.CANCELLED, null);
+            return;
+        }
+        try {
+            run(client, step, payload.toOrganization(), payload.toSpace());
+        } catch (OrganizationmanagerException | RuntimeException e) {
+            LOG.warn("provisioning step {} ({} {} in {}) failed (attempt {}): {}", step.getId(), step.getAction(), step.getEntityType(), step.getClient(),
+                    step.getAttempts(), e.getMessage());
+            if (step.getAction() == Action.CREATE && step.getState() == State.FAILED) {
+                compensate(step, payload);
+            }
+        }
+    }
+
+    /**
+     * Resumes the assignment of the owner-roles - postponed while contexts of the space are still being created,
+     * cancelled if the space is gone (e.g. compensated).
+     */
+    private void resumeOwnerRoles(ProvisioningStep step, ProvisioningPayload payload) {
+        if (!exists(step)) {
+            finish(step, State.CANCELLED, null);
+            return;
+        }
+        if (!repo.findByEntityTypeAndOrganizationIdAndSpaceIdAndActionAndState(EntityType.SPACE, step.getOrganizationId(), step.getSpaceId(),
+                Action.CREATE, State.PENDING).isEmpty()) {
+            step.setNextAttemptAt(ZonedDateTime.now().plus(backoff));
+            finish(step, State.PENDING, step.getLastError());
+            return;
+        }
+        try {
+            run(step, () -> setOwnerRoles(payload.toOrganization(), payload.toSpace(), payload.owner()));
+        } catch (OrganizationmanagerException | RuntimeException e) {
+            LOG.warn("assigning the owner-roles of space {} failed (attempt {}): {}", step.getSpaceId(), step.getAttempts(), e.getMessage());
+        }
+    }
+
+    private void setOwnerRoles(Organization org, Space space, String owner) throws OrganizationmanagerException {
+        userService.setUserRoles(org, space, List.of(RoleHelper.SpaceScopeRole.values()), owner);
+    }
+
+    /**
+     * Compensates a creation that failed permanently: the contexts are deleted (by the workers) and the entity is
+     * deleted, unless it is an organization that already contains spaces.
+     */
+    private void compensate(ProvisioningStep failed, ProvisioningPayload payload) {
+        LOG.error("provisioning {} {} failed permanently in {} - compensating", failed.getEntityType(), failed.getSpaceId() == null ?
+                failed.getOrganizationId() : failed.getSpaceId(), failed.getClient());
+        try {
+            cancelPending(repo.findByEntityTypeAndOrganizationIdAndSpaceIdAndActionAndState(failed.getEntityType(), failed.getOrganizationId(),
+                    failed.getSpaceId(), Action.CREATE, State.PENDING));
+            cancelPending(repo.findByEntityTypeAndOrganizationIdAndSpaceIdAndActionAndState(failed.getEntityType(), failed.getOrganizationId(),
+                    failed.getSpaceId(), Action.ASSIGN_OWNER_ROLES, State.PENDING));
+            plan(Action.DELETE, payload.toOrganization(), payload.toSpace(), null, ZonedDateTime.now());
+        } catch (OrganizationmanagerException e) {
+            LOG.error("compensation of provisioning step {} failed: {}", failed.getId(), e.getMessage());
+            return;
+        }
+        if (payload.space() != null) {
+            spaceService.deleteSpaceEntity(payload.toSpace());
+        } else if (!spaceService.hasSpaceEntities(failed.getOrganizationId())) {
+            orgaService.deleteOrganizationEntity(payload.toOrganization());
+        } else {
+            LOG.error("organization {} contains spaces, it is not deleted", failed.getOrganizationId());
+        }
+    }
+
+    private boolean exists(ProvisioningStep step) {
+        return step.getEntityType() == EntityType.SPACE ? spaceService.existsSpaceEntity(step.getSpaceId()) :
+                orgaService.existsOrganizationEntity(step.getOrganizationId());
+    }
+
+    private void run(AbstractServiceRestClient client, ProvisioningStep step, Organization org, Space space) throws OrganizationmanagerException {
+        run(step, () -> invoke(client, step, org, space));
+    }
+
+    private void run(ProvisioningStep step, Invocation invocation) throws OrganizationmanagerException {
+        step.setAttempts(step.getAttempts() + 1);
+        String outcome = "error";
+        try {
+            invocation.invoke();
+            step.setState(State.DONE);
+            step.setLastError(null);
+            outcome = "success";
+        } catch (OrganizationmanagerException | RuntimeException e) {
+            step.setLastError(e.getMessage());
+            if (step.getAttempts() >= maxAttempts) {
+                step.setState(State.FAILED);
+            } else {
+                step.setNextAttemptAt(ZonedDateTime.now().plus(backoff(step.getAttempts())));
+            }
+            throw e;
+        } finally {
+            step.setClaimedBy(null);
+            step.setModified(ZonedDateTime.now());
+            repo.save(step);
+            Counter.builder("organizationmanager.provisioning.steps").description("executed provisioning steps")
+                    .tags("action", step.getAction().name(), "entity", step.getEntityType().name(), "outcome", outcome).register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static void invoke(AbstractServiceRestClient client, ProvisioningStep step, Organization org, Space space) throws OrganizationmanagerException {
+        switch (step.getAction()) {
+            case CREATE -> {
+                if (space == null) {
+                    client.createOrganizationContext(org);
+                } else {
+                    client.createSpaceContext(org, space);
+                }
+            }
+            case DELETE -> {
+                if (space == null) {
+                    client.deleteOrganizationContextImpl(org);
+                } else {
+                    client.deleteSpaceContext(org, space);
+                }
+            }
+            default -> throw new IllegalStateException("no context-step: " + step.getAction());
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void cancelPending(Collection<ProvisioningStep> steps) {
+        for (ProvisioningStep step : steps) {
+            if (step.getState() == State.PENDING) {
+                finish(step, State.CANCELLED, step.getLastError());
+            }
+        }
+    }
+
+    private void finish(ProvisioningStep step, State state, String error) {
+        step.setState(state);
+        step.setLastError(error);
+        step.setClaimedBy(null);
+        step.setModified(ZonedDateTime.now());
+        repo.save(step);
+    }
+
+    private String toPayload(Organization org, Space space, String owner) throws OrganizationmanagerException {
+        try {
+            return objectMapper.writeValueAsString(ProvisioningPayload.of(org, space, owner));
+        } catch (JsonProcessingException e) {
+            throw new OrganizationmanagerException(UNKNOWN_ERROR, e.getMessage());
+        }
+    }
+
+    private static String clientName(AbstractServiceRestClient client) {
+        return client.getClass().getSimpleName();
+    }
+
+    /**
+     * The steps planned for an organization or space
+     *
+     * @param organization the organization
+     * @param space        the space (null if the organization is provisioned)
+     * @param steps        the step per service
+     * @param ownerRoles   the step assigning the space-roles to the owner (null if not planned)
+     * @param owner        the id of the owner (null if no owner-roles are planned)
+     */
+    public record Plan(Organization organization, Space space, Map<AbstractServiceRestClient, ProvisioningStep> steps, ProvisioningStep ownerRoles,
+            String owner) {
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        void invoke() throws OrganizationmanagerException;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.provisioning;
+
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningStep;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface ProvisioningStepRepository extends JpaRepository<ProvisioningStep, Long> {
+
+    /**
+     * Claims pending steps that are due - rows locked by concurrent workers (of other instances) are skipped. The
+     * claimed steps are leased until the given time, so they are resumed by another worker if this one dies.
+     *
+     * @param claim      token identifying the claim
+     * @param now        the current time
+     * @param leaseUntil end of the lease
+     * @param limit      maximum number of steps to claim
+     * @return number of claimed steps
+     */
+    @Transactional
+    @Modifying
+    // only touches provisioning_step - otherwise every poll would evict all regions of the second-level cache
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "provisioning_step"))
+    @Query(value = "UPDATE provisioning_step SET claimed_by = :claim, next_attempt_at = :leaseUntil WHERE id IN (SELECT id FROM provisioning_step " +
+            "WHERE state = 0 AND next_attempt_at <= :now ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int claimDue(@Param("claim") String claim, @Param("now") ZonedDateTime now, @Param("leaseUntil") ZonedDateTime leaseUntil, @Param("limit") int limit);
+
+    List<ProvisioningStep> findByClaimedBy(String claim);
+
+    List<ProvisioningStep> findByEntityTypeAndOrganizationIdAndSpaceIdAndActionAndState(ProvisioningStep.EntityType entityType, long organizationId,
+            Long spaceId, ProvisioningStep.Action action, ProvisioningStep.State state);
+}
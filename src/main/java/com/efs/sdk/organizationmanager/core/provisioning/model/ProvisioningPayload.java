@@ -0,0 +1,108 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.provisioning.model;
+
+import com.efs.sdk.common.domain.model.Capability;
+import com.efs.sdk.common.domain.model.Confidentiality;
+import com.efs.sdk.common.domain.model.State;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Payload of a {@link ProvisioningStep} - the columns of the organization (and space) the services need to create or
+ * delete their contexts (see {@link com.efs.sdk.common.domain.dto.OrganizationContextDTO} and
+ * {@link com.efs.sdk.common.domain.dto.SpaceContextDTO}). The collections of the entities are left out, so the payload
+ * is built without a session and the entities are rebuilt from it when a step is resumed - even if they are deleted.
+ *
+ * @param organization the organization
+ * @param space        the space (null if the organization is provisioned)
+ * @param owner        the id of the owner (only set for the steps assigning the owner-roles)
+ * @author e:fs TechHub GmbH
+ */
+public record ProvisioningPayload(OrganizationData organization, SpaceData space, String owner) {
+
+    public static ProvisioningPayload of(Organization org, Space space, String owner) {
+        return new ProvisioningPayload(OrganizationData.of(org), space == null ? null : SpaceData.of(space), owner);
+    }
+
+    /**
+     * @return the (detached) organization rebuilt from the payload
+     */
+    public Organization toOrganization() {
+        return organization.toEntity();
+    }
+
+    /**
+     * @return the (detached) space rebuilt from the payload, null if the organization is provisioned
+     */
+    public Space toSpace() {
+        return space == null ? null : space.toEntity();
+    }
+
+    // payloads of earlier versions held the whole entities
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record OrganizationData(long id, String name, String description, Confidentiality confidentiality, String company, String displayName,
+                                   State state) {
+
+        static OrganizationData of(Organization org) {
+            return new OrganizationData(org.getId(), org.getName(), org.getDescription(), org.getConfidentiality(), org.getCompany(),
+                    org.getDisplayName(), org.getState());
+        }
+
+        Organization toEntity() {
+            Organization org = new Organization();
+            org.setId(id);
+            org.setName(name);
+            org.setDescription(description);
+            org.setConfidentiality(confidentiality);
+            org.setCompany(company);
+            org.setDisplayName(displayName);
+            org.setState(state);
+            return org;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record SpaceData(long id, Long organizationId, String name, String description, Confidentiality confidentiality,
+                            List<Capability> capabilities, String displayName, State state, int defaultRetentionTime, String identifier,
+                            boolean gdprRelevant) {
+
+        static SpaceData of(Space space) {
+            return new SpaceData(space.getId(), space.getOrganizationId(), space.getName(), space.getDescription(), space.getConfidentiality(),
+                    List.copyOf(space.getCapabilities()), space.getDisplayName(), space.getState(), space.getDefaultRetentionTime(),
+                    space.getIdentifier(), space.isGdprRelevant());
+        }
+
+        Space toEntity() {
+            Space space = new Space();
+            space.setId(id);
+            space.setOrganizationId(organizationId);
+            space.setName(name);
+            space.setDescription(description);
+            space.setConfidentiality(confidentiality);
+            space.setCapabilities(capabilities == null ? List.of() : capabilities);
+            space.setDisplayName(displayName);
+            space.setState(state);
+            space.setDefaultRetentionTime(defaultRetentionTime);
+            space.setIdentifier(identifier);
+            space.setGdprRelevant(gdprRelevant);
+            return space;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.provisioning.model;
+
+import jakarta.persistence.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A step provisioning the context of an organization or space in one service (e.g. creating the storage context).
+ * <p>
+ * Steps are persisted before they are executed, so steps interrupted by a restart are resumed and failed steps are
+ * retried by the {@link com.efs.sdk.organizationmanager.core.provisioning.ProvisioningService}. The payload contains
+ * the organization (and space) the step was planned for (see {@link ProvisioningPayload}), so a step can be executed
+ * even if the entity no longer exists (e.g. to compensate a failed creation).
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Entity
+@Table(name = "provisioning_step")
+public class ProvisioningStep {
+
+    @Id
+    @SequenceGenerator(
+            name = "provisioning_step_seq_generator",
+            sequenceName = "provisioning_step_seq",
+            allocationSize = 50
+    )
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "provisioning_step_seq_generator"
+    )
+    private long id;
+
+    @Column(nullable = false)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private long organizationId;
+
+    @Column
+    private Long spaceId;
+
+    @Column(nullable = false)
+    private String client;
+
+    @Column(nullable = false)
+    private Action action;
+
+    @Column(nullable = false)
+    private State state = State.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private ZonedDateTime nextAttemptAt;
+
+    @Column(length = 64)
+    private String claimedBy;
+
+    @Column(columnDefinition = "text")
+    private String lastError;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column
+    private ZonedDateTime created;
+
+    @Column
+    private ZonedDateTime modified;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public void setSpaceId(Long spaceId) {
+        this.spaceId = spaceId;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public void setClient(String client) {
+        this.client = client;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public ZonedDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(ZonedDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public ZonedDateTime getCreated() {
+        return created;
+    }
+
+    public void setCreated(ZonedDateTime created) {
+        this.created = created;
+    }
+
+    public ZonedDateTime getModified() {
+        return modified;
+    }
+
+    public void setModified(ZonedDateTime modified) {
+        this.modified = modified;
+    }
+
+    public enum EntityType {
+        ORGANIZATION, SPACE
+    }
+
+    public enum Action {
+        CREATE, DELETE,
+        /**
+         * assigns all space-roles to the owner of a new space - executed once the contexts of the space are created
+         */
+        ASSIGN_OWNER_ROLES
+    }
+
+    /**
+     * States of a step - stored as ordinal, only append new states!
+     */
+    public enum State {
+        PENDING, DONE, FAILED, CANCELLED
+    }
+}
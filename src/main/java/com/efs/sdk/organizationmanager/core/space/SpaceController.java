@@ -21,6 +21,7 @@ import com.efs.sdk.common.domain.dto.SpaceUpdateDTO;
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.OrganizationManagerService;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceView;
 import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
 import com.efs.sdk.organizationmanager.helper.AuthHelper;
 import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
@@ -149,11 +150,12 @@ public class SpaceController {
             = {"READ", "WRITE", "DELETE"}), in = ParameterIn.QUERY) @RequestParam(required = false) AuthConfiguration permissions) throws OrganizationmanagerException {
         AuthConfiguration authConfig = permissions == null ? GET : permissions;
         AuthenticationModel authModel = authHelper.getAuthenticationModel(token);
-        List<Space> spaces = service.getSpaces(authModel, orgaId, authConfig).stream().toList();
-        for (Space spc : spaces) {
-            updateOwners(spc);
+        List<SpaceReadDTO> spaceDTOs = new ArrayList<>();
+        for (SpaceView view : service.getSpaceViews(authModel, orgaId, authConfig)) {
+            SpaceReadDTO dto = converter.convertToDTO(view);
+            dto.setOwners(getUserNames(view.owners()));
+            spaceDTOs.add(dto);
         }
-        List<SpaceReadDTO> spaceDTOs = spaces.stream().map(s -> converter.convertToDTO(s, SpaceReadDTO.class)).toList();
         return ResponseEntity.ok(spaceDTOs);
     }
 
@@ -197,12 +199,15 @@ public class SpaceController {
     }
 
     private void updateOwners(Space spc) throws OrganizationmanagerException {
-        List<String> userIds = spc.getOwners();
+        spc.setOwners(getUserNames(spc.getOwners()));
+    }
+
+    private List<String> getUserNames(List<String> userIds) throws OrganizationmanagerException {
         List<String> userNames = new ArrayList<>();
         for (String userId : userIds) {
             userNames.add(orgaManagerService.getUserName(userId));
         }
-        spc.setOwners(userNames);
+        return userNames;
     }
 
     @InitBinder
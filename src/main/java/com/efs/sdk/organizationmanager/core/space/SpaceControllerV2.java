@@ -21,11 +21,19 @@ import com.efs.sdk.common.domain.dto.SpaceUpdateDTO;
 import com.efs.sdk.logging.AuditLogger;
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.OrganizationManagerService;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor;
+import com.efs.sdk.organizationmanager.core.operation.OperationController;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperationDTO;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceCreationResultDTO;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceView;
 import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
 import com.efs.sdk.organizationmanager.helper.AuthHelper;
 import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
 import com.efs.sdk.organizationmanager.helper.EntityConverter;
+import com.efs.sdk.organizationmanager.helper.Keyset;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -87,6 +95,55 @@ public class SpaceControllerV2 {
         return ResponseEntity.ok(spaceDTO);
     }
 
+    @Operation(summary = "Creates many Spaces", description = "Creates new `Space`s to given `Organization` at once (only allowed, if user is admin or " +
+            "owner to the `Organization`). A `Space` that cannot be created does not affect the others, the result is reported per `Space`.")
+    @PostMapping(path = "/bulk", produces = "application/json")
+    @ApiResponse(responseCode = "200", description = "Processed all `Space`s, see the result per `Space`.", useReturnTypeSchema = true)
+    @ApiResponse(responseCode = "403", description = "User does not have the required permissions.", content = @Content(schema = @Schema(hidden =
+            true)))
+    public ResponseEntity<List<SpaceCreationResultDTO>> createSpaces(@Parameter(hidden = true) JwtAuthenticationToken token, @PathVariable @Parameter(description =
+            "The id of the `Organization`.") long orgaId, @Valid @RequestBody List<SpaceCreateDTO> dtos) throws OrganizationmanagerException {
+        LOG.debug("creating {} spaces in organization {}", dtos.size(), orgaId);
+        AuditLogger.info(LOG, "creating {} spaces in organization {}", token, dtos.size(), orgaId);
+        List<Space> spaces = new ArrayList<>();
+        for (SpaceCreateDTO dto : dtos) {
+            spaces.add(converter.convertToEntity(dto, Space.class));
+        }
+        List<BulkExecutor.Outcome<Space>> outcomes = orgaManagerService.createSpaces(authHelper.getAuthenticationModel(token), orgaId, spaces);
+
+        // all spaces have the same owner
+        String ownerName = orgaManagerService.getUserName(token.getToken().getSubject());
+        List<SpaceCreationResultDTO> results = new ArrayList<>();
+        for (BulkExecutor.Outcome<Space> outcome : outcomes) {
+            Space space = outcome.item();
+            if (outcome.isSuccess()) {
+                space.setOwners(List.of(ownerName));
+                results.add(new SpaceCreationResultDTO(space.getName(), true, converter.convertToDTO(space, SpaceReadDTO.class), null, null));
+            } else if (outcome.error() instanceof OrganizationmanagerException e) {
+                results.add(new SpaceCreationResultDTO(space.getName(), false, null, e.getErrorCode(), e.getMessage()));
+            } else {
+                results.add(new SpaceCreationResultDTO(space.getName(), false, null, null, outcome.error().getMessage()));
+            }
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(summary = "Creates a Space asynchronously", description = "Like creating a `Space`, but returns immediately with an operation to poll " +
+            "(requested by the header `Prefer: respond-async`).")
+    @PostMapping(produces = "application/json", headers = OperationController.PREFER_ASYNC)
+    @ApiResponse(responseCode = "202", description = "Accepted, the `Location` refers to the operation.", useReturnTypeSchema = true)
+    @ApiResponse(responseCode = "403", description = "User does not have the required permissions.", content = @Content(schema = @Schema(hidden =
+            true)))
+    public ResponseEntity<AsyncOperationDTO> createSpaceAsync(@Parameter(hidden = true) JwtAuthenticationToken token, @PathVariable @Parameter(description =
+            "The id of the `Organization`.") long orgaId, @Valid @RequestBody SpaceCreateDTO dto) throws OrganizationmanagerException {
+        LOG.debug("creating space {} in organization {} asynchronously", dto.getName(), orgaId);
+        Space space = converter.convertToEntity(dto, Space.class);
+        space.setOwners(List.of(token.getToken().getSubject()));
+        AsyncOperation operation = orgaManagerService.createSpaceAsync(authHelper.getAuthenticationModel(token), orgaId, space);
+        AuditLogger.info(LOG, "creating space {} in organization {} (operation {})", token, dto.getName(), orgaId, operation.getId());
+        return OperationController.accepted(operation);
+    }
+
     @Operation(summary = "Gets Space", description = "Gets the given `Space` if the user has access to.")
     @GetMapping(path = "{spaceId}", produces = "application/json")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved `Space`-information.")
@@ -121,21 +178,36 @@ public class SpaceControllerV2 {
             Lists all `Space`s the user has access to. 
 
             You can also specify `permissions`, then only those `Space`s are listed which the user has the appropriate permission. The default permission is 'GET'. This feature can be used, for example, to generate a list of `Space`s to which the user is allowed to upload data.
+
+            If `limit` or `after` is given, the `Space`s are listed in pages (ordered by name). The header `X-Next-Cursor` holds the cursor of the next page (`after`) and is missing on the last page.
             """)
     @GetMapping(produces = "application/json")
     @ApiResponse(responseCode = "200", description = "Successfully listed all `Space`s the user has access to, optionally filtered by permission.")
+    @ApiResponse(responseCode = "400", description = "Invalid `limit` or `after`.", content = @Content(schema = @Schema(hidden = true)))
     public ResponseEntity<List<SpaceReadDTO>> getSpaces(@Parameter(hidden = true) JwtAuthenticationToken token, @PathVariable @Parameter(description = "The " +
             "id of the `Organization`.") long orgaId, @Parameter(description = "Name of the permissions.", schema = @Schema(type = "string", allowableValues
-            = {"READ", "WRITE", "DELETE", "GET"}), in = ParameterIn.QUERY) @RequestParam(required = false) AuthConfiguration permissions) throws OrganizationmanagerException {
+            = {"READ", "WRITE", "DELETE", "GET"}), in = ParameterIn.QUERY) @RequestParam(required = false) AuthConfiguration permissions,
+            @Parameter(description = "Maximum number of `Space`s per page (1-1000, default 100) - optional") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor of the page (header `X-Next-Cursor` of the previous page) - optional") @RequestParam(required = false) String after) throws OrganizationmanagerException {
         LOG.debug("list spaces of org {}", orgaId);
         AuthConfiguration authConfig = permissions == null ? GET : permissions;
         AuthenticationModel authModel = authHelper.getAuthenticationModel(token);
-        List<Space> spaces = service.getSpaces(authModel, orgaId, authConfig).stream().toList();
-        for (Space space : spaces) {
-            updateOwners(space);
+        if (limit != null || after != null) {
+            int pageSize = Keyset.limit(limit);
+            List<SpaceView> page = service.getSpaceViews(authModel, orgaId, authConfig, Cursor.decode(after), pageSize + 1);
+            return Keyset.page(convertToDTOs(page), pageSize, dto -> new Cursor(dto.getName(), dto.getId()));
         }
-        List<SpaceReadDTO> spaceDTOs = spaces.stream().map(s -> converter.convertToDTO(s, SpaceReadDTO.class)).toList();
-        return ResponseEntity.ok(spaceDTOs);
+        return ResponseEntity.ok(convertToDTOs(service.getSpaceViews(authModel, orgaId, authConfig)));
+    }
+
+    private List<SpaceReadDTO> convertToDTOs(List<SpaceView> views) throws OrganizationmanagerException {
+        List<SpaceReadDTO> spaceDTOs = new ArrayList<>();
+        for (SpaceView view : views) {
+            SpaceReadDTO dto = converter.convertToDTO(view);
+            dto.setOwners(getUserNames(view.owners()));
+            spaceDTOs.add(dto);
+        }
+        return spaceDTOs;
     }
 
     @Operation(summary = "Updates a Space", description = """
@@ -201,12 +273,15 @@ public class SpaceControllerV2 {
     }
 
     private void updateOwners(Space space) throws OrganizationmanagerException {
-        List<String> userIds = space.getOwners();
+        space.setOwners(getUserNames(space.getOwners()));
+    }
+
+    private List<String> getUserNames(List<String> userIds) throws OrganizationmanagerException {
         List<String> userNames = new ArrayList<>();
         for (String userId : userIds) {
             userNames.add(orgaManagerService.getUserName(userId));
         }
-        space.setOwners(userNames);
+        return userNames;
     }
 
     @InitBinder
@@ -16,23 +16,246 @@ limitations under the License.
 package com.efs.sdk.organizationmanager.core.space;
 
 import com.efs.sdk.common.domain.model.Confidentiality;
+import com.efs.sdk.common.domain.model.State;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceView;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface SpaceRepository extends JpaRepository<Space, Long> {
     Optional<Space> findByOrganizationIdAndId(Long orgaId, Long id);
 
+    // resolved from the query-cache (invalidated on every change of the table)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Space> findByOrganizationIdAndName(Long orgaId, String name);
 
     List<Space> findByOrganizationId(Long orgaId);
 
+    boolean existsByOrganizationId(Long orgaId);
+
     List<Space> findByOrganizationIdAndNameIn(Long orgaId, Collection<String> names);
 
     List<Space> findByOrganizationIdAndConfidentiality(Long orgaId, Confidentiality confidentiality);
+
+    /**
+     * Gets the spaces marked for deletion before the given time, oldest first, after the given cursor (modified and id)
+     * - seeking by the partial index of the spaces marked for deletion.
+     *
+     * @param markedBefore  only spaces marked (i.e. last modified) before are returned
+     * @param afterModified the modification time of the last space of the previous page
+     * @param afterId       the id of the last space of the previous page
+     * @param limit         the maximum number of spaces
+     * @return the spaces ordered by modification time and id
+     */
+    default List<Space> findMarkedForDeletion(ZonedDateTime markedBefore, ZonedDateTime afterModified, long afterId, int limit) {
+        return findMarkedForDeletion(State.DELETION.ordinal(), markedBefore, afterModified, afterId, limit);
+    }
+
+    @Query(value = """
+            SELECT s.* FROM space s
+            WHERE s.state = :deletionState
+              AND s.modified < :markedBefore
+              AND (s.modified, s.id) > (:afterModified, :afterId)
+            ORDER BY s.modified, s.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Space> findMarkedForDeletion(@Param("deletionState") int deletionState, @Param("markedBefore") ZonedDateTime markedBefore,
+            @Param("afterModified") ZonedDateTime afterModified, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Gets the spaces of an organization the user has access to - either by explicit role or by public access. The
+     * roles are looked up in the roles stored with the spaces ({@code space_role}), so a role only grants access to the
+     * space of its own organization. Spaces marked for deletion are only included if requested or if the user is owner
+     * of the space.
+     * <p>
+     * The roles are passed as one parameter, so the statement (and its plan) is the same regardless of how many roles
+     * the user holds.
+     *
+     * @param orgaId          the organization-id
+     * @param roles           the space-roles of the user (i.e. {@code <organization>_<space>_<role>})
+     * @param publicAccess    whether public spaces should be included
+     * @param includeDeletion whether spaces marked for deletion should be included regardless of ownership
+     * @param subject         the subject of the user (owner-check for spaces marked for deletion)
+     * @return the accessible spaces
+     */
+    default List<Space> findAccessible(long orgaId, Collection<String> roles, boolean publicAccess, boolean includeDeletion, String subject) {
+        return findAccessible(orgaId, String.join(",", roles), publicAccess, Confidentiality.PUBLIC.ordinal(), includeDeletion, State.DELETION.ordinal(),
+                subject);
+    }
+
+    @Query(value = """
+            SELECT s.* FROM space s
+            WHERE s.organization_id = :orgaId
+              AND (s.id IN (SELECT r.space_id FROM space_role r WHERE r.role = ANY (string_to_array(:roles, ',')))
+                   OR (:publicAccess AND s.confidentiality = :publicConfidentiality))
+              AND (:includeDeletion
+                   OR s.state IS NULL
+                   OR s.state <> :deletionState
+                   OR s.owners @> ARRAY[CAST(:subject AS text)])
+            ORDER BY s.name
+            """, nativeQuery = true)
+    List<Space> findAccessible(@Param("orgaId") long orgaId, @Param("roles") String roles, @Param("publicAccess") boolean publicAccess,
+            @Param("publicConfidentiality") int publicConfidentiality, @Param("includeDeletion") boolean includeDeletion,
+            @Param("deletionState") int deletionState, @Param("subject") String subject);
+
+    /**
+     * Gets the spaces of an organization the user has access to - with the same rules as
+     * {@link #findAccessible(long, Collection, boolean, boolean, String)} - as read-only views for listings. Only the
+     * columns of the view are read (owners and capabilities joined from their array-columns), so neither entities nor
+     * their collections are loaded.
+     *
+     * @param orgaId          the organization-id
+     * @param all             whether all spaces of the organization are accessible (superuser, organization-admin)
+     * @param roles           the space-roles of the user (i.e. {@code <organization>_<space>_<role>})
+     * @param publicAccess    whether public spaces should be included
+     * @param includeDeletion whether spaces marked for deletion should be included regardless of ownership
+     * @param subject         the subject of the user (owner-check for spaces marked for deletion)
+     * @return the accessible spaces ordered by name
+     */
+    default List<SpaceView> findAccessibleViews(long orgaId, boolean all, Collection<String> roles, boolean publicAccess, boolean includeDeletion,
+            String subject) {
+        return findAccessibleViews(orgaId, all, roles, publicAccess, includeDeletion, subject, Cursor.FIRST, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets a page of {@link #findAccessibleViews(long, boolean, Collection, boolean, boolean, String)} - the spaces after
+     * the given cursor (name and id), seeking by index.
+     *
+     * @param orgaId          the organization-id
+     * @param all             whether all spaces of the organization are accessible (superuser, organization-admin)
+     * @param roles           the space-roles of the user (i.e. {@code <organization>_<space>_<role>})
+     * @param publicAccess    whether public spaces should be included
+     * @param includeDeletion whether spaces marked for deletion should be included regardless of ownership
+     * @param subject         the subject of the user (owner-check for spaces marked for deletion)
+     * @param after           the name and id of the last space of the previous page
+     * @param limit           the maximum number of spaces
+     * @return the accessible spaces ordered by name
+     */
+    default List<SpaceView> findAccessibleViews(long orgaId, boolean all, Collection<String> roles, boolean publicAccess, boolean includeDeletion,
+            String subject, Cursor after, int limit) {
+        return findAccessibleViews(orgaId, all, String.join(",", roles), publicAccess, Confidentiality.PUBLIC.ordinal(), includeDeletion,
+                State.DELETION.ordinal(), subject, after.key(), after.id(), limit).stream().map(SpaceView::of).toList();
+    }
+
+    @Query(value = """
+            SELECT s.id AS "id", s.name AS "name", s.description AS "description", s.confidentiality AS "confidentiality",
+                   array_to_string(s.capabilities, ',') AS "capabilities",
+                   s.display_name AS "displayName", s.state AS "state", s.default_retention_time AS "defaultRetentionTime",
+                   s.identifier AS "identifier", s.gdpr_relevant AS "gdprRelevant",
+                   array_to_string(s.owners, ',') AS "owners",
+                   s.created AS "created", s.organization_id AS "organizationId"
+            FROM space s
+            WHERE s.organization_id = :orgaId
+              AND (:all
+                   OR ((s.id IN (SELECT r.space_id FROM space_role r WHERE r.role = ANY (string_to_array(:roles, ',')))
+                        OR (:publicAccess AND s.confidentiality = :publicConfidentiality))
+                       AND (:includeDeletion
+                            OR s.state IS NULL
+                            OR s.state <> :deletionState
+                            OR s.owners @> ARRAY[CAST(:subject AS text)])))
+              AND (s.name, s.id) > (:afterName, :afterId)
+            ORDER BY s.name, s.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SpaceView.Row> findAccessibleViews(@Param("orgaId") long orgaId, @Param("all") boolean all, @Param("roles") String roles,
+            @Param("publicAccess") boolean publicAccess, @Param("publicConfidentiality") int publicConfidentiality,
+            @Param("includeDeletion") boolean includeDeletion, @Param("deletionState") int deletionState, @Param("subject") String subject,
+            @Param("afterName") String afterName, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Gets the names of all spaces the user has access to (across all organizations), prefixed with the name of their
+     * organization - i.e. as {@code <organization>_<space>}. Organization- and space-access are resolved in one
+     * statement, only the names are read. The accessible organizations are looked up by index (the owned ones by the
+     * GIN-index on the owners), their spaces by organization.
+     * <p>
+     * Organizations are accessible by explicit role, public access or ownership (restricted to the allowed
+     * organizations), the spaces within by explicit role ({@code space_role}) or public access - organization-admins see all spaces if
+     * requested, spaces marked for deletion are only included for organization-admins and owners of the space.
+     *
+     * @param superuser   whether the user has access to every space
+     * @param orgaNames   the names of the organizations the user has an explicit role for
+     * @param orgaSubject the subject of the user for the ownership of organizations ({@code null} to ignore)
+     * @param orgaPublic  whether public organizations are accessible
+     * @param allowed     the organizations the result is restricted to (no restriction if empty)
+     * @param adminNames  the names of the organizations the user is admin of
+     * @param adminAll    whether organization-admins have access to all spaces of their organizations
+     * @param spaceRoles  the space-roles of the user (i.e. {@code <organization>_<space>_<role>})
+     * @param spacePublic whether public spaces are accessible
+     * @param subject     the subject of the user (owner-check for spaces marked for deletion)
+     * @return the prefixed space-names ordered by name
+     */
+    default List<String> findAccessibleNames(boolean superuser, Collection<String> orgaNames, String orgaSubject, boolean orgaPublic,
+            Collection<String> allowed, Collection<String> adminNames, boolean adminAll, Collection<String> spaceRoles, boolean spacePublic,
+            String subject) {
+        return findAccessibleNames(superuser, String.join(",", orgaNames), orgaSubject, orgaPublic, String.join(",", allowed),
+                String.join(",", adminNames), adminAll, String.join(",", spaceRoles), spacePublic, Confidentiality.PUBLIC.ordinal(),
+                State.DELETION.ordinal(), subject);
+    }
+
+    @Query(value = """
+            SELECT o.name || '_' || s.name AS name FROM organization o
+            JOIN space s ON s.organization_id = o.id
+            WHERE :superuser
+               OR ((o.name = ANY (string_to_array(:orgaNames, ','))
+                    OR o.owners @> ARRAY[CAST(:orgaSubject AS text)]
+                    OR (:orgaPublic AND o.confidentiality = :publicConfidentiality))
+                   AND (:allowed = '' OR lower(o.name) = ANY (string_to_array(lower(:allowed), ',')))
+                   AND ((:adminAll AND o.name = ANY (string_to_array(:adminNames, ',')))
+                        OR ((s.id IN (SELECT r.space_id FROM space_role r WHERE r.role = ANY (string_to_array(:spaceRoles, ',')))
+                             OR (:spacePublic AND s.confidentiality = :publicConfidentiality))
+                            AND (o.name = ANY (string_to_array(:adminNames, ','))
+                                 OR s.state IS NULL
+                                 OR s.state <> :deletionState
+                                 OR s.owners @> ARRAY[CAST(:subject AS text)]))))
+            ORDER BY name
+            """, nativeQuery = true)
+    List<String> findAccessibleNames(@Param("superuser") boolean superuser, @Param("orgaNames") String orgaNames,
+            @Param("orgaSubject") String orgaSubject, @Param("orgaPublic") boolean orgaPublic, @Param("allowed") String allowed,
+            @Param("adminNames") String adminNames, @Param("adminAll") boolean adminAll, @Param("spaceRoles") String spaceRoles,
+            @Param("spacePublic") boolean spacePublic, @Param("publicConfidentiality") int publicConfidentiality,
+            @Param("deletionState") int deletionState, @Param("subject") String subject);
+
+    // set-based deletion - the join-tables are not cascaded by the database. The affected tables are declared, so only
+    // the matching regions of the second-level cache are evicted (instead of all regions). Owners and capabilities are
+    // columns of the space and deleted with it
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @QueryHints({@QueryHint(name = HINT_NATIVE_SPACES, value = "space_tags"), @QueryHint(name = HINT_NATIVE_SPACES, value = "tag")})
+    @Query(value = """
+            WITH removed AS (DELETE FROM space_tags WHERE space_id IN (:ids) RETURNING tags_id)
+            DELETE FROM tag WHERE id IN (SELECT tags_id FROM removed)
+            """, nativeQuery = true)
+    int deleteTagsBySpaceIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @QueryHints({@QueryHint(name = HINT_NATIVE_SPACES, value = "space_app_configs"), @QueryHint(name = HINT_NATIVE_SPACES, value = "appconfig")})
+    @Query(value = """
+            WITH removed AS (DELETE FROM space_app_configs WHERE space_id IN (:ids) RETURNING app_configs_id)
+            DELETE FROM appconfig WHERE id IN (SELECT app_configs_id FROM removed)
+            """, nativeQuery = true)
+    int deleteAppConfigsBySpaceIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "space"))
+    @Query(value = "DELETE FROM space WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -17,22 +17,31 @@ package com.efs.sdk.organizationmanager.core.space;
 
 import com.efs.sdk.logging.AuditLogger;
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor;
+import com.efs.sdk.organizationmanager.core.cache.LookupContext;
 import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceRole;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceView;
 import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
 import com.efs.sdk.organizationmanager.helper.AuthEntityOrganization;
 import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
+import com.efs.sdk.organizationmanager.helper.RoleHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
 
 import static com.efs.sdk.common.domain.model.Confidentiality.PUBLIC;
 import static com.efs.sdk.common.domain.model.State.CLOSED;
@@ -42,7 +51,7 @@ import static com.efs.sdk.organizationmanager.core.space.model.Space.REGEX_NAME;
 import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.GET;
 import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.READ;
 import static com.efs.sdk.organizationmanager.helper.Utils.isAdminOrOwner;
-import static com.efs.sdk.organizationmanager.helper.Utils.isOwner;
+import static com.efs.sdk.organizationmanager.helper.Utils.getSubject;
 
 /**
  * Service for managing spaces
@@ -52,14 +61,28 @@ import static com.efs.sdk.organizationmanager.helper.Utils.isOwner;
 @Service
 public class SpaceService implements PropertyChangeListener {
 
+    public static final String PROP_SPACE_CREATED = "spaceCreated";
+    public static final String PROP_SPACE_UPDATED = "spaceUpdated";
+    public static final String PROP_SPACE_DELETED = "spaceDeleted";
     private static final Logger LOG = LoggerFactory.getLogger(SpaceService.class);
 
+    private final PropertyChangeSupport pcs;
     private final SpaceRepository repo;
+    private final SpaceRoleRepository roleRepo;
     private final OrganizationService orgaService;
+    private final LookupContext lookups;
+    private final RoleHelper roleHelper;
 
-    public SpaceService(SpaceRepository repo, OrganizationService orgaService) {
+    public SpaceService(SpaceRepository repo, SpaceRoleRepository roleRepo, OrganizationService orgaService, LookupContext lookups,
+            RoleHelper roleHelper) {
         this.repo = repo;
+        this.roleRepo = roleRepo;
         this.orgaService = orgaService;
+        this.lookups = lookups;
+        this.roleHelper = roleHelper;
+        this.pcs = new PropertyChangeSupport(this);
+        // memoized spaces are discarded on every change
+        this.pcs.addPropertyChangeListener(lookups);
         this.orgaService.addPropertyChangeListener(this);
     }
 
@@ -70,14 +93,74 @@ public class SpaceService implements PropertyChangeListener {
      * @param space the space
      * @return deleted space instance
      */
+    @Transactional
     public boolean deleteSpaceEntity(Space space) {
+        roleRepo.deleteBySpaceIds(List.of(space.getId()));
         repo.delete(space);
+        pcs.firePropertyChange(PROP_SPACE_DELETED, space, null);
         return true;
     }
 
+    /**
+     * Deletes the spaces with the given ids (including tags, app-configs and roles) with one statement per table in a single
+     * transaction.
+     * <br>
+     * <b>CAUTION:</b> This function should only be called from flows, that check the permissions beforehand!!
+     *
+     * @param spaceIds the ids of the spaces
+     * @return the number of deleted spaces
+     */
+    @Transactional
+    public int deleteSpaceEntities(Collection<Long> spaceIds) {
+        if (spaceIds.isEmpty()) {
+            return 0;
+        }
+        repo.deleteTagsBySpaceIds(spaceIds);
+        repo.deleteAppConfigsBySpaceIds(spaceIds);
+        roleRepo.deleteBySpaceIds(spaceIds);
+        int deleted = repo.deleteByIds(spaceIds);
+        pcs.firePropertyChange(PROP_SPACE_DELETED, spaceIds, null);
+        return deleted;
+    }
+
+    /**
+     * Checks whether the space (still) exists - without checking permissions
+     *
+     * @param id the id of the space
+     * @return whether the space exists
+     */
+    public boolean existsSpaceEntity(long id) {
+        return repo.existsById(id);
+    }
+
+    /**
+     * Checks whether the organization contains any space - without checking permissions
+     *
+     * @param orgaId the id of the organization
+     * @return whether the organization contains spaces
+     */
+    public boolean hasSpaceEntities(long orgaId) {
+        return repo.existsByOrganizationId(orgaId);
+    }
+
+    /**
+     * Gets the spaces marked for deletion before the given time (oldest first) - without checking permissions
+     *
+     * @param markedBefore only spaces marked (i.e. last modified) before are returned
+     * @param after        the last space of the previous batch ({@code null} for the first batch)
+     * @param limit        maximum number of spaces
+     * @return the spaces
+     */
+    public List<Space> getSpacesMarkedForDeletion(ZonedDateTime markedBefore, Space after, int limit) {
+        if (after == null) {
+            return repo.findMarkedForDeletion(markedBefore, ZonedDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC), 0L, limit);
+        }
+        return repo.findMarkedForDeletion(markedBefore, after.getModified(), after.getId(), limit);
+    }
+
     public Space getSpaceByName(AuthenticationModel authModel, long orgaId, String spaceName) throws OrganizationmanagerException {
         LOG.info("Retrieve space with id {}", orgaId);
-        Optional<Space> spaceOpt = repo.findByOrganizationIdAndName(orgaId, spaceName);
+        Optional<Space> spaceOpt = lookups.space(orgaId, spaceName, () -> repo.findByOrganizationIdAndName(orgaId, spaceName));
 
         return getSpace(orgaId, spaceOpt, authModel);
     }
@@ -125,11 +208,14 @@ public class SpaceService implements PropertyChangeListener {
      */
     private Space getSpace(long orgaId, long spaceId, AuthenticationModel authModel, AuthConfiguration permission) throws OrganizationmanagerException {
 
-        Optional<Space> spaceOpt = repo.findByOrganizationIdAndId(orgaId, spaceId);
+        Optional<Space> spaceOpt = lookups.space(orgaId, spaceId, () -> repo.findByOrganizationIdAndId(orgaId, spaceId));
         if (spaceOpt.isEmpty()) {
             throw new OrganizationmanagerException(GET_SINGLE_SPACE_NOT_FOUND);
         }
         Space space = spaceOpt.get();
+        if (authModel.isSuperuser()) {
+            return space;
+        }
 
         // to check if one has access to the organization
         Organization orga = orgaService.getOrganization(orgaId, authModel);
@@ -159,18 +245,7 @@ public class SpaceService implements PropertyChangeListener {
         }
 
         boolean publicAccess = PUBLIC.equals(space.getConfidentiality()) && authModel.isSpacePublicAccess();
-        return publicAccess || spaceAccess(space, authModel.getSpacesByPermission(READ)) || spaceAccess(space, authModel.getSpacesByPermission(GET));
-    }
-
-    /**
-     * Checks if user has access to space by explicit role
-     *
-     * @param space       the space
-     * @param spaceAccess the spaces where access is given
-     * @return access
-     */
-    private boolean spaceAccess(Space space, String[] spaceAccess) {
-        return spaceAccess != null && Stream.of(spaceAccess).anyMatch(access -> access.equalsIgnoreCase(space.getName()));
+        return publicAccess || authModel.hasSpaceAccess(space.getName(), READ) || authModel.hasSpaceAccess(space.getName(), GET);
     }
 
     /**
@@ -184,8 +259,8 @@ public class SpaceService implements PropertyChangeListener {
      */
     public List<Space> getSpaces(AuthenticationModel authModel, long orgaId, AuthConfiguration authConfig) throws OrganizationmanagerException {
         LOG.info("Retrieve all spaces the user has access to in organization with id {}", orgaId);
-        // fast-lane for superuser
-        if (GET.equals(authConfig) && authModel.isSuperuser()) {
+        // fast-lane for superuser (has every permission on every space)
+        if (authModel.isSuperuser()) {
             return repo.findByOrganizationId(orgaId);
         }
         // to check if one has access to the organization
@@ -193,27 +268,108 @@ public class SpaceService implements PropertyChangeListener {
         if (orga == null) {
             throw new OrganizationmanagerException(GET_SINGLE_NOT_FOUND);
         }
-        // fast-lane for organization-admin - if admin than return all spaces
-        if (GET.equals(authConfig) && authModel.getOrganizations() != null && Arrays.stream(authModel.getOrganizations()).anyMatch(orgaRole -> orgaRole.getOrganization().equals(orga.getName()) && AuthEntityOrganization.ADMIN_ROLE.equals(orgaRole.getRole()))) {
-            return repo.findByOrganizationId(orgaId);
+        return findSpaces(authModel, orga, authConfig);
+    }
+
+    /**
+     * Gets all spaces of an organization the user has the given permissions to - with the same rules as
+     * {@link #getSpaces(AuthenticationModel, long, AuthConfiguration)} - as read-only views for listings.
+     *
+     * @param authModel  AuthenticationModel
+     * @param orgaId     the organization-id
+     * @param authConfig the permissions, the user should have
+     * @return the spaces ordered by name
+     * @throws OrganizationmanagerException organization not found or no access to the organization
+     */
+    @Transactional(readOnly = true)
+    public List<SpaceView> getSpaceViews(AuthenticationModel authModel, long orgaId, AuthConfiguration authConfig) throws OrganizationmanagerException {
+        return getSpaceViews(authModel, orgaId, authConfig, Cursor.FIRST, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets a page of {@link #getSpaceViews(AuthenticationModel, long, AuthConfiguration)}
+     *
+     * @param authModel  AuthenticationModel
+     * @param orgaId     the organization-id
+     * @param authConfig the permissions, the user should have
+     * @param after      the name and id of the last space of the previous page
+     * @param limit      the maximum number of spaces
+     * @return the spaces ordered by name
+     * @throws OrganizationmanagerException organization not found or no access to the organization
+     */
+    @Transactional(readOnly = true)
+    public List<SpaceView> getSpaceViews(AuthenticationModel authModel, long orgaId, AuthConfiguration authConfig, Cursor after, int limit) throws OrganizationmanagerException {
+        LOG.info("Retrieve all spaces the user has access to in organization with id {}", orgaId);
+        if (authModel.isSuperuser()) {
+            return repo.findAccessibleViews(orgaId, true, List.of(), false, true, null, after, limit);
+        }
+        Organization orga = orgaService.getOrganization(orgaId, authModel);
+        if (orga == null) {
+            throw new OrganizationmanagerException(GET_SINGLE_NOT_FOUND);
         }
+        if (isAdminListing(authModel, orga, authConfig)) {
+            return repo.findAccessibleViews(orgaId, true, List.of(), false, true, null, after, limit);
+        }
+        List<String> spaceRoles = List.of(authModel.getSpaceRoleNamesByPermission(authConfig));
+        boolean publicAccess = (READ.equals(authConfig) || GET.equals(authConfig)) && authModel.isSpacePublicAccess();
+        boolean includeDeletion = authModel.isAdmin(orga.getName());
+        String subject = includeDeletion ? null : getSubject(authModel);
+        return repo.findAccessibleViews(orgaId, false, spaceRoles, publicAccess, includeDeletion, subject, after, limit);
+    }
 
-        List<String> spaceNames = new ArrayList<>();
-        if (authModel.getSpacesByPermission(authConfig) != null) {
-            spaceNames.addAll(Stream.of(authModel.getSpacesByPermission(authConfig)).toList());
+    /**
+     * Gets the names of all spaces the user has the given permissions to, prefixed with the name of their organization
+     * (i.e. {@code <organization>_<space>}) - with the same rules as
+     * {@link OrganizationService#getAllOrganizations(AuthenticationModel, String[])} and
+     * {@link #getSpaces(AuthenticationModel, long, AuthConfiguration)}, but in one query without loading any entity.
+     *
+     * @param authModel            AuthenticationModel
+     * @param allowedOrganizations Organizations the user has access to
+     * @param authConfig           the permissions, the user should have
+     * @return the prefixed space-names ordered by name
+     */
+    @Transactional(readOnly = true)
+    public List<String> getSpaceNames(AuthenticationModel authModel, String[] allowedOrganizations, AuthConfiguration authConfig) {
+        LOG.info("Retrieve the names of all spaces the user has access to");
+        if (authModel.isSuperuser()) {
+            return repo.findAccessibleNames(true, List.of(), null, false, List.of(), List.of(), false, List.of(), false, null);
+        }
+        AuthEntityOrganization[] orgaRoles = authModel.getOrganizations();
+        List<String> orgaNames = List.of();
+        List<String> adminNames = List.of();
+        List<String> allowed = List.of();
+        String orgaSubject = null;
+        // users without organization-rights only see public organizations - neither restricted nor by ownership
+        if (orgaRoles != null && orgaRoles.length > 0) {
+            orgaNames = Arrays.stream(orgaRoles).map(AuthEntityOrganization::getOrganization).distinct().toList();
+            adminNames = orgaNames.stream().filter(authModel::isAdmin).toList();
+            allowed = allowedOrganizations == null ? List.of() : List.of(allowedOrganizations);
+            orgaSubject = getSubject(authModel);
         }
+        List<String> spaceRoles = List.of(authModel.getSpaceRoleNamesByPermission(authConfig));
+        boolean publicAccess = (READ.equals(authConfig) || GET.equals(authConfig)) && authModel.isSpacePublicAccess();
+        return repo.findAccessibleNames(false, orgaNames, orgaSubject, authModel.isOrgaPublicAccess(), allowed, adminNames, GET.equals(authConfig),
+                spaceRoles, publicAccess, getSubject(authModel));
+    }
 
-        Set<Space> spaces = new HashSet<>(repo.findByOrganizationIdAndNameIn(orgaId, spaceNames));
-        if ((READ.equals(authConfig) || GET.equals(authConfig)) && authModel.isSpacePublicAccess()) {
-            spaces.addAll(repo.findByOrganizationIdAndConfidentiality(orgaId, PUBLIC));
+    private List<Space> findSpaces(AuthenticationModel authModel, Organization orga, AuthConfiguration authConfig) {
+        if (isAdminListing(authModel, orga, authConfig)) {
+            return repo.findByOrganizationId(orga.getId());
         }
 
+        List<String> spaceRoles = List.of(authModel.getSpaceRoleNamesByPermission(authConfig));
+        boolean publicAccess = (READ.equals(authConfig) || GET.equals(authConfig)) && authModel.isSpacePublicAccess();
         // if not orga admin - hide spaces marked for deletion that aren't owned by current user
-        if (!(authModel.isSuperuser() || authModel.isAdmin(orga.getName()))) {
-            spaces =
-                    spaces.stream().filter(space -> space.getState() == null || !space.getState().equals(DELETION) || isOwner(space)).collect(Collectors.toSet());
-        }
-        return spaces.stream().toList();
+        boolean includeDeletion = authModel.isAdmin(orga.getName());
+        String subject = includeDeletion ? null : getSubject(authModel);
+        return repo.findAccessible(orga.getId(), spaceRoles, publicAccess, includeDeletion, subject);
+    }
+
+    /**
+     * fast-lane for organization-admin - if admin than all spaces are listed
+     */
+    private static boolean isAdminListing(AuthenticationModel authModel, Organization orga, AuthConfiguration authConfig) {
+        return GET.equals(authConfig) && authModel.getOrganizations() != null && Arrays.stream(authModel.getOrganizations()).anyMatch(orgaRole -> orgaRole.getOrganization().equals(orga.getName()) && AuthEntityOrganization.ADMIN_ROLE.equals(orgaRole.getRole()));
     }
 
     /**
@@ -242,7 +398,9 @@ public class SpaceService implements PropertyChangeListener {
      */
     private boolean deleteSpaces(Long orgaId) {
         List<Space> spaces = repo.findByOrganizationId(orgaId);
+        roleRepo.deleteByOrganizationId(orgaId);
         repo.deleteAll(spaces);
+        pcs.firePropertyChange(PROP_SPACE_DELETED, spaces.stream().map(Space::getId).toList(), null);
         return true;
     }
 
@@ -279,7 +437,7 @@ public class SpaceService implements PropertyChangeListener {
 
     public Space getSpaceById(AuthenticationModel authModel, long orgaId, long spaceId) throws OrganizationmanagerException {
         LOG.info("Retrieve space with id {}", orgaId);
-        Optional<Space> spaceOpt = repo.findByOrganizationIdAndId(orgaId, spaceId);
+        Optional<Space> spaceOpt = lookups.space(orgaId, spaceId, () -> repo.findByOrganizationIdAndId(orgaId, spaceId));
 
         return getSpace(orgaId, spaceOpt, authModel);
     }
@@ -297,7 +455,7 @@ public class SpaceService implements PropertyChangeListener {
         LOG.info("update Space {}", item.getName());
 
         // check if space exists within given organization
-        Optional<Space> spaceOpt = repo.findByOrganizationIdAndId(orga.getId(), item.getId());
+        Optional<Space> spaceOpt = lookups.space(orga.getId(), item.getId(), () -> repo.findByOrganizationIdAndId(orga.getId(), item.getId()));
         if (spaceOpt.isEmpty()) {
             throw new OrganizationmanagerException(GET_SINGLE_SPACE_NOT_FOUND);
         }
@@ -315,7 +473,9 @@ public class SpaceService implements PropertyChangeListener {
         item.setCreated(persisted.getCreated());
         item.setModified(ZonedDateTime.now());
 
-        return repo.saveAndFlush(item);
+        Space updated = repo.saveAndFlush(item);
+        pcs.firePropertyChange(PROP_SPACE_UPDATED, persisted, updated);
+        return updated;
     }
 
     /**
@@ -326,16 +486,9 @@ public class SpaceService implements PropertyChangeListener {
      * @throws OrganizationmanagerException validation-violation
      */
     void nameValidation(Space item, Long orgaId) throws OrganizationmanagerException {
-        // name must not be empty
-        if (item.getName() == null || item.getName().isEmpty()) {
-            throw new OrganizationmanagerException(SAVE_REQUIRED_INFO_MISSING);
-        }
-        // name must fit certain requirements
-        if (!item.getName().matches(REGEX_NAME)) {
-            throw new OrganizationmanagerException(INVALID_NAME, REGEX_NAME);
-        }
+        nameFormatValidation(item);
         // name must not be available within the given organization yet
-        Optional<Space> spaceOpt = repo.findByOrganizationIdAndName(orgaId, item.getName());
+        Optional<Space> spaceOpt = lookups.space(orgaId, item.getName(), () -> repo.findByOrganizationIdAndName(orgaId, item.getName()));
         if (spaceOpt.isPresent() && spaceOpt.get().getId() != item.getId()) {
             throw new OrganizationmanagerException(SAVE_SPACE_NAME_FOUND);
         }
@@ -347,13 +500,14 @@ public class SpaceService implements PropertyChangeListener {
      * That means it writes all the relevant information to the database and sends
      * an event on the "space-created" topic. This event will be consumed by the
      * Storage-manager that will then create the actual Azure Storage Container, the
-     * OpenSearch Index and the role in keycloak
+     * OpenSearch Index and the role in keycloak. The roles of the space are stored along with it (see {@link SpaceRole}).
      *
      * @param org the organization the space should be attached to
      * @param spc the space to be created
      * @return the created space
      * @throws OrganizationmanagerException error in storage-organization
      */
+    @Transactional
     public Space createSpaceEntity(Organization org, Space spc) throws OrganizationmanagerException {
         LOG.info("create Space {} in organization {}", spc.getName(), org.getName());
 
@@ -366,7 +520,99 @@ public class SpaceService implements PropertyChangeListener {
 
         spc.setCreated(ZonedDateTime.now());
         spc.setOrganizationId(org.getId());
-        return repo.saveAndFlush(spc);
+        Space persisted = repo.saveAndFlush(spc);
+        roleRepo.saveAll(getSpaceRoles(org, persisted));
+        pcs.firePropertyChange(PROP_SPACE_CREATED, null, persisted);
+        return persisted;
+    }
+
+    /**
+     * Creates many new spaces at once. The names of all spaces are checked for conflicts in one query, the valid spaces
+     * are inserted together (in JDBC batches, see {@code hibernate.jdbc.batch_size}).
+     *
+     * @param org    the organization the spaces should be attached to
+     * @param spaces the spaces to be created
+     * @return the outcome per space (in the order of the spaces) - rejected spaces are not stored
+     */
+    @Transactional
+    public List<BulkExecutor.Outcome<Space>> createSpaceEntities(Organization org, List<Space> spaces) {
+        LOG.info("create {} spaces in organization {}", spaces.size(), org.getName());
+
+        Map<Space, OrganizationmanagerException> rejected = new IdentityHashMap<>();
+        Set<String> names = new HashSet<>();
+        for (Space spc : spaces) {
+            try {
+                if (spc.getId() > 0) {
+                    throw new OrganizationmanagerException(SAVE_PROVIDE_ID);
+                }
+                nameFormatValidation(spc);
+                if (!names.add(spc.getName())) {
+                    throw new OrganizationmanagerException(SAVE_SPACE_NAME_FOUND);
+                }
+            } catch (OrganizationmanagerException e) {
+                rejected.put(spc, e);
+            }
+        }
+        // names must not be available within the given organization yet
+        Set<String> existing = new HashSet<>();
+        if (!names.isEmpty()) {
+            repo.findByOrganizationIdAndNameIn(org.getId(), names).forEach(spc -> existing.add(spc.getName()));
+        }
+        List<Space> valid = new ArrayList<>();
+        for (Space spc : spaces) {
+            if (rejected.containsKey(spc)) {
+                continue;
+            }
+            if (existing.contains(spc.getName())) {
+                rejected.put(spc, new OrganizationmanagerException(SAVE_SPACE_NAME_FOUND));
+                continue;
+            }
+            spc.setCreated(ZonedDateTime.now());
+            spc.setOrganizationId(org.getId());
+            valid.add(spc);
+        }
+
+        long started = System.nanoTime();
+        // new entities are persisted (not merged), so the given instances get their ids
+        repo.saveAll(valid);
+        repo.flush();
+        roleRepo.saveAll(valid.stream().flatMap(spc -> getSpaceRoles(org, spc).stream()).toList());
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        valid.forEach(spc -> pcs.firePropertyChange(PROP_SPACE_CREATED, null, spc));
+
+        return spaces.stream().map(spc -> new BulkExecutor.Outcome<>(spc, rejected.get(spc), rejected.containsKey(spc) ? 0L : durationMillis)).toList();
+    }
+
+    /**
+     * Gets the roles granting access to the space - one per scope
+     *
+     * @param org the organization of the space
+     * @param spc the (persisted) space
+     * @return the roles of the space
+     */
+    private List<SpaceRole> getSpaceRoles(Organization org, Space spc) {
+        return roleHelper.getRoles(org, spc).stream().map(role -> new SpaceRole(role, spc.getId(), org.getId())).toList();
+    }
+
+    /**
+     * Validates the format of the name - not empty, matches Pattern
+     *
+     * @param item the Space
+     * @throws OrganizationmanagerException validation-violation
+     */
+    private static void nameFormatValidation(Space item) throws OrganizationmanagerException {
+        // name must not be empty
+        if (item.getName() == null || item.getName().isEmpty()) {
+            throw new OrganizationmanagerException(SAVE_REQUIRED_INFO_MISSING);
+        }
+        // name must fit certain requirements
+        if (!item.getName().matches(REGEX_NAME)) {
+            throw new OrganizationmanagerException(INVALID_NAME, REGEX_NAME);
+        }
+    }
+
+    public void addPropertyChangeListener(PropertyChangeListener pcl) {
+        pcs.addPropertyChangeListener(pcl);
     }
 
 }
@@ -19,9 +19,14 @@ import com.efs.sdk.common.domain.model.Capability;
 import com.efs.sdk.common.domain.model.Confidentiality;
 import com.efs.sdk.common.domain.model.State;
 import com.efs.sdk.organizationmanager.core.model.AppConfiguration;
+import com.efs.sdk.organizationmanager.core.model.CapabilityListConverter;
+import com.efs.sdk.organizationmanager.core.model.StringListConverter;
 import com.efs.sdk.organizationmanager.core.model.Tag;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -33,21 +38,34 @@ import static com.efs.sdk.common.domain.model.Confidentiality.INTERNAL;
 
 @Entity
 @Table(name = "space", uniqueConstraints = @UniqueConstraint(columnNames = {"organization_id", "name"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Space.CACHE_REGION)
 public class Space {
 
+    /**
+     * Regions of the second-level cache
+     */
+    public static final String CACHE_REGION = "space";
+
     /**
      * <a href="https://docs.microsoft.com/en-us/azure/azure-resource-manager/management/resource-name-rules#microsoftstorage">...</a>
      */
     public static final String REGEX_NAME = "[a-z0-9-]{3,63}";
 
+    // the tags and app-configs are loaded for up to 100 spaces of the persistence-context at once (listings)
     @OneToMany(cascade = {CascadeType.ALL})
+    @BatchSize(size = 100)
     private final List<Tag> tags = new ArrayList<>();
-    @ElementCollection
-    @Enumerated(EnumType.STRING)
-    private final List<Capability> capabilities = new ArrayList<>();
-    @ElementCollection
-    private final List<String> owners = new ArrayList<>();
+    // capabilities and owners are array-columns of the space - read with the row. The lists are replaced instead of
+    // changed in place, the dirty-check compares them by value
+    @Convert(converter = CapabilityListConverter.class)
+    @Column(name = "capabilities", columnDefinition = "text array")
+    private List<Capability> capabilities = new ArrayList<>();
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "owners", columnDefinition = "text array")
+    private List<String> owners = new ArrayList<>();
     @OneToMany(cascade = {CascadeType.ALL})
+    @BatchSize(size = 100)
     private final List<AppConfiguration> appConfigs = new ArrayList<>();
     @Id
     @SequenceGenerator(
@@ -193,12 +211,13 @@ public class Space {
     }
 
     public void setOwners(List<String> owners) {
-        this.owners.clear();
-        this.owners.addAll(owners);
+        this.owners = new ArrayList<>(owners);
     }
 
     public void addOwner(String owner) {
-        this.owners.add(owner);
+        List<String> changed = new ArrayList<>(this.owners);
+        changed.add(owner);
+        this.owners = changed;
     }
 
     public List<AppConfiguration> getAppConfigs() {
@@ -219,19 +238,22 @@ public class Space {
     }
 
     public void setCapabilities(List<Capability> capabilities) {
-        this.capabilities.clear();
-        this.capabilities.addAll(capabilities.stream().distinct().toList()); // add distinct list
+        this.capabilities = new ArrayList<>(capabilities.stream().distinct().toList()); // add distinct list
     }
 
     public void addCapability(Capability capability) {
         if (!this.capabilities.contains(capability)) {
-            this.capabilities.add(capability);
+            List<Capability> changed = new ArrayList<>(this.capabilities);
+            changed.add(capability);
+            this.capabilities = changed;
         }
     }
 
     public void removeCapability(Capability capability) {
-        if (!this.capabilities.contains(capability)) {
-            this.capabilities.remove(capability);
+        if (this.capabilities.contains(capability)) {
+            List<Capability> changed = new ArrayList<>(this.capabilities);
+            changed.remove(capability);
+            this.capabilities = changed;
         }
     }
 
@@ -0,0 +1,32 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.space.model;
+
+import com.efs.sdk.common.domain.dto.SpaceReadDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Result of creating a single `Space` within a bulk-creation
+ *
+ * @author e:fs TechHub GmbH
+ */
+public record SpaceCreationResultDTO(
+        @Schema(description = "Name of the requested `Space`") String name,
+        @Schema(description = "Whether the `Space` was created") boolean success,
+        @Schema(description = "The created `Space` (if successful)") SpaceReadDTO space,
+        @Schema(description = "Error code (if failed)") Integer errorCode,
+        @Schema(description = "Error message (if failed)") String error) {
+}
@@ -0,0 +1,97 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.space.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A role granting access to a space (i.e. {@code <organization>_<space>_<scope>}, as built by
+ * {@link com.efs.sdk.organizationmanager.helper.RoleHelper#buildSpaceRole}) mapped to the space and its organization.
+ * <p>
+ * The roles are stored with their space (and removed with it), so the listings can join the roles of the token
+ * against this table instead of resolving the spaces by name. The id is assigned, so a role is new until it was
+ * persisted or loaded - otherwise saving it would merge it (reading every role before inserting it).
+ *
+ * @author e:fs TechHub GmbH
+ */
+@Entity
+@Table(name = "space_role", indexes = {@Index(name = "idx_space_role_space_id", columnList = "space_id"),
+        @Index(name = "idx_space_role_organization_id", columnList = "organization_id")})
+public class SpaceRole implements Persistable<String> {
+
+    @Id
+    @Column(columnDefinition = "text")
+    private String role;
+
+    @Column(name = "space_id", nullable = false)
+    private long spaceId;
+
+    @Column(name = "organization_id", nullable = false)
+    private long organizationId;
+
+    @Transient
+    private boolean isNew = true;
+
+    public SpaceRole() {
+    }
+
+    public SpaceRole(String role, long spaceId, long organizationId) {
+        this.role = role;
+        this.spaceId = spaceId;
+        this.organizationId = organizationId;
+    }
+
+    @Override
+    public String getId() {
+        return role;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public long getSpaceId() {
+        return spaceId;
+    }
+
+    public void setSpaceId(long spaceId) {
+        this.spaceId = spaceId;
+    }
+
+    public long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(long organizationId) {
+        this.organizationId = organizationId;
+    }
+}
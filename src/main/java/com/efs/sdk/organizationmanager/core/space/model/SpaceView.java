@@ -0,0 +1,89 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.space.model;
+
+import com.efs.sdk.common.domain.model.Capability;
+import com.efs.sdk.common.domain.model.Confidentiality;
+import com.efs.sdk.common.domain.model.State;
+
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.efs.sdk.organizationmanager.helper.Projections.ordinal;
+import static com.efs.sdk.organizationmanager.helper.Projections.split;
+import static com.efs.sdk.organizationmanager.helper.Projections.zoned;
+
+/**
+ * Read-only view of a {@link Space} for listings - only the columns of a
+ * {@link com.efs.sdk.common.domain.dto.SpaceReadDTO}, read without loading (and managing) the entity.
+ *
+ * @author e:fs TechHub GmbH
+ */
+public record SpaceView(
+        long id,
+        String name,
+        String description,
+        Confidentiality confidentiality,
+        List<Capability> capabilities,
+        String displayName,
+        State state,
+        int defaultRetentionTime,
+        String identifier,
+        boolean gdprRelevant,
+        List<String> owners,
+        ZonedDateTime created,
+        Long organizationId) {
+
+    public static SpaceView of(Row row) {
+        return new SpaceView(row.getId(), row.getName(), row.getDescription(), ordinal(Confidentiality.values(), row.getConfidentiality()),
+                split(row.getCapabilities(), Capability::valueOf), row.getDisplayName(), ordinal(State.values(), row.getState()),
+                row.getDefaultRetentionTime() == null ? 0 : row.getDefaultRetentionTime(), row.getIdentifier(), Boolean.TRUE.equals(row.getGdprRelevant()),
+                split(row.getOwners(), Function.identity()), zoned(row.getCreated()), row.getOrganizationId());
+    }
+
+    /**
+     * Raw columns of the native projection (collections comma-joined)
+     */
+    public interface Row {
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+
+        Integer getConfidentiality();
+
+        String getCapabilities();
+
+        String getDisplayName();
+
+        Integer getState();
+
+        Integer getDefaultRetentionTime();
+
+        String getIdentifier();
+
+        Boolean getGdprRelevant();
+
+        String getOwners();
+
+        Timestamp getCreated();
+
+        Long getOrganizationId();
+    }
+}
@@ -23,6 +23,8 @@ import com.efs.sdk.organizationmanager.core.userrequest.model.dto.OrganizationUs
 import com.efs.sdk.organizationmanager.core.userrequest.model.dto.OrganizationUserRequestDTO;
 import com.efs.sdk.organizationmanager.helper.AuthHelper;
 import com.efs.sdk.organizationmanager.helper.EntityConverter;
+import com.efs.sdk.organizationmanager.helper.Keyset;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -94,13 +96,26 @@ public class OrgaUserRequestController {
         return ResponseEntity.ok(entityConverter.convertToDTO(organizationUserRequest));
     }
 
-    @Operation(summary = "Gets UserRequests for Organization", description = "Lists `UserRequest`s for `Organization`")
+    @Operation(summary = "Gets UserRequests for Organization", description = """
+            Lists `UserRequest`s for `Organization`.
+
+            If `limit` or `after` is given, the `UserRequest`s are listed in pages (ordered by creation). The header `X-Next-Cursor` holds the cursor of the next page (`after`) and is missing on the last page.
+            """)
     @GetMapping(produces = APPLICATION_JSON_VALUE)
     @ApiResponse(responseCode = "200", description = "Successfully listed all `UserRequest` for `Organization`.")
+    @ApiResponse(responseCode = "400", description = "Invalid `limit` or `after`.", content = @Content(schema = @Schema(hidden = true)))
     @ApiResponse(responseCode = "404", description = "`Organization` not found.", content = @Content(schema = @Schema(hidden = true)))
     public ResponseEntity<List<OrganizationUserRequestDTO>> listOrganizationRequests(@Parameter(hidden = true) JwtAuthenticationToken token,
             @PathVariable @Parameter(description = "The id of the `Organization`.") long orgaId, @Parameter(description = "Filter `UserRequest`s by a certain" +
-            " state - optional", schema = @Schema(type = "string", allowableValues = {"OPEN", "ACCEPTED", "DECLINED"})) @RequestParam(required = false) UserRequestState state) throws OrganizationmanagerException {
+            " state - optional", schema = @Schema(type = "string", allowableValues = {"OPEN", "ACCEPTED", "DECLINED"})) @RequestParam(required = false) UserRequestState state,
+            @Parameter(description = "Maximum number of `UserRequest`s per page (1-1000, default 100) - optional") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor of the page (header `X-Next-Cursor` of the previous page) - optional") @RequestParam(required = false) String after) throws OrganizationmanagerException {
+        if (limit != null || after != null) {
+            int pageSize = Keyset.limit(limit);
+            List<OrganizationUserRequest> page = orgaManagerService.listOrganizationRequests(authHelper.getAuthenticationModel(token), orgaId, state,
+                    Cursor.decode(after), pageSize + 1);
+            return Keyset.page(page.stream().map(entityConverter::convertToDTO).toList(), pageSize, dto -> Cursor.of(dto.getCreated(), dto.getId()));
+        }
         List<OrganizationUserRequest> organizationUserRequests;
         if (state == null) {
             organizationUserRequests = orgaManagerService.listOrganizationRequests(authHelper.getAuthenticationModel(token), orgaId);
@@ -17,9 +17,13 @@ package com.efs.sdk.organizationmanager.core.userrequest;
 
 import com.efs.sdk.organizationmanager.core.userrequest.model.OrganizationUserRequest;
 import com.efs.sdk.organizationmanager.core.userrequest.model.UserRequestState;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 
 @Repository
@@ -28,4 +32,25 @@ public interface OrganizationUserRequestRepository extends JpaRepository<Organiz
     List<OrganizationUserRequest> findByOrgaId(Long orgaId);
 
     List<OrganizationUserRequest> findByOrgaIdAndState(Long orgaId, UserRequestState state);
+
+    /**
+     * Gets a page of the userrequests to an organization ordered by creation - the ones after the given creation-time
+     * and id (the last userrequest of the previous page), seeking by index.
+     *
+     * @param orgaId   the organization-id
+     * @param state    the state of the userrequests ({@code null} for all)
+     * @param created  the creation-time of the last userrequest of the previous page
+     * @param id       the id of the last userrequest of the previous page
+     * @param pageable the size of the page (first page only)
+     * @return the userrequests
+     */
+    @Query("""
+            SELECT r FROM OrganizationUserRequest r
+            WHERE r.orgaId = :orgaId
+              AND (:state IS NULL OR r.state = :state)
+              AND (r.created, r.id) > (:created, :id)
+            ORDER BY r.created, r.id
+            """)
+    List<OrganizationUserRequest> findPage(@Param("orgaId") long orgaId, @Param("state") UserRequestState state, @Param("created") ZonedDateTime created,
+            @Param("id") long id, Pageable pageable);
 }
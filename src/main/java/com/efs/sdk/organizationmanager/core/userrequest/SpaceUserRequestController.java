@@ -23,6 +23,8 @@ import com.efs.sdk.organizationmanager.core.userrequest.model.dto.SpaceUserReque
 import com.efs.sdk.organizationmanager.core.userrequest.model.dto.SpaceUserRequestDTO;
 import com.efs.sdk.organizationmanager.helper.AuthHelper;
 import com.efs.sdk.organizationmanager.helper.EntityConverter;
+import com.efs.sdk.organizationmanager.helper.Keyset;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -99,14 +101,27 @@ public class SpaceUserRequestController {
         return ResponseEntity.ok(entityConverter.convertToDTO(spaceUserRequest));
     }
 
-    @Operation(summary = "Gets UserRequests for Space", description = "Lists `UserRequest`s for `Space`")
+    @Operation(summary = "Gets UserRequests for Space", description = """
+            Lists `UserRequest`s for `Space`.
+
+            If `limit` or `after` is given, the `UserRequest`s are listed in pages (ordered by creation). The header `X-Next-Cursor` holds the cursor of the next page (`after`) and is missing on the last page.
+            """)
     @GetMapping(produces = APPLICATION_JSON_VALUE)
     @ApiResponse(responseCode = "200", description = "Successfully listed all `UserRequest` for `Space`.")
+    @ApiResponse(responseCode = "400", description = "Invalid `limit` or `after`.", content = @Content(schema = @Schema(hidden = true)))
     @ApiResponse(responseCode = "404", description = "`Organization` or `Space` not found.", content = @Content(schema = @Schema(hidden = true)))
     public ResponseEntity<List<SpaceUserRequestDTO>> listSpaceRequests(@Parameter(hidden = true) JwtAuthenticationToken token,
             @PathVariable @Parameter(description = "The id of the `Organization`.") long orgaId,
             @PathVariable @Parameter(description = "The id of the `Space`.") long spaceId, @Parameter(description = "Filter `UserRequest`s by a " +
-            "certain state - optional") @RequestParam(required = false) UserRequestState state) throws OrganizationmanagerException {
+            "certain state - optional") @RequestParam(required = false) UserRequestState state,
+            @Parameter(description = "Maximum number of `UserRequest`s per page (1-1000, default 100) - optional") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor of the page (header `X-Next-Cursor` of the previous page) - optional") @RequestParam(required = false) String after) throws OrganizationmanagerException {
+        if (limit != null || after != null) {
+            int pageSize = Keyset.limit(limit);
+            List<SpaceUserRequest> page = orgaManagerService.listSpaceRequests(authHelper.getAuthenticationModel(token), orgaId, spaceId, state,
+                    Cursor.decode(after), pageSize + 1);
+            return Keyset.page(page.stream().map(entityConverter::convertToDTO).toList(), pageSize, dto -> Cursor.of(dto.getCreated(), dto.getId()));
+        }
         List<SpaceUserRequest> spaceUserRequests;
         if (state == null) {
             spaceUserRequests = orgaManagerService.listSpaceRequests(authHelper.getAuthenticationModel(token), orgaId, spaceId);
@@ -21,7 +21,10 @@ import com.efs.sdk.organizationmanager.core.space.model.Space;
 import com.efs.sdk.organizationmanager.core.userrequest.model.OrganizationUserRequest;
 import com.efs.sdk.organizationmanager.core.userrequest.model.SpaceUserRequest;
 import com.efs.sdk.organizationmanager.core.userrequest.model.UserRequestState;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -50,6 +53,7 @@ public class UserRequestService {
      * @param orga the organization
      * @return all organization-userrequests
      */
+    @Transactional(readOnly = true)
     public List<OrganizationUserRequest> listUserRequests(Organization orga) {
         return orgaRequestRepo.findByOrgaId(orga.getId());
     }
@@ -61,10 +65,26 @@ public class UserRequestService {
      * @param state the UserRequestState
      * @return all organization-userrequests
      */
+    @Transactional(readOnly = true)
     public List<OrganizationUserRequest> listUserRequests(Organization orga, UserRequestState state) {
         return orgaRequestRepo.findByOrgaIdAndState(orga.getId(), state);
     }
 
+    /**
+     * List a page of the userrequests to the given organization ordered by creation
+     *
+     * @param orga  the organization
+     * @param state the UserRequestState ({@code null} for all)
+     * @param after the last userrequest of the previous page
+     * @param limit the maximum number of userrequests
+     * @return the organization-userrequests
+     * @throws OrganizationmanagerException invalid cursor
+     */
+    @Transactional(readOnly = true)
+    public List<OrganizationUserRequest> listUserRequests(Organization orga, UserRequestState state, Cursor after, int limit) throws OrganizationmanagerException {
+        return orgaRequestRepo.findPage(orga.getId(), state, after.created(), after.id(), PageRequest.ofSize(limit));
+    }
+
     /**
      * Creates an userrequest to the given organization
      *
@@ -131,6 +151,7 @@ public class UserRequestService {
      * @param space the space
      * @return all organization-userrequests
      */
+    @Transactional(readOnly = true)
     public List<SpaceUserRequest> listUserRequests(Organization orga, Space space) {
         return spaceRequestRepo.findByOrgaIdAndSpaceId(orga.getId(), space.getId());
     }
@@ -143,10 +164,27 @@ public class UserRequestService {
      * @param state the UserRequestState
      * @return all organization-userrequests
      */
+    @Transactional(readOnly = true)
     public List<SpaceUserRequest> listUserRequests(Organization orga, Space space, UserRequestState state) {
         return spaceRequestRepo.findByOrgaIdAndSpaceIdAndState(orga.getId(), space.getId(), state);
     }
 
+    /**
+     * List a page of the userrequests to the given space ordered by creation
+     *
+     * @param orga  the organization
+     * @param space the space
+     * @param state the UserRequestState ({@code null} for all)
+     * @param after the last userrequest of the previous page
+     * @param limit the maximum number of userrequests
+     * @return the space-userrequests
+     * @throws OrganizationmanagerException invalid cursor
+     */
+    @Transactional(readOnly = true)
+    public List<SpaceUserRequest> listUserRequests(Organization orga, Space space, UserRequestState state, Cursor after, int limit) throws OrganizationmanagerException {
+        return spaceRequestRepo.findPage(orga.getId(), space.getId(), state, after.created(), after.id(), PageRequest.ofSize(limit));
+    }
+
     /**
      * Creates an userrequest to the given space
      *
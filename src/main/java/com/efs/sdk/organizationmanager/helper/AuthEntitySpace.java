@@ -76,4 +76,11 @@ public class AuthEntitySpace {
         return role;
     }
 
+    /**
+     * @return the name of the role in the token (i.e. {@code <organization>_<space>_<role>})
+     */
+    public String getRoleName() {
+        return format("%s_%s_%s", organization, space, role);
+    }
+
 }
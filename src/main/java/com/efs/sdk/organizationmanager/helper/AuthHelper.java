@@ -54,19 +54,39 @@ public class AuthHelper {
         return hasRights(token, new String[]{SUPERUSER_ROLE});
     }
 
+    /**
+     * Builds the AuthenticationModel of the given token.
+     * <p>
+     * Superusers have access to everything, so parsing their organization- and space-roles is skipped.
+     *
+     * @param token The user token.
+     * @return the AuthenticationModel
+     */
     public AuthenticationModel getAuthenticationModel(JwtAuthenticationToken token) {
+        // fast-lane for superuser
+        if (isSuperuser(token)) {
+            AuthenticationModel authModel = new AuthenticationModel();
+            authModel.setSuperuser(true);
+            authModel.setSubject(getSubject(token));
+            authModel.setToken(token);
+            return authModel;
+        }
         AuthEntityOrganization[] orgaRoles = getMatchingRoles(token, ORGA_REGEX).map(AuthEntityOrganization::new).toArray(AuthEntityOrganization[]::new);
         AuthEntitySpace[] spaceRoles = getMatchingRoles(token, SPACE_REGEX).map(AuthEntitySpace::new).toArray(AuthEntitySpace[]::new);
         AuthenticationModel authModel = new AuthenticationModel();
         authModel.setOrganizations(orgaRoles);
-        authModel.setSuperuser(isSuperuser(token));
         authModel.setSpaces(spaceRoles);
         authModel.setOrgaPublicAccess(token.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch(ORG_PUBLIC_ACCESS::equals));
         authModel.setSpacePublicAccess(token.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch(SPC_PUBLIC_ACCESS::equals));
+        authModel.setSubject(getSubject(token));
         authModel.setToken(token);
         return authModel;
     }
 
+    private String getSubject(JwtAuthenticationToken token) {
+        return token.getToken() == null ? null : token.getToken().getSubject();
+    }
+
     private Stream<String> getMatchingRoles(JwtAuthenticationToken token, String regex) {
         return token.getAuthorities().stream().map(GrantedAuthority::getAuthority).filter(a -> a.matches(regex));
     }
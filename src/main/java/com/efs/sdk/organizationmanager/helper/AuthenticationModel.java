@@ -40,9 +40,14 @@ public class AuthenticationModel {
     private AuthEntitySpace[] spaces = new AuthEntitySpace[0];
     // user is superuser
     private boolean superuser = false;
+    // subject of the token (resolved once per request)
+    private String subject;
 
     private JwtAuthenticationToken token;
 
+    // lookup-sets of space-names by permission (derived from 'spaces', built on first use)
+    private final Map<AuthConfiguration, Set<String>> spaceNamesByPermission = new EnumMap<>(AuthConfiguration.class);
+
     public boolean isOrgaPublicAccess() {
         return orgaPublicAccess;
     }
@@ -73,6 +78,7 @@ public class AuthenticationModel {
 
     public void setSpaces(AuthEntitySpace[] spaces) {
         this.spaces = spaces == null ? null : spaces.clone();
+        this.spaceNamesByPermission.clear();
     }
 
     public boolean isSuperuser() {
@@ -83,6 +89,14 @@ public class AuthenticationModel {
         this.superuser = superuser;
     }
 
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
     public JwtAuthenticationToken getToken() {
         return token;
     }
@@ -92,18 +106,47 @@ public class AuthenticationModel {
     }
 
     public String[] getSpacesByPermission(AuthConfiguration authConfig) {
+        return spaceRolesByPermission(authConfig).map(AuthEntitySpace::getSpace).toArray(String[]::new);
+    }
+
+    /**
+     * Gets the space-roles (i.e. {@code <organization>_<space>_<role>}) granting the given permission - unlike
+     * {@link #getSpacesByPermission(AuthConfiguration)} qualified by the organization, so they can be matched against
+     * the roles stored with the spaces.
+     *
+     * @param authConfig The AuthConfiguration
+     * @return the names of the space-roles
+     */
+    public String[] getSpaceRoleNamesByPermission(AuthConfiguration authConfig) {
+        return spaceRolesByPermission(authConfig).map(AuthEntitySpace::getRoleName).toArray(String[]::new);
+    }
+
+    private Stream<AuthEntitySpace> spaceRolesByPermission(AuthConfiguration authConfig) {
         if (spaces == null) {
-            return new String[0];
+            return Stream.empty();
         }
-        List<String> spacesByPermission = new ArrayList<>();
         // special-case: if AuthConfiguration == GET, all other AuthConfigurations are applicable (additional to orga-admin-role)
-        if (GET.equals(authConfig)) {
-            // read-permission is enough, as all other AuthConfigurations 'inherit' from it
-            Stream.of(READ.getAllowedRoles()).forEach(allowedRole -> spacesByPermission.addAll(Arrays.stream(spaces).filter(spaceRole -> spaceRole.getRole().equals(allowedRole)).map(AuthEntitySpace::getSpace).toList()));
-        } else {
-            Stream.of(authConfig.getAllowedRoles()).forEach(allowedRole -> spacesByPermission.addAll(Arrays.stream(spaces).filter(spaceRole -> spaceRole.getRole().equals(allowedRole)).map(AuthEntitySpace::getSpace).toList()));
+        // read-permission is enough, as all other AuthConfigurations 'inherit' from it
+        AuthConfiguration applicable = GET.equals(authConfig) ? READ : authConfig;
+        return Stream.of(applicable.getAllowedRoles()).flatMap(allowedRole -> Arrays.stream(spaces).filter(spaceRole -> spaceRole.getRole().equals(allowedRole)));
+    }
+
+    /**
+     * Checks if the user has the given permission to a space with the given name (case-insensitive).
+     * <p>
+     * Uses a hashed lookup instead of scanning the space-roles, so it is cheap to call once per space in listings.
+     *
+     * @param spaceName  the name of the space
+     * @param authConfig The AuthConfiguration
+     * @return whether the user has the permission via an explicit space-role
+     */
+    public boolean hasSpaceAccess(String spaceName, AuthConfiguration authConfig) {
+        if (spaceName == null) {
+            return false;
         }
-        return spacesByPermission.toArray(String[]::new);
+        Set<String> spaceNames = spaceNamesByPermission.computeIfAbsent(authConfig,
+                config -> Arrays.stream(getSpacesByPermission(config)).map(name -> name.toLowerCase(Locale.ROOT)).collect(toSet()));
+        return spaceNames.contains(spaceName.toLowerCase(Locale.ROOT));
     }
 
     /**
@@ -15,9 +15,13 @@ limitations under the License.
  */
 package com.efs.sdk.organizationmanager.helper;
 
+import com.efs.sdk.common.domain.dto.OrganizationReadDTO;
+import com.efs.sdk.common.domain.dto.SpaceReadDTO;
 import com.efs.sdk.common.domain.dto.SpaceUpdateDTO;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.organization.model.OrganizationView;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceView;
 import com.efs.sdk.organizationmanager.core.userrequest.model.OrganizationUserRequest;
 import com.efs.sdk.organizationmanager.core.userrequest.model.SpaceUserRequest;
 import com.efs.sdk.organizationmanager.core.userrequest.model.dto.OrganizationUserRequestCreateDTO;
@@ -30,6 +34,8 @@ import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+
 /**
  * implementation for type-conversions
  */
@@ -64,6 +70,27 @@ public class EntityConverter {
         return modelMapper.map(entity, targetType);
     }
 
+    /**
+     * Converts a read-only view (listings) - field by field, the view is not a bean
+     *
+     * @param view the view
+     * @return the DTO
+     */
+    public OrganizationReadDTO convertToDTO(OrganizationView view) {
+        OrganizationReadDTO dto = new OrganizationReadDTO();
+        dto.setId(view.id());
+        dto.setName(view.name());
+        dto.setDescription(view.description());
+        dto.setConfidentiality(view.confidentiality());
+        dto.setCompany(view.company());
+        dto.setDisplayName(view.displayName());
+        dto.setState(view.state());
+        dto.setOwners(new ArrayList<>(view.owners()));
+        dto.setCreated(view.created());
+        dto.setModified(view.modified());
+        return dto;
+    }
+
     // ******************************************************
     // Space-conversions
     // ******************************************************
@@ -72,6 +99,30 @@ public class EntityConverter {
         return modelMapper.map(entity, targetType);
     }
 
+    /**
+     * Converts a read-only view (listings) - field by field, the view is not a bean
+     *
+     * @param view the view
+     * @return the DTO
+     */
+    public SpaceReadDTO convertToDTO(SpaceView view) {
+        SpaceReadDTO dto = new SpaceReadDTO();
+        dto.setId(view.id());
+        dto.setName(view.name());
+        dto.setDescription(view.description());
+        dto.setConfidentiality(view.confidentiality());
+        dto.setCapabilities(new ArrayList<>(view.capabilities()));
+        dto.setDisplayName(view.displayName());
+        dto.setState(view.state());
+        dto.setDefaultRetentionTime(view.defaultRetentionTime());
+        dto.setIdentifier(view.identifier());
+        dto.setGdprRelevant(view.gdprRelevant());
+        dto.setOwners(new ArrayList<>(view.owners()));
+        dto.setCreated(view.created());
+        dto.setOrganizationId(view.organizationId());
+        return dto;
+    }
+
     // ******************************************************
     // Organization-UserRequest-conversions
     // ******************************************************
@@ -0,0 +1,139 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.helper;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.BAD_REQUEST_PARAM_VALUE;
+
+/**
+ * Keyset-pagination of listings: a page holds up to {@code limit} items after the given cursor - the sort-key and id of
+ * the last item of the previous page. The query seeks to the cursor by index, so a page is read as fast as the first
+ * one, no matter how deep a client pages. The cursor of the next page is returned in the header
+ * {@value #NEXT_CURSOR} (missing on the last page).
+ *
+ * @author e:fs TechHub GmbH
+ */
+public final class Keyset {
+
+    /**
+     * Response-header carrying the cursor of the next page
+     */
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private Keyset() {
+        // do nothing
+    }
+
+    /**
+     * Validates the requested page-size
+     *
+     * @param limit the requested page-size (default if {@code null})
+     * @return the page-size
+     * @throws OrganizationmanagerException page-size out of range
+     */
+    public static int limit(Integer limit) throws OrganizationmanagerException {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new OrganizationmanagerException(BAD_REQUEST_PARAM_VALUE, String.format("-- limit must be between 1 and %d", MAX_LIMIT));
+        }
+        return limit;
+    }
+
+    /**
+     * Builds the response of a page. The items have to be read with one more than the page-size - if there is one, the
+     * cursor of the next page is set.
+     *
+     * @param items    the items read (up to {@code limit + 1})
+     * @param limit    the page-size
+     * @param cursorOf the cursor of an item
+     * @return the response with the page
+     */
+    public static <T> ResponseEntity<List<T>> page(List<T> items, int limit, Function<T, Cursor> cursorOf) {
+        if (items.size() <= limit) {
+            return ResponseEntity.ok(items);
+        }
+        List<T> page = items.subList(0, limit);
+        return ResponseEntity.ok().header(NEXT_CURSOR, cursorOf.apply(page.get(limit - 1)).encode()).body(page);
+    }
+
+    /**
+     * Position within a listing - the sort-key (name or creation-time) and id of the last item read
+     *
+     * @param key the sort-key
+     * @param id  the id (tie-breaker)
+     */
+    public record Cursor(String key, long id) {
+        /**
+         * Before the first item of any listing
+         */
+        public static final Cursor FIRST = new Cursor("", 0L);
+
+        public static Cursor of(ZonedDateTime created, long id) {
+            return new Cursor(created.toInstant().toString(), id);
+        }
+
+        /**
+         * Decodes a cursor passed by the client
+         *
+         * @param cursor the encoded cursor ({@link #FIRST} if {@code null})
+         * @return the cursor
+         * @throws OrganizationmanagerException invalid cursor
+         */
+        public static Cursor decode(String cursor) throws OrganizationmanagerException {
+            if (cursor == null || cursor.isEmpty()) {
+                return FIRST;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                return new Cursor(decoded.substring(separator + 1), Long.parseLong(decoded.substring(0, separator)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new OrganizationmanagerException(BAD_REQUEST_PARAM_VALUE, "-- invalid cursor");
+            }
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString((id + ":" + key).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @return the sort-key as creation-time (the epoch for {@link #FIRST})
+         * @throws OrganizationmanagerException the key is no creation-time
+         */
+        public ZonedDateTime created() throws OrganizationmanagerException {
+            try {
+                return ZonedDateTime.ofInstant(key.isEmpty() ? Instant.EPOCH : Instant.parse(key), ZoneId.systemDefault());
+            } catch (DateTimeParseException e) {
+                throw new OrganizationmanagerException(BAD_REQUEST_PARAM_VALUE, "-- invalid cursor");
+            }
+        }
+    }
+}
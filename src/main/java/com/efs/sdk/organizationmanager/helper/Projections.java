@@ -0,0 +1,69 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.helper;
+
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Conversions of the raw column-values of native projections (see e.g.
+ * {@link com.efs.sdk.organizationmanager.core.space.model.SpaceView}) - the same way Hibernate reads them into the
+ * entities.
+ *
+ * @author e:fs TechHub GmbH
+ */
+public final class Projections {
+
+    private Projections() {
+        // do nothing
+    }
+
+    /**
+     * Gets the enum-constant stored by its ordinal
+     *
+     * @param values  the constants of the enum
+     * @param ordinal the stored ordinal (may be {@code null})
+     * @return the constant or {@code null}
+     */
+    public static <E extends Enum<E>> E ordinal(E[] values, Integer ordinal) {
+        return ordinal == null ? null : values[ordinal];
+    }
+
+    /**
+     * Splits the values aggregated in SQL (comma-joined) into a list
+     *
+     * @param joined  the comma-joined values (may be {@code null} if there are none)
+     * @param convert the conversion of a single value
+     * @return the values
+     */
+    public static <T> List<T> split(String joined, Function<String, T> convert) {
+        return joined == null || joined.isEmpty() ? List.of() : Arrays.stream(joined.split(",")).map(convert).toList();
+    }
+
+    /**
+     * Gets the timestamp (stored without time zone) in the default time zone
+     *
+     * @param timestamp the stored timestamp (may be {@code null})
+     * @return the timestamp or {@code null}
+     */
+    public static ZonedDateTime zoned(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().atZone(ZoneId.systemDefault());
+    }
+}
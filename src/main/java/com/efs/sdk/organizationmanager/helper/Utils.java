@@ -21,6 +21,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
+import java.util.List;
 import java.util.Objects;
 
 public final class Utils {
@@ -50,6 +51,22 @@ public final class Utils {
         return new JwtAuthenticationToken(jwt);
     }
 
+    /**
+     * Get Subject of the given AuthenticationModel. If the model does not carry the subject yet, it is resolved
+     * from the Security-Context once and kept in the model for the rest of the request.
+     *
+     * @param authModel the authenticationmodel
+     * @return the subject
+     */
+    public static String getSubject(AuthenticationModel authModel) {
+        String subject = authModel.getSubject();
+        if (subject == null) {
+            subject = getSubject();
+            authModel.setSubject(subject);
+        }
+        return subject;
+    }
+
     // ******************************************************
     //              ORGA-PERMISSION-MANAGEMENT
     // ******************************************************
@@ -57,14 +74,13 @@ public final class Utils {
     /**
      * Checks, if the current user is owner of the given organization
      *
-     * @param orga the organization
+     * @param authModel the authenticationmodel
+     * @param orga      the organization
      * @return owner or not
      */
-    public static boolean isOwner(Organization orga) {
-        return Objects.requireNonNull(orga, "Organization must not be null")
-                .getOwners()
-                .stream()
-                .anyMatch(owner -> owner.equals(getSubject()));
+    public static boolean isOwner(AuthenticationModel authModel, Organization orga) {
+        List<String> owners = Objects.requireNonNull(orga, "Organization must not be null").getOwners();
+        return !owners.isEmpty() && owners.contains(getSubject(authModel));
     }
 
     /**
@@ -86,7 +102,8 @@ public final class Utils {
      * @return admin or owner
      */
     public static boolean isAdminOrOwner(AuthenticationModel authModel, Organization orga) {
-        return isOwner(orga) || isAdmin(authModel, orga);
+        // admin-check first - it does not require scanning the owners
+        return isAdmin(authModel, orga) || isOwner(authModel, orga);
     }
 
     // ******************************************************
@@ -96,11 +113,13 @@ public final class Utils {
     /**
      * Checks, if the current user is owner of the given space
      *
-     * @param spc the space
+     * @param authModel the authenticationmodel
+     * @param spc       the space
      * @return owner or not
      */
-    public static boolean isOwner(Space spc) {
-        return Objects.requireNonNull(spc, "Space must not be null").getOwners().stream().anyMatch(owner -> owner.equals(getSubject()));
+    public static boolean isOwner(AuthenticationModel authModel, Space spc) {
+        List<String> owners = Objects.requireNonNull(spc, "Space must not be null").getOwners();
+        return !owners.isEmpty() && owners.contains(getSubject(authModel));
     }
 
     /**
@@ -112,7 +131,7 @@ public final class Utils {
      * @return admin of space or owner of organization
      */
     public static boolean isAdminOrOwner(AuthenticationModel authModel, Organization orga, Space spc) {
-        return isOwner(spc) || isAdmin(authModel, orga);
+        return isAdmin(authModel, orga) || isOwner(authModel, spc);
     }
 
 }
@@ -16,6 +16,7 @@ limitations under the License.
 package com.efs.sdk.organizationmanager.security;
 
 
+import com.efs.sdk.organizationmanager.helper.Keyset;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -44,6 +45,7 @@ public class CorsConfigLocal implements WebMvcConfigurer {
         registry.addMapping("/**") // Apply CORS configuration to all endpoints
                 .allowedOrigins("*")  // Allow requests from all origins for local development
                 .allowedMethods("*")  // Allow all HTTP methods
-                .allowedHeaders("*"); // Allow all headers
+                .allowedHeaders("*") // Allow all headers
+                .exposedHeaders(Keyset.NEXT_CURSOR); // Allow reading the cursor of paged listings
     }
 }
@@ -0,0 +1,37 @@
+-- asynchronous operations and the results of their calls to the services, so every instance can answer the polls
+
+create table if not exists operation
+(
+    id          varchar(36)              not null
+        primary key,
+    type        integer                  not null,
+    target      text                     not null,
+    owner       text                     not null,
+    state       integer                  not null,
+    resource_id bigint,
+    error       text,
+    done        integer                  not null default 0,
+    total       integer                  not null default 0,
+    created     timestamp with time zone not null,
+    started     timestamp with time zone,
+    finished    timestamp with time zone,
+    -- refreshed while the operation is executed, so operations of dead instances are recognized
+    modified    timestamp with time zone not null
+);
+
+-- the cleanup removes the operations not modified within the retention
+create index if not exists idx_operation_modified
+    on operation (modified);
+
+create table if not exists operation_step
+(
+    operation_id    varchar(36) not null
+        references operation (id) on delete cascade,
+    step_index      integer     not null,
+    name            text        not null,
+    client          text        not null,
+    success         boolean     not null,
+    message         text,
+    duration_millis bigint      not null,
+    primary key (operation_id, step_index)
+);
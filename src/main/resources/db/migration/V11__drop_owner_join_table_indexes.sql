@@ -0,0 +1,6 @@
+-- ownership is looked up on the array-columns (V8), the indexes of the join-tables for the owner-check are no longer
+-- used - the ones by organization or space stay for deleting their rows along with the organization or space
+
+drop index if exists idx_organization_owners_owners;
+
+drop index if exists idx_space_owners_owners;
@@ -0,0 +1,28 @@
+create sequence if not exists provisioning_step_seq increment by 50;
+
+create table if not exists provisioning_step
+(
+    id              bigint    not null
+        primary key,
+    entity_type     integer   not null,
+    organization_id bigint    not null,
+    space_id        bigint,
+    client          varchar(255) not null,
+    action          integer   not null,
+    state           integer   not null,
+    attempts        integer   not null default 0,
+    next_attempt_at timestamp not null,
+    claimed_by      varchar(64),
+    last_error      text,
+    payload         text      not null,
+    created         timestamp,
+    modified        timestamp
+);
+
+-- the worker only looks for pending steps (state 0) that are due
+create index if not exists idx_provisioning_step_due
+    on provisioning_step (next_attempt_at)
+    where state = 0;
+
+create index if not exists idx_provisioning_step_claimed_by
+    on provisioning_step (claimed_by);
@@ -0,0 +1,63 @@
+-- ORGANIZATION
+
+-- lookup by name (creation, role-checks and listings by role)
+create index if not exists idx_organization_name
+    on organization (name);
+
+-- listings of public organizations
+create index if not exists idx_organization_confidentiality
+    on organization (confidentiality);
+
+-- ownership (findByOwners and the owner-check of the listings) and loading the owners of an organization
+create index if not exists idx_organization_owners_owners
+    on organization_owners (owners, organization_id);
+
+create index if not exists idx_organization_owners_organization_id
+    on organization_owners (organization_id);
+
+create index if not exists idx_organization_app_configs_organization_id
+    on organization_app_configs (organization_id);
+
+create index if not exists idx_organization_tags_organization_id
+    on organization_tags (organization_id);
+
+-- SPACE
+
+-- public spaces of an organization (the unique constraint on (organization_id, name) covers the other lookups)
+create index if not exists idx_space_organization_id_confidentiality
+    on space (organization_id, confidentiality);
+
+-- the purge-worker only looks for spaces marked for deletion (state 2), oldest first
+create index if not exists idx_space_deletion_modified
+    on space (modified, id)
+    where state = 2;
+
+-- ownership (owner-check of the listings) and loading/deleting the join-tables of a space
+create index if not exists idx_space_owners_owners
+    on space_owners (owners, space_id);
+
+create index if not exists idx_space_owners_space_id
+    on space_owners (space_id);
+
+create index if not exists idx_space_app_configs_space_id
+    on space_app_configs (space_id);
+
+create index if not exists idx_space_capabilities_space_id
+    on space_capabilities (space_id);
+
+create index if not exists idx_space_tags_space_id
+    on space_tags (space_id);
+
+-- USER-REQUESTS
+
+create index if not exists idx_organization_user_request_orga_id_state
+    on organization_user_request (orga_id, state);
+
+create index if not exists idx_space_user_request_orga_id_space_id_state
+    on space_user_request (orga_id, space_id, state);
+
+-- PROVISIONING
+
+-- steps of an organization or space (resuming and compensating a creation)
+create index if not exists idx_provisioning_step_entity
+    on provisioning_step (organization_id, space_id);
@@ -0,0 +1,19 @@
+-- indexes matching the sort-keys of the paged listings: a page seeks to the cursor (the last row of the previous page)
+-- and reads the following rows in order, so deep pages are as fast as the first one
+
+-- organizations by (name, id) - also covers the lookups by name
+create index if not exists idx_organization_name_id
+    on organization (name, id);
+
+drop index if exists idx_organization_name;
+
+-- spaces of an organization by (name, id)
+create index if not exists idx_space_organization_id_name_id
+    on space (organization_id, name, id);
+
+-- user-requests by (created, id)
+create index if not exists idx_organization_user_request_orga_id_created_id
+    on organization_user_request (orga_id, created, id);
+
+create index if not exists idx_space_user_request_orga_id_space_id_created_id
+    on space_user_request (orga_id, space_id, created, id);
@@ -0,0 +1,64 @@
+-- owners and capabilities are stored as array-columns in the row of their organization or space, so loading an
+-- organization or space is a single-row read and changing them is an update of that row
+
+alter table organization
+    add column if not exists owners text[] not null default '{}';
+
+alter table space
+    add column if not exists owners text[] not null default '{}';
+
+alter table space
+    add column if not exists capabilities text[] not null default '{}';
+
+-- copy the rows of the join-tables into the arrays
+
+update organization o
+set owners = oo.owners
+from (select organization_id, array_agg(owners) as owners
+      from organization_owners
+      where owners is not null
+      group by organization_id) oo
+where oo.organization_id = o.id;
+
+update space s
+set owners = so.owners
+from (select space_id, array_agg(owners) as owners
+      from space_owners
+      where owners is not null
+      group by space_id) so
+where so.space_id = s.id;
+
+update space s
+set capabilities = sc.capabilities
+from (select space_id, array_agg(capabilities) as capabilities
+      from space_capabilities
+      where capabilities is not null
+      group by space_id) sc
+where sc.space_id = s.id;
+
+-- the join-tables are kept as a copy of the state before this migration, but no longer written - so this migration
+-- cannot be rolled back (the previous version would read stale owners and capabilities), only restored from a backup.
+-- They are dropped by a later cleanup migration
+-- their rows are removed with the organization or space, which Hibernate no longer does
+
+alter table organization_owners
+    drop constraint if exists fk7wr0p8clskyaae5nlchdrxyh6,
+    add constraint fk7wr0p8clskyaae5nlchdrxyh6 foreign key (organization_id) references organization on delete cascade;
+
+alter table space_owners
+    drop constraint if exists fkdg17umi0d65597dr1028dv9e,
+    add constraint fkdg17umi0d65597dr1028dv9e foreign key (space_id) references space on delete cascade;
+
+alter table space_capabilities
+    drop constraint if exists fk8rgxp7fjonem7m1mgsl2xeldy,
+    add constraint fk8rgxp7fjonem7m1mgsl2xeldy foreign key (space_id) references space on delete cascade;
+
+-- ownership (findByOwners and the owner-check of the listings) and capabilities by containment (@>)
+create index if not exists idx_organization_owners
+    on organization using gin (owners);
+
+create index if not exists idx_space_owners
+    on space using gin (owners);
+
+create index if not exists idx_space_capabilities
+    on space using gin (capabilities);
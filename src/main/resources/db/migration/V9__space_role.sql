@@ -0,0 +1,25 @@
+-- the roles granting access to a space (<organization>_<space>_<scope>), so the listings join the roles of the token
+-- against this table instead of resolving the spaces by name
+
+create table if not exists space_role
+(
+    role            text   not null
+        primary key,
+    space_id        bigint not null,
+    organization_id bigint not null
+);
+
+create index if not exists idx_space_role_space_id
+    on space_role (space_id);
+
+create index if not exists idx_space_role_organization_id
+    on space_role (organization_id);
+
+-- one role per scope (RoleHelper.SpaceScopeRole) for the existing spaces
+
+insert into space_role (role, space_id, organization_id)
+select lower(o.name || '_' || s.name || '_' || r.scope), s.id, o.id
+from space s
+         join organization o on o.id = s.organization_id
+         cross join (values ('user'), ('supplier'), ('trustee')) as r (scope)
+on conflict (role) do nothing;
@@ -0,0 +1,217 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core;
+
+import com.efs.sdk.organizationmanager.core.organization.OrganizationRepository;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.organization.model.OrganizationView;
+import com.efs.sdk.organizationmanager.core.space.SpaceRepository;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the results of the native access-queries of the {@link OrganizationRepository} and {@link SpaceRepository}
+ * against PostgreSQL (arrays, {@code string_to_array}) - with the parameters the services pass for superusers,
+ * organization-admins, owners, explicit roles and public access.
+ * <p>
+ * Skipped if docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AccessQueryTest {
+
+    private static final long ALPHA = 1L;
+    private static final long BETA = 2L;
+    private static final long GAMMA = 3L;
+    private static final int PUBLIC = 0;
+    private static final int INTERNAL = 2;
+    private static final int DELETION = 2;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private OrganizationRepository orgaRepo;
+    @Autowired
+    private SpaceRepository spaceRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    @BeforeEach
+    void setup() {
+        // alpha: internal, owned by 'orga-owner' - beta: public, without spaces - gamma: internal, with a space named like one of alpha
+        organization(ALPHA, "alpha", INTERNAL, "orga-owner");
+        organization(BETA, "beta", PUBLIC);
+        organization(GAMMA, "gamma", INTERNAL);
+        space(11, ALPHA, "data", INTERNAL, 0);
+        space(12, ALPHA, "open", PUBLIC, 0);
+        space(13, ALPHA, "doomed", INTERNAL, DELETION, "space-owner");
+        space(14, ALPHA, "hidden", INTERNAL, 0);
+        space(31, GAMMA, "data", INTERNAL, 0);
+    }
+
+    @Test
+    void givenSuperuser_whenFindAccessibleOrganizations_thenAll() {
+        assertEquals(List.of("alpha", "beta", "gamma"), orgaViewNames(orgaRepo.findAccessibleViews(true, List.of(), null, false, List.of())));
+    }
+
+    @Test
+    void givenOrganizationRole_whenFindAccessibleOrganizations_thenOnlyThatOrganization() {
+        assertEquals(List.of("gamma"), orgaNames(orgaRepo.findAccessible(List.of("gamma"), "someone", false, List.of())));
+        assertEquals(List.of("gamma"), orgaViewNames(orgaRepo.findAccessibleViews(false, List.of("gamma"), "someone", false, List.of())));
+    }
+
+    @Test
+    void givenOwner_whenFindAccessibleOrganizations_thenOwnedOrganization() {
+        assertEquals(List.of("alpha", "gamma"), orgaNames(orgaRepo.findAccessible(List.of("gamma"), "orga-owner", false, List.of())));
+        assertEquals(List.of("alpha"), orgaViewNames(orgaRepo.findAccessibleViews(false, List.of(), "orga-owner", false, List.of())));
+        // ownership is ignored without subject
+        assertEquals(List.of(), orgaViewNames(orgaRepo.findAccessibleViews(false, List.of(), null, false, List.of())));
+    }
+
+    @Test
+    void givenPublicAccess_whenFindAccessibleOrganizations_thenPublicOrganizations() {
+        assertEquals(List.of("beta", "gamma"), orgaNames(orgaRepo.findAccessible(List.of("gamma"), "someone", true, List.of())));
+        assertEquals(List.of("beta"), orgaViewNames(orgaRepo.findAccessibleViews(false, List.of(), null, true, List.of())));
+    }
+
+    @Test
+    void givenAllowedOrganizations_whenFindAccessibleOrganizations_thenRestrictedIgnoringCase() {
+        assertEquals(List.of("gamma"), orgaNames(orgaRepo.findAccessible(List.of("alpha", "gamma"), "orga-owner", true, List.of("GAMMA"))));
+        assertEquals(List.of("gamma"), orgaViewNames(orgaRepo.findAccessibleViews(false, List.of("alpha", "gamma"), "orga-owner", true, List.of("Gamma"))));
+    }
+
+    @Test
+    void givenSuperuserOrOrganizationAdmin_whenFindAccessibleSpaces_thenAllSpacesOfOrganization() {
+        // superusers and organization-admins list all spaces of the organization (see SpaceService)
+        assertEquals(List.of("data", "doomed", "hidden", "open"), spaceViewNames(spaceRepo.findAccessibleViews(ALPHA, true, List.of(), false, true, null)));
+        assertEquals(List.of("alpha_data", "alpha_doomed", "alpha_hidden", "alpha_open", "gamma_data"),
+                spaceRepo.findAccessibleNames(true, List.of(), null, false, List.of(), List.of(), false, List.of(), false, null));
+        assertEquals(List.of("alpha_data", "alpha_doomed", "alpha_hidden", "alpha_open"),
+                spaceRepo.findAccessibleNames(false, List.of("alpha"), "someone", false, List.of(), List.of("alpha"), true, List.of(), false, "someone"));
+    }
+
+    @Test
+    void givenOrganizationAdminWithSpaceRole_whenFindAccessibleSpaces_thenSpaceMarkedForDeletionIncluded() {
+        List<String> roles = List.of("alpha_doomed_user");
+
+        assertEquals(List.of("doomed"), spaceNames(spaceRepo.findAccessible(ALPHA, roles, false, true, null)));
+        assertEquals(List.of("alpha_doomed"),
+                spaceRepo.findAccessibleNames(false, List.of("alpha"), "someone", false, List.of(), List.of("alpha"), false, roles, false, "someone"));
+    }
+
+    @Test
+    void givenSpaceRole_whenFindAccessibleSpaces_thenOnlyThatSpace() {
+        List<String> roles = List.of("alpha_data_user", "alpha_hidden_trustee");
+
+        assertEquals(List.of("data", "hidden"), spaceNames(spaceRepo.findAccessible(ALPHA, roles, false, false, "someone")));
+        assertEquals(List.of("data", "hidden"), spaceViewNames(spaceRepo.findAccessibleViews(ALPHA, false, roles, false, false, "someone")));
+        assertEquals(List.of("alpha_data", "alpha_hidden"),
+                spaceRepo.findAccessibleNames(false, List.of("alpha"), "someone", false, List.of(), List.of(), false, roles, false, "someone"));
+    }
+
+    @Test
+    void givenSpaceMarkedForDeletion_whenFindAccessibleSpaces_thenOnlyForOwner() {
+        List<String> roles = List.of("alpha_doomed_user");
+
+        assertEquals(List.of(), spaceNames(spaceRepo.findAccessible(ALPHA, roles, false, false, "someone")));
+        assertEquals(List.of("doomed"), spaceNames(spaceRepo.findAccessible(ALPHA, roles, false, false, "space-owner")));
+        assertEquals(List.of(), spaceViewNames(spaceRepo.findAccessibleViews(ALPHA, false, roles, false, false, "someone")));
+        assertEquals(List.of("doomed"), spaceViewNames(spaceRepo.findAccessibleViews(ALPHA, false, roles, false, false, "space-owner")));
+        assertEquals(List.of("alpha_doomed"),
+                spaceRepo.findAccessibleNames(false, List.of("alpha"), "space-owner", false, List.of(), List.of(), false, roles, false, "space-owner"));
+    }
+
+    @Test
+    void givenPublicAccess_whenFindAccessibleSpaces_thenPublicSpacesOnly() {
+        assertEquals(List.of("open"), spaceNames(spaceRepo.findAccessible(ALPHA, List.of(), true, false, "someone")));
+        assertEquals(List.of(), spaceNames(spaceRepo.findAccessible(ALPHA, List.of(), false, false, "someone")));
+        assertEquals(List.of("open"), spaceViewNames(spaceRepo.findAccessibleViews(ALPHA, false, List.of(), true, false, "someone")));
+        // the organization must be accessible, too - by role, ownership or public access
+        assertEquals(List.of("alpha_open"),
+                spaceRepo.findAccessibleNames(false, List.of(), "orga-owner", false, List.of(), List.of(), false, List.of(), true, "orga-owner"));
+        assertEquals(List.of(), spaceRepo.findAccessibleNames(false, List.of(), "someone", true, List.of(), List.of(), false, List.of(), true, "someone"));
+    }
+
+    @Test
+    void givenSpaceRoleOfOtherOrganization_whenFindAccessibleSpaces_thenSameNamedSpaceNotIncluded() {
+        List<String> roles = List.of("gamma_data_user");
+
+        assertEquals(List.of(), spaceNames(spaceRepo.findAccessible(ALPHA, roles, false, false, "someone")));
+        assertEquals(List.of(), spaceViewNames(spaceRepo.findAccessibleViews(ALPHA, false, roles, false, false, "someone")));
+        assertEquals(List.of("data"), spaceViewNames(spaceRepo.findAccessibleViews(GAMMA, false, roles, false, false, "someone")));
+        assertEquals(List.of("gamma_data"),
+                spaceRepo.findAccessibleNames(false, List.of("alpha", "gamma"), "someone", false, List.of(), List.of(), false, roles, false, "someone"));
+    }
+
+    private void organization(long id, String name, int confidentiality, String... owners) {
+        jdbcTemplate.update("""
+                INSERT INTO organization (id, name, display_name, confidentiality, state, owners, created, modified)
+                VALUES (?, ?, ?, ?, 0, CAST(? AS text[]), now(), now())""", id, name, name, confidentiality, owners);
+    }
+
+    private void space(long id, long orgaId, String name, int confidentiality, int state, String... owners) {
+        jdbcTemplate.update("""
+                INSERT INTO space (id, organization_id, name, display_name, confidentiality, state, owners, capabilities, default_retention_time,
+                                   gdpr_relevant, created, modified)
+                VALUES (?, ?, ?, ?, ?, ?, CAST(? AS text[]), ARRAY['STORAGE'], 30, false, now(), now())""", id, orgaId, name, name, confidentiality, state, owners);
+        // the roles as stored by the SpaceService
+        String orgaName = jdbcTemplate.queryForObject("SELECT name FROM organization WHERE id = ?", String.class, orgaId);
+        for (String scope : List.of("user", "supplier", "trustee")) {
+            jdbcTemplate.update("INSERT INTO space_role (role, space_id, organization_id) VALUES (?, ?, ?)", orgaName + "_" + name + "_" + scope, id, orgaId);
+        }
+    }
+
+    private static List<String> orgaNames(List<Organization> organizations) {
+        return organizations.stream().map(Organization::getName).toList();
+    }
+
+    private static List<String> orgaViewNames(List<OrganizationView> organizations) {
+        return organizations.stream().map(OrganizationView::name).toList();
+    }
+
+    private static List<String> spaceNames(List<Space> spaces) {
+        return spaces.stream().map(Space::getName).toList();
+    }
+
+    private static List<String> spaceViewNames(List<SpaceView> spaces) {
+        return spaces.stream().map(SpaceView::name).toList();
+    }
+}
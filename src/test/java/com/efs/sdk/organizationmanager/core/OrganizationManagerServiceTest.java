@@ -21,8 +21,18 @@ import com.efs.sdk.organizationmanager.core.auth.AuthService;
 import com.efs.sdk.organizationmanager.core.auth.RoleService;
 import com.efs.sdk.organizationmanager.core.auth.UserService;
 import com.efs.sdk.organizationmanager.core.auth.model.OrganizationUserDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.RoleMapping;
 import com.efs.sdk.organizationmanager.core.auth.model.SpaceUserDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.UserDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.UserReference;
+import com.efs.sdk.organizationmanager.core.auth.model.UserRoleResultDTO;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor;
+import com.efs.sdk.organizationmanager.core.operation.OperationRepository;
+import com.efs.sdk.organizationmanager.core.operation.OperationService;
+import com.efs.sdk.organizationmanager.core.provisioning.ProvisioningService;
+import com.efs.sdk.organizationmanager.core.provisioning.ProvisioningStepRepository;
 import com.efs.sdk.organizationmanager.core.clients.AbstractServiceRestClient;
+import com.efs.sdk.organizationmanager.core.clients.ClientFanOut;
 import com.efs.sdk.organizationmanager.core.events.EventPublisher;
 import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
@@ -33,15 +43,23 @@ import com.efs.sdk.organizationmanager.core.userrequest.model.OrganizationUserRe
 import com.efs.sdk.organizationmanager.core.userrequest.model.SpaceUserRequest;
 import com.efs.sdk.organizationmanager.core.userrequest.model.UserRequestState;
 import com.efs.sdk.organizationmanager.helper.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
+import java.time.Duration;
 import java.util.*;
 
 import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.GET_SINGLE_SPACE_NOT_FOUND;
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.DOWNSTREAM_ERROR;
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.SAVE_SPACE_NAME_FOUND;
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.UNABLE_GET_USER;
 import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.GET;
 import static com.efs.sdk.organizationmanager.utils.TestUtils.assumeAuthToken;
 import static com.efs.sdk.organizationmanager.utils.TestUtils.getJwt;
@@ -52,6 +70,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
 
 class OrganizationManagerServiceTest {
 
@@ -73,6 +92,8 @@ class OrganizationManagerServiceTest {
     private OrganizationManagerService service;
     @MockBean
     private EventPublisher eventPublisher;
+    private ProvisioningStepRepository provisioningRepo;
+    private AbstractServiceRestClient serviceRestClient;
 
     @BeforeEach
     public void setup() {
@@ -83,10 +104,19 @@ class OrganizationManagerServiceTest {
         this.userService = Mockito.mock(UserService.class);
         this.roleHelper = Mockito.mock(RoleHelper.class);
         this.userRequestService = Mockito.mock(UserRequestService.class);
+        this.provisioningRepo = Mockito.mock(ProvisioningStepRepository.class);
         EntityConverter converter = Mockito.mock(EntityConverter.class);
-        List<AbstractServiceRestClient> serviceRestClients = List.of(Mockito.mock(AbstractServiceRestClient.class));
+        this.serviceRestClient = Mockito.mock(AbstractServiceRestClient.class);
+        List<AbstractServiceRestClient> serviceRestClients = List.of(serviceRestClient);
+        ClientFanOut fanOut = new ClientFanOut(new SimpleMeterRegistry(), 2, 10, false, Duration.ofMinutes(1), Map.of());
+        SpaceDeletionEngine deletionEngine = new SpaceDeletionEngine(spaceService, serviceRestClients, fanOut, new BulkExecutor(new SimpleMeterRegistry(), 2,
+                false), converter, eventPublisher, 2, 0, Map.of());
         this.service = new OrganizationManagerService(orgaService, spaceService, roleService, authService, userService, userRequestService, roleHelper,
-                serviceRestClients, converter, eventPublisher);
+                serviceRestClients, converter, fanOut, deletionEngine, new OperationService(Mockito.mock(OperationRepository.class),
+                new SimpleMeterRegistry(), 1, 10, Duration.ofHours(1), Duration.ofMinutes(1), false),
+                new ProvisioningService(provisioningRepo, orgaService, spaceService, userService, serviceRestClients, fanOut, new ObjectMapper().findAndRegisterModules(),
+                        new SimpleMeterRegistry(), false, Duration.ofMinutes(5), 3, Duration.ofSeconds(30), Duration.ofHours(1), 20),
+                new BulkExecutor(new SimpleMeterRegistry(), 2, false), 2, 2);
     }
 
     @Test
@@ -1263,29 +1293,163 @@ class OrganizationManagerServiceTest {
     }
 
     @Test
-    void givenSpaces_whenGetAllSpaces_thenOk() throws Exception {
+    void givenSpaces_whenGetAllSpaces_thenOneQuery() throws Exception {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject("me");
+        authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization("org_test_access")});
+        authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace("test_test_user")});
+        given(spaceService.getSpaceNames(any(), any(), any())).willReturn(List.of("owned_owned-space", "test_deletion", "test_test"));
+
+        List<String> spaces = service.getSpaceNamesWithOrganizationPrefix(authModel, GET);
+
+        assertEquals(List.of("owned_owned-space", "test_deletion", "test_test"), spaces);
+        verify(spaceService).getSpaceNames(authModel, authModel.getOrganizationsByPermission(GET), GET);
+        verifyNoInteractions(orgaService);
+        verify(spaceService, never()).getSpaces(any(), anyLong(), any());
+    }
+
+    @Test
+    void givenSuperuser_whenDeleteOrganization_thenSpacesDeletedSetBased() throws Exception {
+        Organization orga = new Organization();
+        orga.setId(1L);
+        orga.setName("test");
         Space space = new Space();
-        space.setId(1L);
-        space.setName("test");
+        space.setId(2L);
+        space.setOrganizationId(orga.getId());
+        Space other = new Space();
+        other.setId(3L);
+        other.setOrganizationId(orga.getId());
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSuperuser(true);
+
+        given(orgaService.getOrganizationByName(orga.getName(), authModel)).willReturn(orga);
+        given(spaceService.getSpaces(authModel, orga.getId(), GET)).willReturn(List.of(space, other));
+
+        service.deleteOrganization(orga.getName(), authModel);
+
+        verify(spaceService).deleteSpaceEntities(List.of(space.getId(), other.getId()));
+        verify(spaceService, never()).deleteSpaceEntity(any());
+        verify(orgaService).deleteOrganizationEntity(orga);
+        // organization is not fetched again per space
+        verify(orgaService, never()).getOrganization(anyLong(), any());
+    }
+
+    @Test
+    void givenNoSuperuser_whenDeleteOrganizationAsync_thenRejectedImmediately() throws Exception {
+        AuthenticationModel authModel = new AuthenticationModel();
+
+        OrganizationmanagerException e = assertThrows(OrganizationmanagerException.class, () -> service.deleteOrganizationAsync("test", authModel));
+        assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
+        verify(orgaService, never()).getOrganizationByName(any(), any());
+        verify(spaceService, never()).getSpaces(any(AuthenticationModel.class), anyLong(), any());
+    }
+
+    @Test
+    void givenSpaces_whenCreateSpaces_thenOutcomePerSpace() throws Exception {
+        Organization orga = new Organization();
+        orga.setId(1L);
+        orga.setName("test");
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setToken(new JwtAuthenticationToken(getJwt(Collections.emptyList())));
+        authModel.setSuperuser(true);
 
-        Space deletionSpace = new Space();
-        deletionSpace.setId(2L);
-        deletionSpace.setName("test-deletion");
-        deletionSpace.setState(State.DELETION);
+        Space created = new Space();
+        created.setId(2L);
+        created.setName("created");
+        Space failing = new Space();
+        failing.setId(3L);
+        failing.setName("failing");
+        Space rejected = new Space();
+        rejected.setName("rejected");
+        OrganizationmanagerException rejection = new OrganizationmanagerException(SAVE_SPACE_NAME_FOUND);
+
+        given(orgaService.getOrganization(orga.getId(), authModel)).willReturn(orga);
+        given(spaceService.createSpaceEntities(eq(orga), anyList())).willReturn(List.of(new BulkExecutor.Outcome<>(created, null, 1),
+                new BulkExecutor.Outcome<>(failing, null, 1), new BulkExecutor.Outcome<>(rejected, rejection, 0)));
+        doThrow(new OrganizationmanagerException(DOWNSTREAM_ERROR)).when(serviceRestClient).createSpaceContext(orga, failing);
+
+        List<BulkExecutor.Outcome<Space>> outcomes = service.createSpaces(authModel, orga.getId(), List.of(created, failing, rejected));
+
+        assertEquals(List.of(created, failing, rejected), outcomes.stream().map(BulkExecutor.Outcome::item).toList());
+        assertTrue(outcomes.get(0).isSuccess());
+        assertFalse(outcomes.get(1).isSuccess());
+        assertSame(rejection, outcomes.get(2).error());
+        // organization rights are checked once, the failing space is rolled back
+        verify(orgaService, times(1)).getOrganization(orga.getId(), authModel);
+        verify(spaceService).deleteSpaceEntity(failing);
+        verify(spaceService, never()).deleteSpaceEntity(created);
+        verify(userService).setUserRoles(eq(orga), eq(created), anyList(), anyString());
+        verify(userService, never()).setUserRoles(eq(orga), eq(failing), anyList(), anyString());
+        verify(spaceService, never()).createSpaceEntity(any(), any());
+    }
 
+    @Test
+    void givenPlanningFails_whenCreateSpace_thenSpaceEntityDeleted() throws Exception {
         Organization orga = new Organization();
         orga.setId(1L);
         orga.setName("test");
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setToken(new JwtAuthenticationToken(getJwt(Collections.emptyList())));
+        authModel.setSuperuser(true);
+        Space created = new Space();
+        created.setId(2L);
+        created.setName("created");
+
+        given(orgaService.getOrganization(orga.getId(), authModel)).willReturn(orga);
+        given(spaceService.createSpaceEntity(eq(orga), any())).willReturn(created);
+        given(provisioningRepo.saveAll(anyCollection())).willThrow(new DataAccessResourceFailureException("unavailable"));
 
-        given(spaceService.getSpaces(any(), anyLong(), any())).willReturn(List.of(space, deletionSpace));
-        given(orgaService.getAllOrganizations(any(), any(), any())).willReturn(Collections.singletonList(orga));
+        assertThrows(DataAccessResourceFailureException.class, () -> service.createSpace(authModel, orga.getId(), created));
+        verify(spaceService).deleteSpaceEntity(created);
+        verifyNoInteractions(serviceRestClient);
+    }
 
+    @Test
+    void givenNoAdmin_whenCreateSpaces_thenError() throws Exception {
+        Organization orga = new Organization();
+        orga.setId(1L);
+        orga.setName("test");
         AuthenticationModel authModel = new AuthenticationModel();
-        authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga.getName()))});
-        authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga.getName(), space.getName(), "user"))});
+        authModel.setToken(new JwtAuthenticationToken(getJwt(Collections.emptyList())));
 
-        List<String> spaces = service.getSpaceNamesWithOrganizationPrefix(authModel, GET);
-        assertThat(spaces, hasSize(2));
+        given(orgaService.getOrganization(orga.getId(), authModel)).willReturn(orga);
+
+        OrganizationmanagerException e = assertThrows(OrganizationmanagerException.class, () -> service.createSpaces(authModel, orga.getId(),
+                List.of(new Space())));
+        assertEquals(HttpStatus.FORBIDDEN, e.getHttpStatus());
+        verify(spaceService, never()).createSpaceEntities(any(), anyList());
     }
 
+    @Test
+    void givenUsers_whenSetRolesOfUsers_thenRolesLookedUpOnceAndResultPerUser() throws Exception {
+        Organization orga = new Organization();
+        orga.setId(1L);
+        orga.setName("test");
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setToken(new JwtAuthenticationToken(getJwt(Collections.emptyList())));
+        authModel.setSuperuser(true);
+
+        UserReference found = new UserReference(UserReference.Type.NAME, "found");
+        UserReference missing = new UserReference(UserReference.Type.EMAIL, "missing@example.com");
+        UserDTO user = new UserDTO();
+        user.setId("found-id");
+        RoleMapping mapping = new RoleMapping(List.of(), List.of());
+        List<RoleHelper.OrganizationScopeRole> roleScopes = List.of(RoleHelper.OrganizationScopeRole.ACCESS);
+
+        given(orgaService.getOrganization(orga.getId(), authModel)).willReturn(orga);
+        given(userService.getRoleMapping(orga, roleScopes)).willReturn(mapping);
+        given(userService.getUser(found)).willReturn(user);
+        given(userService.getUser(missing)).willThrow(new OrganizationmanagerException(UNABLE_GET_USER));
+
+        List<UserRoleResultDTO> results = service.setRoles(authModel, orga.getId(), List.of(found, missing), roleScopes);
+
+        assertEquals(List.of(found, missing), results.stream().map(UserRoleResultDTO::reference).toList());
+        assertTrue(results.get(0).success());
+        assertSame(user, results.get(0).user());
+        assertFalse(results.get(1).success());
+        assertEquals(new OrganizationmanagerException(UNABLE_GET_USER).getErrorCode(), results.get(1).errorCode());
+        verify(userService, times(1)).getRoleMapping(orga, roleScopes);
+        verify(userService).applyRoleMapping(user, mapping);
+        verify(userService, never()).setUserRoles(any(Organization.class), anyList(), anyString());
+    }
 }
@@ -0,0 +1,241 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core;
+
+import com.efs.sdk.organizationmanager.core.operation.OperationRepository;
+import com.efs.sdk.organizationmanager.core.organization.OrganizationRepository;
+import com.efs.sdk.organizationmanager.core.provisioning.ProvisioningStepRepository;
+import com.efs.sdk.organizationmanager.core.space.SpaceRepository;
+import com.efs.sdk.organizationmanager.core.space.SpaceRoleRepository;
+import com.efs.sdk.organizationmanager.core.userrequest.OrganizationUserRequestRepository;
+import com.efs.sdk.organizationmanager.core.userrequest.SpaceUserRequestRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.jpa.repository.Query;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Checks the access-paths of the repository-queries: the schema is migrated into a PostgreSQL-container and filled
+ * with synthetic data, then every query is explained and must not read one of the large tables completely (neither by
+ * a sequential scan nor by an index scan without condition).
+ * <p>
+ * The native queries are collected from the repositories, so a new one fails here until its parameters are known and
+ * it is backed by an index. Derived queries are listed with the statement Hibernate generates for them.
+ * <p>
+ * Skipped if docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(OrganizationRepository.class, SpaceRepository.class, OrganizationUserRequestRepository.class,
+            SpaceUserRequestRepository.class, ProvisioningStepRepository.class, SpaceRoleRepository.class, OperationRepository.class);
+
+    private static final Set<String> LARGE_TABLES = Set.of("organization", "organization_app_configs", "organization_tags",
+            "space", "space_app_configs", "space_tags", "space_role", "appconfig", "tag", "organization_user_request",
+            "space_user_request", "provisioning_step", "operation", "operation_step");
+
+    // values of the named parameters of the native queries
+    private static final Map<String, String> PARAMETERS = Map.ofEntries(Map.entry("orgaId", "42"), Map.entry("names", "'orga-1,orga-2'"),
+            Map.entry("publicAccess", "true"), Map.entry("publicConfidentiality", "0"), Map.entry("includeDeletion", "false"),
+            Map.entry("deletionState", "2"), Map.entry("subject", "'user-42'"), Map.entry("superuser", "false"),
+            Map.entry("orgaNames", "'orga-1,orga-2'"), Map.entry("orgaSubject", "'user-42'"), Map.entry("orgaPublic", "true"),
+            Map.entry("allowed", "''"), Map.entry("adminNames", "'orga-1'"), Map.entry("adminAll", "true"),
+            Map.entry("spaceRoles", "'orga-1_space-1_user,orga-2_space-2_user'"), Map.entry("spacePublic", "true"), Map.entry("ids", "1, 2, 3"),
+            Map.entry("claim", "'claim'"), Map.entry("now", "now()"), Map.entry("leaseUntil", "now()"), Map.entry("limit", "20"),
+            Map.entry("all", "false"), Map.entry("afterName", "'name-5000'"), Map.entry("afterId", "5000"),
+            Map.entry("owner", "'user-42'"), Map.entry("roles", "'orga-42_space-1_user,orga-42_space-2_user'"),
+            Map.entry("id", "'op-42'"), Map.entry("type", "0"), Map.entry("target", "'orga-42'"), Map.entry("state", "1"), Map.entry("started", "now()"),
+            Map.entry("done", "1"), Map.entry("total", "2"), Map.entry("resourceId", "NULL"), Map.entry("error", "NULL"), Map.entry("operationId", "'op-42'"),
+            Map.entry("stepIndex", "0"), Map.entry("name", "'step'"), Map.entry("client", "'client'"), Map.entry("success", "true"),
+            Map.entry("message", "NULL"), Map.entry("durationMillis", "12"), Map.entry("operationIds", "'op-1', 'op-2'"),
+            Map.entry("before", "now() - interval '1 hour'"), Map.entry("markedBefore", "now() - interval '1 day'"),
+            Map.entry("afterModified", "now() - interval '30 days'"));
+
+    private static final List<String> DERIVED_QUERIES = List.of(
+            // OrganizationRepository
+            "SELECT * FROM organization WHERE confidentiality = 0",
+            "SELECT * FROM organization WHERE name = 'orga-42'",
+            "SELECT * FROM organization WHERE name IN ('orga-1', 'orga-2')",
+            // SpaceRepository
+            "SELECT * FROM space WHERE organization_id = 42 AND id = 4242",
+            "SELECT * FROM space WHERE organization_id = 42 AND name = 'space-1'",
+            "SELECT * FROM space WHERE organization_id = 42",
+            "SELECT id FROM space WHERE organization_id = 42 LIMIT 1",
+            "SELECT * FROM space WHERE organization_id = 42 AND name IN ('space-1', 'space-2')",
+            "SELECT * FROM space WHERE organization_id = 42 AND confidentiality = 0",
+            // element-collections and join-tables loaded with the entities
+            "SELECT a.* FROM organization_app_configs oa JOIN appconfig a ON a.id = oa.app_configs_id WHERE oa.organization_id = 42",
+            "SELECT t.* FROM organization_tags ot JOIN tag t ON t.id = ot.tags_id WHERE ot.organization_id = 42",
+            "SELECT a.* FROM space_app_configs sa JOIN appconfig a ON a.id = sa.app_configs_id WHERE sa.space_id = 4242",
+            "SELECT t.* FROM space_tags st JOIN tag t ON t.id = st.tags_id WHERE st.space_id = 4242",
+            // user-requests
+            "SELECT * FROM organization_user_request WHERE orga_id = 42",
+            "SELECT * FROM organization_user_request WHERE orga_id = 42 AND state = 0",
+            "SELECT * FROM space_user_request WHERE orga_id = 42 AND space_id = 4242",
+            "SELECT * FROM space_user_request WHERE orga_id = 42 AND space_id = 4242 AND state = 0",
+            "SELECT * FROM organization_user_request WHERE orga_id = 42 AND (created, id) > (now() - interval '1 day', 4242) ORDER BY created, id LIMIT 20",
+            "SELECT * FROM space_user_request WHERE orga_id = 42 AND space_id = 4242 AND (created, id) > (now() - interval '1 day', 4242) "
+                    + "ORDER BY created, id LIMIT 20",
+            // ProvisioningStepRepository
+            "SELECT * FROM provisioning_step WHERE claimed_by = 'claim'",
+            "SELECT * FROM provisioning_step WHERE entity_type = 1 AND organization_id = 42 AND space_id = 4242 AND action = 0 AND state = 0",
+            // OperationRepository
+            "SELECT * FROM operation o LEFT JOIN operation_step s ON s.operation_id = o.id WHERE o.id = 'op-42' ORDER BY s.step_index");
+
+    private static final Pattern PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        Flyway.configure().dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()).load().migrate();
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        try (Statement stmt = connection.createStatement()) {
+            // 10.000 organizations (0.1% public) with 20 spaces each (1% public, 1% marked for deletion)
+            stmt.execute("""
+                    INSERT INTO organization (id, name, display_name, description, confidentiality, state, owners, created, modified)
+                    SELECT g, 'orga-' || g, 'Orga ' || g, repeat('description ', 20), CASE WHEN g % 1000 = 0 THEN 0 ELSE 2 END, 0,
+                           ARRAY['user-' || (g % 5000)], now(), now()
+                    FROM generate_series(1, 10000) g""");
+            stmt.execute("INSERT INTO tag (id, name) SELECT g, 'tag-' || g FROM generate_series(1, 210000) g");
+            stmt.execute("INSERT INTO appconfig (id, app_type, display_name, path) SELECT g, 0, 'app-' || g, '/' || g FROM generate_series(1, 210000) g");
+            stmt.execute("INSERT INTO organization_tags (organization_id, tags_id) SELECT g, 200000 + g FROM generate_series(1, 10000) g");
+            stmt.execute("INSERT INTO organization_app_configs (organization_id, app_configs_id) SELECT g, 200000 + g FROM generate_series(1, 10000) g");
+            stmt.execute("""
+                    INSERT INTO space (id, organization_id, name, display_name, description, confidentiality, state, owners, capabilities, created, modified)
+                    SELECT g, 1 + g % 10000, 'space-' || (g / 10000), 'Space ' || g, repeat('description ', 20), CASE WHEN g % 100 = 0 THEN 0 ELSE 2 END,
+                           CASE WHEN g % 100 = 1 THEN 2 ELSE 0 END, ARRAY['user-' || (g % 20000)], ARRAY['METADATA'], now(), now() - g * interval '1 minute'
+                    FROM generate_series(1, 200000) g""");
+            stmt.execute("INSERT INTO space_tags (space_id, tags_id) SELECT g, g FROM generate_series(1, 200000) g");
+            stmt.execute("INSERT INTO space_app_configs (space_id, app_configs_id) SELECT g, g FROM generate_series(1, 200000) g");
+            stmt.execute("""
+                    INSERT INTO space_role (role, space_id, organization_id)
+                    SELECT 'orga-' || (1 + g % 10000) || '_space-' || (g / 10000) || '_' || r.scope, g, 1 + g % 10000
+                    FROM generate_series(1, 200000) g CROSS JOIN (VALUES ('user'), ('supplier'), ('trustee')) AS r (scope)""");
+            stmt.execute("""
+                    INSERT INTO organization_user_request (id, orga_id, user_id, role, state, created, modified)
+                    SELECT g, 1 + g % 10000, 'user-' || g, 0, g % 3, now(), now() FROM generate_series(1, 100000) g""");
+            stmt.execute("""
+                    INSERT INTO space_user_request (id, orga_id, space_id, user_id, role, state, created, modified)
+                    SELECT g, 1 + g % 10000, g % 200000, 'user-' || g, 0, g % 3, now(), now() FROM generate_series(1, 200000) g""");
+            stmt.execute("""
+                    INSERT INTO provisioning_step (id, entity_type, organization_id, space_id, client, action, state, attempts, next_attempt_at, payload,
+                                                   created, modified)
+                    SELECT g, 1, 1 + g % 10000, g % 200000, 'client-' || (g % 3), 0, CASE WHEN g % 100 = 0 THEN 0 ELSE 1 END, 1, now(), '{}', now(), now()
+                    FROM generate_series(1, 100000) g""");
+            // 100.000 operations within the retention (1h) with 3 steps each
+            stmt.execute("""
+                    INSERT INTO operation (id, type, target, owner, state, done, total, created, modified)
+                    SELECT 'op-' || g, g % 3, 'orga-' || g, 'user-' || (g % 5000), 2, 0, 0, now(), now() - g * interval '30 milliseconds'
+                    FROM generate_series(1, 100000) g""");
+            stmt.execute("""
+                    INSERT INTO operation_step (operation_id, step_index, name, client, success, duration_millis)
+                    SELECT 'op-' || g, s, 'step', 'client-' || s, true, 12 FROM generate_series(1, 100000) g CROSS JOIN generate_series(0, 2) s""");
+            stmt.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    static Stream<Arguments> nativeQueries() {
+        List<Arguments> queries = new ArrayList<>();
+        for (Class<?> repository : REPOSITORIES) {
+            Arrays.stream(repository.getDeclaredMethods()).filter(method -> method.isAnnotationPresent(Query.class))
+                    .filter(method -> method.getAnnotation(Query.class).nativeQuery())
+                    .forEach(method -> queries.add(Arguments.of(repository.getSimpleName() + "." + method.getName(), method.getAnnotation(Query.class).value())));
+        }
+        return queries.stream();
+    }
+
+    static Stream<String> derivedQueries() {
+        return DERIVED_QUERIES.stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("nativeQueries")
+    void givenNativeQuery_whenExplain_thenNoFullScan(String name, String query) throws Exception {
+        Matcher matcher = PARAMETER.matcher(query);
+        StringBuilder sql = new StringBuilder();
+        while (matcher.find()) {
+            String value = PARAMETERS.get(matcher.group(1));
+            if (value == null) {
+                fail("no value for parameter '" + matcher.group(1) + "' of " + name);
+            }
+            matcher.appendReplacement(sql, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(sql);
+        assertNoFullScan(sql.toString());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("derivedQueries")
+    void givenDerivedQuery_whenExplain_thenNoFullScan(String query) throws Exception {
+        assertNoFullScan(query);
+    }
+
+    private static void assertNoFullScan(String sql) throws Exception {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            assertTrue(rs.next());
+            JsonNode plan = MAPPER.readTree(rs.getString(1)).get(0).get("Plan");
+            List<String> scanned = new ArrayList<>();
+            collectFullScans(plan, scanned);
+            assertTrue(scanned.isEmpty(), () -> "full scan: " + scanned + " for: " + sql + "\n" + plan.toPrettyString());
+        }
+    }
+
+    private static void collectFullScans(JsonNode plan, List<String> scanned) {
+        String relation = plan.path("Relation Name").asText();
+        String nodeType = plan.path("Node Type").asText();
+        boolean fullScan = "Seq Scan".equals(nodeType) || (nodeType.startsWith("Index") && !plan.has("Index Cond"));
+        if (fullScan && LARGE_TABLES.contains(relation)) {
+            scanned.add(nodeType + " on " + relation);
+        }
+        plan.path("Plans").forEach(child -> collectFullScans(child, scanned));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core;
+
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor.Outcome;
+import com.efs.sdk.organizationmanager.core.clients.AbstractServiceRestClient;
+import com.efs.sdk.organizationmanager.core.clients.ClientFanOut;
+import com.efs.sdk.organizationmanager.core.events.EventPublisher;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import com.efs.sdk.organizationmanager.helper.EntityConverter;
+import com.efs.sdk.storage.SpaceBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+class SpaceDeletionEngineTest {
+
+    private SpaceService spaceService;
+    private AbstractServiceRestClient client;
+    private EntityConverter converter;
+    private EventPublisher eventPublisher;
+    private ClientFanOut fanOut;
+    private BulkExecutor bulkExecutor;
+
+    @BeforeEach
+    public void setup() {
+        this.spaceService = Mockito.mock(SpaceService.class);
+        this.client = Mockito.mock(AbstractServiceRestClient.class);
+        this.converter = Mockito.mock(EntityConverter.class);
+        this.eventPublisher = Mockito.mock(EventPublisher.class);
+        this.fanOut = new ClientFanOut(new SimpleMeterRegistry(), 4, 10, false, Duration.ofMinutes(1), Map.of());
+        this.bulkExecutor = new BulkExecutor(new SimpleMeterRegistry(), 4, false);
+    }
+
+    private SpaceDeletionEngine engine(double rateLimit) {
+        return new SpaceDeletionEngine(spaceService, List.of(client), fanOut, bulkExecutor, converter, eventPublisher, 4, rateLimit, Map.of());
+    }
+
+    @Test
+    void givenSpaces_whenDeleteSpaces_thenContextsDeletedAndEntitiesSetBased() throws Exception {
+        Organization orga = organization();
+        List<Space> spaces = spaces(orga, 10);
+        List<Integer> progress = new CopyOnWriteArrayList<>();
+
+        List<Outcome<Space>> outcomes = engine(0).deleteSpaces(new AuthenticationModel(), orga, spaces, (outcome, done, total) -> progress.add(done));
+
+        assertTrue(outcomes.stream().allMatch(Outcome::isSuccess));
+        for (Space space : spaces) {
+            verify(client).deleteSpaceContext(orga, space);
+        }
+        verify(spaceService).deleteSpaceEntities(spaces.stream().map(Space::getId).toList());
+        verify(spaceService, never()).deleteSpaceEntity(any());
+        assertThat(progress, containsInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+    }
+
+    @Test
+    void givenFailingSpace_whenDeleteSpaces_thenEntityKept() throws Exception {
+        Organization orga = organization();
+        List<Space> spaces = spaces(orga, 3);
+        given(converter.convertToSerializable(any(Space.class))).willReturn(new SpaceBase());
+        given(converter.convertToSerializable(spaces.get(1))).willThrow(new IllegalStateException("failed"));
+        SpaceDeletionEngine engine = engine(0);
+        engine.setKafkaEnabled(true);
+
+        List<Outcome<Space>> outcomes = engine.deleteSpaces(new AuthenticationModel(), orga, spaces, null);
+
+        assertFalse(outcomes.get(1).isSuccess());
+        verify(spaceService).deleteSpaceEntities(List.of(spaces.get(0).getId(), spaces.get(2).getId()));
+    }
+
+    @Test
+    void givenFailingService_whenDeleteSpaces_thenSpaceFailedAndKept() throws Exception {
+        Organization orga = organization();
+        List<Space> spaces = spaces(orga, 3);
+        given(converter.convertToSerializable(any(Space.class))).willReturn(new SpaceBase());
+        willThrow(new IllegalStateException("unavailable")).given(client).deleteSpaceContext(orga, spaces.get(1));
+        SpaceDeletionEngine engine = engine(0);
+        engine.setKafkaEnabled(true);
+
+        List<Outcome<Space>> outcomes = engine.deleteSpaces(new AuthenticationModel(), orga, spaces, null);
+
+        assertTrue(outcomes.get(0).isSuccess());
+        assertFalse(outcomes.get(1).isSuccess());
+        assertTrue(outcomes.get(2).isSuccess());
+        verify(converter, never()).convertToSerializable(spaces.get(1));
+        verify(spaceService).deleteSpaceEntities(List.of(spaces.get(0).getId(), spaces.get(2).getId()));
+    }
+
+    @Test
+    void givenRateLimit_whenDeleteSpaces_thenCallsSpaced() throws Exception {
+        Organization orga = organization();
+        List<Space> spaces = spaces(orga, 5);
+
+        long started = System.nanoTime();
+        engine(50).deleteSpaces(new AuthenticationModel(), orga, spaces, null);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // 5 calls at 50/s -> at least 4 intervals of 20ms
+        assertThat(elapsedMillis, greaterThanOrEqualTo(80L));
+    }
+
+    @Test
+    void givenSpace_whenDeleteSpace_thenEntityDeleted() throws Exception {
+        Organization orga = organization();
+        Space space = spaces(orga, 1).get(0);
+
+        engine(0).deleteSpace(new AuthenticationModel(), orga, space);
+
+        verify(client).deleteSpaceContext(orga, space);
+        verify(spaceService).deleteSpaceEntity(space);
+    }
+
+    private static Organization organization() {
+        Organization orga = new Organization();
+        orga.setId(1L);
+        orga.setName("test");
+        return orga;
+    }
+
+    private static List<Space> spaces(Organization orga, int count) {
+        List<Space> spaces = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Space space = new Space();
+            space.setId(i + 1L);
+            space.setName("space" + i);
+            space.setOrganizationId(orga.getId());
+            spaces.add(space);
+        }
+        return spaces;
+    }
+}
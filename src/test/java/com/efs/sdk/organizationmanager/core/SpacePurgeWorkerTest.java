@@ -0,0 +1,131 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core;
+
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor.Outcome;
+import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class SpacePurgeWorkerTest {
+
+    private SpaceService spaceService;
+    private OrganizationService orgaService;
+    private SpaceDeletionEngine deletionEngine;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        this.spaceService = Mockito.mock(SpaceService.class);
+        this.orgaService = Mockito.mock(OrganizationService.class);
+        this.deletionEngine = Mockito.mock(SpaceDeletionEngine.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private SpacePurgeWorker worker(boolean enabled) {
+        return new SpacePurgeWorker(spaceService, orgaService, deletionEngine, meterRegistry, enabled, Duration.ofHours(24), 2, 3);
+    }
+
+    @Test
+    void givenDisabled_whenPurge_thenNothingDeleted() {
+        worker(false).purge();
+        verify(spaceService, never()).getSpacesMarkedForDeletion(any(), any(), anyInt());
+    }
+
+    @Test
+    void givenMarkedSpaces_whenPurge_thenDeletedInBatches() throws Exception {
+        Organization orga = organization(1L);
+        Space first = space(orga, 1L);
+        Space second = space(orga, 2L);
+        Space third = space(orga, 3L);
+        given(spaceService.getSpacesMarkedForDeletion(any(), any(), eq(2))).willReturn(List.of(first, second)).willReturn(List.of(third)).willReturn(List.of());
+        given(orgaService.getOrganizationEntities(any())).willReturn(List.of(orga));
+        given(deletionEngine.deleteSpaces(any(), eq(orga), anyList(), eq(3), isNull())).willAnswer(invocation ->
+                invocation.<List<Space>>getArgument(2).stream().map(space -> new Outcome<>(space, null, 1)).toList());
+
+        worker(true).purge();
+
+        verify(deletionEngine).deleteSpaces(any(), eq(orga), eq(List.of(first, second)), eq(3), isNull());
+        verify(deletionEngine).deleteSpaces(any(), eq(orga), eq(List.of(third)), eq(3), isNull());
+        assertEquals(3.0, meterRegistry.get(SpacePurgeWorker.METRIC_PREFIX + ".spaces").tag("outcome", "success").counter().count());
+        assertEquals(1L, meterRegistry.get(SpacePurgeWorker.METRIC_PREFIX + ".run").timer().count());
+    }
+
+    @Test
+    void givenFailingSpace_whenPurge_thenRunStopped() throws Exception {
+        Organization orga = organization(1L);
+        Space failing = space(orga, 1L);
+        Space other = space(orga, 2L);
+        given(spaceService.getSpacesMarkedForDeletion(any(), any(), eq(2))).willReturn(List.of(failing, other));
+        given(orgaService.getOrganizationEntities(any())).willReturn(List.of(orga));
+        given(deletionEngine.deleteSpaces(any(), eq(orga), anyList(), eq(3), isNull())).willReturn(List.of(new Outcome<>(failing,
+                new IllegalStateException("failed"), 1), new Outcome<>(other, null, 1)));
+
+        worker(true).purge();
+
+        // the failed space is retried in the next run, not in an endless loop
+        verify(spaceService, times(1)).getSpacesMarkedForDeletion(any(), any(), eq(2));
+        assertEquals(1.0, meterRegistry.get(SpacePurgeWorker.METRIC_PREFIX + ".spaces").tag("outcome", "error").counter().count());
+    }
+
+    @Test
+    void givenOrganizationGone_whenPurge_thenSpacesSkippedAndKept() throws Exception {
+        Organization gone = organization(1L);
+        Organization orga = organization(2L);
+        Space orphan = space(gone, 1L);
+        Space other = space(orga, 2L);
+        given(spaceService.getSpacesMarkedForDeletion(any(), any(), eq(2))).willReturn(List.of(orphan)).willReturn(List.of(other)).willReturn(List.of());
+        given(orgaService.getOrganizationEntities(any())).willReturn(List.of()).willReturn(List.of(orga));
+        given(deletionEngine.deleteSpaces(any(), eq(orga), anyList(), eq(3), isNull())).willReturn(List.of(new Outcome<>(other, null, 1)));
+
+        worker(true).purge();
+
+        // the orphan is neither deleted nor blocks the spaces after it
+        verify(deletionEngine, never()).deleteSpaces(any(), eq(gone), anyList(), anyInt(), any());
+        verify(spaceService, never()).deleteSpaceEntities(anyList());
+        verify(spaceService).getSpacesMarkedForDeletion(any(), same(orphan), eq(2));
+        verify(deletionEngine).deleteSpaces(any(), eq(orga), eq(List.of(other)), eq(3), isNull());
+        assertEquals(1.0, meterRegistry.get(SpacePurgeWorker.METRIC_PREFIX + ".spaces").tag("outcome", "skipped").counter().count());
+    }
+
+    private static Organization organization(long id) {
+        Organization orga = new Organization();
+        orga.setId(id);
+        orga.setName("orga" + id);
+        return orga;
+    }
+
+    private static Space space(Organization orga, long id) {
+        Space space = new Space();
+        space.setId(id);
+        space.setName("space" + id);
+        space.setOrganizationId(orga.getId());
+        return space;
+    }
+}
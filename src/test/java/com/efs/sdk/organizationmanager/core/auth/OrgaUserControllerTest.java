@@ -18,6 +18,8 @@ package com.efs.sdk.organizationmanager.core.auth;
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.OrganizationManagerService;
 import com.efs.sdk.organizationmanager.core.auth.model.UserDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.UserReference;
+import com.efs.sdk.organizationmanager.core.auth.model.UserRoleResultDTO;
 import com.efs.sdk.organizationmanager.helper.AuthHelper;
 import com.efs.sdk.organizationmanager.helper.RoleHelper;
 import org.junit.jupiter.api.Test;
@@ -36,8 +38,10 @@ import static java.lang.String.*;
 import static java.util.UUID.randomUUID;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrgaUserController.class)
@@ -156,4 +160,21 @@ class OrgaUserControllerTest {
                         .with(jwt()))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void givenAuthentication_whenSetRolesOfUsers_thenResultPerUser() throws Exception {
+        UserReference byId = new UserReference(UserReference.Type.ID, randomUUID().toString());
+        UserReference byEmail = new UserReference(UserReference.Type.EMAIL, "test@example.com");
+        given(orgaManagerService.setRoles(any(), eq(1L), eq(List.of(byId, byEmail)), eq(List.of(RoleHelper.OrganizationScopeRole.ACCESS))))
+                .willReturn(List.of(new UserRoleResultDTO(byId, true, new UserDTO(), null, null), new UserRoleResultDTO(byEmail, false, null, 20026,
+                        "unable to retrieve user")));
+
+        String content = format("{\"userIds\": [\"%s\"], \"emails\": [\"%s\", \"%s\"]}", byId.value(), byEmail.value(), byEmail.value());
+        mvc.perform(put(getEndpoint(1L) + "/bulk").param("roleScopes", RoleHelper.OrganizationScopeRole.ACCESS.name()).contentType(APPLICATION_JSON)
+                        .content(content).with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].errorCode").value(20026));
+    }
 }
@@ -17,6 +17,7 @@ package com.efs.sdk.organizationmanager.core.auth;
 
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.auth.model.RoleDTO;
+import com.efs.sdk.organizationmanager.core.auth.model.RoleMapping;
 import com.efs.sdk.organizationmanager.core.auth.model.UserDTO;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
@@ -27,18 +28,24 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.http.HttpMethod.DELETE;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpStatus.OK;
@@ -194,4 +201,54 @@ class UserServiceTest {
 
         assertDoesNotThrow(() -> service.withdrawUserFromRole(orga, roleScope, user));
     }
+
+    @Test
+    void givenRoles_whenGetRoleMapping_thenRolesLookedUpOnce() throws Exception {
+        Organization orga = new Organization();
+        orga.setName("test");
+
+        given(authService.getSAaccessToken()).willReturn("test-token");
+        given(roleHelper.buildOrganizationRole(any(Organization.class), any())).willAnswer(invocation -> format("org_%s_%s", orga.getName(),
+                invocation.getArgument(1, RoleHelper.OrganizationScopeRole.class).name()).toLowerCase(Locale.getDefault()));
+        RoleDTO[] roles = Stream.of(RoleHelper.OrganizationScopeRole.values()).map(roleScope -> {
+            RoleDTO role = new RoleDTO();
+            role.setName(format("org_%s_%s", orga.getName(), roleScope.name()).toLowerCase(Locale.getDefault()));
+            return role;
+        }).toArray(RoleDTO[]::new);
+        given(roleService.getRoles(anyString())).willReturn(roles);
+
+        RoleMapping mapping = service.getRoleMapping(orga, List.of(RoleHelper.OrganizationScopeRole.ACCESS));
+
+        assertEquals(RoleHelper.OrganizationScopeRole.values().length, mapping.withdraw().size());
+        assertEquals(List.of("org_test_access"), mapping.assign().stream().map(RoleDTO::getName).toList());
+        verify(roleService, times(1)).getRoles(anyString());
+    }
+
+    @Test
+    void givenRoleNotPresent_whenGetRoleMapping_thenError() throws Exception {
+        Organization orga = new Organization();
+        orga.setName("test");
+
+        given(authService.getSAaccessToken()).willReturn("test-token");
+        given(roleHelper.buildOrganizationRole(any(Organization.class), any())).willReturn("org_test_access");
+        given(roleService.getRoles(anyString())).willReturn(new RoleDTO[0]);
+
+        assertThrows(OrganizationmanagerException.class, () -> service.getRoleMapping(orga, List.of(RoleHelper.OrganizationScopeRole.ACCESS)));
+    }
+
+    @Test
+    void givenRoleMapping_whenApplyRoleMapping_thenOneRequestEach() throws Exception {
+        given(authService.getSAaccessToken()).willReturn("test-token");
+        RoleDTO role = new RoleDTO();
+        role.setName("org_test_access");
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID().toString());
+
+        String userAssignEndpoint = format("%s/users/%s/role-mappings/realm", realmEndpoint, user.getId());
+        this.mockServer.expect(ExpectedCount.once(), requestTo(userAssignEndpoint)).andExpect(method(DELETE)).andRespond(withStatus(OK));
+        this.mockServer.expect(ExpectedCount.once(), requestTo(userAssignEndpoint)).andExpect(method(POST)).andRespond(withStatus(OK));
+
+        assertDoesNotThrow(() -> service.applyRoleMapping(user, new RoleMapping(List.of(role), List.of(role))));
+        mockServer.verify();
+    }
 }
@@ -0,0 +1,77 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.bulk;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkExecutorTest {
+
+    private BulkExecutor bulkExecutor;
+
+    @BeforeEach
+    public void setup() {
+        this.bulkExecutor = new BulkExecutor(new SimpleMeterRegistry(), 8, false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bulkExecutor.shutdown();
+    }
+
+    @Test
+    void givenParallelism_whenProcess_thenNeverExceeded() throws Exception {
+        List<Integer> items = IntStream.range(0, 20).boxed().toList();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<BulkExecutor.Outcome<Integer>> outcomes = bulkExecutor.process("test", items, 3, item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            running.decrementAndGet();
+        }, null);
+
+        assertEquals(items.size(), outcomes.size());
+        assertTrue(maxRunning.get() <= 3);
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    void givenFailingItem_whenProcess_thenOthersProcessedInOrder() throws Exception {
+        List<Integer> items = List.of(1, 2, 3);
+        AtomicInteger progress = new AtomicInteger();
+
+        List<BulkExecutor.Outcome<Integer>> outcomes = bulkExecutor.process("test", items, 2, item -> {
+            if (item == 2) {
+                throw new IllegalStateException("failed");
+            }
+        }, (outcome, done, total) -> progress.incrementAndGet());
+
+        assertEquals(items, outcomes.stream().map(BulkExecutor.Outcome::item).toList());
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals("failed", outcomes.get(1).error().getMessage());
+        assertTrue(outcomes.get(2).isSuccess());
+        assertEquals(3, progress.get());
+    }
+}
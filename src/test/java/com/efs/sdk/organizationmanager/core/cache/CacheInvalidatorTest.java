@@ -0,0 +1,156 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.cache;
+
+import com.efs.sdk.organizationmanager.core.events.EventPublisher;
+import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.beans.PropertyChangeEvent;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// two instances ("pods") of the invalidator exchange their messages over an embedded broker
+@SpringBootTest(classes = CacheInvalidatorTest.Config.class, properties = {"spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "organizationmanager.kafka.topic.cache-invalidation=" + CacheInvalidatorTest.TOPIC})
+@EmbeddedKafka(partitions = 1, topics = CacheInvalidatorTest.TOPIC)
+class CacheInvalidatorTest {
+
+    static final String TOPIC = "cache-invalidation";
+    private static final long TIMEOUT = 10_000;
+
+    private static final Cache CACHE_A = mock(Cache.class);
+    private static final Cache CACHE_B = mock(Cache.class);
+    private static final ListingCache LISTING_A = mock(ListingCache.class);
+    private static final ListingCache LISTING_B = mock(ListingCache.class);
+
+    @Autowired
+    private CacheInvalidator podA;
+    @Autowired
+    private CacheInvalidator podB;
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        registry.getListenerContainers().forEach(container -> ContainerTestUtils.waitForAssignment(container, 1));
+    }
+
+    @AfterEach
+    void cleanup() {
+        reset(CACHE_A, CACHE_B, LISTING_A, LISTING_B);
+    }
+
+    @Test
+    void givenUpdatedOrganization_whenPublished_thenEvictedByOtherPod() {
+        Organization orga = new Organization();
+        orga.setId(42L);
+
+        podA.propertyChange(new PropertyChangeEvent(this, OrganizationService.PROP_ORG_UPDATED, orga, orga));
+
+        verify(CACHE_B, timeout(TIMEOUT)).evictEntityData(Organization.class, 42L);
+        verify(CACHE_B, timeout(TIMEOUT)).evictDefaultQueryRegion();
+        verify(LISTING_B, timeout(TIMEOUT)).invalidateAll();
+        // the own message is skipped
+        verify(CACHE_A, after(1000).never()).evictEntityData(any(Class.class), any());
+        verifyNoInteractions(LISTING_A);
+    }
+
+    @Test
+    void givenDeletedSpaces_whenPublished_thenEvictedByOtherPod() {
+        podB.propertyChange(new PropertyChangeEvent(this, SpaceService.PROP_SPACE_DELETED, List.of(1L, 2L), null));
+
+        for (long id : List.of(1L, 2L)) {
+            verify(CACHE_A, timeout(TIMEOUT)).evictEntityData(Space.class, id);
+        }
+        verify(LISTING_A, timeout(TIMEOUT)).invalidateAll();
+    }
+
+    @Test
+    void givenTransaction_whenChanged_thenPublishedAfterCommit() {
+        Space space = new Space();
+        space.setId(7L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            podA.propertyChange(new PropertyChangeEvent(this, SpaceService.PROP_SPACE_CREATED, null, space));
+
+            verify(CACHE_B, after(1000).never()).evictEntityData(any(Class.class), any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(CACHE_B, timeout(TIMEOUT)).evictEntityData(Space.class, 7L);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration(KafkaAutoConfiguration.class)
+    static class Config {
+
+        @Bean
+        TaskExecutor taskExecutor() {
+            return new SyncTaskExecutor();
+        }
+
+        @Bean
+        EventPublisher eventPublisher(KafkaTemplate<String, String> kafkaTemplate, TaskExecutor taskExecutor) {
+            return new EventPublisher(kafkaTemplate, taskExecutor);
+        }
+
+        @Bean
+        CacheInvalidator podA(EventPublisher eventPublisher) {
+            return pod(eventPublisher, CACHE_A, LISTING_A);
+        }
+
+        @Bean
+        CacheInvalidator podB(EventPublisher eventPublisher) {
+            return pod(eventPublisher, CACHE_B, LISTING_B);
+        }
+
+        private static CacheInvalidator pod(EventPublisher eventPublisher, Cache cache, ListingCache listingCache) {
+            jakarta.persistence.Cache jpaCache = mock(jakarta.persistence.Cache.class);
+            when(jpaCache.unwrap(Cache.class)).thenReturn(cache);
+            EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+            when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+            return new CacheInvalidator(mock(OrganizationService.class), mock(SpaceService.class), listingCache, entityManagerFactory,
+                    eventPublisher, TOPIC);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.cache;
+
+import com.efs.sdk.organizationmanager.core.organization.OrganizationRepository;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.SpaceRepository;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// every repository-call runs in its own transaction (and session) - as within the application
+@DataJpaTest(properties = {"spring.flyway.enabled=false"})
+@Import(EntityCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+class EntityCacheConfigTest {
+
+    @Autowired
+    private OrganizationRepository orgaRepo;
+    @Autowired
+    private SpaceRepository spaceRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EntityCacheMetrics metrics;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Organization orga;
+    private Space space;
+
+    @BeforeEach
+    void setup() {
+        orga = new Organization();
+        orga.setName("orga");
+        orga.addOwner("owner");
+        orga = orgaRepo.save(orga);
+        space = new Space();
+        space.setName("space");
+        space.setOrganizationId(orga.getId());
+        space.addOwner("owner");
+        space = spaceRepo.save(space);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        spaceRepo.deleteAll();
+        orgaRepo.deleteAll();
+    }
+
+    @Test
+    void givenLoadedOrganization_whenFindById_thenReadFromCache() {
+        assertEquals(List.of("owner"), readOwners(orga.getId()));
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        assertEquals(List.of("owner"), readOwners(orga.getId()));
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        // the organization including its owners
+        assertEquals(hits + 1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void givenLookedUpNames_whenFindByName_thenReadFromQueryCache() {
+        orgaRepo.findByName("orga").orElseThrow();
+        spaceRepo.findByOrganizationIdAndName(orga.getId(), "space").orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(orga.getId(), orgaRepo.findByName("orga").orElseThrow().getId());
+        assertEquals(space.getId(), spaceRepo.findByOrganizationIdAndName(orga.getId(), "space").orElseThrow().getId());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void givenChangedOrganization_whenFindByName_thenChangesRead() {
+        orgaRepo.findByName("orga").orElseThrow();
+        assertEquals(List.of("owner"), readOwners(orga.getId()));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Organization changed = orgaRepo.findById(orga.getId()).orElseThrow();
+            changed.setName("renamed");
+            changed.setOwners(List.of("other-owner"));
+        });
+
+        assertTrue(orgaRepo.findByName("orga").isEmpty());
+        assertEquals(List.of("other-owner"), readOwners(orga.getId()));
+    }
+
+    @Test
+    void givenNativeDeletion_whenFindById_thenOnlyAffectedRegionsEvicted() {
+        assertEquals(List.of("owner"), readOwners(orga.getId()));
+        assertTrue(spaceRepo.findById(space.getId()).isPresent());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            spaceRepo.deleteByIds(List.of(space.getId()));
+        });
+
+        assertTrue(spaceRepo.findById(space.getId()).isEmpty());
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(List.of("owner"), readOwners(orga.getId()));
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenCacheHits_whenBindMetrics_thenHitsPerRegion() {
+        readOwners(orga.getId());
+        readOwners(orga.getId());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        metrics.bindTo(registry);
+
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(Organization.CACHE_REGION);
+        assertTrue(regionStatistics.getHitCount() > 0);
+        assertEquals(regionStatistics.getHitCount(), registry.get("cache.gets").tag("cache", Organization.CACHE_REGION).tag("result", "hit").functionCounter().count());
+        assertEquals(regionStatistics.getMissCount(), registry.get("cache.gets").tag("cache", Organization.CACHE_REGION).tag("result", "miss").functionCounter().count());
+        assertEquals(regionStatistics.getPutCount(), registry.get("cache.puts").tag("cache", Organization.CACHE_REGION).functionCounter().count());
+    }
+
+    private List<String> readOwners(long orgaId) {
+        return new TransactionTemplate(transactionManager).execute(status -> new ArrayList<>(orgaRepo.findById(orgaId).orElseThrow().getOwners()));
+    }
+}
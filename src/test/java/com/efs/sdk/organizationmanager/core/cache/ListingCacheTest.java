@@ -0,0 +1,177 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.cache;
+
+import com.efs.sdk.organizationmanager.core.datasource.ReplicaRoutingDataSource;
+import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.helper.AuthEntityOrganization;
+import com.efs.sdk.organizationmanager.helper.AuthEntitySpace;
+import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.beans.PropertyChangeEvent;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.efs.sdk.organizationmanager.core.cache.ListingCache.Listing.ORGANIZATIONS;
+import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.GET;
+import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.READ;
+import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.WRITE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+class ListingCacheTest {
+
+    private OrganizationService orgaService;
+    private SpaceService spaceService;
+    private ListingCache cache;
+
+    @BeforeEach
+    public void setup() {
+        this.orgaService = Mockito.mock(OrganizationService.class);
+        this.spaceService = Mockito.mock(SpaceService.class);
+        this.cache = new ListingCache(orgaService, spaceService, new SimpleMeterRegistry(), true, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void givenCache_whenCreated_thenRegisteredAsListener() {
+        verify(orgaService).addPropertyChangeListener(cache);
+        verify(spaceService).addPropertyChangeListener(cache);
+    }
+
+    @Test
+    void givenSameAuthorities_whenGet_thenLoadedOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        AuthenticationModel authModel = authModel("me", "org_test_access", "org_other_admin");
+        AuthenticationModel otherAuthModel = authModel("other", "org_other_admin", "org_test_access");
+
+        cache.get(ORGANIZATIONS, authModel, GET, () -> List.of(loads.incrementAndGet()));
+        List<Integer> cached = cache.get(ORGANIZATIONS, otherAuthModel, GET, () -> List.of(loads.incrementAndGet()));
+
+        assertEquals(List.of(1), cached);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void givenDifferentPermission_whenGet_thenLoadedSeparately() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        AuthenticationModel authModel = authModel("me", "org_test_access");
+
+        cache.get(ORGANIZATIONS, authModel, GET, loads::incrementAndGet);
+        cache.get(ORGANIZATIONS, authModel, WRITE, loads::incrementAndGet);
+        cache.get(ORGANIZATIONS, authModel, READ, loads::incrementAndGet);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void givenChangeEvent_whenGet_thenReloaded() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        AuthenticationModel authModel = authModel("me", "org_test_access");
+
+        cache.get(ORGANIZATIONS, authModel, GET, loads::incrementAndGet);
+        cache.propertyChange(new PropertyChangeEvent(spaceService, SpaceService.PROP_SPACE_CREATED, null, new Object()));
+        Integer reloaded = cache.get(ORGANIZATIONS, authModel, GET, loads::incrementAndGet);
+
+        assertEquals(2, reloaded);
+    }
+
+    @Test
+    void givenChangeWhileLoading_whenGet_thenNotCached() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        AuthenticationModel authModel = authModel("me", "org_test_access");
+
+        cache.get(ORGANIZATIONS, authModel, GET, () -> {
+            cache.invalidateAll();
+            return loads.incrementAndGet();
+        });
+        cache.get(ORGANIZATIONS, authModel, GET, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenReplicaRead_whenGet_thenNotCached() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        AuthenticationModel authModel = authModel("me", "org_test_access");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1.0/organization");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            cache.get(ORGANIZATIONS, authModel, GET, () -> {
+                request.setAttribute(ReplicaRoutingDataSource.REPLICA_READ, Boolean.TRUE);
+                return loads.incrementAndGet();
+            });
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        cache.get(ORGANIZATIONS, authModel, GET, loads::incrementAndGet);
+        cache.get(ORGANIZATIONS, authModel, GET, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenDisabled_whenGet_thenAlwaysLoaded() throws Exception {
+        ListingCache disabled = new ListingCache(orgaService, spaceService, new SimpleMeterRegistry(), false, Duration.ofMinutes(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+        AuthenticationModel authModel = authModel("me", "org_test_access");
+
+        disabled.get(ORGANIZATIONS, authModel, GET, loads::incrementAndGet);
+        disabled.get(ORGANIZATIONS, authModel, GET, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenSuperusers_whenFingerprint_thenSame() {
+        AuthenticationModel superuser = authModel("me", "org_test_access");
+        superuser.setSuperuser(true);
+        AuthenticationModel otherSuperuser = authModel("other");
+        otherSuperuser.setSuperuser(true);
+
+        assertEquals(ListingCache.fingerprint(superuser, GET), ListingCache.fingerprint(otherSuperuser, GET));
+        assertNotEquals(ListingCache.fingerprint(superuser, GET), ListingCache.fingerprint(authModel("other"), GET));
+    }
+
+    @Test
+    void givenDifferentPublicAccess_whenFingerprint_thenDifferent() {
+        AuthenticationModel authModel = authModel("me", "org_test_access");
+        AuthenticationModel publicAuthModel = authModel("me", "org_test_access");
+        publicAuthModel.setSpacePublicAccess(true);
+
+        assertNotEquals(ListingCache.fingerprint(authModel, GET), ListingCache.fingerprint(publicAuthModel, GET));
+    }
+
+    private static AuthenticationModel authModel(String subject, String... orgaRoles) {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(subject);
+        AuthEntityOrganization[] organizations = new AuthEntityOrganization[orgaRoles.length];
+        for (int i = 0; i < orgaRoles.length; i++) {
+            organizations[i] = new AuthEntityOrganization(orgaRoles[i]);
+        }
+        authModel.setOrganizations(organizations);
+        authModel.setSpaces(new AuthEntitySpace[0]);
+        return authModel;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.cache;
+
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.beans.PropertyChangeEvent;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupContextTest {
+
+    private LookupContext lookups;
+    private Organization orga;
+    private Space space;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        lookups = new LookupContext();
+        orga = new Organization();
+        orga.setId(1L);
+        orga.setName("orga");
+        space = new Space();
+        space.setId(2L);
+        space.setName("space");
+        space.setOrganizationId(orga.getId());
+        loads = new AtomicInteger();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void givenRequest_whenLookupByIdAndName_thenLoadedOnce() {
+        assertSame(orga, lookups.organization(1L, counted(Optional.of(orga))).orElseThrow());
+        assertSame(orga, lookups.organization(1L, counted(Optional.of(orga))).orElseThrow());
+        assertSame(orga, lookups.organization("orga", counted(Optional.of(orga))).orElseThrow());
+        assertSame(space, lookups.space(1L, "space", counted(Optional.of(space))).orElseThrow());
+        assertSame(space, lookups.space(1L, 2L, counted(Optional.of(space))).orElseThrow());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenRequest_whenLookupInOtherOrganization_thenLoaded() {
+        lookups.space(1L, 2L, counted(Optional.of(space)));
+
+        assertTrue(lookups.space(3L, 2L, counted(Optional.empty())).isEmpty());
+        assertTrue(lookups.space(3L, "space", counted(Optional.empty())).isEmpty());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void givenNotFound_whenLookupAgain_thenNotLoaded() {
+        assertTrue(lookups.organization("other", counted(Optional.empty())).isEmpty());
+        assertTrue(lookups.organization("other", counted(Optional.of(orga))).isEmpty());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void givenChange_whenLookup_thenLoadedAgain() {
+        lookups.organization("other", counted(Optional.empty()));
+
+        lookups.propertyChange(new PropertyChangeEvent(this, SpaceService.PROP_SPACE_CREATED, null, space));
+
+        assertTrue(lookups.organization("other", counted(Optional.of(orga))).isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenNoRequest_whenLookup_thenLoadedEveryTime() {
+        RequestContextHolder.resetRequestAttributes();
+
+        lookups.organization(1L, counted(Optional.of(orga)));
+        lookups.organization(1L, counted(Optional.of(orga)));
+
+        assertEquals(2, loads.get());
+    }
+
+    private <T> Supplier<Optional<T>> counted(Optional<T> result) {
+        return () -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+}
@@ -0,0 +1,234 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.clients;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.efs.sdk.organizationmanager.utils.TestUtils.getJwt;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientFanOutTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClientFanOut fanOut;
+    private List<AbstractServiceRestClient> clients;
+
+    @BeforeEach
+    public void setup() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.fanOut = new ClientFanOut(meterRegistry, 2, 10, false, Duration.ofMinutes(1), Map.of());
+        this.clients = List.of(Mockito.mock(AbstractServiceRestClient.class), Mockito.mock(MetadataServiceRestClient.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        fanOut.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenClients_whenInvokeAll_thenAllExecutedInParallel() throws Exception {
+        CountDownLatch latch = new CountDownLatch(clients.size());
+        fanOut.invokeAll("test", clients, client -> {
+            latch.countDown();
+            // only completes, if all tasks run at the same time
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        });
+        assertEquals(0, latch.getCount());
+    }
+
+    @Test
+    void givenSecurityContext_whenInvokeAll_thenPropagated() throws Exception {
+        JwtAuthenticationToken token = new JwtAuthenticationToken(getJwt(List.of()));
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(token);
+        SecurityContextHolder.setContext(securityContext);
+
+        ConcurrentHashMap<AbstractServiceRestClient, Object> authentications = new ConcurrentHashMap<>();
+        fanOut.invokeAll("test", clients, client -> authentications.put(client, SecurityContextHolder.getContext().getAuthentication()));
+
+        assertEquals(clients.size(), authentications.size());
+        authentications.values().forEach(authentication -> assertSame(token, authentication));
+    }
+
+    @Test
+    void givenFailingClient_whenInvokeAll_thenRunningTasksAwaited() throws Exception {
+        AtomicBoolean running = new AtomicBoolean();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        // the first client ignores interrupts (like a blocking HTTP call), the second one fails while it is running
+        OrganizationmanagerException e = assertThrows(OrganizationmanagerException.class, () -> fanOut.invokeAll("test", clients, client -> {
+            if (client instanceof MetadataServiceRestClient) {
+                Thread.sleep(20);
+                throw new IllegalStateException("failed");
+            }
+            running.set(true);
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+            while (System.nanoTime() - until < 0) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ie) {
+                    interrupted.set(true);
+                }
+            }
+            running.set(false);
+        }));
+        assertEquals(HttpStatus.BAD_GATEWAY, e.getHttpStatus());
+        // no call is still running, when the caller compensates the failure
+        assertFalse(running.get());
+        assertFalse(interrupted.get());
+    }
+
+    @Test
+    void givenFailingClients_whenInvokeAllBestEffort_thenAllCompleted() {
+        AtomicInteger completed = new AtomicInteger();
+        assertDoesNotThrow(() -> fanOut.invokeAllBestEffort("test", clients, client -> {
+            if (client instanceof MetadataServiceRestClient) {
+                throw new IllegalStateException("failed");
+            }
+            Thread.sleep(50);
+            completed.incrementAndGet();
+        }));
+        assertEquals(1, completed.get());
+    }
+
+    @Test
+    void givenFailingClient_whenInvokeAllBestEffort_thenIgnored() {
+        assertDoesNotThrow(() -> fanOut.invokeAllBestEffort("test", clients, client -> {
+            throw new IllegalStateException("failed");
+        }));
+    }
+
+    @Test
+    void givenExhaustedPool_whenInvokeAll_thenCallerRuns() throws Exception {
+        ClientFanOut small = new ClientFanOut(meterRegistry, 1, 1, false, Duration.ofMinutes(1), Map.of());
+        List<AbstractServiceRestClient> many = List.of(Mockito.mock(AbstractServiceRestClient.class), Mockito.mock(AbstractServiceRestClient.class),
+                Mockito.mock(AbstractServiceRestClient.class), Mockito.mock(AbstractServiceRestClient.class));
+        AtomicInteger executed = new AtomicInteger();
+        try {
+            small.invokeAll("test", many, client -> {
+                Thread.sleep(20);
+                executed.incrementAndGet();
+            });
+        } finally {
+            small.shutdown();
+        }
+        assertEquals(many.size(), executed.get());
+    }
+
+    @Test
+    void givenInvocation_whenInvokeAll_thenMetricsPerClient() throws Exception {
+        fanOut.invokeAll("test", clients, client -> {
+        });
+        assertEquals(2, meterRegistry.find(ClientFanOut.METRIC_PREFIX + ".task").tag("operation", "test").tag("outcome", "success").timers().size());
+        assertEquals(2, meterRegistry.find(ClientFanOut.METRIC_PREFIX + ".queued").gauges().size());
+        assertEquals(0, meterRegistry.find(ClientFanOut.METRIC_PREFIX + ".active").gauges().stream().mapToDouble(gauge -> gauge.value()).sum());
+    }
+
+    @Test
+    void givenVirtualThreadsEnabled_whenInvokeAll_thenContextPropagated() throws Exception {
+        // runs on virtual threads if supported by the runtime, on the platform-pool otherwise
+        ClientFanOut virtual = new ClientFanOut(meterRegistry, 2, 10, true, Duration.ofMinutes(1), Map.of());
+        JwtAuthenticationToken token = new JwtAuthenticationToken(getJwt(List.of()));
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(token);
+        SecurityContextHolder.setContext(securityContext);
+
+        ConcurrentHashMap<AbstractServiceRestClient, Object> authentications = new ConcurrentHashMap<>();
+        try {
+            virtual.invokeAll("test", clients, client -> authentications.put(client, SecurityContextHolder.getContext().getAuthentication()));
+        } finally {
+            virtual.shutdown();
+        }
+        assertEquals(clients.size(), authentications.size());
+        authentications.values().forEach(authentication -> assertSame(token, authentication));
+    }
+
+    @Test
+    void givenSlowClient_whenInvokeAll_thenCancelledAtDeadline() {
+        ClientFanOut limited = new ClientFanOut(meterRegistry, 2, 10, false, Duration.ofMinutes(1), Map.of("MetadataServiceRestClient", 0.1));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            OrganizationmanagerException e = assertThrows(OrganizationmanagerException.class, () -> limited.invokeAll("test", clients, client -> {
+                if (client instanceof MetadataServiceRestClient) {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException ex) {
+                        interrupted.countDown();
+                    }
+                }
+            }));
+            assertEquals(HttpStatus.BAD_GATEWAY, e.getHttpStatus());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            fail(e);
+        } finally {
+            limited.shutdown();
+        }
+        assertEquals(1.0, meterRegistry.get(ClientFanOut.METRIC_PREFIX + ".deadline.exceeded").tag("client", "MetadataServiceRestClient")
+                .tag("operation", "test").counter().count());
+    }
+
+    @Test
+    void givenTimeout_whenInvokeAll_thenDeadlineBoundToTask() throws Exception {
+        ConcurrentHashMap<AbstractServiceRestClient, Duration> remaining = new ConcurrentHashMap<>();
+        fanOut.invokeAll("test", clients, client -> remaining.put(client, Deadline.remaining().orElseThrow()));
+
+        assertEquals(clients.size(), remaining.size());
+        remaining.values().forEach(duration -> assertTrue(duration.compareTo(Duration.ofMinutes(1)) <= 0 && !duration.isNegative()));
+        assertTrue(Deadline.remaining().isEmpty());
+    }
+
+    @Test
+    void givenFailingClient_whenInvokeAll_thenQueuedTasksCancelled() throws Exception {
+        ClientFanOut single = new ClientFanOut(meterRegistry, 1, 10, false, Duration.ofMinutes(1), Map.of());
+        List<AbstractServiceRestClient> queued = List.of(Mockito.mock(MetadataServiceRestClient.class), Mockito.mock(AbstractServiceRestClient.class),
+                Mockito.mock(AbstractServiceRestClient.class));
+        AtomicInteger executed = new AtomicInteger();
+        try {
+            assertThrows(OrganizationmanagerException.class, () -> single.invokeAll("test", queued, client -> {
+                if (client instanceof MetadataServiceRestClient) {
+                    // fail, while the others are still queued
+                    throw new IllegalStateException("failed");
+                }
+                Thread.sleep(200);
+                executed.incrementAndGet();
+            }));
+        } finally {
+            single.shutdown();
+        }
+        // at most the task started while the failure was reported is executed
+        assertTrue(executed.get() < queued.size() - 1);
+        assertEquals(0, meterRegistry.find(ClientFanOut.METRIC_PREFIX + ".queued").gauges().stream().mapToDouble(gauge -> gauge.value()).sum());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.clients;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineAwareRequestFactoryTest {
+
+    private DeadlineAwareRequestFactory factory;
+    private HttpURLConnection connection;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        this.factory = new DeadlineAwareRequestFactory(Duration.ofSeconds(10), Duration.ofSeconds(60));
+        this.connection = (HttpURLConnection) URI.create("http://localhost/test").toURL().openConnection();
+    }
+
+    @Test
+    void givenNoDeadline_whenPrepareConnection_thenConfiguredTimeouts() throws Exception {
+        factory.prepareConnection(connection, "GET");
+        assertEquals(10_000, connection.getConnectTimeout());
+        assertEquals(60_000, connection.getReadTimeout());
+    }
+
+    @Test
+    void givenDeadline_whenPrepareConnection_thenTimeoutsCapped() throws Exception {
+        Deadline.call(System.nanoTime() + Duration.ofSeconds(30).toNanos(), () -> {
+            factory.prepareConnection(connection, "GET");
+            return null;
+        });
+        assertEquals(10_000, connection.getConnectTimeout());
+        assertTrue(connection.getReadTimeout() <= 30_000 && connection.getReadTimeout() > 0);
+    }
+
+    @Test
+    void givenPassedDeadline_whenPrepareConnection_thenRejected() {
+        assertThrows(IOException.class, () -> Deadline.call(System.nanoTime() - 1, () -> {
+            factory.prepareConnection(connection, "GET");
+            return null;
+        }));
+    }
+}
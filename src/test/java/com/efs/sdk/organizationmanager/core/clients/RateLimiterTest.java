@@ -0,0 +1,44 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.clients;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void givenRate_whenAcquire_thenSpaced() throws Exception {
+        RateLimiter limiter = new RateLimiter(100);
+        long started = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            limiter.acquire();
+        }
+        // first call immediately, then 5 intervals of 10ms
+        assertTrue((System.nanoTime() - started) / 1_000_000 >= 50);
+    }
+
+    @Test
+    void givenNoRate_whenAcquire_thenUnlimited() throws Exception {
+        RateLimiter limiter = new RateLimiter(0);
+        long started = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire();
+        }
+        assertTrue((System.nanoTime() - started) / 1_000_000 < 50);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.efs.sdk.organizationmanager.core.datasource.ReplicaRoutingDataSource.LAST_WRITE;
+import static com.efs.sdk.organizationmanager.core.datasource.ReplicaRoutingDataSource.METRIC_PREFIX;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_COMMITTED;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private MeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        primary = dataSource();
+        replicaA = dataSource();
+        replicaB = dataSource();
+        meterRegistry = new SimpleMeterRegistry();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replicaA);
+        replicas.put("replica-1", replicaB);
+        routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(5), Duration.ofMinutes(1), meterRegistry);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/v1.0/organization")));
+    }
+
+    @AfterEach
+    void cleanup() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void givenNoReadOnlyTransaction_whenGetConnection_thenPrimary() throws SQLException {
+        replicationLag(replicaA, 0);
+        replicationLag(replicaB, 0);
+        routing.checkLag();
+
+        routing.getConnection().close();
+
+        verify(primary).getConnection();
+        assertEquals(1, routed("primary", "read-write"));
+    }
+
+    @Test
+    void givenReadOnlyTransactionInMutatingRequest_whenGetConnection_thenPrimary() throws SQLException {
+        replicationLag(replicaA, 0);
+        replicationLag(replicaB, 0);
+        routing.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("PUT", "/api/v1.0/organization/1")));
+
+        routing.getConnection().close();
+
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void givenReadOnlyTransactionWithoutRequest_whenGetConnection_thenPrimary() throws SQLException {
+        replicationLag(replicaA, 0);
+        replicationLag(replicaB, 0);
+        routing.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        RequestContextHolder.resetRequestAttributes();
+
+        routing.getConnection().close();
+
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void givenReadOnlyTransaction_whenGetConnection_thenReplicasRoundRobin() throws SQLException {
+        replicationLag(replicaA, 0);
+        replicationLag(replicaB, 1.5);
+        routing.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        for (int i = 0; i < 4; i++) {
+            routing.getConnection().close();
+        }
+
+        verify(primary, never()).getConnection();
+        // one connection per replica for the lag-check
+        verify(replicaA, times(3)).getConnection();
+        verify(replicaB, times(3)).getConnection();
+        assertEquals(4, routed("replica", "read-only"));
+        assertEquals(1.5, meterRegistry.get(METRIC_PREFIX + ".replica.lag").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    void givenLaggingReplica_whenGetConnection_thenOtherReplica() throws SQLException {
+        replicationLag(replicaA, 30);
+        replicationLag(replicaB, 0);
+        routing.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.getConnection().close();
+        routing.getConnection().close();
+
+        verify(replicaA, times(1)).getConnection();
+        verify(replicaB, times(3)).getConnection();
+    }
+
+    @Test
+    void givenNoReplicaWithinLag_whenGetConnection_thenPrimary() throws SQLException {
+        replicationLag(replicaA, 30);
+        when(replicaB.getConnection()).thenThrow(new SQLException("unreachable"));
+        routing.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.getConnection().close();
+
+        verify(primary).getConnection();
+        assertEquals(1, routed("primary", "replica-lag"));
+    }
+
+    @Test
+    void givenUncheckedReplicas_whenGetConnection_thenPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.getConnection().close();
+
+        verify(primary).getConnection();
+        verifyNoInteractions(replicaA, replicaB);
+    }
+
+    @Test
+    void givenMarkWrite_whenResponse_thenCookieAndHeader() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        routing.markWrite(response);
+
+        Cookie cookie = response.getCookie("organizationmanager-last-write");
+        assertNotNull(cookie);
+        assertEquals(60, cookie.getMaxAge());
+        assertEquals(cookie.getValue(), response.getHeader(LAST_WRITE));
+    }
+
+    @Test
+    void givenRecentWrite_whenGetConnection_thenPrimaryForSameClientOnly() throws SQLException {
+        replicationLag(replicaA, 0);
+        replicationLag(replicaB, 0);
+        routing.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        routing.markWrite(response);
+
+        MockHttpServletRequest writer = new MockHttpServletRequest("GET", "/api/v1.0/organization");
+        writer.setCookies(response.getCookies());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(writer));
+        routing.getConnection().close();
+        MockHttpServletRequest apiClient = new MockHttpServletRequest("GET", "/api/v1.0/organization");
+        apiClient.addHeader(LAST_WRITE, response.getHeader(LAST_WRITE));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(apiClient));
+        routing.getConnection().close();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/v1.0/organization")));
+        routing.getConnection().close();
+
+        verify(primary, times(2)).getConnection();
+        assertEquals(2, routed("primary", "recent-write"));
+        assertEquals(1, routed("replica", "read-only"));
+    }
+
+    @Test
+    void givenExpiredOrInvalidWrite_whenGetConnection_thenReplica() throws SQLException {
+        replicationLag(replicaA, 0);
+        replicationLag(replicaB, 0);
+        routing.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        for (String lastWrite : List.of(String.valueOf(System.currentTimeMillis() - Duration.ofMinutes(2).toMillis()),
+                String.valueOf(Long.MAX_VALUE), "yesterday")) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1.0/organization");
+            request.addHeader(LAST_WRITE, lastWrite);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            routing.getConnection().close();
+        }
+
+        verify(primary, never()).getConnection();
+        assertEquals(3, routed("replica", "read-only"));
+    }
+
+    @Test
+    void givenReplicaRead_whenGetConnection_thenNoCachePutsUntilCompletion() throws SQLException {
+        replicationLag(replicaA, 0);
+        replicationLag(replicaB, 0);
+        routing.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Session session = mock(Session.class);
+        when(session.unwrap(Session.class)).thenReturn(session);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(session));
+        try {
+            assertFalse(ReplicaRoutingDataSource.hasReadFromReplica());
+
+            routing.getConnection().close();
+
+            assertTrue(ReplicaRoutingDataSource.hasReadFromReplica());
+            verify(session).setCacheMode(CacheMode.GET);
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(STATUS_COMMITTED));
+            verify(session).setCacheMode(CacheMode.NORMAL);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(emf);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenPrimaryRead_whenGetConnection_thenCacheUnchanged() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.getConnection().close();
+
+        verify(primary).getConnection();
+        assertFalse(ReplicaRoutingDataSource.hasReadFromReplica());
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get(METRIC_PREFIX + ".routed").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private static DataSource dataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        return dataSource;
+    }
+
+    private static void replicationLag(DataSource replica, double lag) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(replica.getConnection()).thenReturn(connection, mock(Connection.class));
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(resultSet.getDouble(1)).thenReturn(lag);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.operation;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
+import com.efs.sdk.organizationmanager.helper.AuthHelper;
+import com.efs.sdk.organizationmanager.helper.EntityConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.OPERATION_NOT_FOUND;
+import static com.efs.sdk.organizationmanager.core.operation.OperationController.ENDPOINT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OperationController.class)
+@ActiveProfiles("test")
+class OperationControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @MockBean
+    private OperationService service;
+    /* required for tests to run */
+    @MockBean
+    private AuthHelper authHelper;
+    /* required for tests to run */
+    @MockBean
+    private JwtDecoder jwtDecoder;
+    /* required for tests to run */
+    @MockBean
+    private EntityConverter converter;
+
+    @Test
+    void givenOperation_whenGetOperation_thenOk() throws Exception {
+        AsyncOperation operation = new AsyncOperation(AsyncOperation.Type.CREATE_ORGANIZATION, "test", "owner");
+        operation.start();
+        operation.addStep("create organization context", "StoragemanagerServiceRestClient", true, null, 12);
+        operation.succeed(1L);
+        given(service.getOperation(eq(operation.getId()), any())).willReturn(operation.toDTO());
+
+        mvc.perform(get(ENDPOINT + "/" + operation.getId()).with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.resourceId").value(1))
+                .andExpect(jsonPath("$.steps[0].client").value("StoragemanagerServiceRestClient"));
+    }
+
+    @Test
+    void givenUnknownOperation_whenGetOperation_thenNotFound() throws Exception {
+        given(service.getOperation(any(), any())).willThrow(new OrganizationmanagerException(OPERATION_NOT_FOUND));
+
+        mvc.perform(get(ENDPOINT + "/unknown").with(jwt())).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,214 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.operation;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.clients.AbstractServiceRestClient;
+import com.efs.sdk.organizationmanager.core.clients.ClientFanOut;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperationDTO;
+import com.efs.sdk.organizationmanager.core.operation.model.StoredOperation;
+import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerException.ORGANIZATIONMANAGER_ERROR.DOWNSTREAM_ERROR;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class OperationServiceTest {
+
+    private OperationService service;
+    private OperationRepository repo;
+
+    @BeforeEach
+    public void setup() {
+        this.repo = Mockito.mock(OperationRepository.class);
+        this.service = new OperationService(repo, new SimpleMeterRegistry(), 1, 1, Duration.ofHours(1), Duration.ofMinutes(1), false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void givenWork_whenSubmit_thenSucceededAndWritten() throws Exception {
+        AsyncOperation operation = service.submit(AsyncOperation.Type.CREATE_ORGANIZATION, "test", user("owner"), op -> 1L);
+
+        AsyncOperationDTO dto = await(operation);
+        assertEquals(AsyncOperation.State.SUCCEEDED, dto.state());
+        assertEquals(1L, dto.resourceId());
+        assertNotNull(dto.durationMillis());
+        InOrder inOrder = Mockito.inOrder(repo);
+        inOrder.verify(repo).insert(eq(operation.getId()), eq(AsyncOperation.Type.CREATE_ORGANIZATION.ordinal()), eq("test"), eq("owner"),
+                eq(AsyncOperation.State.PENDING.ordinal()), any());
+        inOrder.verify(repo, timeout(5000)).finish(eq(operation.getId()), eq(AsyncOperation.State.SUCCEEDED.ordinal()), eq(1L), isNull(), eq(0), eq(0), any());
+    }
+
+    @Test
+    void givenFailingClient_whenSubmit_thenFailedWithStepsWritten() throws Exception {
+        ClientFanOut fanOut = new ClientFanOut(new SimpleMeterRegistry(), 2, 10, false, Duration.ofMinutes(1), Map.of());
+        AbstractServiceRestClient client = Mockito.mock(AbstractServiceRestClient.class);
+        willThrow(new IllegalStateException("unavailable")).given(client).createOrganizationContext(null);
+
+        AsyncOperation operation = service.submit(AsyncOperation.Type.CREATE_ORGANIZATION, "test", user("owner"), op -> {
+            fanOut.invokeAll("create organization context", List.of(client), c -> c.createOrganizationContext(null));
+            return 1L;
+        });
+
+        AsyncOperationDTO dto = await(operation);
+        assertEquals(AsyncOperation.State.FAILED, dto.state());
+        assertEquals(new OrganizationmanagerException(DOWNSTREAM_ERROR, "unavailable").getMessage(), dto.error());
+        assertNull(dto.resourceId());
+        assertEquals(1, dto.steps().size());
+        assertFalse(dto.steps().get(0).success());
+        assertEquals("unavailable", dto.steps().get(0).message());
+        // the steps are written before the operation is finished
+        InOrder inOrder = Mockito.inOrder(repo);
+        inOrder.verify(repo, timeout(5000)).insertStep(eq(operation.getId()), eq(0), eq("create organization context"), any(), eq(false),
+                eq("unavailable"), anyLong());
+        inOrder.verify(repo).finish(eq(operation.getId()), eq(AsyncOperation.State.FAILED.ordinal()), isNull(), eq(dto.error()), eq(0), eq(0), any());
+    }
+
+    @Test
+    void givenOtherUser_whenGetOperation_thenNotFound() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncOperation operation = service.submit(AsyncOperation.Type.DELETE_ORGANIZATION, "test", user("owner"), op -> {
+            release.await();
+            return null;
+        });
+
+        assertThrows(OrganizationmanagerException.class, () -> service.getOperation(operation.getId(), user("other")));
+        AuthenticationModel superuser = user("admin");
+        superuser.setSuperuser(true);
+        assertEquals(operation.getId(), service.getOperation(operation.getId(), superuser).id());
+        release.countDown();
+        await(operation);
+    }
+
+    @Test
+    void givenOperationOfOtherInstance_whenGetOperation_thenReadFromDatabase() throws Exception {
+        AsyncOperationDTO dto = new AsyncOperation(AsyncOperation.Type.CREATE_SPACE, "test", "owner").toDTO();
+        StoredOperation stored = stored("other-instance", AsyncOperation.State.SUCCEEDED, Instant.now());
+        given(stored.toDTO(false)).willReturn(dto);
+
+        assertSame(dto, service.getOperation("other-instance", user("owner")));
+        assertThrows(OrganizationmanagerException.class, () -> service.getOperation("other-instance", user("other")));
+        assertThrows(OrganizationmanagerException.class, () -> service.getOperation("unknown", user("owner")));
+    }
+
+    @Test
+    void givenOperationNotRefreshed_whenGetOperation_thenInterrupted() throws Exception {
+        AsyncOperationDTO dto = new AsyncOperation(AsyncOperation.Type.CREATE_SPACE, "test", "owner").toDTO();
+        StoredOperation stored = stored("dead-instance", AsyncOperation.State.RUNNING, Instant.now().minus(Duration.ofMinutes(5)));
+        given(stored.toDTO(true)).willReturn(dto);
+
+        assertSame(dto, service.getOperation("dead-instance", user("owner")));
+    }
+
+    @Test
+    void givenRunningOperations_whenFlush_thenChangesWrittenAndOthersRefreshed() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncOperation running = service.submit(AsyncOperation.Type.DELETE_ORGANIZATION, "running", user("owner"), op -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        AsyncOperation queued = service.submit(AsyncOperation.Type.CREATE_SPACE, "queued", user("owner"), op -> null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        running.progress(3, 10);
+        running.addStep("delete space context", "StoragemanagerServiceRestClient", true, null, 12);
+
+        service.flush();
+
+        verify(repo).insertStep(running.getId(), 0, "delete space context", "StoragemanagerServiceRestClient", true, null, 12);
+        verify(repo).update(eq(running.getId()), eq(AsyncOperation.State.RUNNING.ordinal()), any(), eq(3), eq(10), any());
+        verify(repo).touch(eq(List.of(queued.getId())), any());
+        release.countDown();
+        await(running);
+        await(queued);
+    }
+
+    @Test
+    void givenFullQueue_whenSubmit_thenRejectedAndWrittenAsFailed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncOperation running = service.submit(AsyncOperation.Type.CREATE_SPACE, "running", user("owner"), op -> {
+            release.await();
+            return null;
+        });
+        service.submit(AsyncOperation.Type.CREATE_SPACE, "queued", user("owner"), op -> null);
+
+        OrganizationmanagerException e = assertThrows(OrganizationmanagerException.class,
+                () -> service.submit(AsyncOperation.Type.CREATE_SPACE, "rejected", user("owner"), op -> null));
+        assertEquals(503, e.getHttpStatus().value());
+        verify(repo).finish(any(), eq(AsyncOperation.State.FAILED.ordinal()), isNull(), eq(e.getMessage()), eq(0), eq(0), any());
+        release.countDown();
+        await(running);
+    }
+
+    @Test
+    void givenRetention_whenCleanup_thenOlderOperationsDeleted() {
+        Instant before = Instant.now().minus(Duration.ofHours(1));
+
+        service.cleanup();
+
+        ArgumentCaptor<Instant> captor = ArgumentCaptor.forClass(Instant.class);
+        verify(repo).deleteModifiedBefore(captor.capture());
+        assertFalse(captor.getValue().isBefore(before));
+    }
+
+    private StoredOperation stored(String id, AsyncOperation.State state, Instant modified) {
+        StoredOperation stored = Mockito.mock(StoredOperation.class);
+        given(stored.getOwner()).willReturn("owner");
+        given(stored.getState()).willReturn(state);
+        given(stored.getModified()).willReturn(modified);
+        given(repo.findWithStepsById(id)).willReturn(Optional.of(stored));
+        return stored;
+    }
+
+    private static AuthenticationModel user(String subject) {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(subject);
+        return authModel;
+    }
+
+    private static AsyncOperationDTO await(AsyncOperation operation) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!operation.getState().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return operation.toDTO();
+    }
+}
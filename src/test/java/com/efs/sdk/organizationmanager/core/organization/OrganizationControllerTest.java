@@ -20,9 +20,13 @@ import com.efs.sdk.common.domain.dto.OrganizationReadDTO;
 import com.efs.sdk.common.domain.dto.OrganizationUpdateDTO;
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.OrganizationManagerService;
+import com.efs.sdk.organizationmanager.core.cache.ListingCache;
+import com.efs.sdk.organizationmanager.core.operation.model.AsyncOperation;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.organization.model.OrganizationView;
 import com.efs.sdk.organizationmanager.helper.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,7 +38,6 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
 import java.util.List;
 
 import static com.efs.sdk.common.domain.model.Confidentiality.PUBLIC;
@@ -46,6 +49,8 @@ import static org.mockito.BDDMockito.given;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrganizationController.class)
@@ -69,6 +74,13 @@ class OrganizationControllerTest {
     private OrganizationManagerService orgaManagerService;
     @MockBean
     private OrganizationService service;
+    @MockBean
+    private ListingCache listingCache;
+
+    @BeforeEach
+    void setup() throws Exception {
+        given(listingCache.get(any(), any(), any(), any())).willAnswer(invocation -> invocation.getArgument(3, ListingCache.Loader.class).load());
+    }
 
     @Test
     void givenAuthentication_whenGetAllOrganizations_thenOk() throws Exception {
@@ -82,17 +94,44 @@ class OrganizationControllerTest {
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", organization.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", organization.getName(), "something", "trustee"))});
 
-        List<Organization> orgas = Collections.singletonList(organization);
-        given(service.getAllOrganizations(any(), any(), any())).willReturn(orgas);
+        List<OrganizationView> orgas = List.of(view(organization));
+        given(service.getOrganizationsByAuthorities(any(), any())).willReturn(orgas);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         OrganizationReadDTO orgaDTO = modelMapper.map(organization, OrganizationReadDTO.class);
-        given(converter.convertToDTO(any(Organization.class), eq(OrganizationReadDTO.class))).willReturn(orgaDTO);
+        given(converter.convertToDTO(any(OrganizationView.class))).willReturn(orgaDTO);
         given(authHelper.getAuthenticationModel(any())).willReturn(authModel);
 
         mvc.perform(get(ENDPOINT).with(jwt())).andExpect(status().isOk());
     }
 
+    @Test
+    void givenOwnedOrganization_whenGetAllOrganizations_thenListedInDatabaseOrder() throws Exception {
+        Organization accessible = new Organization();
+        accessible.setName("beta");
+        accessible.setId(1L);
+        Organization owned = new Organization();
+        owned.setName("Beta");
+        owned.setId(2L);
+
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", accessible.getName()))});
+        given(authHelper.getAuthenticationModel(any())).willReturn(authModel);
+        given(service.getOrganizationsByAuthorities(any(), any())).willReturn(List.of(view(accessible)));
+        given(service.getOwnedOrganizations(any(), any())).willReturn(List.of(view(owned)));
+        // the order of the database (collation) - not the one of String.compareTo
+        given(service.getOrganizationPage(any(), any(), eq(Keyset.Cursor.FIRST), eq(Integer.MAX_VALUE))).willReturn(List.of(view(accessible), view(owned)));
+        given(converter.convertToDTO(any(OrganizationView.class))).willAnswer(invocation -> {
+            OrganizationReadDTO dto = new OrganizationReadDTO();
+            dto.setName(invocation.getArgument(0, OrganizationView.class).name());
+            return dto;
+        });
+
+        mvc.perform(get(ENDPOINT).with(jwt())).andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("beta"))
+                .andExpect(jsonPath("$[1].name").value("Beta"));
+    }
+
     @Test
     void givenAuthentication_whenUpdateOrganization_thenOk() throws Exception {
         OrganizationUpdateDTO dto = new OrganizationUpdateDTO();
@@ -121,18 +160,18 @@ class OrganizationControllerTest {
         Organization orga2 = new Organization();
         orga2.setName("test2");
 
-        List<Organization> orgas = List.of(orga1, orga2);
+        List<OrganizationView> orgas = List.of(view(orga1), view(orga2));
         AuthenticationModel authModel = new AuthenticationModel();
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga1.getName())),
                 new AuthEntityOrganization(format("org_%s_access", orga2.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga1.getName(), "something", "trustee")),
                 new AuthEntitySpace(format("%s_%s_%s", orga2.getName(), "something", "trustee"))});
-        given(service.getAllOrganizations(any(), any(), any())).willReturn(orgas);
+        given(service.getOrganizationsByAuthorities(any(), any())).willReturn(orgas);
         given(authHelper.getAuthenticationModel(any())).willReturn(authModel);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
         OrganizationReadDTO orgaDTO = new OrganizationReadDTO();
         orgaDTO.setName(orga1.getName());
-        given(converter.convertToDTO(any(Organization.class), eq(OrganizationReadDTO.class))).willReturn(orgaDTO);
+        given(converter.convertToDTO(any(OrganizationView.class))).willReturn(orgaDTO);
 
         mvc.perform(get(ENDPOINT).param("permissions", AuthConfiguration.DELETE.name()).with(jwt())).andExpect(status().isOk());
     }
@@ -162,7 +201,7 @@ class OrganizationControllerTest {
     @Test
     void givenException_whenGetAllOrganizations_thenError() throws Exception {
         IllegalArgumentException except = new IllegalArgumentException("anything");
-        given(service.getAllOrganizations(any(), any(), any())).willThrow(except);
+        given(service.getOrganizationsByAuthorities(any(), any())).willThrow(except);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         mvc.perform(get(ENDPOINT).with(jwt())).andExpect(status().is5xxServerError());
@@ -189,7 +228,7 @@ class OrganizationControllerTest {
     @Test
     void givenException_whenListOrganizationsByPermission_thenError() throws Exception {
         IllegalArgumentException except = new IllegalArgumentException("anything");
-        given(service.getAllOrganizations(any(), any(), any())).willThrow(except);
+        given(service.getOrganizationsByAuthorities(any(), any())).willThrow(except);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         mvc.perform(get(ENDPOINT).param("permissions", AuthConfiguration.READ.name()).with(jwt())).andExpect(status().is5xxServerError());
@@ -360,17 +399,17 @@ class OrganizationControllerTest {
         Organization orga2 = new Organization();
         orga2.setName("test2");
 
-        List<Organization> orgas = List.of(orga1, orga2);
+        List<OrganizationView> orgas = List.of(view(orga1), view(orga2));
         AuthenticationModel authModel = new AuthenticationModel();
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga1.getName())),
                 new AuthEntityOrganization(format("org_%s_access", orga2.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga1.getName(), "something", "user")), new AuthEntitySpace(format(
                 "%s_%s_%s", orga2.getName(), "something", "user"))});
-        given(service.getAllOrganizations(any(), any(), any())).willReturn(orgas);
+        given(service.getOrganizationsByAuthorities(any(), any())).willReturn(orgas);
         given(authHelper.getAuthenticationModel(any())).willReturn(authModel);
 
         OrganizationReadDTO orgaDTO = modelMapper.map(orga1, OrganizationReadDTO.class);
-        given(converter.convertToDTO(any(Organization.class), eq(OrganizationReadDTO.class))).willReturn(orgaDTO);
+        given(converter.convertToDTO(any(OrganizationView.class))).willReturn(orgaDTO);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         mvc.perform(get(ENDPOINT).param("permissions", AuthConfiguration.READ.name()).with(jwt())).andExpect(status().isOk());
@@ -413,17 +452,17 @@ class OrganizationControllerTest {
         Organization orga2 = new Organization();
         orga2.setName("test2");
 
-        List<Organization> orgas = List.of(orga1, orga2);
+        List<OrganizationView> orgas = List.of(view(orga1), view(orga2));
         AuthenticationModel authModel = new AuthenticationModel();
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga1.getName())),
                 new AuthEntityOrganization(format("org_%s_access", orga2.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga1.getName(), "something", "supplier")),
                 new AuthEntitySpace(format("%s_%s_%s", orga2.getName(), "something", "supplier"))});
-        given(service.getAllOrganizations(any(), any(), any())).willReturn(orgas);
+        given(service.getOrganizationsByAuthorities(any(), any())).willReturn(orgas);
         given(authHelper.getAuthenticationModel(any())).willReturn(authModel);
 
         OrganizationReadDTO orgaDTO = modelMapper.map(orga1, OrganizationReadDTO.class);
-        given(converter.convertToDTO(any(Organization.class), eq(OrganizationReadDTO.class))).willReturn(orgaDTO);
+        given(converter.convertToDTO(any(OrganizationView.class))).willReturn(orgaDTO);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         mvc.perform(get(ENDPOINT).param("permissions", AuthConfiguration.WRITE.name()).with(jwt())).andExpect(status().isOk());
@@ -440,4 +479,37 @@ class OrganizationControllerTest {
                         .content(new ObjectMapper().writeValueAsString(organization)))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    void givenPreferAsync_whenCreateOrganization_thenAccepted() throws Exception {
+        OrganizationCreateDTO dto = new OrganizationCreateDTO();
+        dto.setName("test");
+
+        AsyncOperation operation = new AsyncOperation(AsyncOperation.Type.CREATE_ORGANIZATION, dto.getName(), "owner");
+        given(orgaManagerService.createOrganizationAsync(any(), any())).willReturn(operation);
+
+        mvc.perform(post(ENDPOINT)
+                        .with(jwt())
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", org.hamcrest.Matchers.endsWith("/api/v2.0/operations/" + operation.getId())))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+    }
+
+    @Test
+    void givenPreferAsync_whenDeleteOrganization_thenAccepted() throws Exception {
+        AsyncOperation operation = new AsyncOperation(AsyncOperation.Type.DELETE_ORGANIZATION, "test", "owner");
+        given(orgaManagerService.deleteOrganizationAsync(eq("test"), any())).willReturn(operation);
+
+        mvc.perform(delete(ENDPOINT + "/test").with(jwt()).header("Prefer", "respond-async"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(operation.getId()));
+    }
+
+    private static OrganizationView view(Organization orga) {
+        return new OrganizationView(orga.getId(), orga.getName(), orga.getDescription(), orga.getConfidentiality(), orga.getCompany(), orga.getDisplayName(),
+                orga.getState(), orga.getOwners(), orga.getCreated(), orga.getModified());
+    }
 }
@@ -0,0 +1,95 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.organization;
+
+import com.efs.sdk.organizationmanager.core.model.AppConfiguration;
+import com.efs.sdk.organizationmanager.core.model.Tag;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+class OrganizationRepositoryTest {
+
+    private static final int ORGANIZATIONS = 20;
+
+    @Autowired
+    private OrganizationRepository repo;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        IntStream.range(0, ORGANIZATIONS).forEach(i -> entityManager.persist(organization("orga" + i)));
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void givenOrganizations_whenFindAll_thenCollectionsLoadedInBatches() {
+        List<Organization> organizations = repo.findAll();
+
+        assertEquals(ORGANIZATIONS * 4, loadCollections(organizations));
+        // one query for the organizations (including their owners) and one per collection - regardless of the number of organizations
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenOrganizations_whenFindByNameIn_thenCollectionsLoadedInBatches() {
+        List<Organization> organizations = repo.findByNameIn(List.of("orga1", "orga2", "orga3"));
+
+        assertEquals(3 * 4, loadCollections(organizations));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private static int loadCollections(List<Organization> organizations) {
+        return organizations.stream().mapToInt(orga -> orga.getTags().size() + orga.getOwners().size() + orga.getAppConfigs().size()).sum();
+    }
+
+    private static Organization organization(String name) {
+        Organization orga = new Organization();
+        orga.setName(name);
+        Tag tag = new Tag();
+        tag.setName("tag");
+        orga.addTag(tag);
+        orga.addOwner("owner");
+        orga.addOwner("other-owner");
+        AppConfiguration appConfig = new AppConfiguration();
+        appConfig.setDisplayName(name);
+        appConfig.setPath("/" + name);
+        orga.addAppConfig(appConfig);
+        return orga;
+    }
+}
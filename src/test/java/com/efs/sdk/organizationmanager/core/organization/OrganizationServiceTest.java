@@ -16,8 +16,9 @@ limitations under the License.
 package com.efs.sdk.organizationmanager.core.organization;
 
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.cache.LookupContext;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
-import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
+import com.efs.sdk.organizationmanager.core.organization.model.OrganizationView;
 import com.efs.sdk.organizationmanager.helper.AuthEntityOrganization;
 import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +32,8 @@ import java.util.Optional;
 
 import static com.efs.sdk.common.domain.model.Confidentiality.INTERNAL;
 import static com.efs.sdk.common.domain.model.Confidentiality.PUBLIC;
+import static com.efs.sdk.common.domain.model.State.OPEN;
+import static com.efs.sdk.organizationmanager.utils.TestUtils.MY_USERNAME;
 import static com.efs.sdk.organizationmanager.utils.TestUtils.assumeAuthToken;
 import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -38,6 +41,8 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 class OrganizationServiceTest {
 
@@ -48,7 +53,7 @@ class OrganizationServiceTest {
     @BeforeEach
     public void setup() {
         this.repo = Mockito.mock(OrganizationRepository.class);
-        this.service = new OrganizationService(repo);
+        this.service = new OrganizationService(repo, new LookupContext());
     }
 
     @Test
@@ -139,12 +144,11 @@ class OrganizationServiceTest {
 
         List<Organization> expected = List.of(orga, orga2);
         given(repo.findByConfidentiality(any())).willReturn(expected);
-        given(repo.findByNameIn(any())).willReturn(Collections.emptyList());
 
         AuthenticationModel authModel = new AuthenticationModel();
         authModel.setOrgaPublicAccess(true);
 
-        List<Organization> actual = service.getAllOrganizations(authModel, new String[0], AuthConfiguration.GET);
+        List<Organization> actual = service.getAllOrganizations(authModel, new String[0]);
         assertThat(actual, hasSize(expected.size()));
     }
 
@@ -157,15 +161,14 @@ class OrganizationServiceTest {
         orga2.setName("test2");
 
         List<Organization> expected = List.of(orga, orga2);
-        given(repo.findByConfidentiality(any())).willReturn(expected);
-        given(repo.findByNameIn(any())).willReturn(List.of(orga, orga2));
+        given(repo.findAccessible(List.of(orga.getName(), orga2.getName()), MY_USERNAME, false, List.of())).willReturn(expected);
 
         AuthenticationModel authModel = new AuthenticationModel();
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga.getName())),
                 new AuthEntityOrganization(format("org_%s_access", orga2.getName()))});
         assumeAuthToken();
 
-        List<Organization> actual = service.getAllOrganizations(authModel, null, AuthConfiguration.GET);
+        List<Organization> actual = service.getAllOrganizations(authModel, null);
         assertThat(actual, hasSize(expected.size()));
     }
 
@@ -387,10 +390,26 @@ class OrganizationServiceTest {
 
         given(repo.findAll()).willReturn(expected);
 
-        List<Organization> actual = service.getAllOrganizations(authModel, new String[0], AuthConfiguration.GET);
+        List<Organization> actual = service.getAllOrganizations(authModel, new String[0]);
         assertThat(actual, hasSize(expected.size()));
     }
 
+    @Test
+    void givenSuperuserAndPermission_whenGetAllOrganizations_thenAll() {
+        Organization orga1 = new Organization();
+        orga1.setId(1L);
+        orga1.setName("test");
+
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSuperuser(true);
+
+        given(repo.findAll()).willReturn(List.of(orga1));
+
+        List<Organization> actual = service.getAllOrganizations(authModel, new String[]{"other"});
+        assertThat(actual, hasSize(1));
+        verify(repo, never()).findByOwners(any());
+    }
+
     @Test
     void givenSuperuser_whenGetOrganization_thenOk() {
         Organization item = new Organization();
@@ -482,10 +501,66 @@ class OrganizationServiceTest {
         authModel.setOrganizations(orgaNames.stream().map(orga -> new AuthEntityOrganization(format("org_%s_access", orga))).toArray(AuthEntityOrganization[]::new));
         assumeAuthToken();
 
-        given(repo.findByNameIn(any())).willReturn(orgas);
-        List<Organization> actualOrgas = service.getAllOrganizations(authModel, orgaNames.toArray(String[]::new), AuthConfiguration.GET);
+        given(repo.findAccessible(orgaNames, MY_USERNAME, false, orgaNames)).willReturn(orgas);
+        List<Organization> actualOrgas = service.getAllOrganizations(authModel, orgaNames.toArray(String[]::new));
         assertThat(actualOrgas, hasSize(orgas.size()));
         assertTrue(actualOrgas.contains(orga1));
         assertTrue(actualOrgas.contains(orga2));
     }
+
+    @Test
+    void givenOrgaRoles_whenGetOrganizationsByAuthorities_thenNoOwnerCheck() {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization("org_test_access")});
+        given(repo.findAccessibleViews(anyBoolean(), anyCollection(), any(), anyBoolean(), anyCollection())).willReturn(List.of(view("test")));
+
+        assertThat(service.getOrganizationsByAuthorities(authModel, null), hasSize(1));
+        verify(repo).findAccessibleViews(eq(false), eq(List.of("test")), isNull(), eq(false), eq(List.of()));
+    }
+
+    @Test
+    void givenSuperuser_whenGetOrganizationsByAuthorities_thenAll() {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSuperuser(true);
+        given(repo.findAccessibleViews(anyBoolean(), anyCollection(), any(), anyBoolean(), anyCollection())).willReturn(List.of(view("test")));
+
+        assertThat(service.getOrganizationsByAuthorities(authModel, null), hasSize(1));
+        verify(repo).findAccessibleViews(eq(true), eq(List.of()), isNull(), eq(false), eq(List.of()));
+    }
+
+    @Test
+    void givenNoOrgaRoles_whenGetOrganizationsByAuthorities_thenOnlyPublic() {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setOrgaPublicAccess(true);
+        given(repo.findAccessibleViews(anyBoolean(), anyCollection(), any(), anyBoolean(), anyCollection())).willReturn(List.of(view("test")));
+
+        assertThat(service.getOrganizationsByAuthorities(authModel, new String[]{"test"}), hasSize(1));
+        verify(repo).findAccessibleViews(eq(false), eq(List.of()), isNull(), eq(true), eq(List.of()));
+    }
+
+    @Test
+    void givenOrgaRoles_whenGetOwnedOrganizations_thenOnlyOwnerCheck() {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(MY_USERNAME);
+        authModel.setOrgaPublicAccess(true);
+        authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization("org_test_access")});
+        given(repo.findAccessibleViews(anyBoolean(), anyCollection(), any(), anyBoolean(), anyCollection())).willReturn(List.of(view("test")));
+
+        assertThat(service.getOwnedOrganizations(authModel, new String[]{"test"}), hasSize(1));
+        verify(repo).findAccessibleViews(eq(false), eq(List.of()), eq(MY_USERNAME), eq(false), eq(List.of("test")));
+    }
+
+    @Test
+    void givenNoOrgaRoles_whenGetOwnedOrganizations_thenEmpty() {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(MY_USERNAME);
+        authModel.setOrgaPublicAccess(true);
+
+        assertThat(service.getOwnedOrganizations(authModel, null), hasSize(0));
+        verify(repo, never()).findAccessibleViews(anyBoolean(), anyCollection(), any(), anyBoolean(), anyCollection());
+    }
+
+    private static OrganizationView view(String name) {
+        return new OrganizationView(1L, name, null, PUBLIC, null, null, OPEN, List.of(MY_USERNAME), null, null);
+    }
 }
@@ -0,0 +1,302 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.provisioning;
+
+import com.efs.sdk.common.domain.model.Capability;
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.auth.UserService;
+import com.efs.sdk.organizationmanager.core.clients.AbstractServiceRestClient;
+import com.efs.sdk.organizationmanager.core.clients.ClientFanOut;
+import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
+import com.efs.sdk.organizationmanager.core.organization.model.Organization;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningPayload;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningStep;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningStep.Action;
+import com.efs.sdk.organizationmanager.core.provisioning.model.ProvisioningStep.State;
+import com.efs.sdk.organizationmanager.core.space.SpaceService;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.helper.RoleHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+class ProvisioningServiceTest {
+
+    private ProvisioningStepRepository repo;
+    private OrganizationService orgaService;
+    private SpaceService spaceService;
+    private UserService userService;
+    private AbstractServiceRestClient client;
+    private ProvisioningService service;
+    private final List<ProvisioningStep> saved = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        this.repo = Mockito.mock(ProvisioningStepRepository.class);
+        this.orgaService = Mockito.mock(OrganizationService.class);
+        this.spaceService = Mockito.mock(SpaceService.class);
+        this.userService = Mockito.mock(UserService.class);
+        this.client = Mockito.mock(AbstractServiceRestClient.class);
+        given(repo.saveAll(anyCollection())).willAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return null;
+        });
+        this.service = service(true);
+    }
+
+    private ProvisioningService service(boolean workerEnabled) {
+        return new ProvisioningService(repo, orgaService, spaceService, userService, List.of(client), new ClientFanOut(new SimpleMeterRegistry(), 2, 10, false, Duration.ofMinutes(1), Map.of()),
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), workerEnabled, Duration.ofMinutes(5), 3, Duration.ofSeconds(30),
+                Duration.ofMinutes(1), 20);
+    }
+
+    @Test
+    void givenOrganization_whenPlan_thenStepPerClientLeased() throws Exception {
+        Organization org = organization();
+
+        ProvisioningService.Plan plan = service.plan(Action.CREATE, org, null);
+
+        assertEquals(1, saved.size());
+        ProvisioningStep step = plan.steps().get(client);
+        assertSame(step, saved.get(0));
+        assertEquals(State.PENDING, step.getState());
+        assertEquals(ProvisioningStep.EntityType.ORGANIZATION, step.getEntityType());
+        assertEquals(org.getId(), step.getOrganizationId());
+        assertNull(step.getSpaceId());
+        // leased to the caller - not picked up by the workers right away
+        assertTrue(step.getNextAttemptAt().isAfter(ZonedDateTime.now().plusMinutes(4)));
+    }
+
+    @Test
+    void givenUninitializedCollections_whenPlan_thenPayloadWithoutThem() throws Exception {
+        // entities of another thread - their lazy collections cannot be initialized without a session
+        Organization org = spy(organization());
+        Space space = spy(space(org));
+        willThrow(new LazyInitializationException("no Session")).given(org).getTags();
+        willThrow(new LazyInitializationException("no Session")).given(org).getAppConfigs();
+        willThrow(new LazyInitializationException("no Session")).given(space).getTags();
+        willThrow(new LazyInitializationException("no Session")).given(space).getAppConfigs();
+
+        ProvisioningStep step = service.planSpaceCreation(org, space, "owner").steps().get(client);
+
+        ProvisioningPayload payload = new ObjectMapper().readValue(step.getPayload(), ProvisioningPayload.class);
+        assertEquals(org.getName(), payload.toOrganization().getName());
+        assertEquals(space.getId(), payload.toSpace().getId());
+        assertEquals(space.getCapabilities(), payload.toSpace().getCapabilities());
+        assertEquals("owner", payload.owner());
+    }
+
+    @Test
+    void givenSuccess_whenExecute_thenDone() throws Exception {
+        Organization org = organization();
+        ProvisioningService.Plan plan = service.plan(Action.CREATE, org, null);
+
+        service.execute("create organization context", plan);
+
+        verify(client).createOrganizationContext(org);
+        ProvisioningStep step = plan.steps().get(client);
+        assertEquals(State.DONE, step.getState());
+        assertEquals(1, step.getAttempts());
+        verify(repo).save(step);
+    }
+
+    @Test
+    void givenFailure_whenExecuteAndCompensate_thenCreationCancelledAndContextDeleted() throws Exception {
+        Organization org = organization();
+        willThrow(new IllegalStateException("unavailable")).given(client).createOrganizationContext(org);
+        ProvisioningService.Plan plan = service.plan(Action.CREATE, org, null);
+
+        assertThrows(OrganizationmanagerException.class, () -> service.execute("create organization context", plan));
+        ProvisioningStep create = plan.steps().get(client);
+        assertEquals(State.PENDING, create.getState());
+        assertEquals("unavailable", create.getLastError());
+
+        service.compensate("delete organization context", plan);
+
+        assertEquals(State.CANCELLED, create.getState());
+        verify(client).deleteOrganizationContextImpl(org);
+        ProvisioningStep delete = saved.get(1);
+        assertEquals(Action.DELETE, delete.getAction());
+        assertEquals(State.DONE, delete.getState());
+    }
+
+    @Test
+    void givenInterruptedStep_whenResume_thenExecuted() throws Exception {
+        Organization org = organization();
+        Space space = space(org);
+        ProvisioningStep step = service.plan(Action.CREATE, org, space).steps().get(client);
+        given(repo.claimDue(anyString(), any(), any(), eq(20))).willReturn(1);
+        given(repo.findByClaimedBy(anyString())).willReturn(List.of(step));
+        given(spaceService.existsSpaceEntity(space.getId())).willReturn(true);
+
+        service.resume();
+
+        ArgumentCaptor<Space> captor = ArgumentCaptor.forClass(Space.class);
+        verify(client).createSpaceContext(any(Organization.class), captor.capture());
+        assertEquals(space.getName(), captor.getValue().getName());
+        assertEquals(space.getCapabilities(), captor.getValue().getCapabilities());
+        assertEquals(State.DONE, step.getState());
+    }
+
+    @Test
+    void givenDeletedEntity_whenResume_thenCancelled() throws Exception {
+        Organization org = organization();
+        ProvisioningStep step = service.plan(Action.CREATE, org, null).steps().get(client);
+        given(repo.claimDue(anyString(), any(), any(), anyInt())).willReturn(1);
+        given(repo.findByClaimedBy(anyString())).willReturn(List.of(step));
+
+        service.resume();
+
+        assertEquals(State.CANCELLED, step.getState());
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void givenLastAttemptFails_whenResume_thenCompensated() throws Exception {
+        Organization org = organization();
+        Space space = space(org);
+        ProvisioningStep step = service.plan(Action.CREATE, org, space).steps().get(client);
+        step.setAttempts(2);
+        willThrow(new IllegalStateException("unavailable")).given(client).createSpaceContext(any(), any());
+        given(repo.claimDue(anyString(), any(), any(), anyInt())).willReturn(1);
+        given(repo.findByClaimedBy(anyString())).willReturn(List.of(step));
+        given(spaceService.existsSpaceEntity(space.getId())).willReturn(true);
+
+        service.resume();
+
+        assertEquals(State.FAILED, step.getState());
+        ProvisioningStep delete = saved.get(saved.size() - 1);
+        assertEquals(Action.DELETE, delete.getAction());
+        assertEquals(State.PENDING, delete.getState());
+        assertFalse(delete.getNextAttemptAt().isAfter(ZonedDateTime.now()));
+        verify(spaceService).deleteSpaceEntity(argThat(s -> s.getId() == space.getId()));
+    }
+
+    @Test
+    void givenSpaceCreation_whenAssignOwnerRoles_thenStepDone() throws Exception {
+        Organization org = organization();
+        Space space = space(org);
+
+        ProvisioningService.Plan plan = service.planSpaceCreation(org, space, "owner");
+        ProvisioningStep ownerRoles = plan.ownerRoles();
+        // planned (and leased) together with the contexts
+        assertEquals(2, saved.size());
+        assertSame(ownerRoles, saved.get(1));
+        assertEquals(Action.ASSIGN_OWNER_ROLES, ownerRoles.getAction());
+        assertTrue(ownerRoles.getNextAttemptAt().isAfter(ZonedDateTime.now().plusMinutes(4)));
+
+        service.execute("create space context", plan);
+        service.assignOwnerRoles(plan);
+
+        verify(userService).setUserRoles(org, space, List.of(RoleHelper.SpaceScopeRole.values()), "owner");
+        assertEquals(State.DONE, ownerRoles.getState());
+    }
+
+    @Test
+    void givenFailure_whenCompensateSpaceCreation_thenOwnerRolesCancelled() throws Exception {
+        Organization org = organization();
+        Space space = space(org);
+        ProvisioningService.Plan plan = service.planSpaceCreation(org, space, "owner");
+
+        service.compensate("delete space context", plan);
+
+        assertEquals(State.CANCELLED, plan.ownerRoles().getState());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void givenPendingCreation_whenResumeOwnerRoles_thenPostponed() throws Exception {
+        Organization org = organization();
+        Space space = space(org);
+        ProvisioningService.Plan plan = service.planSpaceCreation(org, space, "owner");
+        ProvisioningStep ownerRoles = plan.ownerRoles();
+        given(repo.claimDue(anyString(), any(), any(), anyInt())).willReturn(1);
+        given(repo.findByClaimedBy(anyString())).willReturn(List.of(ownerRoles));
+        given(spaceService.existsSpaceEntity(space.getId())).willReturn(true);
+        given(repo.findByEntityTypeAndOrganizationIdAndSpaceIdAndActionAndState(ProvisioningStep.EntityType.SPACE, org.getId(), space.getId(),
+                Action.CREATE, State.PENDING)).willReturn(List.of(plan.steps().get(client)));
+
+        service.resume();
+
+        verifyNoInteractions(userService);
+        assertEquals(State.PENDING, ownerRoles.getState());
+        assertEquals(0, ownerRoles.getAttempts());
+        assertNull(ownerRoles.getClaimedBy());
+    }
+
+    @Test
+    void givenContextsCreated_whenResumeOwnerRoles_thenAssigned() throws Exception {
+        Organization org = organization();
+        Space space = space(org);
+        ProvisioningStep ownerRoles = service.planSpaceCreation(org, space, "owner").ownerRoles();
+        given(repo.claimDue(anyString(), any(), any(), anyInt())).willReturn(1);
+        given(repo.findByClaimedBy(anyString())).willReturn(List.of(ownerRoles));
+        given(spaceService.existsSpaceEntity(space.getId())).willReturn(true);
+
+        service.resume();
+
+        verify(userService).setUserRoles(any(Organization.class), argThat(s -> s.getId() == space.getId()), eq(List.of(RoleHelper.SpaceScopeRole.values())),
+                eq("owner"));
+        assertEquals(State.DONE, ownerRoles.getState());
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void givenWorkerDisabled_whenResume_thenNothingClaimed() {
+        service(false).resume();
+
+        verify(repo, never()).claimDue(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void givenAttempts_whenBackoff_thenExponentialAndCapped() {
+        assertEquals(Duration.ofSeconds(30), service.backoff(1));
+        assertEquals(Duration.ofSeconds(60), service.backoff(2));
+        assertEquals(Duration.ofMinutes(1), service.backoff(10));
+    }
+
+    private static Organization organization() {
+        Organization org = new Organization();
+        org.setId(1L);
+        org.setName("test");
+        return org;
+    }
+
+    private static Space space(Organization org) {
+        Space space = new Space();
+        space.setId(2L);
+        space.setName("space");
+        space.setOrganizationId(org.getId());
+        space.setCapabilities(List.of(Capability.STORAGE));
+        return space;
+    }
+}
@@ -24,6 +24,7 @@ import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
 import com.efs.sdk.organizationmanager.core.OrganizationManagerService;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceView;
 import com.efs.sdk.organizationmanager.helper.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -214,7 +215,7 @@ class SpaceControllerTest {
     void givenOrganizationmanagerException_whenGetSpaces_thenError() throws Exception {
 
         OrganizationmanagerException except = new OrganizationmanagerException(SAVE_PROVIDE_ID);
-        given(service.getSpaces(any(), anyLong(), any())).willThrow(except);
+        given(service.getSpaceViews(any(), anyLong(), any())).willThrow(except);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         mvc.perform(get(ENDPOINT + "/1").with(jwt())).andExpect(status().is4xxClientError());
@@ -224,7 +225,7 @@ class SpaceControllerTest {
     void givenException_whenGetSpaces_thenError() throws Exception {
 
         IllegalArgumentException except = new IllegalArgumentException("anything");
-        given(service.getSpaces(any(), anyLong(), any())).willThrow(except);
+        given(service.getSpaceViews(any(), anyLong(), any())).willThrow(except);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         mvc.perform(get(ENDPOINT + "/1").with(jwt())).andExpect(status().is5xxServerError());
@@ -232,10 +233,10 @@ class SpaceControllerTest {
 
     @Test
     void givenAuthentication_whenGetSpaces_thenOk() throws Exception {
-        List<Space> spaces = List.of(new Space());
-        given(service.getSpaces(any(), anyLong(), any())).willReturn(spaces);
+        List<SpaceView> spaces = List.of(view(new Space()));
+        given(service.getSpaceViews(any(), anyLong(), any())).willReturn(spaces);
         SpaceReadDTO spaceDTO = new SpaceReadDTO();
-        given(converter.convertToDTO(any(Space.class), eq(SpaceReadDTO.class))).willReturn(spaceDTO);
+        given(converter.convertToDTO(any(SpaceView.class))).willReturn(spaceDTO);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
         mvc.perform(get(ENDPOINT + "/1").with(jwt())).andExpect(status().isOk());
     }
@@ -320,7 +321,7 @@ class SpaceControllerTest {
     @Test
     void givenException_whenListSpacesByPermission_thenError() throws Exception {
         IllegalArgumentException except = new IllegalArgumentException("anything");
-        given(service.getSpaces(any(), anyLong(), any())).willThrow(except);
+        given(service.getSpaceViews(any(), anyLong(), any())).willThrow(except);
 
         mvc.perform(get(ENDPOINT + "/1").param("permissions", AuthConfiguration.READ.name()).with(jwt())).andExpect(status().is5xxServerError());
     }
@@ -340,10 +341,10 @@ class SpaceControllerTest {
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga.getName(), spc.getName(),
                 RoleHelper.SpaceScopeRole.USER.name()).toLowerCase(Locale.getDefault()))});
-        given(service.getSpaces(any(), anyLong(), any())).willReturn(List.of(spc));
+        given(service.getSpaceViews(any(), anyLong(), any())).willReturn(List.of(view(spc)));
 
         SpaceReadDTO spaceDTO = modelMapper.map(spc, SpaceReadDTO.class);
-        given(converter.convertToDTO(any(Space.class), eq(SpaceReadDTO.class))).willReturn(spaceDTO);
+        given(converter.convertToDTO(any(SpaceView.class))).willReturn(spaceDTO);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         mvc.perform(get(ENDPOINT + "/1").param("permissions", AuthConfiguration.READ.name()).with(jwt())).andExpect(status().isOk()).andExpect(jsonPath("$",
@@ -364,10 +365,10 @@ class SpaceControllerTest {
         AuthenticationModel authModel = new AuthenticationModel();
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga.getName(), spc.getName(), "supplier"))});
-        given(service.getSpaces(any(), anyLong(), any())).willReturn(List.of(spc));
+        given(service.getSpaceViews(any(), anyLong(), any())).willReturn(List.of(view(spc)));
 
         SpaceReadDTO spaceDTO = modelMapper.map(spc, SpaceReadDTO.class);
-        given(converter.convertToDTO(any(Space.class), eq(SpaceReadDTO.class))).willReturn(spaceDTO);
+        given(converter.convertToDTO(any(SpaceView.class))).willReturn(spaceDTO);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         mvc.perform(get(ENDPOINT + "/1").param("permissions", AuthConfiguration.WRITE.name()).with(jwt())).andExpect(status().isOk()).andExpect(jsonPath("$",
@@ -388,10 +389,10 @@ class SpaceControllerTest {
         AuthenticationModel authModel = new AuthenticationModel();
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga.getName(), spc.getName(), "trustee"))});
-        given(service.getSpaces(any(), anyLong(), any())).willReturn(List.of(spc));
+        given(service.getSpaceViews(any(), anyLong(), any())).willReturn(List.of(view(spc)));
 
         SpaceReadDTO spaceDTO = modelMapper.map(spc, SpaceReadDTO.class);
-        given(converter.convertToDTO(any(Space.class), eq(SpaceReadDTO.class))).willReturn(spaceDTO);
+        given(converter.convertToDTO(any(SpaceView.class))).willReturn(spaceDTO);
         given(orgaManagerService.getUserName(anyString())).willReturn("some user");
 
         mvc.perform(get(ENDPOINT + "/1").param("permissions", AuthConfiguration.DELETE.name()).with(jwt())).andExpect(status().isOk()).andExpect(jsonPath("$"
@@ -455,4 +456,9 @@ class SpaceControllerTest {
         mvc.perform(delete(ENDPOINT + "/1/1").with(jwt())).andExpect(status().is2xxSuccessful());
     }
 
+    private static SpaceView view(Space spc) {
+        return new SpaceView(spc.getId(), spc.getName(), spc.getDescription(), spc.getConfidentiality(), spc.getCapabilities(), spc.getDisplayName(),
+                spc.getState(), spc.getDefaultRetentionTime(), spc.getIdentifier(), spc.isGdprRelevant(), spc.getOwners(), spc.getCreated(),
+                spc.getOrganizationId());
+    }
 }
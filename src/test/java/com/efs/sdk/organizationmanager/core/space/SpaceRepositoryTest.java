@@ -0,0 +1,135 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.space;
+
+import com.efs.sdk.common.domain.model.Capability;
+import com.efs.sdk.organizationmanager.core.model.AppConfiguration;
+import com.efs.sdk.organizationmanager.core.model.Tag;
+import com.efs.sdk.organizationmanager.core.space.model.Space;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+class SpaceRepositoryTest {
+
+    private static final long ORGA_ID = 1L;
+    private static final int SPACES = 20;
+
+    @Autowired
+    private SpaceRepository repo;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        IntStream.range(0, SPACES).forEach(i -> entityManager.persist(space("space-" + i)));
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void givenSpaces_whenFindByOrganizationId_thenCollectionsLoadedInBatches() {
+        List<Space> spaces = repo.findByOrganizationId(ORGA_ID);
+
+        assertEquals(SPACES * 5, loadCollections(spaces));
+        // one query for the spaces (including owners and capabilities) and one per collection - regardless of the number of spaces
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenSpaces_whenFindByOrganizationIdAndNameIn_thenCollectionsLoadedInBatches() {
+        List<Space> spaces = repo.findByOrganizationIdAndNameIn(ORGA_ID, List.of("space-1", "space-2", "space-3"));
+
+        assertEquals(3 * 5, loadCollections(spaces));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenSpaces_whenFindAll_thenCollectionsLoadedInBatches() {
+        List<Space> spaces = repo.findAll();
+
+        assertEquals(SPACES * 5, loadCollections(spaces));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenSpace_whenOwnersAndCapabilitiesChanged_thenSingleRowRead() {
+        Space space = repo.findByOrganizationIdAndName(ORGA_ID, "space-1").orElseThrow();
+        space.addOwner("new-owner");
+        space.addCapability(Capability.METADATA);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Space read = repo.findById(space.getId()).orElseThrow();
+
+        assertEquals(List.of("owner", "other-owner", "new-owner"), read.getOwners());
+        assertEquals(List.of(Capability.STORAGE, Capability.METADATA), read.getCapabilities());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenSpace_whenCapabilityRemoved_thenStored() {
+        Space space = repo.findByOrganizationIdAndName(ORGA_ID, "space-1").orElseThrow();
+        space.removeCapability(Capability.STORAGE);
+        space.removeCapability(Capability.METADATA);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(), repo.findById(space.getId()).orElseThrow().getCapabilities());
+    }
+
+    private static int loadCollections(List<Space> spaces) {
+        return spaces.stream().mapToInt(space -> space.getTags().size() + space.getCapabilities().size() + space.getOwners().size()
+                + space.getAppConfigs().size()).sum();
+    }
+
+    private static Space space(String name) {
+        Space space = new Space();
+        space.setName(name);
+        space.setOrganizationId(ORGA_ID);
+        Tag tag = new Tag();
+        tag.setName("tag");
+        space.addTag(tag);
+        space.addCapability(Capability.STORAGE);
+        space.addOwner("owner");
+        space.addOwner("other-owner");
+        AppConfiguration appConfig = new AppConfiguration();
+        appConfig.setDisplayName(name);
+        appConfig.setPath("/" + name);
+        space.addAppConfig(appConfig);
+        return space;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.space;
+
+import com.efs.sdk.organizationmanager.core.space.model.SpaceRole;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+class SpaceRoleRepositoryTest {
+
+    @Autowired
+    private SpaceRoleRepository repo;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void givenNewRoles_whenSaveAll_thenInsertedWithoutReading() {
+        List<SpaceRole> roles = List.of(new SpaceRole("orga_space_user", 1L, 1L), new SpaceRole("orga_space_supplier", 1L, 1L),
+                new SpaceRole("orga_space_trustee", 1L, 1L));
+
+        repo.saveAll(roles);
+        entityManager.flush();
+
+        // merging would read every role before inserting it
+        assertTrue(statistics.getPrepareStatementCount() <= roles.size());
+        assertEquals(3, statistics.getEntityInsertCount());
+        roles.forEach(role -> assertFalse(role.isNew()));
+    }
+
+    @Test
+    void givenLoadedRole_whenIsNew_thenFalse() {
+        entityManager.persistAndFlush(new SpaceRole("orga_space_user", 1L, 1L));
+        entityManager.clear();
+
+        assertFalse(repo.findById("orga_space_user").orElseThrow().isNew());
+    }
+}
@@ -17,17 +17,27 @@ package com.efs.sdk.organizationmanager.core.space;
 
 import com.efs.sdk.common.domain.model.State;
 import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.core.bulk.BulkExecutor;
+import com.efs.sdk.organizationmanager.core.cache.LookupContext;
 import com.efs.sdk.organizationmanager.core.organization.OrganizationService;
 import com.efs.sdk.organizationmanager.core.organization.model.Organization;
 import com.efs.sdk.organizationmanager.core.space.model.Space;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceRole;
+import com.efs.sdk.organizationmanager.core.space.model.SpaceView;
+import com.efs.sdk.organizationmanager.helper.AuthConfiguration;
 import com.efs.sdk.organizationmanager.helper.AuthEntityOrganization;
 import com.efs.sdk.organizationmanager.helper.AuthEntitySpace;
 import com.efs.sdk.organizationmanager.helper.AuthenticationModel;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
+import com.efs.sdk.organizationmanager.helper.RoleHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.beans.PropertyChangeEvent;
 import java.time.ZonedDateTime;
@@ -35,6 +45,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.StreamSupport;
 
 import static com.efs.sdk.common.domain.model.Confidentiality.PUBLIC;
 import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.GET;
@@ -48,6 +60,8 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.BDDMockito.willDoNothing;
 
 class SpaceServiceTest {
@@ -56,13 +70,16 @@ class SpaceServiceTest {
     private OrganizationService orgaService;
     @MockBean
     private SpaceRepository repo;
+    @MockBean
+    private SpaceRoleRepository roleRepo;
     private SpaceService service;
 
     @BeforeEach
     public void setup() {
         this.repo = Mockito.mock(SpaceRepository.class);
+        this.roleRepo = Mockito.mock(SpaceRoleRepository.class);
         this.orgaService = Mockito.mock(OrganizationService.class);
-        this.service = new SpaceService(repo, orgaService);
+        this.service = new SpaceService(repo, roleRepo, orgaService, new LookupContext(), new RoleHelper());
     }
 
     @Test
@@ -106,6 +123,58 @@ class SpaceServiceTest {
         assertNotNull(actual.getOrganizationId());
     }
 
+    @Test
+    void givenValid_whenCreateSpace_thenRolesStored() throws Exception {
+        Organization orga = new Organization();
+        orga.setName("orga");
+        orga.setId(1L);
+
+        Space space = new Space();
+        space.setName("test");
+
+        Space persisted = new Space();
+        persisted.setName("test");
+        persisted.setId(2L);
+        given(repo.saveAndFlush(any())).willReturn(persisted);
+
+        service.createSpaceEntity(orga, space);
+
+        verify(roleRepo).saveAll(argThat(roles -> roleNames(roles).equals(List.of("orga_test_user", "orga_test_supplier", "orga_test_trustee"))
+                && StreamSupport.stream(roles.spliterator(), false).allMatch(role -> role.getSpaceId() == 2L && role.getOrganizationId() == 1L)));
+    }
+
+    @Test
+    void givenSpaces_whenCreateSpaceEntities_thenValidatedInOneQueryAndSavedTogether() {
+        Organization orga = new Organization();
+        orga.setName("orga");
+        orga.setId(1L);
+
+        Space valid = new Space();
+        valid.setName("valid");
+        Space other = new Space();
+        other.setName("other");
+        Space existing = new Space();
+        existing.setName("existing");
+        Space duplicate = new Space();
+        duplicate.setName("valid");
+        Space invalid = new Space();
+        invalid.setName("In Valid!");
+
+        given(repo.findByOrganizationIdAndNameIn(eq(orga.getId()), anyCollection())).willReturn(List.of(existing));
+
+        List<BulkExecutor.Outcome<Space>> outcomes = service.createSpaceEntities(orga, List.of(valid, other, existing, duplicate, invalid));
+
+        assertEquals(List.of(true, true, false, false, false), outcomes.stream().map(BulkExecutor.Outcome::isSuccess).toList());
+        verify(repo).findByOrganizationIdAndNameIn(orga.getId(), Set.of("valid", "other", "existing"));
+        verify(repo, never()).findByOrganizationIdAndName(anyLong(), anyString());
+        verify(repo).saveAll(List.of(valid, other));
+        verify(repo, never()).saveAndFlush(any());
+        verify(roleRepo).saveAll(argThat(roles -> roleNames(roles).equals(List.of("orga_valid_user", "orga_valid_supplier", "orga_valid_trustee",
+                "orga_other_user", "orga_other_supplier", "orga_other_trustee"))));
+        assertEquals(orga.getId(), valid.getOrganizationId());
+        assertNotNull(valid.getCreated());
+    }
+
     @Test
     void givenExistingSpace_whenGetSpace_thenOk() throws Exception {
 
@@ -288,6 +357,37 @@ class SpaceServiceTest {
         assertEquals(space.getName(), actual.getName());
     }
 
+    @Test
+    void givenRequest_whenGetAndUpdateSpace_thenSpaceLoadedOnce() throws Exception {
+        Organization orga = new Organization();
+        orga.setName("orga");
+        orga.setId(1L);
+
+        Space space = new Space();
+        space.setName("test");
+        space.setId(1L);
+        space.setOrganizationId(orga.getId());
+
+        given(repo.findByOrganizationIdAndId(anyLong(), anyLong())).willReturn(Optional.of(space));
+        given(repo.saveAndFlush(any())).willReturn(space);
+        given(orgaService.getOrganization(anyLong(), any())).willReturn(orga);
+
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_admin", orga.getName()))});
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            service.getSpaceById(authModel, orga.getId(), space.getId());
+            service.updateSpaceEntity(authModel, orga, space);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // the lookups by id and name (validation) are served from the first load
+        verify(repo).findByOrganizationIdAndId(orga.getId(), space.getId());
+        verify(repo, never()).findByOrganizationIdAndName(anyLong(), any());
+    }
+
     @Test
     void givenNoOrgaAdmin_whenUpdateSpace_thenError() throws Exception {
         Organization orga = new Organization();
@@ -347,10 +447,14 @@ class SpaceServiceTest {
         orga.setId(1L);
         orga.setName("test");
 
-        given(repo.findByOrganizationIdAndNameIn(anyLong(), any())).willReturn(List.of(space, deletionSpace));
+        // spaces marked for deletion are only returned for owners (not the case here)
+        List<String> spaceRoles = List.of(format("%s_%s_%s", orga.getName(), space.getName(), "user"));
+        given(repo.findAccessible(orga.getId(), spaceRoles, false, false, MY_USERNAME)).willReturn(List.of(space));
+        given(repo.findAccessible(orga.getId(), spaceRoles, false, true, null)).willReturn(List.of(space, deletionSpace));
         given(orgaService.getOrganization(anyLong(), any())).willReturn(orga);
 
         AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(MY_USERNAME);
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga.getName(), space.getName(), "user"))});
 
@@ -358,6 +462,22 @@ class SpaceServiceTest {
         assertThat(spaces, hasSize(1));
     }
 
+    @Test
+    void givenSuperuser_whenGetSpaces_thenNoOrganizationLookup() throws Exception {
+        Space space = new Space();
+        space.setId(1L);
+        space.setName("test");
+
+        given(repo.findByOrganizationId(anyLong())).willReturn(List.of(space));
+
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSuperuser(true);
+
+        List<Space> spaces = service.getSpaces(authModel, 1L, AuthConfiguration.WRITE);
+        assertThat(spaces, hasSize(1));
+        verify(orgaService, never()).getOrganization(anyLong(), any());
+    }
+
     @Test
     void givenPublicAccess_whenGetSpaces_thenOk() throws Exception {
         Organization orga = new Organization();
@@ -367,12 +487,14 @@ class SpaceServiceTest {
         space.setName("test");
 
         given(orgaService.getOrganization(anyLong(), any())).willReturn(orga);
-        given(repo.findByOrganizationIdAndNameIn(anyLong(), any())).willReturn(Collections.singletonList(space));
+        given(repo.findAccessible(eq(orga.getId()), eq(List.of()), eq(true), eq(false), any())).willReturn(Collections.singletonList(space));
 
         AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(MY_USERNAME);
         authModel.setSpacePublicAccess(true);
 
-        assertDoesNotThrow(() -> service.getSpaces(authModel, orga.getId(), READ));
+        List<Space> spaces = assertDoesNotThrow(() -> service.getSpaces(authModel, orga.getId(), READ));
+        assertThat(spaces, hasSize(1));
     }
 
     @Test
@@ -385,13 +507,15 @@ class SpaceServiceTest {
         space.setName("test");
 
         given(orgaService.getOrganization(anyLong(), any())).willReturn(orga);
-        given(repo.findByOrganizationIdAndNameIn(anyLong(), any())).willReturn(Collections.singletonList(space));
+        given(repo.findAccessible(eq(orga.getId()), eq(List.of("test_test_user")), eq(false), eq(false), any())).willReturn(Collections.singletonList(space));
 
         AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(MY_USERNAME);
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga.getName(), space.getName(), "user"))});
 
-        assertDoesNotThrow(() -> service.getSpaces(authModel, orga.getId(), READ));
+        List<Space> spaces = assertDoesNotThrow(() -> service.getSpaces(authModel, orga.getId(), READ));
+        assertThat(spaces, hasSize(1));
     }
 
     @Test
@@ -407,9 +531,10 @@ class SpaceServiceTest {
         space.setName("loadingzone");
 
         given(orgaService.getOrganization(anyLong(), any())).willReturn(orga);
-        given(repo.findByOrganizationIdAndNameIn(anyLong(), any())).willReturn(List.of(space, lz));
+        given(repo.findAccessible(anyLong(), any(), anyBoolean(), anyBoolean(), any())).willReturn(List.of(space, lz));
 
         AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(MY_USERNAME);
         // user has rights to upload to test-space -> will also get space loadingzone
         authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga.getName()))});
         authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga.getName(), space.getName(), "user"))});
@@ -467,6 +592,7 @@ class SpaceServiceTest {
 
         Space space = new Space();
         space.setName("test");
+        given(repo.saveAndFlush(any())).willReturn(space);
 
         assertDoesNotThrow(() -> service.createSpaceEntity(orga, space));
     }
@@ -516,7 +642,7 @@ class SpaceServiceTest {
     }
 
     @Test
-    void givenSuperuser_whenGetSpacesRead_thenFalse() {
+    void givenSuperuser_whenGetSpacesRead_thenAll() throws Exception {
         Space space1 = new Space();
         space1.setId(1L);
         space1.setName("test");
@@ -535,7 +661,8 @@ class SpaceServiceTest {
         AuthenticationModel authModel = new AuthenticationModel();
         authModel.setSuperuser(true);
 
-        assertThrows(OrganizationmanagerException.class, () -> service.getSpaces(authModel, orga.getId(), READ));
+        List<Space> actual = service.getSpaces(authModel, orga.getId(), READ);
+        assertThat(actual, hasSize(expected.size()));
     }
 
     @Test
@@ -612,6 +739,59 @@ class SpaceServiceTest {
         assertThrows(OrganizationmanagerException.class, () -> service.getSpaces(authModel, orga.getId(), READ));
     }
 
+    @Test
+    void givenSuperuser_whenGetSpaceViews_thenAll() throws Exception {
+        given(repo.findAccessibleViews(anyLong(), anyBoolean(), anyCollection(), anyBoolean(), anyBoolean(), any(), any(), anyInt())).willReturn(List.of(view(1L, "test")));
+
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSuperuser(true);
+
+        assertThat(service.getSpaceViews(authModel, 1L, GET), hasSize(1));
+        verify(repo).findAccessibleViews(eq(1L), eq(true), eq(List.of()), eq(false), eq(true), isNull(), eq(Cursor.FIRST), eq(Integer.MAX_VALUE));
+        verify(orgaService, never()).getOrganization(anyLong(), any());
+    }
+
+    @Test
+    void givenAdmin_whenGetSpaceViewsGet_thenAll() throws Exception {
+        Organization orga = new Organization();
+        orga.setId(1L);
+        orga.setName("test");
+        given(orgaService.getOrganization(anyLong(), any())).willReturn(orga);
+        given(repo.findAccessibleViews(anyLong(), anyBoolean(), anyCollection(), anyBoolean(), anyBoolean(), any(), any(), anyInt())).willReturn(List.of(view(1L, "test")));
+
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_admin", orga.getName()))});
+
+        assertThat(service.getSpaceViews(authModel, orga.getId(), GET), hasSize(1));
+        verify(repo).findAccessibleViews(eq(1L), eq(true), eq(List.of()), eq(false), eq(true), isNull(), eq(Cursor.FIRST), eq(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void givenSpaceRoles_whenGetSpaceViewsRead_thenAccessible() throws Exception {
+        Organization orga = new Organization();
+        orga.setId(1L);
+        orga.setName("test");
+        given(orgaService.getOrganization(anyLong(), any())).willReturn(orga);
+        given(repo.findAccessibleViews(anyLong(), anyBoolean(), anyCollection(), anyBoolean(), anyBoolean(), any(), any(), anyInt())).willReturn(List.of(view(1L, "space")));
+
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject("my-user");
+        authModel.setSpacePublicAccess(true);
+        authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_access", orga.getName()))});
+        authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", orga.getName(), "space", "user"))});
+
+        assertThat(service.getSpaceViews(authModel, orga.getId(), READ), hasSize(1));
+        verify(repo).findAccessibleViews(eq(1L), eq(false), eq(List.of("test_space_user")), eq(true), eq(false), eq("my-user"), eq(Cursor.FIRST), eq(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void givenUnknownOrganization_whenGetSpaceViews_thenError() throws Exception {
+        given(orgaService.getOrganization(anyLong(), any())).willReturn(null);
+
+        assertThrows(OrganizationmanagerException.class, () -> service.getSpaceViews(new AuthenticationModel(), 1L, GET));
+        verify(repo, never()).findAccessibleViews(anyLong(), anyBoolean(), anyCollection(), anyBoolean(), anyBoolean(), any(), any(), anyInt());
+    }
+
     @Test
     void givenSuperuser_whenGetSpace_thenOk() throws Exception {
         long orgaId = 1L;
@@ -645,6 +825,7 @@ class SpaceServiceTest {
         given(repo.findByOrganizationId(anyLong())).willReturn(List.of(space));
         willDoNothing().given(repo).delete(any());
         assertDoesNotThrow(() -> service.propertyChange(event));
+        verify(roleRepo).deleteByOrganizationId(orga.getId());
     }
 
     @Test
@@ -823,4 +1004,82 @@ class SpaceServiceTest {
 
         assertTrue(service.deleteSpaceEntity(spc));
     }
+
+    @Test
+    void givenOrgaRoles_whenGetSpaceNames_thenOneQueryWithPermissions() throws Exception {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(MY_USERNAME);
+        authModel.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization(format("org_%s_%s", "test", ACCESS_ROLE)),
+                new AuthEntityOrganization(format("org_%s_%s", "admin", ADMIN_ROLE))});
+        authModel.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace(format("%s_%s_%s", "test", "space", "user"))});
+        given(repo.findAccessibleNames(anyBoolean(), anyCollection(), any(), anyBoolean(), anyCollection(), anyCollection(), anyBoolean(),
+                anyCollection(), anyBoolean(), any())).willReturn(List.of("test_space"));
+
+        assertEquals(List.of("test_space"), service.getSpaceNames(authModel, new String[]{"test"}, GET));
+        verify(repo).findAccessibleNames(false, List.of("test", "admin"), MY_USERNAME, false, List.of("test"), List.of("admin"), true, List.of("test_space_user"),
+                false, MY_USERNAME);
+        verify(repo, never()).findByOrganizationId(anyLong());
+        verify(orgaService, never()).getOrganization(anyLong(), any());
+    }
+
+    @Test
+    void givenNoOrgaRoles_whenGetSpaceNames_thenNoOrganizationOwnership() {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSubject(MY_USERNAME);
+        authModel.setOrgaPublicAccess(true);
+        authModel.setSpacePublicAccess(true);
+
+        service.getSpaceNames(authModel, new String[]{"test"}, READ);
+
+        verify(repo).findAccessibleNames(false, List.of(), null, true, List.of(), List.of(), false, List.of(), true, MY_USERNAME);
+    }
+
+    @Test
+    void givenSuperuser_whenGetSpaceNames_thenAll() {
+        AuthenticationModel authModel = new AuthenticationModel();
+        authModel.setSuperuser(true);
+
+        service.getSpaceNames(authModel, null, GET);
+
+        verify(repo).findAccessibleNames(true, List.of(), null, false, List.of(), List.of(), false, List.of(), false, null);
+    }
+
+    @Test
+    void givenListener_whenDeleteSpace_thenNotified() {
+        Space space = new Space();
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        service.addPropertyChangeListener(events::add);
+
+        service.deleteSpaceEntity(space);
+
+        verify(roleRepo).deleteBySpaceIds(List.of(space.getId()));
+        assertThat(events, hasSize(1));
+        assertEquals(SpaceService.PROP_SPACE_DELETED, events.get(0).getPropertyName());
+    }
+
+    @Test
+    void givenSpaceIds_whenDeleteSpaceEntities_thenSetBased() {
+        List<Long> ids = List.of(1L, 2L);
+        given(repo.deleteByIds(ids)).willReturn(2);
+
+        assertEquals(2, service.deleteSpaceEntities(ids));
+        verify(repo).deleteTagsBySpaceIds(ids);
+        verify(repo).deleteAppConfigsBySpaceIds(ids);
+        verify(roleRepo).deleteBySpaceIds(ids);
+        verify(repo, never()).delete(any());
+    }
+
+    @Test
+    void givenNoSpaceIds_whenDeleteSpaceEntities_thenNothingDeleted() {
+        assertEquals(0, service.deleteSpaceEntities(List.of()));
+        verify(repo, never()).deleteByIds(any());
+    }
+
+    private static List<String> roleNames(Iterable<SpaceRole> roles) {
+        return StreamSupport.stream(roles.spliterator(), false).map(SpaceRole::getRole).toList();
+    }
+
+    private static SpaceView view(long id, String name) {
+        return new SpaceView(id, name, null, PUBLIC, List.of(), null, State.OPEN, 0, null, false, List.of(), null, 1L);
+    }
 }
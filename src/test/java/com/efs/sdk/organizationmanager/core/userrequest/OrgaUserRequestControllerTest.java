@@ -22,6 +22,8 @@ import com.efs.sdk.organizationmanager.core.userrequest.model.UserRequestState;
 import com.efs.sdk.organizationmanager.core.userrequest.model.dto.OrganizationUserRequestDTO;
 import com.efs.sdk.organizationmanager.helper.AuthHelper;
 import com.efs.sdk.organizationmanager.helper.EntityConverter;
+import com.efs.sdk.organizationmanager.helper.Keyset;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
 import com.efs.sdk.organizationmanager.helper.RoleHelper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -35,6 +37,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -42,9 +45,10 @@ import static com.efs.sdk.organizationmanager.commons.OrganizationmanagerExcepti
 import static com.efs.sdk.organizationmanager.core.userrequest.OrgaUserRequestController.ENDPOINT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -96,6 +100,31 @@ class OrgaUserRequestControllerTest {
         mvc.perform(get(getEndpoint(1L)).with(jwt())).andExpect(status().isOk());
     }
 
+    @Test
+    void givenLimit_whenGetOrganizationRequests_thenPageWithCursor() throws Exception {
+        ZonedDateTime created = ZonedDateTime.now();
+        OrganizationUserRequestDTO dto = new OrganizationUserRequestDTO();
+        dto.setId(1L);
+        dto.setCreated(created);
+        given(orgaManagerService.listOrganizationRequests(any(), anyLong(), any(), any(), anyInt())).willReturn(List.of(new OrganizationUserRequest(),
+                new OrganizationUserRequest()));
+        given(converter.convertToDTO(any(OrganizationUserRequest.class))).willReturn(dto);
+
+        MvcResult result = mvc.perform(get(getEndpoint(1L)).param("limit", "1").with(jwt())).andExpect(status().isOk()).andReturn();
+
+        assertEquals(1, objectMapper.readValue(result.getResponse().getContentAsString(), List.class).size());
+        Cursor next = Cursor.decode(result.getResponse().getHeader(Keyset.NEXT_CURSOR));
+        assertEquals(1L, next.id());
+        assertTrue(created.isEqual(next.created()));
+        verify(orgaManagerService).listOrganizationRequests(any(), eq(1L), isNull(), eq(Cursor.FIRST), eq(2));
+    }
+
+    @Test
+    void givenInvalidCursor_whenGetOrganizationRequests_thenBadRequest() throws Exception {
+        mvc.perform(get(getEndpoint(1L)).param("after", "not a cursor").with(jwt())).andExpect(status().isBadRequest());
+        mvc.perform(get(getEndpoint(1L)).param("limit", "0").with(jwt())).andExpect(status().isBadRequest());
+    }
+
     @Test
     void givenOrganizationmanagerException_whenGetOrganizationRequests_thenClientError() throws Exception {
         given(orgaManagerService.listOrganizationRequests(any(), anyLong())).willThrow(new OrganizationmanagerException(FORBIDDEN));
@@ -0,0 +1,106 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.core.userrequest;
+
+import com.efs.sdk.organizationmanager.core.userrequest.model.OrganizationUserRequest;
+import com.efs.sdk.organizationmanager.core.userrequest.model.UserRequestState;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.flyway.enabled=false"})
+@ActiveProfiles("test")
+class OrganizationUserRequestRepositoryTest {
+
+    private static final long ORGA_ID = 1L;
+    private static final int REQUESTS = 25;
+
+    @Autowired
+    private OrganizationUserRequestRepository repo;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        ZonedDateTime created = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        // pairs of requests created at the same time - the id breaks the tie
+        IntStream.range(0, REQUESTS).forEach(i -> entityManager.persist(request(ORGA_ID, created.plusSeconds(i / 2),
+                i % 3 == 0 ? UserRequestState.ACCEPTED : UserRequestState.OPEN)));
+        entityManager.persist(request(ORGA_ID + 1, created, UserRequestState.OPEN));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void givenRequests_whenPaging_thenEveryRequestOnceInOrder() throws Exception {
+        List<OrganizationUserRequest> all = readAll(null);
+
+        assertEquals(REQUESTS, all.size());
+        assertEquals(REQUESTS, all.stream().map(OrganizationUserRequest::getId).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            OrganizationUserRequest previous = all.get(i - 1);
+            OrganizationUserRequest current = all.get(i);
+            assertTrue(previous.getCreated().isBefore(current.getCreated())
+                    || (previous.getCreated().isEqual(current.getCreated()) && previous.getId() < current.getId()));
+        }
+    }
+
+    @Test
+    void givenState_whenPaging_thenOnlyRequestsWithState() throws Exception {
+        List<OrganizationUserRequest> accepted = readAll(UserRequestState.ACCEPTED);
+
+        assertEquals((REQUESTS + 2) / 3, accepted.size());
+        assertTrue(accepted.stream().allMatch(request -> request.getState() == UserRequestState.ACCEPTED));
+    }
+
+    private List<OrganizationUserRequest> readAll(UserRequestState state) throws Exception {
+        List<OrganizationUserRequest> all = new ArrayList<>();
+        Cursor after = Cursor.FIRST;
+        List<OrganizationUserRequest> page;
+        do {
+            page = repo.findPage(ORGA_ID, state, after.created(), after.id(), PageRequest.ofSize(4));
+            all.addAll(page);
+            if (!page.isEmpty()) {
+                OrganizationUserRequest last = page.get(page.size() - 1);
+                after = Cursor.decode(Cursor.of(last.getCreated(), last.getId()).encode());
+            }
+        } while (page.size() == 4);
+        return all;
+    }
+
+    private static OrganizationUserRequest request(long orgaId, ZonedDateTime created, UserRequestState state) {
+        OrganizationUserRequest request = new OrganizationUserRequest();
+        request.setOrgaId(orgaId);
+        request.setUserId("user");
+        request.setCreated(created);
+        request.setState(state);
+        return request;
+    }
+}
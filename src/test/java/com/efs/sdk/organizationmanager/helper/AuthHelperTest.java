@@ -63,15 +63,13 @@ class AuthHelperTest {
     @Test
     void givenRoles_whenGetAuthenticationModel_thenOk() throws Exception {
         Collection<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("spc_all_public"), new SimpleGrantedAuthority("org_all_public"),
-                new SimpleGrantedAuthority("org_test_admin"), new SimpleGrantedAuthority("org_test_access"), new SimpleGrantedAuthority("test_test_user"),
-                new SimpleGrantedAuthority("SDK_ADMIN"));
+                new SimpleGrantedAuthority("org_test_admin"), new SimpleGrantedAuthority("org_test_access"), new SimpleGrantedAuthority("test_test_user"));
 
         given(token.getAuthorities()).willReturn(authorities);
 
         AuthenticationModel expected = new AuthenticationModel();
         expected.setOrgaPublicAccess(true);
         expected.setSpacePublicAccess(true);
-        expected.setSuperuser(true);
         expected.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization("org_test_admin"), new AuthEntityOrganization("org_test_access")});
         expected.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace("test_test_user")});
 
@@ -95,4 +93,20 @@ class AuthHelperTest {
         actual.setToken(null);
         JSONAssert.assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(actual), false);
     }
+
+    @Test
+    void givenSuperuserWithRoles_whenGetAuthenticationModel_thenRolesSkipped() throws Exception {
+        Collection<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("spc_all_public"), new SimpleGrantedAuthority("org_test_admin"),
+                new SimpleGrantedAuthority("test_test_user"), new SimpleGrantedAuthority("SDK_ADMIN"));
+
+        given(token.getAuthorities()).willReturn(authorities);
+
+        AuthenticationModel expected = new AuthenticationModel();
+        expected.setSuperuser(true);
+
+        AuthenticationModel actual = authHelper.getAuthenticationModel(token);
+        // set to null for simplicity in comparison
+        actual.setToken(null);
+        JSONAssert.assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(actual), false);
+    }
 }
@@ -18,9 +18,13 @@ package com.efs.sdk.organizationmanager.helper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import static com.efs.sdk.organizationmanager.helper.AuthConfiguration.*;
+import static com.efs.sdk.organizationmanager.utils.TestUtils.MY_USERNAME;
+import static com.efs.sdk.organizationmanager.utils.TestUtils.assumeAuthToken;
 import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -83,6 +87,16 @@ class AuthenticationModelTest {
                 false);
     }
 
+    @Test
+    void givenSpacesOfTwoOrganizations_whenGetSpaceRoleNamesByPermission_thenQualifiedByOrganization() throws Exception {
+        AuthenticationModel model = new AuthenticationModel();
+        model.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace("orgaa_testspace_user"), new AuthEntitySpace("orgab_testspace_supplier")});
+        JSONAssert.assertEquals(objectMapper.writeValueAsString(new String[]{"orgaa_testspace_user", "orgab_testspace_supplier"}),
+                objectMapper.writeValueAsString(model.getSpaceRoleNamesByPermission(READ)), false);
+        JSONAssert.assertEquals(objectMapper.writeValueAsString(new String[]{"orgab_testspace_supplier"}),
+                objectMapper.writeValueAsString(model.getSpaceRoleNamesByPermission(WRITE)), false);
+    }
+
     @Test
     void givenREADRequest_whenGetOrganizationsByPermission_thenOk() throws Exception {
         String orgaName = "testorga";
@@ -135,4 +149,36 @@ class AuthenticationModelTest {
         model.setOrganizations(new AuthEntityOrganization[]{new AuthEntityOrganization("org_test_access")});
         assertFalse(model.isAdmin("test"));
     }
+
+    @Test
+    void givenSpaceRole_whenHasSpaceAccess_thenTrue() {
+        AuthenticationModel model = new AuthenticationModel();
+        model.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace("testorga_testspace_user")});
+        assertTrue(model.hasSpaceAccess("testspace", READ));
+        assertTrue(model.hasSpaceAccess("TESTSPACE", GET));
+        assertFalse(model.hasSpaceAccess("testspace", WRITE));
+        assertFalse(model.hasSpaceAccess("otherspace", READ));
+    }
+
+    @Test
+    void givenChangedSpaces_whenHasSpaceAccess_thenRecomputed() {
+        AuthenticationModel model = new AuthenticationModel();
+        model.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace("testorga_testspace_user")});
+        assertTrue(model.hasSpaceAccess("testspace", READ));
+        model.setSpaces(new AuthEntitySpace[]{new AuthEntitySpace("testorga_otherspace_user")});
+        assertFalse(model.hasSpaceAccess("testspace", READ));
+        assertTrue(model.hasSpaceAccess("otherspace", READ));
+    }
+
+    @Test
+    void givenNoSubject_whenGetSubject_thenResolvedOnce() {
+        assumeAuthToken();
+        AuthenticationModel model = new AuthenticationModel();
+        assertEquals(MY_USERNAME, Utils.getSubject(model));
+        assertEquals(MY_USERNAME, model.getSubject());
+
+        // subject is kept in the model, the security-context is not consulted again
+        SecurityContextHolder.clearContext();
+        assertEquals(MY_USERNAME, Utils.getSubject(model));
+    }
 }
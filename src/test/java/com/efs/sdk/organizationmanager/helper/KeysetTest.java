@@ -0,0 +1,85 @@
+/*
+Copyright (C) 2023 e:fs TechHub GmbH (sdk@efs-techhub.com)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+ */
+package com.efs.sdk.organizationmanager.helper;
+
+import com.efs.sdk.organizationmanager.commons.OrganizationmanagerException;
+import com.efs.sdk.organizationmanager.helper.Keyset.Cursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static com.efs.sdk.organizationmanager.helper.Keyset.NEXT_CURSOR;
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetTest {
+
+    @Test
+    void givenCursor_whenEncodeDecode_thenSame() throws Exception {
+        Cursor cursor = new Cursor("name:with_separator", 42L);
+
+        assertEquals(cursor, Cursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void givenCreated_whenEncodeDecode_thenSameInstant() throws Exception {
+        ZonedDateTime created = ZonedDateTime.now();
+
+        Cursor cursor = Cursor.decode(Cursor.of(created, 42L).encode());
+
+        assertTrue(created.isEqual(cursor.created()));
+        assertEquals(42L, cursor.id());
+    }
+
+    @Test
+    void givenNoCursor_whenDecode_thenFirst() throws Exception {
+        assertEquals(Cursor.FIRST, Cursor.decode(null));
+        assertEquals(Cursor.FIRST, Cursor.decode(""));
+    }
+
+    @Test
+    void givenInvalidCursor_whenDecode_thenBadRequest() {
+        OrganizationmanagerException e = assertThrows(OrganizationmanagerException.class, () -> Cursor.decode("not a cursor"));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getHttpStatus());
+        assertThrows(OrganizationmanagerException.class, () -> new Cursor("no date", 1L).created());
+    }
+
+    @Test
+    void givenLimit_whenValidate_thenInRange() throws Exception {
+        assertEquals(Keyset.DEFAULT_LIMIT, Keyset.limit(null));
+        assertEquals(1, Keyset.limit(1));
+        assertThrows(OrganizationmanagerException.class, () -> Keyset.limit(0));
+        assertThrows(OrganizationmanagerException.class, () -> Keyset.limit(Keyset.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void givenMoreItemsThanLimit_whenPage_thenCursorOfLastItem() throws Exception {
+        ResponseEntity<List<String>> response = Keyset.page(List.of("a", "b", "c"), 2, item -> new Cursor(item, 1L));
+
+        assertEquals(List.of("a", "b"), response.getBody());
+        assertEquals(new Cursor("b", 1L), Cursor.decode(response.getHeaders().getFirst(NEXT_CURSOR)));
+    }
+
+    @Test
+    void givenLastPage_whenPage_thenNoCursor() {
+        ResponseEntity<List<String>> response = Keyset.page(List.of("a", "b"), 2, item -> new Cursor(item, 1L));
+
+        assertEquals(List.of("a", "b"), response.getBody());
+        assertFalse(response.getHeaders().containsKey(NEXT_CURSOR));
+    }
+}